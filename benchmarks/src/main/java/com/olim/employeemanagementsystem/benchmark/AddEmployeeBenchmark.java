@@ -0,0 +1,47 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Adding one employee to a database of the given size with its indexes built.
+ * The database is refilled before every iteration so it does not keep growing across the run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector"})
+public class AddEmployeeBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int employeeCount;
+
+    private EmployeeGenerator generator;
+    private EmployeeDatabase<Integer> database;
+    private int nextId;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        Logger.getLogger("").setLevel(java.util.logging.Level.WARNING);
+        database = new EmployeeDatabase<>(new HashMap<>(employeeCount * 2));
+        generator = EmployeeGenerator.withSeed(42);
+        database.addEmployees(generator.generate(0, employeeCount));
+        // Build the indexes so every add also maintains them, as after the first search in the UI
+        database.findByDepartment("IT");
+        nextId = employeeCount;
+    }
+
+    @Benchmark
+    public Integer addEmployee() throws Exception {
+        Employee<Integer> employee = generator.employee(nextId++);
+        return database.addEmployee(employee);
+    }
+}
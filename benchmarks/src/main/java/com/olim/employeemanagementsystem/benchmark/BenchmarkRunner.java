@@ -0,0 +1,26 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler always on, so every result reports allocation per
+ * operation and GC counts and time next to the timing. Accepts the usual JMH command line, e.g.
+ * {@code java -jar target/benchmarks.jar DatabaseBenchmark -p employeeCount=10000}
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,83 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.db.ColumnScan;
+import com.olim.employeemanagementsystem.db.EmployeeColumns;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the stream-based salary filter and average with the scalar and SIMD column scans
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ColumnScanBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int employeeCount;
+
+    private List<Employee<Integer>> employees;
+    private EmployeeColumns<Integer> columns;
+    private int[] positions;
+    private ColumnScan scalar;
+    private ColumnScan vectorized;
+
+    @Setup
+    public void setUp() {
+        employees = EmployeeGenerator.withSeed(42).generate(0, employeeCount);
+        columns = EmployeeColumns.of(employees, 0);
+        positions = new int[employeeCount];
+        scalar = ColumnScan.scalar();
+        vectorized = ColumnScan.vectorized();
+    }
+
+    @Benchmark
+    public List<Employee<Integer>> salaryBetweenStream() {
+        return employees.stream()
+                .filter(emp -> emp.getSalary() >= 70000 && emp.getSalary() <= 90000)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int salaryBetweenScalar() {
+        return scalar.selectBetween(columns.salaries(), 70000, 90000, positions);
+    }
+
+    @Benchmark
+    public int salaryBetweenVector() {
+        return vectorized.selectBetween(columns.salaries(), 70000, 90000, positions);
+    }
+
+    @Benchmark
+    public double averageSalaryStream() {
+        return employees.stream().mapToDouble(Employee::getSalary).average().orElse(0.0);
+    }
+
+    @Benchmark
+    public double averageSalaryScalar() {
+        return scalar.sum(columns.salaries()) / columns.size();
+    }
+
+    @Benchmark
+    public double averageSalaryVector() {
+        return vectorized.sum(columns.salaries()) / columns.size();
+    }
+
+    @Benchmark
+    public Object averagePerDepartmentScalar() {
+        return columns.averageSalaryPerDepartment(scalar);
+    }
+
+    @Benchmark
+    public Object averagePerDepartmentVector() {
+        return columns.averageSalaryPerDepartment(vectorized);
+    }
+}
@@ -0,0 +1,88 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.EmployeeVersionConflictException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures compare-and-set updates under contention: writers read an employee without locking and
+ * save only if its version is unchanged, while readers keep reading. Fewer hot employees means
+ * more writers race for the same one; the conflicts counter shows how many saves lost the race,
+ * and the reader throughput shows that readers do not wait for writers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector"})
+public class ContentionBenchmark {
+    private static final int EMPLOYEE_COUNT = 100_000;
+
+    // Writers pick among this many employees
+    @Param({"1", "16", "1024"})
+    private int hotEmployees;
+
+    private EmployeeDatabase<Integer> database;
+
+    @Setup(Level.Trial)
+    public void fillDatabase() throws Exception {
+        Logger.getLogger("").setLevel(java.util.logging.Level.WARNING);
+        database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployees(EmployeeGenerator.withSeed(42).generate(0, EMPLOYEE_COUNT));
+        // Small undo entries would otherwise pile up for the whole run
+        database.getUndoHistory().setMemoryLimit(0);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long saved;
+        public long conflicts;
+        private final SplittableRandom random = new SplittableRandom();
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            saved = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(4)
+    public Object compareAndSet(Outcomes outcomes) throws Exception {
+        int id = outcomes.random.nextInt(hotEmployees);
+        Employee<Integer> employee = database.getEmployeeById(id);
+        long version = employee.getVersion();
+        try {
+            Employee<Integer> saved = database.updateEmployeeDetails(id, "salary", employee.getSalary() + 1, version);
+            outcomes.saved++;
+            return saved;
+        } catch (EmployeeVersionConflictException e) {
+            outcomes.conflicts++;
+            return e;
+        }
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(4)
+    public long read(Outcomes outcomes) throws Exception {
+        Employee<Integer> employee = database.getEmployeeById(outcomes.random.nextInt(hotEmployees));
+        return employee.getVersion() + (long) employee.getSalary();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object compareAndSetOnly(Outcomes outcomes) throws Exception {
+        return compareAndSet(outcomes);
+    }
+}
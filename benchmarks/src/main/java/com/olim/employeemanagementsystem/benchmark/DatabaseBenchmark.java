@@ -0,0 +1,118 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.Page;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every SearchService, SortService and salary aggregate over a prefilled database.
+ * Run through {@link BenchmarkRunner} to get GC and allocation figures next to the timings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// 10M employees plus their indexes and column snapshot need several gigabytes
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector"})
+public class DatabaseBenchmark {
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Employee<Integer> getEmployeeById(DatabaseState state) throws Exception {
+        return state.database.getEmployeeById(state.nextLookupId());
+    }
+
+    @Benchmark
+    public List<Employee<Integer>> findByDepartment(DatabaseState state) throws Exception {
+        return state.database.findByDepartment("Finance");
+    }
+
+    @Benchmark
+    public List<Employee<Integer>> findByName(DatabaseState state) {
+        return state.database.findByName("employee 12");
+    }
+
+    @Benchmark
+    public List<Employee<Integer>> findByRating(DatabaseState state) {
+        return state.database.findByRating(4.5);
+    }
+
+    @Benchmark
+    public List<Employee<Integer>> findBySalaryBetween(DatabaseState state) throws Exception {
+        return state.database.findBySalaryBetween(70000, 90000);
+    }
+
+    @Benchmark
+    public List<Employee<Integer>> findByQuery(DatabaseState state) {
+        return state.database.findByQuery(state.query);
+    }
+
+    @Benchmark
+    public Page<Integer> findPage(DatabaseState state) {
+        return state.database.findPage(state.query, null, 100);
+    }
+
+    @Benchmark
+    public Page<Integer> findPageAt(DatabaseState state) {
+        return state.database.findPageAt(state.query, state.middleOffset, 100);
+    }
+
+    @Benchmark
+    public Map<String, List<Employee<Integer>>> groupByDepartment(DatabaseState state) {
+        return state.database.groupByDepartment();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void displayAll(DatabaseState state) {
+        state.database.displayAll();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Employee<Integer>> findSortedBySalary(DatabaseState state) {
+        return state.database.findSortedBySalary();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Employee<Integer>> findSortedByPerformanceRating(DatabaseState state) {
+        return state.database.findSortedByPerformanceRating();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Employee<Integer>> findSortedByExperience(DatabaseState state) {
+        return state.database.findSortedByExperience();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Employee<Integer>> findSorted(DatabaseState state) {
+        return state.database.findSorted(state.departmentThenSalary);
+    }
+
+    @Benchmark
+    public List<Employee<Integer>> findTopHighestPaid(DatabaseState state) {
+        return state.database.findTopHighestPaid();
+    }
+
+    @Benchmark
+    public List<Employee<Integer>> findTopHighestPaidHundred(DatabaseState state) {
+        return state.database.findTopHighestPaid(100);
+    }
+
+    @Benchmark
+    public double calculateAverageSalaryByDepartment(DatabaseState state) throws Exception {
+        return state.database.calculateAverageSalaryByDepartment("IT");
+    }
+
+    @Benchmark
+    public Map<String, Double> calculateAverageSalaryPerDepartment(DatabaseState state) {
+        return state.database.calculateAverageSalaryPerDepartment();
+    }
+}
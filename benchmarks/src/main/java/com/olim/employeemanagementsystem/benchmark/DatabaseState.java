@@ -0,0 +1,77 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.sort.SortColumn;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * A database filled once per trial and shared by the read-only benchmarks
+ */
+@State(Scope.Benchmark)
+public class DatabaseState {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int employeeCount;
+
+    public EmployeeDatabase<Integer> database;
+    public List<Employee<Integer>> employees;
+    public EmployeeQuery<Integer> query;
+    public SortOrder departmentThenSalary;
+    // Halfway into the query result, for offset paging
+    public int middleOffset;
+    // Random IDs to look up, cycled through so lookups do not hit the same cache lines
+    public int[] lookupIds;
+    private int nextLookup;
+    private PrintStream systemOut;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // The database logs every search at INFO; measure the data paths, not the console
+        Logger.getLogger("").setLevel(java.util.logging.Level.WARNING);
+        // displayAll prints every row
+        systemOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        employees = EmployeeGenerator.withSeed(42).generate(0, employeeCount);
+        database = new EmployeeDatabase<>(new HashMap<>(employeeCount * 2));
+        database.addEmployees(employees);
+        query = EmployeeQuery.<Integer>builder()
+                .department("IT")
+                .salaryBetween(70000, 90000)
+                .minRating(3.0)
+                .build();
+        departmentThenSalary = SortOrder.by(SortKey.ascending(SortColumn.DEPARTMENT))
+                .then(SortKey.descending(SortColumn.SALARY));
+
+        Random random = new Random(7);
+        lookupIds = new int[1 << 16];
+        for(int i = 0; i < lookupIds.length; i++) {
+            lookupIds[i] = random.nextInt(employeeCount);
+        }
+        // Build the lazy indexes and column snapshot outside the measurement
+        middleOffset = database.findByQuery(query).size() / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(systemOut);
+    }
+
+    public int nextLookupId() {
+        int id = lookupIds[nextLookup];
+        nextLookup = (nextLookup + 1) & (lookupIds.length - 1);
+        return id;
+    }
+}
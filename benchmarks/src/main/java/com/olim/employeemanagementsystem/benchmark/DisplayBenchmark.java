@@ -0,0 +1,32 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.display.EmployeeDisplay;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three EmployeeDisplay reports over every employee, formatted but not printed
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector"})
+public class DisplayBenchmark {
+
+    @Benchmark
+    public String departmentSummaryReport(DatabaseState state) {
+        return EmployeeDisplay.formatDepartmentSummaryReport(state.database.getAllEmployees());
+    }
+
+    @Benchmark
+    public String performanceReport(DatabaseState state) {
+        return EmployeeDisplay.formatPerformanceReport(state.database.getAllEmployees());
+    }
+
+    @Benchmark
+    public String salaryDistributionReport(DatabaseState state) {
+        return EmployeeDisplay.formatSalaryDistributionReport(state.database.getAllEmployees());
+    }
+}
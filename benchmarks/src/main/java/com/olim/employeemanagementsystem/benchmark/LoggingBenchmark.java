@@ -0,0 +1,123 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.util.AsyncLogHandler;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.stream.Stream;
+
+/**
+ * Measures log-heavy database updates, each of which logs one INFO record, with the synchronous
+ * FileHandler the application used before and with the asynchronous handler under each overflow
+ * policy. Console output is left out of both so the results are not dominated by the terminal.
+ * The filtered benchmarks show what a message costs when its level is disabled, built eagerly by
+ * concatenation or lazily by a supplier.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector"})
+public class LoggingBenchmark {
+    private static final int EMPLOYEE_COUNT = 100_000;
+    private static final long FILE_LIMIT = 64 * 1024 * 1024;
+    private static final Logger filtered = Logger.getLogger(LoggingBenchmark.class.getName() + ".filtered");
+
+    // "callers" is the blocking handler still naming the logging method, which the synchronous handler always does
+    @Param({"sync", "callers", "block", "drop", "sample"})
+    private String handlerType;
+
+    private EmployeeDatabase<Integer> database;
+    private Path directory;
+    private Handler handler;
+    private Handler[] previousHandlers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Logger root = Logger.getLogger("");
+        previousHandlers = root.getHandlers();
+        for(Handler previous : previousHandlers) {
+            root.removeHandler(previous);
+        }
+        directory = Files.createTempDirectory("ems-log-benchmark");
+        String file = directory.resolve("benchmark.log").toString();
+        handler = switch (handlerType) {
+            case "sync" -> {
+                FileHandler fileHandler = new FileHandler(file, FILE_LIMIT, 2, true);
+                fileHandler.setFormatter(new SimpleFormatter());
+                yield fileHandler;
+            }
+            case "callers" -> AsyncLogHandler.builder().file(Path.of(file), FILE_LIMIT, 2).build();
+            case "block" -> AsyncLogHandler.builder().file(Path.of(file), FILE_LIMIT, 2).inferCaller(false).build();
+            case "drop" -> AsyncLogHandler.builder().file(Path.of(file), FILE_LIMIT, 2).inferCaller(false)
+                    .overflow(AsyncLogHandler.OverflowPolicy.DROP).build();
+            case "sample" -> AsyncLogHandler.builder().file(Path.of(file), FILE_LIMIT, 2).inferCaller(false).sample(100).build();
+            default -> throw new IllegalArgumentException("Unknown handler " + handlerType);
+        };
+        root.addHandler(handler);
+        root.setLevel(java.util.logging.Level.INFO);
+        filtered.setLevel(java.util.logging.Level.WARNING);
+
+        database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployees(EmployeeGenerator.withSeed(42).generate(0, EMPLOYEE_COUNT));
+        database.getUndoHistory().setMemoryLimit(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Logger root = Logger.getLogger("");
+        root.removeHandler(handler);
+        handler.close();
+        for(Handler previous : previousHandlers) {
+            root.addHandler(previous);
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for(Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Random {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public Employee<Integer> update(Random random) throws Exception {
+        return database.updateEmployeeDetails(random.random.nextInt(EMPLOYEE_COUNT), "salary",
+                40000.0 + random.random.nextInt(100_000));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Employee<Integer> update4(Random random) throws Exception {
+        return update(random);
+    }
+
+    @Benchmark
+    public void filteredConcat(Random random) {
+        int id = random.random.nextInt(EMPLOYEE_COUNT);
+        filtered.info("Employee updated successfully: " + id + ", field: salary");
+    }
+
+    @Benchmark
+    public void filteredSupplier(Random random) {
+        int id = random.random.nextInt(EMPLOYEE_COUNT);
+        filtered.info(() -> "Employee updated successfully: " + id + ", field: salary");
+    }
+}
@@ -0,0 +1,90 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.metrics.LatencyHistogram;
+import com.olim.employeemanagementsystem.metrics.MetricsRegistry;
+import com.olim.employeemanagementsystem.metrics.OperationTimer;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures what operation metrics cost: recording into a striped histogram from one and eight
+ * threads, timing a call fully and sampled, and the instrumented database methods with metrics
+ * switched on and, in a separate fork, switched off.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector"})
+public class MetricsBenchmark {
+    private static final int EMPLOYEE_COUNT = 100_000;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final OperationTimer timer = new MetricsRegistry().timer("Benchmark.timed");
+    private final OperationTimer sampledTimer = new MetricsRegistry().timer("Benchmark.sampled", 64);
+    private EmployeeDatabase<Integer> database;
+
+    @Setup(Level.Trial)
+    public void fillDatabase() throws Exception {
+        Logger.getLogger("").setLevel(java.util.logging.Level.WARNING);
+        database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployees(EmployeeGenerator.withSeed(42).generate(0, EMPLOYEE_COUNT));
+        database.findByDepartment("IT");
+    }
+
+    @State(Scope.Thread)
+    public static class Random {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public void record(Random random) {
+        histogram.record(random.random.nextInt(1_000_000));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void record8(Random random) {
+        histogram.record(random.random.nextInt(1_000_000));
+    }
+
+    @Benchmark
+    public void startStop() {
+        timer.stop(timer.start());
+    }
+
+    @Benchmark
+    public void startStopSampled() {
+        sampledTimer.stop(sampledTimer.start());
+    }
+
+    @Benchmark
+    public Employee<Integer> getEmployeeById(Random random) throws Exception {
+        return database.getEmployeeById(random.random.nextInt(EMPLOYEE_COUNT));
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector", "-Dems.metrics.disabled=true"})
+    public Employee<Integer> getEmployeeByIdWithoutMetrics(Random random) throws Exception {
+        return database.getEmployeeById(random.random.nextInt(EMPLOYEE_COUNT));
+    }
+
+    @Benchmark
+    public int findByDepartment() throws Exception {
+        return database.findByDepartment("IT").size();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector", "-Dems.metrics.disabled=true"})
+    public int findByDepartmentWithoutMetrics() throws Exception {
+        return database.findByDepartment("IT").size();
+    }
+}
@@ -0,0 +1,93 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.db.MutationPipeline;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Compares salary updates from eight threads made directly, each taking the database lock and
+ * committing on its own, with the same updates published to the single-writer pipeline. Pipelined
+ * producers wait for every 64th update to be committed, so they cannot run arbitrarily far ahead
+ * of the writer; the batches counter shows how many mutations the writer applied at once.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector"})
+public class MutationPipelineBenchmark {
+    private static final int EMPLOYEE_COUNT = 100_000;
+    private static final int ACKNOWLEDGE_EVERY = 64;
+
+    // Updates pick among this many employees; fewer means more coalescing
+    @Param({"100", "100000"})
+    private int hotEmployees;
+
+    private EmployeeDatabase<Integer> database;
+    private MutationPipeline<Integer> pipeline;
+
+    @Setup(Level.Trial)
+    public void fillDatabase() throws Exception {
+        Logger.getLogger("").setLevel(java.util.logging.Level.WARNING);
+        database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployees(EmployeeGenerator.withSeed(42).generate(0, EMPLOYEE_COUNT));
+        // Build the indexes so both paths maintain them
+        database.findBySalaryBetween(0, 1);
+        database.getUndoHistory().setMemoryLimit(0);
+        pipeline = new MutationPipeline<>(database);
+        pipeline.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopPipeline() throws InterruptedException {
+        pipeline.shutdown(10, TimeUnit.SECONDS);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Producer {
+        public long batches;
+        private final SplittableRandom random = new SplittableRandom();
+        private long submitted;
+        private long batchesAtStart;
+
+        @Setup(Level.Iteration)
+        public void reset(MutationPipelineBenchmark benchmark) {
+            batches = 0;
+            batchesAtStart = benchmark.pipeline.getBatchCount();
+        }
+
+        @TearDown(Level.Iteration)
+        public void countBatches(MutationPipelineBenchmark benchmark) {
+            // Shared by all producers; the total is reported once per thread
+            batches = benchmark.pipeline.getBatchCount() - batchesAtStart;
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Employee<Integer> direct(Producer producer) throws Exception {
+        return database.updateEmployeeDetails(producer.random.nextInt(hotEmployees), "salary",
+                40000.0 + producer.random.nextInt(100_000));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object pipelined(Producer producer) throws Exception {
+        CompletableFuture<Employee<Integer>> future = pipeline.submitUpdate(producer.random.nextInt(hotEmployees), "salary",
+                40000.0 + producer.random.nextInt(100_000));
+        if(++producer.submitted % ACKNOWLEDGE_EVERY == 0) {
+            return future.get();
+        }
+        return future;
+    }
+}
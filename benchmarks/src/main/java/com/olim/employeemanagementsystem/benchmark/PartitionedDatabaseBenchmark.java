@@ -0,0 +1,84 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.db.PartitionedEmployeeDatabase;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.sort.SortColumn;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures how the partitioned database scales with its shard count: scatter-gather reads over
+ * every shard, and salary updates from eight threads, which only contend within a shard.
+ * One shard is the baseline of a single database behind the same facade.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector"})
+public class PartitionedDatabaseBenchmark {
+    @Param({"1000000", "10000000"})
+    private int employeeCount;
+
+    @Param({"1", "2", "4", "8"})
+    private int shards;
+
+    private PartitionedEmployeeDatabase<Integer> database;
+    private EmployeeQuery<Integer> topOfDepartment;
+
+    @Setup(Level.Trial)
+    public void fillDatabase() throws Exception {
+        Logger.getLogger("").setLevel(java.util.logging.Level.WARNING);
+        database = new PartitionedEmployeeDatabase<>(shards);
+        database.addEmployees(EmployeeGenerator.withSeed(42).generate(0, employeeCount));
+        topOfDepartment = EmployeeQuery.<Integer>builder().department("Sales").minRating(4.0)
+                .sortedBy(SortOrder.by(SortKey.descending(SortColumn.SALARY))).limit(100).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        database.shutdown();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public List<Employee<Integer>> findByQuery() {
+        return database.findByQuery(topOfDepartment);
+    }
+
+    @Benchmark
+    public List<Employee<Integer>> findTopHighestPaid() {
+        return database.findTopHighestPaid(10);
+    }
+
+    @Benchmark
+    public Map<String, Double> calculateAverageSalaryPerDepartment() {
+        return database.calculateAverageSalaryPerDepartment();
+    }
+
+    @Benchmark
+    public List<Employee<Integer>> findSortedBySalary() {
+        return database.findSortedBySalary();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Employee<Integer> updateSalary(Writer writer) throws Exception {
+        int id = writer.random.nextInt(employeeCount);
+        return database.updateEmployeeDetails(id, "salary", 30000.0 + writer.random.nextInt(100_000));
+    }
+}
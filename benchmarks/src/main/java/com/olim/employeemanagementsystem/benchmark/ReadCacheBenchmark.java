@@ -0,0 +1,127 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.cache.EmployeeReadCache;
+import com.olim.employeemanagementsystem.cache.EmployeeStore;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import com.olim.employeemanagementsystem.workload.Operation;
+import com.olim.employeemanagementsystem.workload.OperationType;
+import com.olim.employeemanagementsystem.workload.WorkloadTrace;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures lookups by ID through the read-through cache against a store that burns CPU on every
+ * read, standing in for a disk or SQL round trip. IDs follow the Zipf skew of the workload trace,
+ * mixed with a share of one-off reads of employees outside it, as a report over every employee
+ * would make. The hit and miss counters give the hit rate the cache reaches at each size; with no
+ * cache every lookup pays the store cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector"})
+public class ReadCacheBenchmark {
+    private static final int EMPLOYEE_COUNT = 1_000_000;
+    private static final int TRACE_LENGTH = 1 << 20;
+    // Blackhole tokens spent per store read
+    private static final long STORE_COST = 2_000;
+    // Store reads made by the current thread, so each thread can tell its misses from its hits
+    private static final ThreadLocal<long[]> STORE_READS = ThreadLocal.withInitial(() -> new long[1]);
+
+    // Cached employees; 0 reads the store directly
+    @Param({"0", "1000", "10000"})
+    private int cacheSize;
+
+    // Percentage of lookups that scan cold employees outside the skewed traffic
+    @Param({"0", "20"})
+    private int scanPercent;
+
+    private EmployeeStore<Integer> store;
+    private EmployeeReadCache<Integer> cache;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void fillStore() throws Exception {
+        Logger.getLogger("").setLevel(java.util.logging.Level.WARNING);
+        EmployeeGenerator generator = EmployeeGenerator.withSeed(42);
+        EmployeeDatabase<Integer> database = new EmployeeDatabase<>(new HashMap<>(EMPLOYEE_COUNT * 2));
+        database.addEmployees(generator.generate(0, EMPLOYEE_COUNT));
+        store = slow(EmployeeStore.of(database));
+
+        WorkloadTrace.Builder trace = WorkloadTrace.builder(generator, EMPLOYEE_COUNT);
+        for(OperationType type : OperationType.values()) {
+            trace.weight(type, type == OperationType.GET_BY_ID ? 1 : 0);
+        }
+        List<Operation> lookups = trace.build().generate(TRACE_LENGTH);
+        SplittableRandom random = new SplittableRandom(7);
+        int scanned = 0;
+        ids = new int[TRACE_LENGTH];
+        for(int i = 0; i < TRACE_LENGTH; i++) {
+            ids[i] = random.nextInt(100) < scanPercent ? scanned++ % EMPLOYEE_COUNT : lookups.get(i).employeeId();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createCache() {
+        cache = cacheSize == 0 ? null : EmployeeReadCache.withMaximumSize(store, cacheSize, 16);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Lookups {
+        public long hits;
+        public long misses;
+        private int next;
+
+        @Setup(Level.Iteration)
+        public void reset(ReadCacheBenchmark benchmark) {
+            hits = 0;
+            misses = 0;
+            next = new SplittableRandom().nextInt(benchmark.ids.length);
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Employee<Integer> getEmployeeById(Lookups lookups) throws Exception {
+        int id = ids[lookups.next];
+        lookups.next = lookups.next + 1 == ids.length ? 0 : lookups.next + 1;
+        long[] storeReads = STORE_READS.get();
+        long readsBefore = storeReads[0];
+        Employee<Integer> employee = cache == null ? store.findById(id) : cache.getEmployeeById(id);
+        if(storeReads[0] == readsBefore) {
+            lookups.hits++;
+        } else {
+            lookups.misses++;
+        }
+        return employee;
+    }
+
+    private static EmployeeStore<Integer> slow(EmployeeStore<Integer> fast) {
+        return new EmployeeStore<>() {
+            @Override
+            public Employee<Integer> findById(Integer employeeId) {
+                STORE_READS.get()[0]++;
+                Blackhole.consumeCPU(STORE_COST);
+                return fast.findById(employeeId);
+            }
+
+            @Override
+            public List<Employee<Integer>> findByQuery(EmployeeQuery<Integer> query) {
+                Blackhole.consumeCPU(STORE_COST);
+                return fast.findByQuery(query);
+            }
+        };
+    }
+}
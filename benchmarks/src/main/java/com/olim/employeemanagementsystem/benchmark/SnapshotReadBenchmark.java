@@ -0,0 +1,112 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures how reads scale over the persistent trie behind EmployeeDatabase. Lookups and full
+ * iterations take the current trie with one volatile read, so throughput should grow with the
+ * reader count; the readWrite group checks that it keeps growing while a writer adds and removes
+ * employees. copySnapshot is the O(N) copy readers needed before getAllEmployees became a stable
+ * snapshot, for comparison with iterateSnapshot.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector"})
+public class SnapshotReadBenchmark {
+    @Param({"100000", "1000000"})
+    private int employeeCount;
+
+    private EmployeeDatabase<Integer> database;
+
+    @Setup(Level.Trial)
+    public void fillDatabase() throws Exception {
+        Logger.getLogger("").setLevel(java.util.logging.Level.WARNING);
+        database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployees(EmployeeGenerator.withSeed(42).generate(0, employeeCount));
+        database.getUndoHistory().setMemoryLimit(0);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final SplittableRandom random = new SplittableRandom();
+        // Writers add and remove IDs above the generated ones
+        private int nextAdded;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Employee<Integer> lookup1(Cursor cursor) throws Exception {
+        return database.getEmployeeById(cursor.random.nextInt(employeeCount));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Employee<Integer> lookup4(Cursor cursor) throws Exception {
+        return lookup1(cursor);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Employee<Integer> lookup8(Cursor cursor) throws Exception {
+        return lookup1(cursor);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public double iterateSnapshot() {
+        double total = 0;
+        for(Employee<Integer> employee : database.getAllEmployees()) {
+            total += employee.getSalary();
+        }
+        return total;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public double iterateSnapshot4() {
+        return iterateSnapshot();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public double copySnapshot() {
+        double total = 0;
+        List<Employee<Integer>> copy = database.snapshot();
+        for(Employee<Integer> employee : copy) {
+            total += employee.getSalary();
+        }
+        return total;
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(7)
+    public Employee<Integer> read(Cursor cursor) throws Exception {
+        return lookup1(cursor);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public Object write(Cursor cursor) throws Exception {
+        int lap = cursor.nextAdded >> 10;
+        int id = employeeCount + (cursor.nextAdded++ & 1023);
+        // One lap over the extra IDs adds them and the next removes them, so the size stays put
+        if((lap & 1) == 0) {
+            return database.addEmployee(new Employee<>(id, "Added " + id, "IT", 60000.0, 3.5, 2, true));
+        }
+        return database.removeEmployee(id);
+    }
+}
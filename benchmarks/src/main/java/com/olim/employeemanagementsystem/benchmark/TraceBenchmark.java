@@ -0,0 +1,70 @@
+package com.olim.employeemanagementsystem.benchmark;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import com.olim.employeemanagementsystem.workload.Operation;
+import com.olim.employeemanagementsystem.workload.OperationType;
+import com.olim.employeemanagementsystem.workload.WorkloadTrace;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Replays a generated mix of requests, one operation per call, against a generated database.
+ * The database is refilled and the trace restarted before every iteration so each iteration
+ * sees the same sequence. Full sorts are left out of the mix; DatabaseBenchmark measures them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "--add-modules=jdk.incubator.vector"})
+public class TraceBenchmark {
+    private static final int TRACE_LENGTH = 2_000_000;
+
+    @Param({"10000", "1000000", "10000000"})
+    private int employeeCount;
+
+    @Param({"readOnly", "mixed"})
+    private String mix;
+
+    private EmployeeGenerator generator;
+    private List<Operation> trace;
+    private EmployeeDatabase<Integer> database;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void generateTrace() {
+        Logger.getLogger("").setLevel(java.util.logging.Level.WARNING);
+        generator = EmployeeGenerator.withSeed(42);
+        WorkloadTrace.Builder builder = WorkloadTrace.builder(generator, employeeCount)
+                .weight(OperationType.FIND_SORTED_BY_SALARY, 0);
+        if(mix.equals("readOnly")) {
+            builder.readOnly();
+        }
+        trace = builder.build().generate(TRACE_LENGTH);
+    }
+
+    @Setup(Level.Iteration)
+    public void fillDatabase() throws Exception {
+        database = new EmployeeDatabase<>(new HashMap<>(employeeCount * 2));
+        database.addEmployees(generator.generate(0, employeeCount));
+        next = 0;
+    }
+
+    @Benchmark
+    public Object replay() {
+        Operation operation = trace.get(next);
+        next = next + 1 == TRACE_LENGTH ? 0 : next + 1;
+        try {
+            return operation.applyTo(database);
+        } catch (Exception e) {
+            // Only once the trace wraps around, e.g. adding an employee that was already added
+            return e;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.olim.employeemanagementsystem;
 
+import com.olim.employeemanagementsystem.metrics.MetricsRegistry;
+import com.olim.employeemanagementsystem.util.LoggingUtility;
+import com.olim.employeemanagementsystem.util.StartupTimer;
+import com.olim.employeemanagementsystem.view.EmployeeManagementController;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -9,16 +13,41 @@ import java.io.IOException;
 
 public class
 HelloApplication extends Application {
+    private EmployeeManagementController controller;
+
     @Override
     public void start(Stage stage) throws IOException {
+        // Opening the log file does not need to delay the window
+        Thread.ofVirtual().name("ems-logging-init").start(LoggingUtility::configure);
+        // Operation latencies can then be watched in JConsole or VisualVM
+        Thread.ofVirtual().name("ems-metrics-init").start(MetricsRegistry.getDefault()::registerMBeans);
+
         FXMLLoader fxmlLoader = new FXMLLoader(HelloApplication.class.getResource("employee-management-ui.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 520, 540);
+        controller = fxmlLoader.getController();
+        StartupTimer.mark("User interface loaded");
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                StartupTimer.firstFrameShown();
+                scene.removePostLayoutPulseListener(this);
+            }
+        });
         stage.setTitle("Employee Management System");
         stage.setScene(scene);
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+        LoggingUtility.shutdown();
+    }
+
     public static void main(String[] args) {
+        StartupTimer.start();
         launch();
     }
-}
\ No newline at end of file
+}
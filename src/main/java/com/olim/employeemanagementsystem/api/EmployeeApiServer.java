@@ -0,0 +1,386 @@
+package com.olim.employeemanagementsystem.api;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.sort.SortColumn;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Read-only HTTP API over an {@link EmployeeDatabase}, for tools that need employee data without the UI.
+ * Built on the JDK's {@code com.sun.net.httpserver} with one virtual thread per request, so slow
+ * clients and large responses do not hold up other requests. Lists are queries run through the
+ * database's planner against one state and sent as chunked JSON while they are read, so a response
+ * is consistent however long it takes to send, and only a sorted one is ever held whole.
+ *
+ * <pre>
+ * GET /api/employees/{id}
+ * GET /api/employees?name=&amp;department=&amp;minSalary=&amp;maxSalary=&amp;minRating=&amp;minExperience=&amp;maxExperience=&amp;active=&amp;sort=SALARY:desc,NAME&amp;limit=
+ * GET /api/search/department/{department}
+ * GET /api/search/name/{name}
+ * GET /api/search/rating/{rating}
+ * GET /api/search/salary?min=&amp;max=
+ * GET /api/sorted/{salary|performance|experience}
+ * GET /api/salaries/top?count=
+ * GET /api/salaries/average/{department}
+ * GET /api/salaries/averages
+ * </pre>
+ *
+ * @param <T> The type of the employee ID
+ */
+public class EmployeeApiServer<T> {
+    private static final Logger logger = Logger.getLogger(EmployeeApiServer.class.getName());
+    private static final String JSON = "application/json; charset=utf-8";
+    // Pending connections the operating system may queue while every handler is busy
+    private static final int BACKLOG = 1024;
+    private static final int WRITE_BUFFER = 64 * 1024;
+    // Rows sent per flushed chunk of a list
+    private static final int PAGE_SIZE = 1000;
+    private static final SortOrder BY_SALARY_DESC = SortOrder.by(SortKey.descending(SortColumn.SALARY));
+    // Same order as EmployeeDatabase.findSortedByPerformanceRating, which compares salaries
+    private static final SortOrder BY_PERFORMANCE_DESC = BY_SALARY_DESC;
+    private static final SortOrder BY_EXPERIENCE_DESC = SortOrder.by(SortKey.descending(SortColumn.YEARS_OF_EXPERIENCE));
+    private static final int DEFAULT_TOP_COUNT = 5;
+
+    private final EmployeeDatabase<T> database;
+    private final Function<String, T> idParser;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param database The employees to serve
+     * @param idParser Turns the ID in a request path into an employee ID, e.g. Integer::valueOf
+     */
+    public EmployeeApiServer(EmployeeDatabase<T> database, Function<String, T> idParser) {
+        this.database = database;
+        this.idParser = idParser;
+    }
+
+    /**
+     * Starts serving on the given port of every interface
+     *
+     * @param port The port, or 0 for any free port
+     */
+    public void start(int port) throws IOException {
+        start(new InetSocketAddress(port));
+    }
+
+    public synchronized void start(InetSocketAddress address) throws IOException {
+        if(server != null) {
+            throw new IllegalStateException("Server is already running");
+        }
+        server = HttpServer.create(address, BACKLOG);
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ems-api-", 0).factory());
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+        server.start();
+        logger.info("Employee API listening on port " + getPort());
+    }
+
+    /**
+     * Gets the port the server is bound to, e.g. after starting on port 0
+     */
+    public synchronized int getPort() {
+        if(server == null) {
+            throw new IllegalStateException("Server is not running");
+        }
+        return server.getAddress().getPort();
+    }
+
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Stops accepting requests, gives running ones up to a second to finish and stops the rest
+     */
+    public synchronized void stop() {
+        if(server == null) {
+            return;
+        }
+        server.stop(1);
+        executor.shutdownNow();
+        server = null;
+        executor = null;
+        logger.info("Employee API stopped");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if(!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Only GET is supported");
+                return;
+            }
+            route(exchange);
+        } catch (IOException e) {
+            // The client went away while the response was written
+            logger.log(Level.FINE, "Could not send API response", e);
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String[] path = segments(exchange.getRequestURI().getPath());
+        Map<String, String> params = queryParameters(exchange.getRequestURI().getRawQuery());
+        try {
+            if(path.length == 2 && path[1].equals("employees")) {
+                sendEmployees(exchange, parseQuery(params));
+            } else if(path.length == 3 && path[1].equals("employees")) {
+                Employee<T> employee = database.getEmployeeById(parseId(path[2])).copy();
+                sendSmall(exchange, json -> json.writeEmployee(employee));
+            } else if(path.length == 4 && path[1].equals("search")) {
+                sendEmployeesOrNotFound(exchange, switch(path[2]) {
+                    case "department" -> departmentQuery(path[3]);
+                    case "name" -> nameQuery(path[3]);
+                    case "rating" -> ratingQuery(parseDouble("rating", path[3]));
+                    default -> null;
+                });
+            } else if(path.length == 3 && path[1].equals("search") && path[2].equals("salary")) {
+                sendEmployees(exchange, salaryQuery(
+                        parseDouble("min", required(params, "min")), parseDouble("max", required(params, "max"))));
+            } else if(path.length == 3 && path[1].equals("sorted")) {
+                sendEmployeesOrNotFound(exchange, switch(path[2]) {
+                    case "salary" -> sortedQuery(BY_SALARY_DESC, 0);
+                    case "performance" -> sortedQuery(BY_PERFORMANCE_DESC, 0);
+                    case "experience" -> sortedQuery(BY_EXPERIENCE_DESC, 0);
+                    default -> null;
+                });
+            } else if(path.length == 3 && path[1].equals("salaries") && path[2].equals("top")) {
+                String count = params.get("count");
+                sendEmployees(exchange, sortedQuery(BY_SALARY_DESC, count == null ? DEFAULT_TOP_COUNT : parseCount(count)));
+            } else if(path.length == 4 && path[1].equals("salaries") && path[2].equals("average")) {
+                double average = database.calculateAverageSalaryByDepartment(path[3]);
+                sendSmall(exchange, json -> json.writeField("averageSalary", average));
+            } else if(path.length == 3 && path[1].equals("salaries") && path[2].equals("averages")) {
+                Map<String, Double> averages = database.calculateAverageSalaryPerDepartment();
+                sendSmall(exchange, json -> json.writeAverages(averages));
+            } else {
+                sendError(exchange, 404, "No such endpoint");
+            }
+        } catch (EmployeeNotFoundException e) {
+            sendError(exchange, 404, e.getMessage());
+        } catch (IllegalArgumentException | InvalidDepartmentException | InvalidSalaryException e) {
+            // Bad input; NumberFormatException is an IllegalArgumentException too
+            sendError(exchange, 400, e.getMessage());
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Unexpected error serving " + exchange.getRequestURI(), e);
+            sendError(exchange, 500, "Internal server error");
+        }
+    }
+
+    private EmployeeQuery<T> parseQuery(Map<String, String> params) {
+        EmployeeQuery.Builder<T> builder = EmployeeQuery.builder();
+        for(Map.Entry<String, String> param : params.entrySet()) {
+            String value = param.getValue();
+            switch(param.getKey()) {
+                case "name" -> builder.nameContains(value);
+                case "department" -> builder.department(value);
+                case "minSalary" -> builder.minSalary(parseDouble("minSalary", value));
+                case "maxSalary" -> builder.maxSalary(parseDouble("maxSalary", value));
+                case "minRating" -> builder.minRating(parseDouble("minRating", value));
+                case "minExperience" -> builder.minExperience(parseInt("minExperience", value));
+                case "maxExperience" -> builder.maxExperience(parseInt("maxExperience", value));
+                case "active" -> builder.active(Boolean.parseBoolean(value));
+                case "sort" -> builder.sortedBy(parseSortOrder(value));
+                case "limit" -> builder.limit(parseInt("limit", value));
+                default -> throw new IllegalArgumentException("Unknown parameter: " + param.getKey());
+            }
+        }
+        return builder.build();
+    }
+
+    // The list endpoints are queries, validated like the database methods of the same name
+    private EmployeeQuery<T> departmentQuery(String department) throws InvalidDepartmentException {
+        EmployeeDatabase.requireValidDepartment(department);
+        return EmployeeQuery.<T>builder().department(department).build();
+    }
+
+    private EmployeeQuery<T> nameQuery(String name) {
+        if(name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be empty");
+        }
+        return EmployeeQuery.<T>builder().nameContains(name).build();
+    }
+
+    private EmployeeQuery<T> ratingQuery(double rating) {
+        if(rating < 0 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 0 and 5");
+        }
+        return EmployeeQuery.<T>builder().minRating(rating).build();
+    }
+
+    private EmployeeQuery<T> salaryQuery(double min, double max) throws InvalidSalaryException {
+        if(min < 0 || max < 0) {
+            throw new InvalidSalaryException("Salary cannot be negative");
+        }
+        if(min > max) {
+            throw new IllegalArgumentException("Minimum salary cannot be greater than maximum salary");
+        }
+        return EmployeeQuery.<T>builder().salaryBetween(min, max).build();
+    }
+
+    // A limit of 0 sends every employee
+    private EmployeeQuery<T> sortedQuery(SortOrder order, int limit) {
+        EmployeeQuery.Builder<T> builder = EmployeeQuery.<T>builder().sortedBy(order);
+        return limit > 0 ? builder.limit(limit).build() : builder.build();
+    }
+
+    private static int parseCount(String value) {
+        int count = parseInt("count", value);
+        if(count <= 0) {
+            throw new IllegalArgumentException("Number of employees must be positive");
+        }
+        return count;
+    }
+
+    /**
+     * Parses e.g. "DEPARTMENT,SALARY:desc" into department ascending, then salary descending
+     */
+    static SortOrder parseSortOrder(String value) {
+        SortOrder order = null;
+        for(String part : value.split(",")) {
+            String[] columnAndDirection = part.trim().split(":");
+            SortColumn column;
+            try {
+                column = SortColumn.valueOf(columnAndDirection[0].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown sort column: " + columnAndDirection[0]);
+            }
+            boolean descending = columnAndDirection.length > 1 && columnAndDirection[1].trim().equalsIgnoreCase("desc");
+            SortKey key = descending ? SortKey.descending(column) : SortKey.ascending(column);
+            order = order == null ? SortOrder.by(key) : order.then(key);
+        }
+        return order;
+    }
+
+    private T parseId(String value) {
+        try {
+            return idParser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid employee ID: " + value);
+        }
+    }
+
+    private static double parseDouble(String name, String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if(value == null) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static String[] segments(String path) {
+        return Arrays.stream(path.split("/")).filter(segment -> !segment.isEmpty()).toArray(String[]::new);
+    }
+
+    private static Map<String, String> queryParameters(String rawQuery) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if(rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for(String pair : rawQuery.split("&")) {
+            if(pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            params.put(name, value);
+        }
+        return params;
+    }
+
+    /**
+     * Streams the result of a query with chunked transfer encoding, flushing every page of rows.
+     * The rows all come from the database state the query was run against; an unsorted result is
+     * read from it as it is written, so only a sorted one is ever held whole.
+     */
+    private void sendEmployees(HttpExchange exchange, EmployeeQuery<T> query) throws IOException {
+        // Run before the headers are sent, so a bad query still gets an error status
+        Iterator<Employee<T>> employees = database.streamByQuery(query).iterator();
+
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(200, 0);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), WRITE_BUFFER)) {
+            EmployeeJsonWriter json = new EmployeeJsonWriter(out);
+            json.beginArray();
+            int rows = 0;
+            while(employees.hasNext()) {
+                json.writeElement(employees.next().copy());
+                if(++rows % PAGE_SIZE == 0) {
+                    out.flush();
+                }
+            }
+            json.endArray();
+        }
+    }
+
+    private void sendEmployeesOrNotFound(HttpExchange exchange, EmployeeQuery<T> query) throws IOException {
+        if(query == null) {
+            sendError(exchange, 404, "No such endpoint");
+        } else {
+            sendEmployees(exchange, query);
+        }
+    }
+
+    private static void sendSmall(HttpExchange exchange, JsonBody body) throws IOException {
+        StringWriter text = new StringWriter();
+        body.write(new EmployeeJsonWriter(text));
+        send(exchange, 200, text.toString());
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringWriter text = new StringWriter();
+        new EmployeeJsonWriter(text).writeField("error", message);
+        send(exchange, status, text.toString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @FunctionalInterface
+    private interface JsonBody {
+        void write(EmployeeJsonWriter json) throws IOException;
+    }
+}
@@ -0,0 +1,133 @@
+package com.olim.employeemanagementsystem.api;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes employees and aggregates as JSON straight to a response stream, one value at a time,
+ * so a large result is never held as a single string.
+ */
+class EmployeeJsonWriter {
+    private final Writer out;
+    private boolean firstElement;
+
+    EmployeeJsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Starts an array of employees, written one at a time with {@link #writeElement} so that the
+     * caller never needs them all at once
+     */
+    void beginArray() throws IOException {
+        out.write('[');
+        firstElement = true;
+    }
+
+    void writeElement(Employee<?> employee) throws IOException {
+        if(!firstElement) {
+            out.write(',');
+        }
+        firstElement = false;
+        writeEmployee(employee);
+    }
+
+    void endArray() throws IOException {
+        out.write(']');
+    }
+
+    /**
+     * Writes the values as they are read; pass a {@link Employee#copy()} of a live employee, so they
+     * are one consistent set even if it is being updated meanwhile
+     */
+    void writeEmployee(Employee<?> employee) throws IOException {
+        out.write("{\"employeeId\":");
+        writeValue(employee.getEmployeeId());
+        out.write(",\"name\":");
+        writeString(employee.getName());
+        out.write(",\"department\":");
+        writeString(employee.getDepartment());
+        out.write(",\"salary\":");
+        writeNumber(employee.getSalary());
+        out.write(",\"performanceRating\":");
+        writeNumber(employee.getPerformanceRating());
+        out.write(",\"yearsOfExperience\":");
+        out.write(Integer.toString(employee.getYearsOfExperience()));
+        out.write(",\"active\":");
+        out.write(employee.isActive() ? "true" : "false");
+        out.write('}');
+    }
+
+    void writeAverages(Map<String, Double> averages) throws IOException {
+        out.write('{');
+        boolean first = true;
+        for(Map.Entry<String, Double> entry : averages.entrySet()) {
+            if(!first) {
+                out.write(',');
+            }
+            first = false;
+            writeString(entry.getKey());
+            out.write(':');
+            writeNumber(entry.getValue());
+        }
+        out.write('}');
+    }
+
+    void writeField(String name, Object value) throws IOException {
+        out.write('{');
+        writeString(name);
+        out.write(':');
+        writeValue(value);
+        out.write('}');
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if(value == null) {
+            out.write("null");
+        } else if(value instanceof Double number) {
+            writeNumber(number);
+        } else if(value instanceof Number number) {
+            out.write(number.toString());
+        } else {
+            writeString(value.toString());
+        }
+    }
+
+    private void writeNumber(double value) throws IOException {
+        // JSON has no NaN or infinity
+        if(Double.isNaN(value) || Double.isInfinite(value)) {
+            out.write("null");
+        } else {
+            out.write(Double.toString(value));
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        if(value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for(int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch(c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if(c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,182 @@
+package com.olim.employeemanagementsystem.cache;
+
+import com.olim.employeemanagementsystem.db.EmployeeChangeEvent;
+import com.olim.employeemanagementsystem.db.EmployeeChangeListener;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+
+import java.util.List;
+
+/**
+ * Read-through cache of employees and search results in front of an {@link EmployeeStore}.
+ * Lookups by ID and repeated searches are served from two {@link TinyLfuCache}s, so the few hot
+ * employees stay cached while one-off reads of cold employees or reports pass through without
+ * evicting them. Only hits avoid the store; misses load from it and cache the result.
+ *
+ * Every write to the store must be followed by an invalidation, either by registering this cache
+ * as a change listener of the database that writes, as {@link #attachTo} does, or by calling
+ * {@link #invalidate} directly. A changed employee is dropped from the employee cache, and since
+ * any change can alter any search result, all cached searches are dropped with it.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class EmployeeReadCache<T> implements EmployeeChangeListener<T> {
+    // Rough per-object costs used for the byte estimate
+    private static final long EMPLOYEE_OVERHEAD = 72;
+    private static final long STRING_OVERHEAD = 40;
+    private static final long LIST_OVERHEAD = 40;
+    private static final long BYTES_PER_REFERENCE = 8;
+
+    private final EmployeeStore<T> store;
+    private final TinyLfuCache<T, Employee<T>> employees;
+    private final TinyLfuCache<EmployeeQuery<T>, List<Employee<T>>> searches;
+
+    private EmployeeReadCache(EmployeeStore<T> store, TinyLfuCache<T, Employee<T>> employees,
+                              TinyLfuCache<EmployeeQuery<T>, List<Employee<T>>> searches) {
+        if(store == null) {
+            throw new IllegalArgumentException("Store cannot be null");
+        }
+        this.store = store;
+        this.employees = employees;
+        this.searches = searches;
+    }
+
+    /**
+     * Creates a cache bounded by entry counts
+     *
+     * @param maxEmployees The most employees cached by ID
+     * @param maxSearches The most search results cached
+     */
+    public static <T> EmployeeReadCache<T> withMaximumSize(EmployeeStore<T> store, long maxEmployees, long maxSearches) {
+        return new EmployeeReadCache<>(store,
+                TinyLfuCache.<T, Employee<T>>builder().maximumSize(maxEmployees).build(),
+                TinyLfuCache.<EmployeeQuery<T>, List<Employee<T>>>builder().maximumSize(maxSearches).build());
+    }
+
+    /**
+     * Creates a cache bounded by the estimated bytes of its entries, three quarters of them for
+     * employees cached by ID and the rest for search results
+     *
+     * @param maxBytes The most estimated bytes cached
+     */
+    public static <T> EmployeeReadCache<T> withMaximumWeight(EmployeeStore<T> store, long maxBytes) {
+        if(maxBytes < 4) {
+            throw new IllegalArgumentException("Maximum weight must be at least 4 bytes");
+        }
+        long employeeBytes = maxBytes / 4 * 3;
+        return new EmployeeReadCache<>(store,
+                TinyLfuCache.<T, Employee<T>>builder()
+                        .maximumWeight(employeeBytes, (id, employee) -> estimateBytes(employee))
+                        .build(),
+                TinyLfuCache.<EmployeeQuery<T>, List<Employee<T>>>builder()
+                        .maximumWeight(maxBytes - employeeBytes, (query, result) -> estimateBytes(result))
+                        .build());
+    }
+
+    /**
+     * Registers this cache as a change listener of the database that writes to its store
+     *
+     * @return This cache
+     */
+    public EmployeeReadCache<T> attachTo(EmployeeDatabase<T> database) {
+        database.addChangeListener(this);
+        return this;
+    }
+
+    /**
+     * Gets an employee by ID, loading it from the store on a miss
+     *
+     * @throws EmployeeNotFoundException If the store has no employee with the ID
+     */
+    public Employee<T> getEmployeeById(T employeeId) throws EmployeeNotFoundException {
+        if(employeeId == null) {
+            throw new IllegalArgumentException("Employee ID cannot be null");
+        }
+        Employee<T> employee = employees.get(employeeId, store::findById);
+        if(employee == null) {
+            throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found");
+        }
+        return employee;
+    }
+
+    /**
+     * Gets the employees matching a query, loading them from the store on a miss
+     *
+     * @return An unmodifiable list of the matching employees
+     */
+    public List<Employee<T>> findByQuery(EmployeeQuery<T> query) {
+        if(query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        return searches.get(query, key -> List.copyOf(store.findByQuery(key)));
+    }
+
+    /**
+     * Drops an employee and every cached search; call after writing the employee to the store
+     */
+    public void invalidate(T employeeId) {
+        employees.invalidate(employeeId);
+        searches.invalidateAll();
+    }
+
+    public void invalidateAll() {
+        employees.invalidateAll();
+        searches.invalidateAll();
+    }
+
+    @Override
+    public void onChange(EmployeeChangeEvent<T> event) {
+        for(T employeeId : event.employeeIds()) {
+            employees.invalidate(employeeId);
+        }
+        searches.invalidateAll();
+    }
+
+    public TinyLfuCache.CacheStats getEmployeeStats() {
+        return employees.stats();
+    }
+
+    public TinyLfuCache.CacheStats getSearchStats() {
+        return searches.stats();
+    }
+
+    /**
+     * Gets the cache of employees by ID, for its size and weight
+     */
+    public TinyLfuCache<T, Employee<T>> getEmployeeCache() {
+        return employees;
+    }
+
+    public TinyLfuCache<EmployeeQuery<T>, List<Employee<T>>> getSearchCache() {
+        return searches;
+    }
+
+    /**
+     * Estimates the heap bytes of an employee, counting its name and department but not its ID
+     */
+    public static long estimateBytes(Employee<?> employee) {
+        return EMPLOYEE_OVERHEAD + stringBytes(employee.getName()) + stringBytes(employee.getDepartment());
+    }
+
+    /**
+     * Estimates the heap bytes of a search result as if it held its own copies of the employees
+     */
+    public static long estimateBytes(List<? extends Employee<?>> employees) {
+        long bytes = LIST_OVERHEAD;
+        for(Employee<?> employee : employees) {
+            bytes += BYTES_PER_REFERENCE + estimateBytes(employee);
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeReadCache[employees=" + employees + ", searches=" + searches + "]";
+    }
+}
@@ -0,0 +1,49 @@
+package com.olim.employeemanagementsystem.cache;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+
+import java.util.List;
+
+/**
+ * Read access to where employees are persisted, such as a disk or SQL backend.
+ * Every call is assumed to be expensive; {@link EmployeeReadCache} puts a cache in front of it.
+ *
+ * @param <T> The type of the employee ID
+ */
+public interface EmployeeStore<T> {
+    /**
+     * Loads an employee by ID
+     *
+     * @return The employee, or null if no employee has the ID
+     */
+    Employee<T> findById(T employeeId);
+
+    /**
+     * Loads the employees matching a query, in the query's order
+     */
+    List<Employee<T>> findByQuery(EmployeeQuery<T> query);
+
+    /**
+     * Reads an in-memory database as a store
+     */
+    static <T> EmployeeStore<T> of(EmployeeDatabase<T> database) {
+        return new EmployeeStore<>() {
+            @Override
+            public Employee<T> findById(T employeeId) {
+                try {
+                    return database.getEmployeeById(employeeId);
+                } catch (EmployeeNotFoundException e) {
+                    return null;
+                }
+            }
+
+            @Override
+            public List<Employee<T>> findByQuery(EmployeeQuery<T> query) {
+                return database.findByQuery(query);
+            }
+        };
+    }
+}
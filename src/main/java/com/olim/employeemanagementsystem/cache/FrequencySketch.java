@@ -0,0 +1,92 @@
+package com.olim.employeemanagementsystem.cache;
+
+/**
+ * Approximate access counts for the admission policy of {@link TinyLfuCache}: a count-min sketch of
+ * 4-bit counters, sixteen to a long. Each key updates one counter in four rows and its estimate is
+ * the smallest of them. Once the number of increments reaches ten times the table size every
+ * counter is halved, so the counts describe recent popularity and old favourites fade out.
+ * Not thread-safe; the cache only touches it while holding its eviction lock.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private long[] table;
+    private int sampleSize;
+    private int additions;
+
+    FrequencySketch(long expectedEntries) {
+        ensureCapacity(expectedEntries);
+    }
+
+    /**
+     * Grows the table for more entries; the counts are lost, as they would be on the next reset anyway
+     */
+    void ensureCapacity(long expectedEntries) {
+        int length = Integer.highestOneBit((int) Math.min(Math.max(expectedEntries, 16), 1 << 28) - 1) << 1;
+        if(table != null && table.length >= length) {
+            return;
+        }
+        table = new long[length];
+        sampleSize = 10 * length;
+        additions = 0;
+    }
+
+    int capacity() {
+        return table.length;
+    }
+
+    /**
+     * Gets the estimated number of recent accesses, at most 15
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for(int row = 0; row < 4; row++) {
+            frequency = Math.min(frequency, (int) ((table[indexOf(hash, row)] >>> offsetOf(hash, row)) & 0xF));
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for(int row = 0; row < 4; row++) {
+            int index = indexOf(hash, row);
+            int offset = offsetOf(hash, row);
+            if(((table[index] >>> offset) & 0xF) < MAX_COUNT) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if(added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    // Halves every counter, so popularity ages
+    private void reset() {
+        for(int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        mixed += mixed >>> 32;
+        return (int) mixed & (table.length - 1);
+    }
+
+    // Picks one of the sixteen counters in the long, differently for every row
+    private static int offsetOf(int hash, int row) {
+        return ((hash >>> (row << 3)) & 0xF) << 2;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -0,0 +1,527 @@
+package com.olim.employeemanagementsystem.cache;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Bounded, concurrent cache with W-TinyLFU eviction, for read-through caching in front of slow storage.
+ * New entries enter a small LRU window (1% of the capacity), so bursts of new keys do not disturb
+ * the rest. Entries leaving the window are only admitted to the main space if a frequency sketch
+ * says they are accessed more often than the entry they would displace, so a one-off scan cannot
+ * flush the popular entries. The main space is a segmented LRU: entries start on probation and move
+ * to the protected segment (80% of the main space) when they are read again.
+ *
+ * Lookups read a concurrent map without locking. The accesses they make are queued and applied to
+ * the eviction order in batches by whichever thread gets the eviction lock; when the queue is full
+ * accesses are dropped, which only makes the policy slightly less precise. Writes and invalidations
+ * take the lock. Concurrent loads of one key share one call to the loader, and a load that was
+ * overtaken by an invalidation of its key is returned to its callers but not cached, so
+ * invalidating after every write to the storage keeps the cache from serving stale values.
+ *
+ * The cache is bounded by entry count or by a weight such as an estimated size in bytes;
+ * see {@link Builder}.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public class TinyLfuCache<K, V> {
+    // Accesses queued for the eviction order before one is dropped, and the backlog that triggers applying them
+    private static final int READ_BUFFER_LIMIT = 256;
+    private static final int READ_DRAIN_THRESHOLD = 32;
+
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    private static final byte REMOVED = 3;
+
+    private final long maximum;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final Queue<Node<K, V>> readBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger readBufferSize = new AtomicInteger();
+
+    // Guarded by evictionLock
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+    private final AccessOrder<K, V> probation = new AccessOrder<>();
+    private final AccessOrder<K, V> protectedSegment = new AccessOrder<>();
+    private long windowWeight;
+    private long protectedWeight;
+    private volatile long totalWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder evictedWeight = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    private TinyLfuCache(Builder<K, V> builder) {
+        this.maximum = builder.maximum;
+        this.weigher = builder.weigher != null ? builder.weigher : (key, value) -> 1;
+        this.windowMaximum = Math.max(1, maximum / 100);
+        this.protectedMaximum = (maximum - windowMaximum) * 8 / 10;
+        // Weighted caches do not know their entry count up front; the sketch grows with it
+        this.sketch = new FrequencySketch(builder.weigher == null ? maximum : 1024);
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Gets a cached value without loading it
+     *
+     * @return The value, or null if the key is not cached
+     */
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        if(node == null) {
+            misses.increment();
+            recordMiss(key);
+            return null;
+        }
+        hits.increment();
+        afterRead(node);
+        return node.value;
+    }
+
+    /**
+     * Gets a cached value, loading and caching it on a miss. Threads that miss on the same key
+     * while it is loading wait for that load instead of starting their own.
+     *
+     * @param loader Loads the value from storage; a null result is returned but not cached
+     * @return The cached or loaded value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Node<K, V> node = data.get(key);
+        if(node != null) {
+            hits.increment();
+            afterRead(node);
+            return node.value;
+        }
+        misses.increment();
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> pending = loading.putIfAbsent(key, load);
+        if(pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+
+        V value;
+        try {
+            value = loader.apply(key);
+            loads.increment();
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            loading.remove(key, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+
+        evictionLock.lock();
+        try {
+            // Still registered means no invalidation of the key happened during the load
+            if(loading.remove(key, load) && value != null) {
+                install(key, value);
+            } else {
+                sketch.increment(key);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        load.complete(value);
+        return value;
+    }
+
+    /**
+     * Caches a value, replacing any cached value of the key
+     */
+    public void put(K key, V value) {
+        if(key == null || value == null) {
+            throw new IllegalArgumentException("Cache keys and values cannot be null");
+        }
+        evictionLock.lock();
+        try {
+            loading.remove(key);
+            install(key, value);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a key, including any value still being loaded for it; call after writing the key to storage
+     */
+    public void invalidate(K key) {
+        evictionLock.lock();
+        try {
+            loading.remove(key);
+            Node<K, V> node = data.remove(key);
+            if(node != null) {
+                unlink(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            loading.clear();
+            for(Node<K, V> node : data.values()) {
+                unlink(node);
+            }
+            data.clear();
+            readBuffer.clear();
+            readBufferSize.set(0);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Gets the total weight of the cached entries; equal to the size unless the cache is weighted
+     */
+    public long weightedSize() {
+        return totalWeight;
+    }
+
+    public long getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * Gets a snapshot of the hit, load and eviction counters
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), loads.sum(), loadFailures.sum(), evictions.sum(),
+                evictedWeight.sum(), rejections.sum());
+    }
+
+    @Override
+    public String toString() {
+        return "TinyLfuCache[size=" + size() + ", weight=" + totalWeight + "/" + maximum + ", " + stats() + "]";
+    }
+
+    // Must hold evictionLock
+    private void install(K key, V value) {
+        long weight = weigher.applyAsLong(key, value);
+        if(weight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative");
+        }
+        sketch.increment(key);
+        Node<K, V> node = data.get(key);
+        if(node != null) {
+            // Replaced values keep their place and move as if read
+            adjustWeight(node, weight - node.weight);
+            node.value = value;
+            node.weight = weight;
+            onAccess(node);
+        } else {
+            node = new Node<>(key, value, weight);
+            data.put(key, node);
+            node.queue = WINDOW;
+            window.addLast(node);
+            windowWeight += weight;
+            totalWeight += weight;
+            if(data.size() > sketch.capacity()) {
+                sketch.ensureCapacity(2L * data.size());
+            }
+        }
+        evict();
+    }
+
+    private void recordMiss(K key) {
+        if(evictionLock.tryLock()) {
+            try {
+                sketch.increment(key);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void afterRead(Node<K, V> node) {
+        if(readBufferSize.incrementAndGet() > READ_BUFFER_LIMIT) {
+            // Dropped: the eviction order misses one access
+            readBufferSize.decrementAndGet();
+        } else {
+            readBuffer.offer(node);
+        }
+        if(readBufferSize.get() >= READ_DRAIN_THRESHOLD && evictionLock.tryLock()) {
+            try {
+                drainReads();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    // Must hold evictionLock
+    private void drainReads() {
+        Node<K, V> node;
+        while((node = readBuffer.poll()) != null) {
+            readBufferSize.decrementAndGet();
+            sketch.increment(node.key);
+            if(node.queue != REMOVED) {
+                onAccess(node);
+            }
+        }
+    }
+
+    // Must hold evictionLock
+    private void onAccess(Node<K, V> node) {
+        switch(node.queue) {
+            case WINDOW -> window.moveToLast(node);
+            case PROBATION -> {
+                // Read again on probation: promote, demoting the protected segment's oldest if it overflows
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedSegment.addLast(node);
+                protectedWeight += node.weight;
+                while(protectedWeight > protectedMaximum && protectedSegment.first() != node) {
+                    Node<K, V> demoted = protectedSegment.first();
+                    protectedSegment.remove(demoted);
+                    protectedWeight -= demoted.weight;
+                    demoted.queue = PROBATION;
+                    probation.addLast(demoted);
+                }
+            }
+            case PROTECTED -> protectedSegment.moveToLast(node);
+            default -> { }
+        }
+    }
+
+    // Must hold evictionLock
+    private void evict() {
+        drainReads();
+        // Entries pushed out of the window compete for the main space
+        while(windowWeight > windowMaximum && window.first() != null) {
+            Node<K, V> candidate = window.first();
+            window.remove(candidate);
+            windowWeight -= candidate.weight;
+            admit(candidate);
+        }
+        // Only an entry heavier than the whole cache gets here
+        while(totalWeight > maximum) {
+            Node<K, V> victim = window.first() != null ? window.first()
+                    : probation.first() != null ? probation.first() : protectedSegment.first();
+            if(victim == null) {
+                break;
+            }
+            evictNode(victim);
+        }
+    }
+
+    // Must hold evictionLock; the candidate is in no segment
+    private void admit(Node<K, V> candidate) {
+        long mainMaximum = maximum - windowMaximum;
+        candidate.queue = PROBATION;
+        probation.addLast(candidate);
+        while(totalWeight - windowWeight > mainMaximum) {
+            Node<K, V> victim = probation.first() != candidate ? probation.first() : protectedSegment.first();
+            if(victim == null || victim == candidate) {
+                rejections.increment();
+                evictNode(candidate);
+                return;
+            }
+            // Ties favour the entry already cached, which has proven itself at least once
+            if(sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                evictNode(victim);
+            } else {
+                rejections.increment();
+                evictNode(candidate);
+                return;
+            }
+        }
+    }
+
+    private void evictNode(Node<K, V> node) {
+        data.remove(node.key, node);
+        unlink(node);
+        evictions.increment();
+        evictedWeight.add(node.weight);
+    }
+
+    // Must hold evictionLock
+    private void unlink(Node<K, V> node) {
+        switch(node.queue) {
+            case WINDOW -> {
+                window.remove(node);
+                windowWeight -= node.weight;
+            }
+            case PROBATION -> probation.remove(node);
+            case PROTECTED -> {
+                protectedSegment.remove(node);
+                protectedWeight -= node.weight;
+            }
+            default -> {
+                return;
+            }
+        }
+        totalWeight -= node.weight;
+        node.queue = REMOVED;
+    }
+
+    private void adjustWeight(Node<K, V> node, long delta) {
+        switch(node.queue) {
+            case WINDOW -> windowWeight += delta;
+            case PROTECTED -> protectedWeight += delta;
+            default -> { }
+        }
+        totalWeight += delta;
+    }
+
+    /**
+     * Hit, load and eviction counts since the cache was created
+     *
+     * @param rejections Entries that left the window but were not admitted to the main space; also counted as evictions
+     */
+    public record CacheStats(long hits, long misses, long loads, long loadFailures, long evictions, long evictedWeight,
+                             long rejections) {
+        public long requests() {
+            return hits + misses;
+        }
+
+        public double hitRate() {
+            long requests = requests();
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, hitRate=%.3f, loads=%d, loadFailures=%d, evictions=%d, evictedWeight=%d, rejections=%d",
+                    hits, misses, hitRate(), loads, loadFailures, evictions, evictedWeight, rejections);
+        }
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        // Guarded by evictionLock
+        long weight;
+        byte queue;
+        Node<K, V> previous;
+        Node<K, V> next;
+
+        Node(K key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    // Intrusive doubly linked list from least to most recently used
+    private static final class AccessOrder<K, V> {
+        private Node<K, V> first;
+        private Node<K, V> last;
+
+        Node<K, V> first() {
+            return first;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.previous = last;
+            node.next = null;
+            if(last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if(node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if(node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if(node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    /**
+     * Configures a cache. Exactly one bound must be set.
+     */
+    public static class Builder<K, V> {
+        private long maximum = -1;
+        private ToLongBiFunction<? super K, ? super V> weigher;
+
+        private Builder() {
+        }
+
+        /**
+         * Bounds the cache by the number of entries
+         */
+        public Builder<K, V> maximumSize(long entries) {
+            if(entries <= 0) {
+                throw new IllegalArgumentException("Maximum size must be positive");
+            }
+            this.maximum = entries;
+            this.weigher = null;
+            return this;
+        }
+
+        /**
+         * Bounds the cache by the total weight of its entries, e.g. their estimated size in bytes
+         *
+         * @param weigher Gives the weight of an entry when it is cached
+         */
+        public Builder<K, V> maximumWeight(long weight, ToLongBiFunction<? super K, ? super V> weigher) {
+            if(weight <= 0) {
+                throw new IllegalArgumentException("Maximum weight must be positive");
+            }
+            if(weigher == null) {
+                throw new IllegalArgumentException("Weigher cannot be null");
+            }
+            this.maximum = weight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        public TinyLfuCache<K, V> build() {
+            if(maximum <= 0) {
+                throw new IllegalStateException("Either a maximum size or a maximum weight must be set");
+            }
+            return new TinyLfuCache<>(this);
+        }
+    }
+}
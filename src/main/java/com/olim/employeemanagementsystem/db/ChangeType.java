@@ -0,0 +1,11 @@
+package com.olim.employeemanagementsystem.db;
+
+/**
+ * The kinds of mutation an {@link EmployeeDatabase} reports to its listeners and journal
+ */
+public enum ChangeType {
+    ADDED,
+    UPDATED,
+    REMOVED,
+    BULK_UPDATED
+}
@@ -0,0 +1,77 @@
+package com.olim.employeemanagementsystem.db;
+
+import java.util.logging.Logger;
+
+/**
+ * Primitive scans and aggregates over the columns of an {@link EmployeeColumns} snapshot.
+ * Plain scalar loops are the default. A SIMD implementation built on the incubating Vector API is
+ * used only when the JVM runs with {@code --add-modules jdk.incubator.vector} and
+ * {@code -Dems.vector.enabled=true}.
+ */
+public interface ColumnScan {
+
+    /**
+     * Collects the positions whose value lies within [min, max]
+     *
+     * @param column The column to scan
+     * @param min The inclusive lower bound
+     * @param max The inclusive upper bound
+     * @param positions Receives the matching positions in ascending order, must be at least column.length long
+     * @return The number of matching positions written
+     */
+    int selectBetween(double[] column, double min, double max, int[] positions);
+
+    double sum(double[] column);
+
+    /**
+     * Sums the values and counts the rows for every code in one call
+     *
+     * @param values The values to sum
+     * @param codes The group code of each row, between 0 and sums.length - 1
+     * @param sums Receives the sum per code
+     * @param counts Receives the row count per code
+     */
+    void sumByCode(double[] values, int[] codes, double[] sums, long[] counts);
+
+    static ColumnScan scalar() {
+        return ScalarColumnScan.INSTANCE;
+    }
+
+    /**
+     * Gets the SIMD implementation
+     *
+     * @throws UnsupportedOperationException If the Vector API module is not available
+     */
+    static ColumnScan vectorized() {
+        if(!isVectorApiAvailable()) {
+            throw new UnsupportedOperationException("Module jdk.incubator.vector is not available; start the JVM with --add-modules jdk.incubator.vector");
+        }
+        return VectorColumnScan.INSTANCE;
+    }
+
+    /**
+     * Gets the implementation this JVM is configured for: the SIMD one if it is enabled and its
+     * module is present, otherwise the scalar one
+     */
+    static ColumnScan configured() {
+        if(!Boolean.getBoolean("ems.vector.enabled")) {
+            return ScalarColumnScan.INSTANCE;
+        }
+        Logger logger = Logger.getLogger(ColumnScan.class.getName());
+        if(!isVectorApiAvailable()) {
+            logger.warning("ems.vector.enabled is set but module jdk.incubator.vector is not available, using scalar scans; "
+                    + "start the JVM with --add-modules jdk.incubator.vector");
+            return ScalarColumnScan.INSTANCE;
+        }
+        try {
+            return VectorColumnScan.INSTANCE;
+        } catch (LinkageError e) {
+            logger.warning("Vector API could not be loaded, using scalar scans: " + e);
+            return ScalarColumnScan.INSTANCE;
+        }
+    }
+
+    static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
@@ -0,0 +1,22 @@
+package com.olim.employeemanagementsystem.db;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.List;
+
+/**
+ * Describes one committed mutation of an {@link EmployeeDatabase}.
+ * A bulk operation produces a single event listing every affected employee.
+ *
+ * @param type The kind of mutation
+ * @param version The modification version of the database after the mutation
+ * @param employeeIds The IDs of the affected employees
+ * @param field The updated field for updates of a single field, null for updates of several fields
+ *              of one employee and for other mutations
+ * @param employees The affected employees in the order of their IDs, looked up in the snapshot this
+ *                  mutation published; null where an employee is not in it, e.g. for removals
+ * @param <T> The type of the employee ID
+ */
+public record EmployeeChangeEvent<T>(ChangeType type, long version, List<T> employeeIds, String field,
+                                     List<Employee<T>> employees) {
+}
@@ -0,0 +1,13 @@
+package com.olim.employeemanagementsystem.db;
+
+/**
+ * Receives the mutations committed by an {@link EmployeeDatabase}.
+ * Listeners are called on the mutating thread while the database is still locked,
+ * so they should hand work off rather than do it inline.
+ *
+ * @param <T> The type of the employee ID
+ */
+@FunctionalInterface
+public interface EmployeeChangeListener<T> {
+    void onChange(EmployeeChangeEvent<T> event);
+}
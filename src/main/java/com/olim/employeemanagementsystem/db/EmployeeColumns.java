@@ -0,0 +1,135 @@
+package com.olim.employeemanagementsystem.db;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.*;
+
+/**
+ * Immutable columnar snapshot of the employees in a database.
+ * Salaries and ratings are copied into primitive arrays and departments into dense integer codes,
+ * so range filters and aggregates can run as tight loops (or SIMD, see {@link ColumnScan})
+ * instead of chasing one object per employee. Position i of every column belongs to {@code row(i)}.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class EmployeeColumns<T> {
+    private final long version;
+    private final List<Employee<T>> rows;
+    private final double[] salaries;
+    private final double[] ratings;
+    private final int[] departmentCodes;
+    private final List<String> departments;
+
+    private EmployeeColumns(long version, List<Employee<T>> rows, double[] salaries, double[] ratings,
+                            int[] departmentCodes, List<String> departments) {
+        this.version = version;
+        this.rows = rows;
+        this.salaries = salaries;
+        this.ratings = ratings;
+        this.departmentCodes = departmentCodes;
+        this.departments = departments;
+    }
+
+    /**
+     * Copies the given employees into columns
+     *
+     * @param employees The employees to copy, in the order the positions should follow
+     * @param version The database modification version the employees were read at
+     * @return The columnar snapshot
+     */
+    public static <T> EmployeeColumns<T> of(Collection<Employee<T>> employees, long version) {
+        List<Employee<T>> rows = new ArrayList<>(employees);
+        int size = rows.size();
+        double[] salaries = new double[size];
+        double[] ratings = new double[size];
+        int[] departmentCodes = new int[size];
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> departments = new ArrayList<>();
+
+        for(int i = 0; i < size; i++) {
+            Employee<T> employee = rows.get(i);
+            salaries[i] = employee.getSalary();
+            ratings[i] = employee.getPerformanceRating();
+            departmentCodes[i] = codes.computeIfAbsent(employee.getDepartment(), department -> {
+                departments.add(department);
+                return departments.size() - 1;
+            });
+        }
+
+        return new EmployeeColumns<>(version, Collections.unmodifiableList(rows), salaries, ratings,
+                departmentCodes, Collections.unmodifiableList(departments));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public Employee<T> row(int position) {
+        return rows.get(position);
+    }
+
+    // The arrays are shared, not copied; callers must treat them as read-only
+    public double[] salaries() {
+        return salaries;
+    }
+
+    public double[] ratings() {
+        return ratings;
+    }
+
+    public int[] departmentCodes() {
+        return departmentCodes;
+    }
+
+    public List<String> departments() {
+        return departments;
+    }
+
+    /**
+     * Calculates the average salary of every department present in the snapshot
+     *
+     * @param scan The scan implementation to aggregate with
+     * @return The average salary keyed by department
+     */
+    public Map<String, Double> averageSalaryPerDepartment(ColumnScan scan) {
+        Map<String, Double> result = new HashMap<>();
+        salaryTotalsPerDepartment(scan).forEach((department, total) -> result.put(department, total.average()));
+        return result;
+    }
+
+    /**
+     * Sums and counts the salaries of every department present in the snapshot; unlike averages,
+     * totals from several snapshots can be added up
+     *
+     * @param scan The scan implementation to aggregate with
+     * @return The salary total keyed by department
+     */
+    public Map<String, SalaryTotal> salaryTotalsPerDepartment(ColumnScan scan) {
+        double[] sums = new double[departments.size()];
+        long[] counts = new long[departments.size()];
+        scan.sumByCode(salaries, departmentCodes, sums, counts);
+
+        Map<String, SalaryTotal> result = new HashMap<>();
+        for(int code = 0; code < sums.length; code++) {
+            result.put(departments.get(code), new SalaryTotal(sums[code], counts[code]));
+        }
+        return result;
+    }
+
+    /**
+     * The sum and number of salaries in one department
+     */
+    public record SalaryTotal(double sum, long count) {
+        public SalaryTotal plus(SalaryTotal other) {
+            return new SalaryTotal(sum + other.sum, count + other.count);
+        }
+
+        public double average() {
+            return sum / count;
+        }
+    }
+}
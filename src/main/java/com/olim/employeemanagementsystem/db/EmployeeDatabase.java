@@ -1,33 +1,269 @@
 package com.olim.employeemanagementsystem.db;
 
-import com.olim.employeemanagementsystem.comparator.EmployeePerformanceComparator;
-import com.olim.employeemanagementsystem.comparator.EmployeeSalaryComparator;
 import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.exception.EmployeeVersionConflictException;
 import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
 import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.metrics.MetricsRegistry;
+import com.olim.employeemanagementsystem.metrics.OperationTimer;
 import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.query.Page;
+import com.olim.employeemanagementsystem.query.PageCursor;
+import com.olim.employeemanagementsystem.query.QueryPlan;
 import com.olim.employeemanagementsystem.service.SalaryManagementService;
 import com.olim.employeemanagementsystem.service.SearchService;
 import com.olim.employeemanagementsystem.service.SortService;
-import com.olim.employeemanagementsystem.util.LoggingUtility;
+import com.olim.employeemanagementsystem.sort.NormalizedKeySorter;
+import com.olim.employeemanagementsystem.sort.SortColumn;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
-public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, SalaryManagementService<T> {
+public final class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, SalaryManagementService<T> {
     private static final Logger logger = Logger.getLogger(EmployeeDatabase.class.getName());
 
+    // Latency of every service method, shared by all databases in the process
+    private static final MetricsRegistry metrics = MetricsRegistry.getDefault();
+    private static final OperationTimer ADD_EMPLOYEE = metrics.timer("EmployeeDatabase.addEmployee");
+    private static final OperationTimer ADD_EMPLOYEES = metrics.timer("EmployeeDatabase.addEmployees");
+    private static final OperationTimer REMOVE_EMPLOYEE = metrics.timer("EmployeeDatabase.removeEmployee");
+    private static final OperationTimer UPDATE_EMPLOYEE_DETAILS = metrics.timer("EmployeeDatabase.updateEmployeeDetails");
+    private static final OperationTimer APPLY_REPLICATED_CHANGE = metrics.timer("EmployeeDatabase.applyReplicatedChange");
+    private static final OperationTimer REPLACE_ALL = metrics.timer("EmployeeDatabase.replaceAll");
+    private static final OperationTimer APPLY_BATCH = metrics.timer("EmployeeDatabase.applyBatch");
+    // Lookups take less time than reading the clock twice, so only a sample of them is timed
+    private static final OperationTimer GET_EMPLOYEE_BY_ID = metrics.timer("EmployeeDatabase.getEmployeeById", 64);
+    private static final OperationTimer FIND_BY_DEPARTMENT = metrics.timer("EmployeeDatabase.findByDepartment");
+    private static final OperationTimer FIND_BY_NAME = metrics.timer("EmployeeDatabase.findByName");
+    private static final OperationTimer FIND_BY_RATING = metrics.timer("EmployeeDatabase.findByRating");
+    private static final OperationTimer FIND_BY_SALARY_BETWEEN = metrics.timer("EmployeeDatabase.findBySalaryBetween");
+    private static final OperationTimer FIND_BY_QUERY = metrics.timer("EmployeeDatabase.findByQuery");
+    private static final OperationTimer STREAM_BY_QUERY = metrics.timer("EmployeeDatabase.streamByQuery");
+    private static final OperationTimer FIND_PAGE = metrics.timer("EmployeeDatabase.findPage");
+    private static final OperationTimer FIND_PAGE_AT = metrics.timer("EmployeeDatabase.findPageAt");
+    private static final OperationTimer DISPLAY_ALL = metrics.timer("EmployeeDatabase.displayAll");
+    private static final OperationTimer GROUP_BY_DEPARTMENT = metrics.timer("EmployeeDatabase.groupByDepartment");
+    private static final OperationTimer FIND_SORTED_BY_SALARY = metrics.timer("EmployeeDatabase.findSortedBySalary");
+    private static final OperationTimer FIND_SORTED_BY_PERFORMANCE_RATING = metrics.timer("EmployeeDatabase.findSortedByPerformanceRating");
+    private static final OperationTimer FIND_SORTED_BY_EXPERIENCE = metrics.timer("EmployeeDatabase.findSortedByExperience");
+    private static final OperationTimer FIND_SORTED = metrics.timer("EmployeeDatabase.findSorted");
+    private static final OperationTimer APPLY_SALARY_RAISE = metrics.timer("EmployeeDatabase.applySalaryRaise");
+    private static final OperationTimer UNDO_SALARY_RAISE = metrics.timer("EmployeeDatabase.undoSalaryRaise");
+    private static final OperationTimer UNDO = metrics.timer("EmployeeDatabase.undo");
+    private static final OperationTimer REDO = metrics.timer("EmployeeDatabase.redo");
+    private static final OperationTimer FIND_TOP_HIGHEST_PAID = metrics.timer("EmployeeDatabase.findTopHighestPaid");
+    private static final OperationTimer CALCULATE_AVERAGE_SALARY_BY_DEPARTMENT = metrics.timer("EmployeeDatabase.calculateAverageSalaryByDepartment");
+    private static final OperationTimer CALCULATE_AVERAGE_SALARY_PER_DEPARTMENT = metrics.timer("EmployeeDatabase.calculateAverageSalaryPerDepartment");
+
     // List of valid departments
-    private static final Set<String> VALID_DEPARTMENTS = new HashSet<>(
-            Arrays.asList("IT", "HR", "Finance", "Marketing", "Sales", "Operations", "Legal", "R&D")
-    );
+    private static final Set<String> VALID_DEPARTMENTS = new HashSet<>(EmployeeField.DEPARTMENTS);
+
+    // Shared with PartitionedEmployeeDatabase, which merges shard results in the same orders
+    static final SortOrder BY_SALARY_DESC = SortOrder.by(SortKey.descending(SortColumn.SALARY));
+    // EmployeePerformanceComparator orders by salary, and callers rely on that order
+    static final SortOrder BY_PERFORMANCE_DESC = BY_SALARY_DESC;
+    static final SortOrder BY_EXPERIENCE_DESC = SortOrder.by(SortKey.descending(SortColumn.YEARS_OF_EXPERIENCE));
+
+    // Batches at least this large compute their new values in parallel
+    private static final int PARALLEL_BATCH_THRESHOLD = 10_000;
+
+    // Replaced as a whole by every mutation under the lock; readers take the current state with one
+    // volatile read and see a stable set of employees and matching indexes however long they hold it
+    private volatile State<T> state;
+
+    private final MutationJournal<T> journal = new MutationJournal<>();
+    private final UndoHistory<T> undoHistory = new UndoHistory<>();
+    private final List<EmployeeChangeListener<T>> changeListeners = new CopyOnWriteArrayList<>();
+
+    // Chosen on first use, since loading the Vector API when it is enabled slows down startup
+    private volatile ColumnScan columnScan;
+    private final QueryPlanner<T> queryPlanner = new QueryPlanner<>(this::columnScan);
 
-    private final HashMap<T, Employee<T>> employees;
+    // Columnar copy for scans and aggregates, rebuilt lazily once the modification version moves on
+    private volatile EmployeeColumns<T> columns;
+    private final ResultPager<T> resultPager = new ResultPager<>(() -> state.version(), this::pagedMatches);
 
+    /**
+     * @param employees The initial employees; they are copied, so later changes to the map do not affect the database
+     */
     public EmployeeDatabase(HashMap<T, Employee<T>> employees) {
-        this.employees = employees;
+        PersistentHashTrie.Editor<T, Employee<T>> initial = PersistentHashTrie.<T, Employee<T>>empty().edit();
+        employees.forEach(initial::put);
+        this.state = new State<>(initial.build(), null, 0);
+    }
+
+    /**
+     * One published state of the database. The employee values still change in place, but the set of
+     * employees and the index buckets they sit in only change by publishing a new state.
+     *
+     * @param employees The employees by ID
+     * @param indexes The secondary indexes over exactly these employees, null until a query needs them
+     * @param version The modification version the state was published at
+     */
+    private record State<T>(PersistentHashTrie<T, Employee<T>> employees, EmployeeIndexes<T> indexes, long version) {
+    }
+
+    /**
+     * Gets the current state, first building its secondary indexes if no query has needed them yet
+     */
+    private State<T> indexedState() {
+        State<T> current = state;
+        return current.indexes() != null ? current : buildIndexes();
+    }
+
+    private synchronized State<T> buildIndexes() {
+        State<T> current = state;
+        if(current.indexes() == null) {
+            EmployeeIndexes.Editor<T> built = EmployeeIndexes.<T>empty().edit();
+            current.employees().values().forEach(built::add);
+            current = new State<>(current.employees(), built.build(), current.version());
+            state = current;
+            int size = current.employees().size();
+            logger.fine(() -> "Built indexes for " + size + " employees");
+        }
+        return current;
+    }
+
+    /**
+     * Gets whether the secondary indexes have been built; they are built by the first query that needs them
+     */
+    public boolean isIndexed() {
+        return state.indexes() != null;
+    }
+
+    // Starts the indexes of the next state, or returns null while they have not been built
+    private EmployeeIndexes.Editor<T> editIndexes() {
+        return editIndexes(state);
+    }
+
+    private static <T> EmployeeIndexes.Editor<T> editIndexes(State<T> base) {
+        EmployeeIndexes<T> current = base.indexes();
+        return current == null ? null : current.edit();
+    }
+
+    private static <T> EmployeeIndexes<T> build(EmployeeIndexes.Editor<T> indexes) {
+        return indexes == null ? null : indexes.build();
+    }
+
+    private ColumnScan columnScan() {
+        ColumnScan current = columnScan;
+        if(current == null) {
+            current = ColumnScan.configured();
+            columnScan = current;
+        }
+        return current;
+    }
+
+    /**
+     * Gets the current modification version of the database.
+     * The version increases monotonically with every add, remove, update and salary raise,
+     * so two equal versions mean the data has not changed through this database in between.
+     *
+     * @return The current modification version
+     */
+    public long getModificationVersion() {
+        return state.version();
+    }
+
+    /**
+     * Registers a listener that is told about every committed mutation
+     *
+     * @param listener The listener to add
+     */
+    public void addChangeListener(EmployeeChangeListener<T> listener) {
+        if(listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(EmployeeChangeListener<T> listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Gets the journal of committed mutations
+     *
+     * @return The mutation journal of this database
+     */
+    public MutationJournal<T> getJournal() {
+        return journal;
+    }
+
+    /**
+     * Gets the undo and redo history, e.g. to change its memory limit
+     *
+     * @return The undo history of this database
+     */
+    public UndoHistory<T> getUndoHistory() {
+        return undoHistory;
+    }
+
+    // Commits a mutation: publishes the next state under a new version, journals it and notifies listeners
+    private long recordChange(PersistentHashTrie<T, Employee<T>> employees, EmployeeIndexes<T> indexes,
+                              ChangeType type, String field, List<T> employeeIds, String description) {
+        return commitChange(employees, indexes, type, field, employeeIds, description).version();
+    }
+
+    private EmployeeChangeEvent<T> commitChange(PersistentHashTrie<T, Employee<T>> employees, EmployeeIndexes<T> indexes,
+                                                ChangeType type, String field, List<T> employeeIds, String description) {
+        PendingChange<T> change = prepareChange(employees, indexes, state.version() + 1, type, field, employeeIds, description, null);
+        publish(change);
+        return change.event();
+    }
+
+    // A change that is ready but not published yet, e.g. while its batch is being persisted
+    private record PendingChange<T>(State<T> state, MutationJournal.Entry<T> entry, EmployeeChangeEvent<T> event,
+                                    UndoHistory.Delta<T> undo) {
+    }
+
+    private PendingChange<T> prepareChange(PersistentHashTrie<T, Employee<T>> employees, EmployeeIndexes<T> indexes, long version,
+                                           ChangeType type, String field, List<T> employeeIds, String description,
+                                           UndoHistory.Delta<T> undo) {
+        List<T> ids = Collections.unmodifiableList(employeeIds);
+        return new PendingChange<>(new State<>(employees, indexes, version),
+                new MutationJournal.Entry<>(version, type, field, ids, description),
+                new EmployeeChangeEvent<>(type, version, ids, field, snapshotOf(employees, ids)), undo);
+    }
+
+    private void publish(PendingChange<T> change) {
+        state = change.state();
+        journal.append(change.entry());
+
+        EmployeeChangeEvent<T> event = change.event();
+        for(EmployeeChangeListener<T> listener : changeListeners) {
+            try {
+                listener.onChange(event);
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Change listener failed for " + event.type() + " at version " + event.version(), e);
+            }
+        }
+        if(change.undo() != null) {
+            undoHistory.record(change.undo());
+        }
+    }
+
+    // The snapshot is immutable, so listeners can read it without the lock and only pay for the lookups they make
+    private static <T> List<Employee<T>> snapshotOf(PersistentHashTrie<T, Employee<T>> employees, List<T> ids) {
+        return new AbstractList<>() {
+            @Override
+            public Employee<T> get(int index) {
+                return employees.get(ids.get(index));
+            }
+
+            @Override
+            public int size() {
+                return ids.size();
+            }
+        };
     }
 
     /**
@@ -39,7 +275,8 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
      * @throws InvalidDepartmentException If the department is not valid
      * @throws IllegalArgumentException If any input data is invalid
      */
-    public T addEmployee(Employee<T> employee) throws InvalidSalaryException, InvalidDepartmentException {
+    public synchronized T addEmployee(Employee<T> employee) throws InvalidSalaryException, InvalidDepartmentException {
+        long started = ADD_EMPLOYEE.start();
         try {
             // Validate employee is not null
             if(employee == null) {
@@ -48,71 +285,144 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
             }
 
             // Check if employee already exists
-            if(employees.containsKey(employee.getEmployeeId())) {
+            State<T> current = state;
+            if(current.employees().containsKey(employee.getEmployeeId())) {
                 logger.warning("Attempt to add duplicate employee ID: " + employee.getEmployeeId());
                 return null;
             }
 
-            // Validate employee ID
-            if(employee.getEmployeeId() == null) {
-                logger.warning("Attempt to add employee with null ID");
-                throw new IllegalArgumentException("Employee ID cannot be null");
-            }
-
-            if(employee.getEmployeeId() instanceof Integer id) {
-                if(id < 0) {
-                    logger.warning("Attempt to add employee with negative ID: " + id);
-                    throw new IllegalArgumentException("Employee ID cannot be negative");
-                }
-            }
-
-            // Validate employee name
-            if(employee.getName() == null || employee.getName().trim().isEmpty()) {
-                logger.warning("Attempt to add employee with null or empty name");
-                throw new IllegalArgumentException("Employee name cannot be empty");
-            }
+            validateNewEmployee(employee);
 
-            // Validate department
-            if(employee.getDepartment() == null || employee.getDepartment().trim().isEmpty()) {
-                logger.warning("Attempt to add employee with null or empty department");
-                throw new IllegalArgumentException("Department cannot be empty");
+            // Add employee to database
+            EmployeeIndexes.Editor<T> indexes = editIndexes();
+            if(indexes != null) {
+                indexes.add(employee);
             }
+            recordChange(current.employees().put(employee.getEmployeeId(), employee), build(indexes),
+                    ChangeType.ADDED, null, List.of(employee.getEmployeeId()), "Added employee");
+            undoHistory.record(UndoHistory.Delta.delete(targets(List.of(employee)), "Add employee " + employee.getEmployeeId()));
+            logger.info(() -> "Employee added successfully: " + employee.getEmployeeId());
+            return employee.getEmployeeId();
 
-            if(!VALID_DEPARTMENTS.contains(employee.getDepartment())) {
-                logger.warning("Attempt to add employee with invalid department: " + employee.getDepartment());
-                throw new InvalidDepartmentException("Department '" + employee.getDepartment() + "' is not valid. Valid departments are: " + VALID_DEPARTMENTS);
-            }
+        } catch (InvalidSalaryException | InvalidDepartmentException | IllegalArgumentException e) {
+            // Rethrow these exceptions to be handled by UI
+            throw e;
+        } catch (Exception e) {
+            // Log unexpected exceptions
+            logger.log(Level.SEVERE, "Unexpected error adding employee", e);
+            throw new RuntimeException("Failed to add employee: " + e.getMessage(), e);
+        } finally {
+            ADD_EMPLOYEE.stop(started);
+        }
+    }
 
-            // Validate salary
-            if(employee.getSalary() < 0) {
-                logger.warning("Attempt to add employee with negative salary: " + employee.getSalary());
-                throw new InvalidSalaryException("Salary cannot be negative");
+    /**
+     * Adds many employees as one change, for loading data in bulk.
+     * Every employee is validated before any is added, so an invalid employee leaves the database
+     * unchanged. Employees whose ID already exists are skipped, and listeners receive a single
+     * ADDED event for the whole collection instead of one per employee. Loading data is not an
+     * edit that can be undone; it clears the undo history.
+     *
+     * @param newEmployees The employees to add
+     * @return The IDs of the employees that were added, in the given order
+     * @throws InvalidSalaryException If a salary is negative or invalid
+     * @throws InvalidDepartmentException If a department is not valid
+     * @throws IllegalArgumentException If any input data is invalid
+     */
+    public synchronized List<T> addEmployees(Collection<Employee<T>> newEmployees)
+            throws InvalidSalaryException, InvalidDepartmentException {
+        long started = ADD_EMPLOYEES.start();
+        try {
+            if(newEmployees == null) {
+                throw new IllegalArgumentException("Employees cannot be null");
             }
 
-            // Validate performance rating
-            if(employee.getPerformanceRating() < 0 || employee.getPerformanceRating() > 5) {
-                logger.warning("Attempt to add employee with invalid performance rating: " + employee.getPerformanceRating());
-                throw new IllegalArgumentException("Performance rating must be between 0 and 5");
+            PersistentHashTrie<T, Employee<T>> employees = state.employees();
+            Map<T, Employee<T>> accepted = new LinkedHashMap<>();
+            for(Employee<T> employee : newEmployees) {
+                if(employee == null) {
+                    throw new IllegalArgumentException("Employee cannot be empty");
+                }
+                validateNewEmployee(employee);
+                if(!employees.containsKey(employee.getEmployeeId())) {
+                    accepted.putIfAbsent(employee.getEmployeeId(), employee);
+                }
             }
 
-            // Validate years of experience
-            if(employee.getYearsOfExperience() < 0) {
-                logger.warning("Attempt to add employee with negative years of experience: " + employee.getYearsOfExperience());
-                throw new IllegalArgumentException("Years of experience cannot be negative");
+            List<T> ids = new ArrayList<>(accepted.keySet());
+            if(!ids.isEmpty()) {
+                PersistentHashTrie.Editor<T, Employee<T>> added = employees.edit();
+                accepted.forEach(added::put);
+                EmployeeIndexes.Editor<T> indexes = editIndexes();
+                if(indexes != null) {
+                    accepted.values().forEach(indexes::add);
+                }
+                recordChange(added.build(), build(indexes), ChangeType.ADDED, null, ids, "Added " + ids.size() + " employees");
+                undoHistory.clear();
             }
-
-            // Add employee to database
-            employees.put(employee.getEmployeeId(), employee);
-            logger.info("Employee added successfully: " + employee.getEmployeeId());
-            return employee.getEmployeeId();
+            int skipped = newEmployees.size() - ids.size();
+            logger.info(() -> "Added " + ids.size() + " employees" + (skipped > 0 ? ", skipped " + skipped + " duplicates" : ""));
+            return ids;
 
         } catch (InvalidSalaryException | InvalidDepartmentException | IllegalArgumentException e) {
             // Rethrow these exceptions to be handled by UI
             throw e;
         } catch (Exception e) {
             // Log unexpected exceptions
-            logger.log(Level.SEVERE, "Unexpected error adding employee", e);
-            throw new RuntimeException("Failed to add employee: " + e.getMessage(), e);
+            logger.log(Level.SEVERE, "Unexpected error adding employees", e);
+            throw new RuntimeException("Failed to add employees: " + e.getMessage(), e);
+        } finally {
+            ADD_EMPLOYEES.stop(started);
+        }
+    }
+
+    static <T> void validateNewEmployee(Employee<T> employee) throws InvalidSalaryException, InvalidDepartmentException {
+        // Validate employee ID
+        if(employee.getEmployeeId() == null) {
+            logger.warning("Attempt to add employee with null ID");
+            throw new IllegalArgumentException("Employee ID cannot be null");
+        }
+
+        if(employee.getEmployeeId() instanceof Integer id) {
+            if(id < 0) {
+                logger.warning("Attempt to add employee with negative ID: " + id);
+                throw new IllegalArgumentException("Employee ID cannot be negative");
+            }
+        }
+
+        // Validate employee name
+        if(employee.getName() == null || employee.getName().trim().isEmpty()) {
+            logger.warning("Attempt to add employee with null or empty name");
+            throw new IllegalArgumentException("Employee name cannot be empty");
+        }
+
+        // Validate department
+        if(employee.getDepartment() == null || employee.getDepartment().trim().isEmpty()) {
+            logger.warning("Attempt to add employee with null or empty department");
+            throw new IllegalArgumentException("Department cannot be empty");
+        }
+
+        if(!VALID_DEPARTMENTS.contains(employee.getDepartment())) {
+            logger.warning("Attempt to add employee with invalid department: " + employee.getDepartment());
+            throw new InvalidDepartmentException("Department '" + employee.getDepartment() + "' is not valid. Valid departments are: " + VALID_DEPARTMENTS);
+        }
+
+        // Validate salary
+        if(employee.getSalary() < 0) {
+            logger.warning("Attempt to add employee with negative salary: " + employee.getSalary());
+            throw new InvalidSalaryException("Salary cannot be negative");
+        }
+
+        // Validate performance rating
+        if(employee.getPerformanceRating() < 0 || employee.getPerformanceRating() > 5) {
+            logger.warning("Attempt to add employee with invalid performance rating: " + employee.getPerformanceRating());
+            throw new IllegalArgumentException("Performance rating must be between 0 and 5");
+        }
+
+        // Validate years of experience
+        if(employee.getYearsOfExperience() < 0) {
+            logger.warning("Attempt to add employee with negative years of experience: " + employee.getYearsOfExperience());
+            throw new IllegalArgumentException("Years of experience cannot be negative");
         }
     }
 
@@ -123,21 +433,29 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
      * @return The removed employee, or null if no employee found with the given ID
      * @throws IllegalArgumentException If the employee ID is null
      */
-    public Employee<T> removeEmployee(T employeeId) throws EmployeeNotFoundException {
+    public synchronized Employee<T> removeEmployee(T employeeId) throws EmployeeNotFoundException {
+        long started = REMOVE_EMPLOYEE.start();
         try {
             if(employeeId == null) {
                 logger.warning("Attempt to remove employee with null ID");
                 throw new IllegalArgumentException("Employee ID cannot be null");
             }
 
-            Employee<T> removedEmployee = employees.remove(employeeId);
+            PersistentHashTrie<T, Employee<T>> employees = state.employees();
+            Employee<T> removedEmployee = employees.get(employeeId);
 
             if(removedEmployee == null) {
                 logger.warning("Attempt to remove non-existent employee: " + employeeId);
                 throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found");
             }
 
-            logger.info("Employee removed successfully: " + employeeId);
+            EmployeeIndexes.Editor<T> indexes = editIndexes();
+            if(indexes != null) {
+                indexes.remove(removedEmployee);
+            }
+            recordChange(employees.remove(employeeId), build(indexes), ChangeType.REMOVED, null, List.of(employeeId), "Removed employee");
+            undoHistory.record(UndoHistory.Delta.insert(targets(List.of(removedEmployee)), "Remove employee " + employeeId));
+            logger.info(() -> "Employee removed successfully: " + employeeId);
             return removedEmployee;
 
         } catch (EmployeeNotFoundException | IllegalArgumentException e) {
@@ -147,146 +465,691 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
             // Log unexpected exceptions
             logger.log(Level.SEVERE, "Unexpected error removing employee", e);
             throw new RuntimeException("Failed to remove employee: " + e.getMessage(), e);
+        } finally {
+            REMOVE_EMPLOYEE.stop(started);
         }
     }
 
     // Fixed method without the salary division bug
-    public Employee<T> updateEmployeeDetails(T employeeId, String field, Object newValue)
+    public synchronized Employee<T> updateEmployeeDetails(T employeeId, String field, Object newValue)
             throws EmployeeNotFoundException, InvalidSalaryException, InvalidDepartmentException {
+        long started = UPDATE_EMPLOYEE_DETAILS.start();
         try {
-            if(employeeId == null) {
-                logger.warning("Attempt to update employee with null ID");
-                throw new IllegalArgumentException("Employee ID cannot be null");
+            Employee<T> employee = findForUpdate(employeeId);
+            checkUpdate(field, newValue);
+            applyUpdate(employee, field, newValue);
+            logger.info(() -> "Employee updated successfully: " + employeeId + ", field: " + field);
+            return employee;
+
+        } catch (EmployeeNotFoundException | InvalidSalaryException | InvalidDepartmentException | IllegalArgumentException e) {
+            // Rethrow these exceptions to be handled by UI
+            throw e;
+        } catch (Exception e) {
+            // Log unexpected exceptions
+            logger.log(Level.SEVERE, "Unexpected error updating employee", e);
+            throw new RuntimeException("Failed to update employee: " + e.getMessage(), e);
+        } finally {
+            UPDATE_EMPLOYEE_DETAILS.stop(started);
+        }
+    }
+
+    /**
+     * Updates one field of an employee, but only if nobody has changed the employee since the caller read it
+     *
+     * @param expectedVersion The {@link Employee#getVersion()} the caller read
+     * @throws EmployeeVersionConflictException If the employee has changed since
+     * @see #updateEmployeeDetails(Object, Map, long)
+     */
+    public Employee<T> updateEmployeeDetails(T employeeId, String field, Object newValue, long expectedVersion)
+            throws EmployeeNotFoundException, InvalidSalaryException, InvalidDepartmentException, EmployeeVersionConflictException {
+        return updateEmployeeDetails(employeeId, Collections.singletonMap(field, newValue), expectedVersion);
+    }
+
+    /**
+     * Updates several fields of an employee as a compare-and-set: nothing changes unless the employee
+     * still has the version the caller read, so of two users editing the same employee the second
+     * one to save gets a conflict instead of silently overwriting the first. Every value is validated
+     * before any is set. Fields that already have the requested value are left alone; the changed
+     * fields are set as one change of the employee, with one change event and one undo step. The
+     * event names the field only if a single field changed. Only writers lock: a reader that needs
+     * several values of one employee should take {@link Employee#copy()}, which retries instead of
+     * mixing values from before and after a concurrent update.
+     *
+     * @param employeeId The ID of the employee to update
+     * @param changes The new values keyed by field name
+     * @param expectedVersion The {@link Employee#getVersion()} the caller read
+     * @return The updated employee
+     * @throws EmployeeNotFoundException If no employee has the ID
+     * @throws EmployeeVersionConflictException If the employee has changed since the expected version
+     * @throws InvalidSalaryException If a salary is negative
+     * @throws InvalidDepartmentException If a department is not valid
+     * @throws IllegalArgumentException If a field or value is invalid
+     */
+    public synchronized Employee<T> updateEmployeeDetails(T employeeId, Map<String, Object> changes, long expectedVersion)
+            throws EmployeeNotFoundException, InvalidSalaryException, InvalidDepartmentException, EmployeeVersionConflictException {
+        long started = UPDATE_EMPLOYEE_DETAILS.start();
+        try {
+            if(changes == null) {
+                throw new IllegalArgumentException("Changes cannot be null");
+            }
+            Employee<T> employee = findForUpdate(employeeId);
+            long actualVersion = employee.getVersion();
+            if(actualVersion != expectedVersion) {
+                logger.info(() -> "Version conflict updating employee " + employeeId + ": expected " + expectedVersion + ", found " + actualVersion);
+                throw new EmployeeVersionConflictException(expectedVersion, actualVersion);
+            }
+            for(Map.Entry<String, Object> change : changes.entrySet()) {
+                checkUpdate(change.getKey(), change.getValue());
             }
 
-            Employee<T> employee = employees.get(employeeId);
+            EnumMap<EmployeeField, Object> changed = new EnumMap<>(EmployeeField.class);
+            for(Map.Entry<String, Object> change : changes.entrySet()) {
+                EmployeeField field = EmployeeField.forKey(change.getKey());
+                if(!hasValue(employee, field, change.getValue())) {
+                    changed.put(field, change.getValue());
+                }
+            }
+            if(changed.size() == 1) {
+                Map.Entry<EmployeeField, Object> only = changed.entrySet().iterator().next();
+                applyUpdate(employee, only.getKey().key(), only.getValue());
+            } else if(!changed.isEmpty()) {
+                applyUpdates(employee, changed);
+            }
+            int changedFields = changed.size();
+            logger.info(() -> "Employee updated successfully: " + employeeId + ", " + changedFields + " fields changed");
+            return employee;
 
-            if(employee == null) {
-                logger.warning("Attempt to update non-existent employee: " + employeeId);
-                throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found");
+        } catch (EmployeeNotFoundException | EmployeeVersionConflictException | InvalidSalaryException
+                 | InvalidDepartmentException | IllegalArgumentException e) {
+            // Rethrow these exceptions to be handled by UI
+            throw e;
+        } catch (Exception e) {
+            // Log unexpected exceptions
+            logger.log(Level.SEVERE, "Unexpected error updating employee", e);
+            throw new RuntimeException("Failed to update employee: " + e.getMessage(), e);
+        } finally {
+            UPDATE_EMPLOYEE_DETAILS.stop(started);
+        }
+    }
+
+    private Employee<T> findForUpdate(T employeeId) throws EmployeeNotFoundException {
+        if(employeeId == null) {
+            logger.warning("Attempt to update employee with null ID");
+            throw new IllegalArgumentException("Employee ID cannot be null");
+        }
+
+        Employee<T> employee = state.employees().get(employeeId);
+
+        if(employee == null) {
+            logger.warning("Attempt to update non-existent employee: " + employeeId);
+            throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found");
+        }
+        return employee;
+    }
+
+    // Validates an update without applying it, so a multi-field update can check every value first
+    static void checkUpdate(String field, Object newValue) throws InvalidSalaryException, InvalidDepartmentException {
+        EmployeeField updated = EmployeeField.forKey(field);
+        if(updated == null) {
+            throw new IllegalArgumentException("Invalid field: " + field);
+        }
+        switch(updated) {
+            case NAME -> {
+                if(!(newValue instanceof String name)) {
+                    throw new IllegalArgumentException("Name must be a string");
+                }
+                if(name.trim().isEmpty()) {
+                    throw new IllegalArgumentException("Name cannot be empty");
+                }
             }
+            case DEPARTMENT -> {
+                if(!(newValue instanceof String department)) {
+                    throw new IllegalArgumentException("Department must be a string");
+                }
+                if(department.trim().isEmpty()) {
+                    throw new IllegalArgumentException("Department cannot be empty");
+                }
+                requireValidDepartment(department);
+            }
+            case SALARY -> {
+                if(!(newValue instanceof Number salary)) {
+                    throw new IllegalArgumentException("Salary must be a number");
+                }
+                if(salary.doubleValue() < 0) {
+                    throw new InvalidSalaryException("Salary cannot be negative");
+                }
+            }
+            case PERFORMANCE_RATING -> {
+                if(!(newValue instanceof Number rating)) {
+                    throw new IllegalArgumentException("Performance rating must be a number");
+                }
+                if(rating.doubleValue() < 0 || rating.doubleValue() > 5) {
+                    throw new IllegalArgumentException("Performance rating must be between 0 and 5");
+                }
+            }
+            case YEARS_OF_EXPERIENCE -> {
+                if(!(newValue instanceof Number years)) {
+                    throw new IllegalArgumentException("Years of experience must be a number");
+                }
+                if(years.intValue() < 0) {
+                    throw new IllegalArgumentException("Years of experience cannot be negative");
+                }
+            }
+            case ACTIVE -> {
+                if(!(newValue instanceof Boolean)) {
+                    throw new IllegalArgumentException("Active status must be a boolean");
+                }
+            }
+        }
+    }
 
-            switch(field.toLowerCase()) {
-                case "name":
-                    if (newValue instanceof String) {
-                        String name = (String)newValue;
-                        if(name == null || name.trim().isEmpty()) {
-                            throw new IllegalArgumentException("Name cannot be empty");
-                        }
-                        employee.setName(name);
-                    } else {
-                        throw new IllegalArgumentException("Name must be a string");
-                    }
-                    break;
+    private static boolean hasValue(Employee<?> employee, EmployeeField field, Object value) {
+        return switch(field) {
+            case NAME -> employee.getName().equals(value);
+            case DEPARTMENT -> employee.getDepartment().equals(value);
+            case SALARY -> employee.getSalary() == ((Number) value).doubleValue();
+            case PERFORMANCE_RATING -> employee.getPerformanceRating() == ((Number) value).doubleValue();
+            case YEARS_OF_EXPERIENCE -> employee.getYearsOfExperience() == ((Number) value).intValue();
+            case ACTIVE -> employee.isActive() == (Boolean) value;
+        };
+    }
 
-                case "department":
-                    if (newValue instanceof String) {
-                        String department = (String)newValue;
-                        if(department == null || department.trim().isEmpty()) {
-                            throw new IllegalArgumentException("Department cannot be empty");
-                        }
-                        if(!VALID_DEPARTMENTS.contains(department)) {
-                            throw new InvalidDepartmentException("Department '" + department + "' is not valid. Valid departments are: " + VALID_DEPARTMENTS);
-                        }
-                        employee.setDepartment(department);
-                    } else {
-                        throw new IllegalArgumentException("Department must be a string");
-                    }
-                    break;
+    // Sets a value that passed checkUpdate and commits it as one change with one undo step
+    private void applyUpdate(Employee<T> employee, String field, Object newValue) {
+        // The old value is all the undo history keeps of the update
+        EmployeeField updated = EmployeeField.forKey(field);
+        String oldName = employee.getName();
+        long oldValue = updated == EmployeeField.NAME ? 0 : updated.read(employee);
+        EmployeeIndexes.Editor<T> indexes = editIndexes();
+        setField(employee, updated, newValue, indexes);
+
+        T employeeId = employee.getEmployeeId();
+        recordChange(state.employees(), build(indexes), ChangeType.UPDATED, field, List.of(employeeId), "Updated " + field);
+        String description = "Update " + field + " of employee " + employeeId;
+        undoHistory.record(updated == EmployeeField.NAME
+                ? UndoHistory.Delta.names(targets(List.of(employee)), new String[] {oldName}, description)
+                : UndoHistory.Delta.field(updated, targets(List.of(employee)), new long[] {oldValue}, description));
+    }
 
-                case "salary":
-                    if (newValue instanceof Number) {
-                        double salary = ((Number)newValue).doubleValue();
-                        if(salary < 0) {
-                            throw new InvalidSalaryException("Salary cannot be negative");
-                        }
-                        // FIX: Use the actual salary value without division
-                        employee.setSalary(salary);
-                    } else {
-                        throw new IllegalArgumentException("Salary must be a number");
-                    }
-                    break;
+    // Sets values that passed checkUpdate as one change of the employee and commits them with one undo step
+    private void applyUpdates(Employee<T> employee, EnumMap<EmployeeField, Object> changes) {
+        EmployeeField[] fields = changes.keySet().toArray(new EmployeeField[0]);
+        long[] oldValues = new long[fields.length];
+        for(int i = 0; i < fields.length; i++) {
+            if(fields[i] != EmployeeField.NAME) {
+                oldValues[i] = fields[i].read(employee);
+            }
+        }
+        String oldName = changes.containsKey(EmployeeField.NAME) ? employee.getName() : null;
+        EmployeeIndexes.Editor<T> indexes = editIndexes();
+        employee.update(changing -> changes.forEach((field, value) -> setField(changing, field, value, indexes)));
+
+        T employeeId = employee.getEmployeeId();
+        String keys = Arrays.stream(fields).map(EmployeeField::key).collect(Collectors.joining(", "));
+        recordChange(state.employees(), build(indexes), ChangeType.UPDATED, null, List.of(employeeId), "Updated " + keys);
+        undoHistory.record(UndoHistory.Delta.fields(targets(List.of(employee)), fields, oldValues, oldName,
+                "Update " + keys + " of employee " + employeeId));
+    }
 
-                case "performancerating":
-                    if (newValue instanceof Number) {
-                        double rating = ((Number)newValue).doubleValue();
-                        if(rating < 0 || rating > 5) {
-                            throw new IllegalArgumentException("Performance rating must be between 0 and 5");
-                        }
-                        employee.setPerformanceRating(rating);
-                    } else {
-                        throw new IllegalArgumentException("Performance rating must be a number");
+    // Sets a value that passed checkUpdate and moves the employee in the next indexes, if any; commits nothing
+    private void setField(Employee<T> employee, EmployeeField field, Object newValue, EmployeeIndexes.Editor<T> indexes) {
+        switch(field) {
+            case NAME -> employee.setName((String) newValue);
+            case DEPARTMENT -> {
+                String oldDepartment = employee.getDepartment();
+                employee.setDepartment((String) newValue);
+                if(indexes != null) {
+                    indexes.departmentChanged(employee, oldDepartment);
+                }
+            }
+            case SALARY -> {
+                // FIX: Use the actual salary value without division
+                double oldSalary = employee.getSalary();
+                employee.setSalary(((Number) newValue).doubleValue());
+                if(indexes != null) {
+                    indexes.salaryChanged(employee, oldSalary);
+                }
+            }
+            case PERFORMANCE_RATING -> {
+                double oldRating = employee.getPerformanceRating();
+                employee.setPerformanceRating(((Number) newValue).doubleValue());
+                if(indexes != null) {
+                    indexes.ratingChanged(employee, oldRating);
+                }
+            }
+            case YEARS_OF_EXPERIENCE -> employee.setYearsOfExperience(((Number) newValue).intValue());
+            case ACTIVE -> employee.setActive((Boolean) newValue);
+        }
+    }
+
+    /**
+     * Gets all employees in the database as of this call, without locking or copying.
+     * The collection is an unmodifiable snapshot: employees added or removed later do not appear
+     * in or vanish from it, so it can be iterated on any thread while others modify the database.
+     * Updates to the fields of an employee are made in place and are visible through it.
+     *
+     * @return A collection of all employees
+     */
+    public Collection<Employee<T>> getAllEmployees() {
+        return state.employees().values();
+    }
+
+    /**
+     * Copies all employees into a list
+     *
+     * @return A new list of all employees
+     */
+    public List<Employee<T>> snapshot() {
+        return new ArrayList<>(state.employees().values());
+    }
+
+    /**
+     * Copies every employee by value while holding the database lock, so neither later mutations
+     * nor later reads of the copies can disagree with the returned version
+     *
+     * @param into The collection to add the copies to
+     * @return The modification version the copies were taken at
+     */
+    public synchronized long copyEmployees(Collection<Employee<T>> into) {
+        State<T> current = state;
+        for(Employee<T> employee : current.employees().values()) {
+            into.add(copyOf(employee));
+        }
+        return current.version();
+    }
+
+    static <T> Employee<T> copyOf(Employee<T> employee) {
+        return new Employee<>(employee.getEmployeeId(), employee.getName(), employee.getDepartment(), employee.getSalary(),
+                employee.getPerformanceRating(), employee.getYearsOfExperience(), employee.isActive());
+    }
+
+    /**
+     * Applies a mutation committed by another database, as one change with the same type and field.
+     * Employees are given by value: existing ones take the new values in place and missing ones are
+     * added. Replicated values were validated where they were committed and are not checked again.
+     * Replicated changes are not local edits; they clear the undo history.
+     *
+     * @param type The kind of the original mutation
+     * @param field The updated field of the original mutation, null if it was not an update
+     * @param present The new values of the affected employees that still exist
+     * @param removedIds The IDs of the affected employees that no longer exist
+     * @return The modification version of this database after the change
+     */
+    public synchronized long applyReplicatedChange(ChangeType type, String field, List<Employee<T>> present, List<T> removedIds) {
+        long started = APPLY_REPLICATED_CHANGE.start();
+        try {
+            if(type == null || present == null || removedIds == null) {
+                throw new IllegalArgumentException("Replicated change is incomplete");
+            }
+            List<T> ids = new ArrayList<>(present.size() + removedIds.size());
+            PersistentHashTrie.Editor<T, Employee<T>> replicated = state.employees().edit();
+            EmployeeIndexes.Editor<T> indexes = editIndexes();
+            for(Employee<T> image : present) {
+                Employee<T> current = replicated.get(image.getEmployeeId());
+                if(current == null) {
+                    current = copyOf(image);
+                    replicated.put(current.getEmployeeId(), current);
+                    if(indexes != null) {
+                        indexes.add(current);
                     }
-                    break;
+                } else {
+                    assignValues(current, image, indexes);
+                }
+                ids.add(image.getEmployeeId());
+            }
+            for(T employeeId : removedIds) {
+                Employee<T> removed = replicated.remove(employeeId);
+                if(removed != null && indexes != null) {
+                    indexes.remove(removed);
+                }
+                ids.add(employeeId);
+            }
+            undoHistory.clear();
+            return recordChange(replicated.build(), build(indexes), type, field, ids, "Replicated " + ids.size() + " employees");
 
-                case "yearsofexperience":
-                    if (newValue instanceof Number) {
-                        int years = ((Number)newValue).intValue();
-                        if(years < 0) {
-                            throw new IllegalArgumentException("Years of experience cannot be negative");
+        } catch (IllegalArgumentException e) {
+            // Rethrow these exceptions to be handled by caller
+            throw e;
+        } catch (Exception e) {
+            // Log unexpected exceptions
+            logger.log(Level.SEVERE, "Unexpected error applying replicated change", e);
+            throw new RuntimeException("Failed to apply replicated change: " + e.getMessage(), e);
+        } finally {
+            APPLY_REPLICATED_CHANGE.stop(started);
+        }
+    }
+
+    /**
+     * Replaces every employee with copies of the given ones, e.g. from a replication snapshot.
+     * Listeners are told about the employees that disappeared as one REMOVED change and about the
+     * new contents as one ADDED change. The undo history is cleared.
+     *
+     * @param replacement The new contents of the database
+     */
+    public synchronized void replaceAll(Collection<Employee<T>> replacement) {
+        long started = REPLACE_ALL.start();
+        try {
+            if(replacement == null) {
+                throw new IllegalArgumentException("Employees cannot be null");
+            }
+            PersistentHashTrie.Editor<T, Employee<T>> filling = PersistentHashTrie.<T, Employee<T>>empty().edit();
+            for(Employee<T> employee : replacement) {
+                filling.put(employee.getEmployeeId(), copyOf(employee));
+            }
+            PersistentHashTrie<T, Employee<T>> next = filling.build();
+            List<T> gone = new ArrayList<>();
+            for(Employee<T> employee : state.employees().values()) {
+                if(!next.containsKey(employee.getEmployeeId())) {
+                    gone.add(employee.getEmployeeId());
+                }
+            }
+
+            undoHistory.clear();
+            // Indexes are rebuilt by the next query that needs them
+            if(!gone.isEmpty()) {
+                recordChange(next, null, ChangeType.REMOVED, null, gone, "Replaced: removed " + gone.size() + " employees");
+            }
+            List<T> ids = new ArrayList<>(next.size());
+            next.forEach((employeeId, employee) -> ids.add(employeeId));
+            recordChange(next, null, ChangeType.ADDED, null, ids, "Replaced with " + next.size() + " employees");
+            logger.info(() -> "Replaced contents with " + next.size() + " employees");
+
+        } catch (IllegalArgumentException e) {
+            // Rethrow these exceptions to be handled by caller
+            throw e;
+        } catch (Exception e) {
+            // Log unexpected exceptions
+            logger.log(Level.SEVERE, "Unexpected error replacing employees", e);
+            throw new RuntimeException("Failed to replace employees: " + e.getMessage(), e);
+        } finally {
+            REPLACE_ALL.stop(started);
+        }
+    }
+
+    /**
+     * Applies the commands drained by a {@link MutationPipeline} under one lock acquisition.
+     * The commands are split into segments in which no employee is both added and removed, and each
+     * segment is committed as at most one ADDED change, one change per updated field and one
+     * REMOVED change, each also one undo step. Within a segment, updates of the same field of the
+     * same employee coalesce to the last value, and every changed employee moves in the indexes
+     * once per field. A command that cannot be applied, e.g. an update of a missing employee,
+     * fails on its own without affecting the others.
+     *
+     * The changes are persisted by the group commit before any of them is published, journaled,
+     * recorded for undo or passed to listeners. If persisting fails, the values written to the
+     * employees are set back and the database stays as it was before the batch.
+     *
+     * @param commands The commands in the order they were submitted; their outcomes are set on them
+     * @param groupCommit Persists the changes while the lock is held, or null if nothing needs persisting
+     * @return The committed changes in order
+     * @throws Exception If the group commit failed
+     */
+    synchronized List<EmployeeChangeEvent<T>> applyBatch(List<MutationPipeline.Command<T>> commands,
+                                                         MutationPipeline.GroupCommit<T> groupCommit) throws Exception {
+        long started = APPLY_BATCH.start();
+        List<PendingChange<T>> changes = new ArrayList<>();
+        try {
+            int start = 0;
+            while(start < commands.size()) {
+                start = applySegment(commands, start, changes);
+            }
+            List<EmployeeChangeEvent<T>> events = new ArrayList<>(changes.size());
+            for(PendingChange<T> change : changes) {
+                events.add(change.event());
+            }
+            if(groupCommit != null && !events.isEmpty()) {
+                groupCommit.commit(Collections.unmodifiableList(events));
+            }
+            changes.forEach(this::publish);
+            logger.info(() -> "Applied " + commands.size() + " queued mutations as " + events.size() + " changes");
+            return events;
+
+        } catch (Throwable e) {
+            // None of the changes has been published, so only the values written in place need setting back
+            revert(changes);
+            throw e;
+        } finally {
+            APPLY_BATCH.stop(started);
+        }
+    }
+
+    // Sets back the fields a batch wrote in place, latest first; the states it prepared are dropped
+    private void revert(List<PendingChange<T>> changes) {
+        for(int i = changes.size() - 1; i >= 0; i--) {
+            UndoHistory.Delta<T> undo = changes.get(i).undo();
+            if(undo.kind == UndoHistory.Kind.FIELD) {
+                Employee.updateAll(Arrays.asList(undo.targets), () -> swapFields(undo, null));
+            }
+        }
+    }
+
+    // The state the next change of a batch builds on
+    private State<T> latest(List<PendingChange<T>> changes) {
+        return changes.isEmpty() ? state : changes.get(changes.size() - 1).state();
+    }
+
+    private void prepareNext(List<PendingChange<T>> changes, PersistentHashTrie<T, Employee<T>> employees, EmployeeIndexes<T> indexes,
+                             ChangeType type, String field, List<T> employeeIds, String description, UndoHistory.Delta<T> undo) {
+        changes.add(prepareChange(employees, indexes, latest(changes).version() + 1, type, field, employeeIds, description, undo));
+    }
+
+    // Applies commands from start up to the first one that adds or removes an employee the segment already touched
+    private int applySegment(List<MutationPipeline.Command<T>> commands, int start, List<PendingChange<T>> changes) {
+        State<T> base = latest(changes);
+        PersistentHashTrie.Editor<T, Employee<T>> editor = base.employees().edit();
+        Map<T, Employee<T>> added = new LinkedHashMap<>();
+        Map<T, Employee<T>> removed = new LinkedHashMap<>();
+        Map<T, EnumMap<EmployeeField, MutationPipeline.Command<T>>> updates = new LinkedHashMap<>();
+
+        int end = start;
+        for(; end < commands.size(); end++) {
+            MutationPipeline.Command<T> command = commands.get(end);
+            T employeeId = command.employeeId;
+            if(command.kind != MutationPipeline.Kind.UPDATE
+                    && (added.containsKey(employeeId) || removed.containsKey(employeeId) || updates.containsKey(employeeId))) {
+                break;
+            }
+            Employee<T> current = editor.get(employeeId);
+            switch(command.kind) {
+                case ADD -> {
+                    // A duplicate ID is not added, as with addEmployee
+                    if(current == null) {
+                        editor.put(employeeId, command.employee);
+                        added.put(employeeId, command.employee);
+                        command.result = employeeId;
+                    }
+                }
+                case UPDATE -> {
+                    if(current == null) {
+                        command.failure = new EmployeeNotFoundException("Employee with ID " + employeeId + " not found");
+                    } else {
+                        MutationPipeline.Command<T> earlier = updates
+                                .computeIfAbsent(employeeId, id -> new EnumMap<>(EmployeeField.class))
+                                .put(command.field, command);
+                        if(earlier != null) {
+                            earlier.superseded = true;
                         }
-                        employee.setYearsOfExperience(years);
+                        command.result = current;
+                    }
+                }
+                case REMOVE -> {
+                    if(current == null) {
+                        command.failure = new EmployeeNotFoundException("Employee with ID " + employeeId + " not found");
                     } else {
-                        throw new IllegalArgumentException("Years of experience must be a number");
+                        editor.remove(employeeId);
+                        removed.put(employeeId, current);
+                        command.result = current;
                     }
-                    break;
+                }
+            }
+        }
+        PersistentHashTrie<T, Employee<T>> employees = editor.build();
 
-                case "isactive":
-                    if (newValue instanceof Boolean) {
-                        employee.setActive((Boolean)newValue);
-                    } else {
-                        throw new IllegalArgumentException("Active status must be a boolean");
+        // The whole segment goes into the indexes first, so its changes are published as one state
+        EmployeeIndexes.Editor<T> indexes = editIndexes(base);
+        if(indexes != null) {
+            added.values().forEach(indexes::add);
+            removed.values().forEach(indexes::remove);
+        }
+        Map<EmployeeField, CoalescedUpdate<T>> updatedByField = updates.isEmpty()
+                ? Map.of() : applyCoalescedUpdates(employees, updates, indexes);
+        EmployeeIndexes<T> nextIndexes = build(indexes);
+
+        if(!added.isEmpty()) {
+            List<Employee<T>> targets = new ArrayList<>(added.values());
+            prepareNext(changes, employees, nextIndexes, ChangeType.ADDED, null, new ArrayList<>(added.keySet()), "Added " + added.size() + " employees",
+                    UndoHistory.Delta.delete(targets(targets), "Add " + added.size() + " employees"));
+        }
+        if(!updatedByField.isEmpty()) {
+            prepareCoalescedUpdates(employees, nextIndexes, updatedByField, changes);
+        }
+        if(!removed.isEmpty()) {
+            List<Employee<T>> targets = new ArrayList<>(removed.values());
+            prepareNext(changes, employees, nextIndexes, ChangeType.REMOVED, null, new ArrayList<>(removed.keySet()), "Removed " + removed.size() + " employees",
+                    UndoHistory.Delta.insert(targets(targets), "Remove " + removed.size() + " employees"));
+        }
+        return end;
+    }
+
+    // The employees whose value of one field a batch changed, with their old values in the same order
+    private record CoalescedUpdate<T>(List<Employee<T>> targets, List<Object> oldValues) {
+    }
+
+    // Sets the last value of every updated field and moves the changed employees in the next indexes
+    private Map<EmployeeField, CoalescedUpdate<T>> applyCoalescedUpdates(PersistentHashTrie<T, Employee<T>> employees,
+            Map<T, EnumMap<EmployeeField, MutationPipeline.Command<T>>> updates, EmployeeIndexes.Editor<T> indexes) {
+        EnumMap<EmployeeField, CoalescedUpdate<T>> byField = new EnumMap<>(EmployeeField.class);
+        for(Map.Entry<T, EnumMap<EmployeeField, MutationPipeline.Command<T>>> entry : updates.entrySet()) {
+            Employee<T> employee = employees.get(entry.getKey());
+            // Readers see all of the batch's values of one employee or none of them
+            employee.update(changing -> {
+                for(MutationPipeline.Command<T> command : entry.getValue().values()) {
+                    EmployeeField field = command.field;
+                    if(hasValue(changing, field, command.value)) {
+                        continue;
                     }
-                    break;
+                    Object oldValue = field == EmployeeField.NAME ? changing.getName() : field.read(changing);
+                    setField(changing, field, command.value, indexes);
+                    CoalescedUpdate<T> update = byField.computeIfAbsent(field, f -> new CoalescedUpdate<>(new ArrayList<>(), new ArrayList<>()));
+                    update.targets().add(changing);
+                    update.oldValues().add(oldValue);
+                }
+            });
+        }
+        return byField;
+    }
+
+    // Prepares each updated field as one change
+    private void prepareCoalescedUpdates(PersistentHashTrie<T, Employee<T>> employees, EmployeeIndexes<T> indexes,
+                                         Map<EmployeeField, CoalescedUpdate<T>> byField, List<PendingChange<T>> changes) {
+        for(Map.Entry<EmployeeField, CoalescedUpdate<T>> entry : byField.entrySet()) {
+            EmployeeField field = entry.getKey();
+            List<Employee<T>> targets = entry.getValue().targets();
+            List<Object> oldValues = entry.getValue().oldValues();
+            ChangeType type = targets.size() == 1 ? ChangeType.UPDATED : ChangeType.BULK_UPDATED;
+
+            String description = "Update " + field.key() + " of " + targets.size() + " employees";
+            UndoHistory.Delta<T> undo;
+            if(field == EmployeeField.NAME) {
+                undo = UndoHistory.Delta.names(targets(targets), oldValues.toArray(new String[0]), description);
+            } else {
+                long[] bits = new long[oldValues.size()];
+                for(int i = 0; i < bits.length; i++) {
+                    bits[i] = (Long) oldValues.get(i);
+                }
+                undo = UndoHistory.Delta.field(field, targets(targets), bits, description);
+            }
+            prepareNext(changes, employees, indexes, type, field.key(), idsOf(targets),
+                    "Updated " + field.key() + " of " + targets.size() + " employees", undo);
+        }
+    }
 
-                default:
-                    throw new IllegalArgumentException("Invalid field: " + field);
+    private void assignValues(Employee<T> employee, Employee<T> values, EmployeeIndexes.Editor<T> indexes) {
+        String oldDepartment = employee.getDepartment();
+        double oldSalary = employee.getSalary();
+        double oldRating = employee.getPerformanceRating();
+        employee.update(changing -> {
+            changing.setName(values.getName());
+            changing.setDepartment(values.getDepartment());
+            changing.setSalary(values.getSalary());
+            changing.setPerformanceRating(values.getPerformanceRating());
+            changing.setYearsOfExperience(values.getYearsOfExperience());
+            changing.setActive(values.isActive());
+        });
+        if(indexes != null) {
+            if(!oldDepartment.equals(employee.getDepartment())) {
+                indexes.departmentChanged(employee, oldDepartment);
+            }
+            if(oldSalary != employee.getSalary()) {
+                indexes.salaryChanged(employee, oldSalary);
+            }
+            if(oldRating != employee.getPerformanceRating()) {
+                indexes.ratingChanged(employee, oldRating);
             }
-
-            logger.info("Employee updated successfully: " + employeeId + ", field: " + field);
-            return employee;
-
-        } catch (EmployeeNotFoundException | InvalidSalaryException | InvalidDepartmentException | IllegalArgumentException e) {
-            // Rethrow these exceptions to be handled by UI
-            throw e;
-        } catch (Exception e) {
-            // Log unexpected exceptions
-            logger.log(Level.SEVERE, "Unexpected error updating employee", e);
-            throw new RuntimeException("Failed to update employee: " + e.getMessage(), e);
         }
     }
+
     /**
-     * Gets all employees in the database
+     * Gets a columnar snapshot of the employees for the current modification version
      *
-     * @return A collection of all employees
+     * @return The columns, rebuilt only if the data changed since the last call
      */
-    public Collection<Employee<T>> getAllEmployees() {
-        return employees.values();
+    public EmployeeColumns<T> columns() {
+        return columnsOf(state);
+    }
+
+    // The columns of exactly one state, so a scan planned against it never sees rows of another version
+    private EmployeeColumns<T> columnsOf(State<T> snapshot) {
+        EmployeeColumns<T> current = columns;
+        if(current == null || current.getVersion() != snapshot.version()) {
+            current = rebuildColumns(snapshot);
+        }
+        return current;
+    }
+
+    // Copies under the lock so a rebuild on a background thread never races a mutation
+    private synchronized EmployeeColumns<T> rebuildColumns(State<T> snapshot) {
+        EmployeeColumns<T> current = columns;
+        if(current == null || current.getVersion() != snapshot.version()) {
+            current = EmployeeColumns.of(snapshot.employees().values(), snapshot.version());
+            // A reader still on an older state must not replace the columns of a newer one
+            if(columns == null || columns.getVersion() < snapshot.version()) {
+                columns = current;
+            }
+        }
+        return current;
     }
 
     /**
-     * Gets an employee by ID
+     * Gets an employee by ID. The employee is the live one, updated in place by later changes;
+     * {@link Employee#copy()} gives a consistent set of its values without locking.
      *
      * @param employeeId The ID of the employee to get
      * @return The employee with the given ID
      * @throws EmployeeNotFoundException If no employee found with the given ID
      */
     public Employee<T> getEmployeeById(T employeeId) throws EmployeeNotFoundException {
-        if(employeeId == null) {
-            throw new IllegalArgumentException("Employee ID cannot be null");
-        }
+        long started = GET_EMPLOYEE_BY_ID.start();
+        try {
+            if(employeeId == null) {
+                throw new IllegalArgumentException("Employee ID cannot be null");
+            }
 
-        Employee<T> employee = employees.get(employeeId);
+            Employee<T> employee = state.employees().get(employeeId);
 
-        if(employee == null) {
-            throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found");
-        }
+            if(employee == null) {
+                throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found");
+            }
 
-        return employee;
+            return employee;
+        } finally {
+            GET_EMPLOYEE_BY_ID.stop(started);
+        }
     }
 
     @Override
     public List<Employee<T>> findByDepartment(String department) throws InvalidDepartmentException {
+        long started = FIND_BY_DEPARTMENT.start();
         try {
             if(department == null || department.trim().isEmpty()) {
                 throw new IllegalArgumentException("Department cannot be empty");
@@ -296,12 +1159,11 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
                 throw new InvalidDepartmentException("Department '" + department + "' is not valid. Valid departments are: " + VALID_DEPARTMENTS);
             }
 
-            List<Employee<T>> result = getAllEmployees()
-                    .stream()
-                    .filter(emp -> emp.getDepartment().equals(department))
-                    .collect(Collectors.toList());
+            List<Employee<T>> result = runQuery(EmployeeQuery.<T>builder()
+                    .department(department)
+                    .build());
 
-            logger.info("Found " + result.size() + " employees in department: " + department);
+            logger.info(() -> "Found " + result.size() + " employees in department: " + department);
             return result;
 
         } catch (InvalidDepartmentException | IllegalArgumentException e) {
@@ -311,11 +1173,14 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
             // Log unexpected exceptions
             logger.log(Level.SEVERE, "Unexpected error finding employees by department", e);
             throw new RuntimeException("Failed to find employees by department: " + e.getMessage(), e);
+        } finally {
+            FIND_BY_DEPARTMENT.stop(started);
         }
     }
 
     @Override
     public List<Employee<T>> findByName(String name) {
+        long started = FIND_BY_NAME.start();
         try {
             if(name == null || name.trim().isEmpty()) {
                 throw new IllegalArgumentException("Name cannot be empty");
@@ -326,7 +1191,7 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
                     .filter(emp -> emp.getName().toLowerCase().contains(name.toLowerCase()))
                     .collect(Collectors.toList());
 
-            logger.info("Found " + result.size() + " employees matching name: " + name);
+            logger.info(() -> "Found " + result.size() + " employees matching name: " + name);
             return result;
 
         } catch (IllegalArgumentException e) {
@@ -336,22 +1201,24 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
             // Log unexpected exceptions
             logger.log(Level.SEVERE, "Unexpected error finding employees by name", e);
             throw new RuntimeException("Failed to find employees by name: " + e.getMessage(), e);
+        } finally {
+            FIND_BY_NAME.stop(started);
         }
     }
 
     @Override
     public List<Employee<T>> findByRating(double rating) {
+        long started = FIND_BY_RATING.start();
         try {
             if(rating < 0 || rating > 5) {
                 throw new IllegalArgumentException("Rating must be between 0 and 5");
             }
 
-            List<Employee<T>> result = getAllEmployees()
-                    .stream()
-                    .filter(emp -> emp.getPerformanceRating() >= rating)
-                    .collect(Collectors.toList());
+            List<Employee<T>> result = runQuery(EmployeeQuery.<T>builder()
+                    .minRating(rating)
+                    .build());
 
-            logger.info("Found " + result.size() + " employees with rating >= " + rating);
+            logger.info(() -> "Found " + result.size() + " employees with rating >= " + rating);
             return result;
 
         } catch (IllegalArgumentException e) {
@@ -361,11 +1228,14 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
             // Log unexpected exceptions
             logger.log(Level.SEVERE, "Unexpected error finding employees by rating", e);
             throw new RuntimeException("Failed to find employees by rating: " + e.getMessage(), e);
+        } finally {
+            FIND_BY_RATING.stop(started);
         }
     }
 
     @Override
     public List<Employee<T>> findBySalaryBetween(double min, double max) throws InvalidSalaryException {
+        long started = FIND_BY_SALARY_BETWEEN.start();
         try {
             if(min < 0 || max < 0) {
                 throw new InvalidSalaryException("Salary cannot be negative");
@@ -375,12 +1245,11 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
                 throw new IllegalArgumentException("Minimum salary cannot be greater than maximum salary");
             }
 
-            List<Employee<T>> result = getAllEmployees()
-                    .stream()
-                    .filter(emp -> emp.getSalary() >= min && emp.getSalary() <= max)
-                    .collect(Collectors.toList());
+            List<Employee<T>> result = runQuery(EmployeeQuery.<T>builder()
+                    .salaryBetween(min, max)
+                    .build());
 
-            logger.info("Found " + result.size() + " employees with salary between " + min + " and " + max);
+            logger.info(() -> "Found " + result.size() + " employees with salary between " + min + " and " + max);
             return result;
 
         } catch (InvalidSalaryException | IllegalArgumentException e) {
@@ -390,60 +1259,204 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
             // Log unexpected exceptions
             logger.log(Level.SEVERE, "Unexpected error finding employees by salary range", e);
             throw new RuntimeException("Failed to find employees by salary range: " + e.getMessage(), e);
+        } finally {
+            FIND_BY_SALARY_BETWEEN.stop(started);
         }
     }
 
     @Override
-    public void displayAll() {
+    public List<Employee<T>> findByQuery(EmployeeQuery<T> query) {
+        long started = FIND_BY_QUERY.start();
+        try {
+            if(query == null) {
+                throw new IllegalArgumentException("Query cannot be null");
+            }
+
+            State<T> snapshot = indexedState();
+            QueryPlan plan = queryPlanner.plan(query, snapshot.indexes());
+            List<Employee<T>> result = queryPlanner.execute(query, plan, snapshot.indexes(), snapshot.employees().values(),
+                    () -> columnsOf(snapshot));
+
+            logger.info(() -> "Found " + result.size() + " employees for " + query + " using " + plan);
+            return result;
+
+        } catch (IllegalArgumentException e) {
+            // Rethrow these exceptions to be handled by UI
+            throw e;
+        } catch (Exception e) {
+            // Log unexpected exceptions
+            logger.log(Level.SEVERE, "Unexpected error running employee query", e);
+            throw new RuntimeException("Failed to run employee query: " + e.getMessage(), e);
+        } finally {
+            FIND_BY_QUERY.stop(started);
+        }
+    }
+
+    /**
+     * Runs a query for a caller that hands a large result out as it reads it, e.g. as a streamed
+     * response. An unsorted query's matches are only found as the stream is read; a sorted one's
+     * are found and sorted up front, keeping only the best ones in a bounded heap if it has a limit.
+     * Either way every match comes from the state the query was run against, however long the
+     * caller takes to read them.
+     *
+     * @param query The criteria, order and limit
+     * @return The matching employees, in the query's order if it has one
+     * @throws IllegalArgumentException If query is null
+     */
+    public Stream<Employee<T>> streamByQuery(EmployeeQuery<T> query) {
+        long started = STREAM_BY_QUERY.start();
+        try {
+            if(query == null) {
+                throw new IllegalArgumentException("Query cannot be null");
+            }
+
+            State<T> snapshot = indexedState();
+            QueryPlan plan = queryPlanner.plan(query, snapshot.indexes());
+            logger.info(() -> "Streaming employees for " + query + " using " + plan);
+            return queryPlanner.stream(query, plan, snapshot.indexes(), snapshot.employees().values(), () -> columnsOf(snapshot));
+
+        } catch (IllegalArgumentException e) {
+            // Rethrow these exceptions to be handled by UI
+            throw e;
+        } catch (Exception e) {
+            // Log unexpected exceptions
+            logger.log(Level.SEVERE, "Unexpected error running employee query", e);
+            throw new RuntimeException("Failed to run employee query: " + e.getMessage(), e);
+        } finally {
+            STREAM_BY_QUERY.stop(started);
+        }
+    }
+
+    @Override
+    public Page<T> findPage(EmployeeQuery<T> query, PageCursor after, int pageSize) {
+        long started = FIND_PAGE.start();
         try {
-            Iterator<Employee<T>> employeeIterator = getAllEmployees().iterator();
-            System.out.println("|----------|-------------------------|------------|----------|----------|------------|----------|");
-            System.out.printf("|%-10s|%-25s|%-12s|%-10s|%-8s|%-12s|%-10s|\n",
-                    "EmpId", "Name", "Department", "Performance", "Experience", "Salary", "Status");
-            System.out.println("|----------|-------------------------|------------|----------|----------|------------|----------|");
+            if(query == null) {
+                throw new IllegalArgumentException("Query cannot be null");
+            }
+            return resultPager.pageAfter(query, after, pageSize);
+
+        } catch (IllegalArgumentException e) {
+            // Rethrow these exceptions to be handled by UI
+            throw e;
+        } catch (Exception e) {
+            // Log unexpected exceptions
+            logger.log(Level.SEVERE, "Unexpected error reading a page of employees", e);
+            throw new RuntimeException("Failed to read page of employees: " + e.getMessage(), e);
+        } finally {
+            FIND_PAGE.stop(started);
+        }
+    }
 
-            while(employeeIterator.hasNext()) {
-                Employee<T> employee = employeeIterator.next();
-                System.out.printf("|%-10s|%-25s|%-12s|%-10.1f|%-10d|$%-11.2f|%-10s|\n",
-                        employee.getEmployeeId(),
-                        employee.getName(),
-                        employee.getDepartment(),
-                        employee.getPerformanceRating(),
-                        employee.getYearsOfExperience(),
-                        employee.getSalary(),
-                        employee.isActive() ? "Active" : "Inactive");
+    @Override
+    public Page<T> findPageAt(EmployeeQuery<T> query, int offset, int pageSize) {
+        long started = FIND_PAGE_AT.start();
+        try {
+            if(query == null) {
+                throw new IllegalArgumentException("Query cannot be null");
             }
+            return resultPager.pageAt(query, offset, pageSize);
+
+        } catch (IllegalArgumentException e) {
+            // Rethrow these exceptions to be handled by UI
+            throw e;
+        } catch (Exception e) {
+            // Log unexpected exceptions
+            logger.log(Level.SEVERE, "Unexpected error reading a page of employees", e);
+            throw new RuntimeException("Failed to read page of employees: " + e.getMessage(), e);
+        } finally {
+            FIND_PAGE_AT.stop(started);
+        }
+    }
+
+    /**
+     * Describes how a query would be executed without running it
+     *
+     * @param query The query to plan
+     * @return The access path the planner would use and its estimated candidate count
+     */
+    public QueryPlan explain(EmployeeQuery<T> query) {
+        if(query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        return queryPlanner.plan(query, indexedState().indexes());
+    }
+
+    // Runs a query for the single-predicate search methods, which do their own logging
+    private List<Employee<T>> runQuery(EmployeeQuery<T> query) {
+        // One state for both, so every index candidate is also in the employees the plan falls back to
+        State<T> snapshot = indexedState();
+        QueryPlan plan = queryPlanner.plan(query, snapshot.indexes());
+        return queryPlanner.execute(query, plan, snapshot.indexes(), snapshot.employees().values(), () -> columnsOf(snapshot));
+    }
+
+    // Runs a query for the result pager, sorted by its paging order
+    private ResultPager.Matches<T> pagedMatches(EmployeeQuery<T> query, SortOrder order) {
+        State<T> snapshot = indexedState();
+        QueryPlan plan = queryPlanner.plan(query, snapshot.indexes());
+        List<Employee<T>> rows = queryPlanner.executeSorted(query, order, plan, snapshot.indexes(),
+                snapshot.employees().values(), () -> columnsOf(snapshot));
+        return new ResultPager.Matches<>(rows, snapshot.version());
+    }
 
+    @Override
+    public void displayAll() {
+        long started = DISPLAY_ALL.start();
+        try {
+            printEmployees(getAllEmployees());
             logger.info("Displayed all employees");
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error displaying employees", e);
             System.out.println("Error displaying employees: " + e.getMessage());
+        } finally {
+            DISPLAY_ALL.stop(started);
+        }
+    }
+
+    static <T> void printEmployees(Iterable<Employee<T>> employees) {
+        Iterator<Employee<T>> employeeIterator = employees.iterator();
+        System.out.println("|----------|-------------------------|------------|----------|----------|------------|----------|");
+        System.out.printf("|%-10s|%-25s|%-12s|%-10s|%-8s|%-12s|%-10s|\n",
+                "EmpId", "Name", "Department", "Performance", "Experience", "Salary", "Status");
+        System.out.println("|----------|-------------------------|------------|----------|----------|------------|----------|");
+
+        while(employeeIterator.hasNext()) {
+            Employee<T> employee = employeeIterator.next();
+            System.out.printf("|%-10s|%-25s|%-12s|%-10.1f|%-10d|$%-11.2f|%-10s|\n",
+                    employee.getEmployeeId(),
+                    employee.getName(),
+                    employee.getDepartment(),
+                    employee.getPerformanceRating(),
+                    employee.getYearsOfExperience(),
+                    employee.getSalary(),
+                    employee.isActive() ? "Active" : "Inactive");
         }
     }
 
     @Override
     public Map<String, List<Employee<T>>> groupByDepartment() {
+        long started = GROUP_BY_DEPARTMENT.start();
         try {
             Map<String, List<Employee<T>>> result = getAllEmployees()
                     .stream()
                     .collect(Collectors.groupingBy(Employee::getDepartment));
 
-            logger.info("Grouped employees by department into " + result.size() + " groups");
+            logger.info(() -> "Grouped employees by department into " + result.size() + " groups");
             return result;
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error grouping employees by department", e);
             throw new RuntimeException("Failed to group employees by department: " + e.getMessage(), e);
+        } finally {
+            GROUP_BY_DEPARTMENT.stop(started);
         }
     }
 
     @Override
     public List<Employee<T>> findSortedBySalary() {
+        long started = FIND_SORTED_BY_SALARY.start();
         try {
-            List<Employee<T>> result = employees.values()
-                    .stream()
-                    .sorted(new EmployeeSalaryComparator<>())
-                    .collect(Collectors.toList());
+            List<Employee<T>> result = NormalizedKeySorter.sort(getAllEmployees(), BY_SALARY_DESC);
 
             logger.info("Sorted employees by salary");
             return result;
@@ -451,16 +1464,16 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error sorting employees by salary", e);
             throw new RuntimeException("Failed to sort employees by salary: " + e.getMessage(), e);
+        } finally {
+            FIND_SORTED_BY_SALARY.stop(started);
         }
     }
 
     @Override
     public List<Employee<T>> findSortedByPerformanceRating() {
+        long started = FIND_SORTED_BY_PERFORMANCE_RATING.start();
         try {
-            List<Employee<T>> result = employees.values()
-                    .stream()
-                    .sorted(new EmployeePerformanceComparator<>())
-                    .collect(Collectors.toList());
+            List<Employee<T>> result = NormalizedKeySorter.sort(getAllEmployees(), BY_PERFORMANCE_DESC);
 
             logger.info("Sorted employees by performance rating");
             return result;
@@ -468,16 +1481,16 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error sorting employees by performance rating", e);
             throw new RuntimeException("Failed to sort employees by performance rating: " + e.getMessage(), e);
+        } finally {
+            FIND_SORTED_BY_PERFORMANCE_RATING.stop(started);
         }
     }
 
     @Override
     public List<Employee<T>> findSortedByExperience() {
+        long started = FIND_SORTED_BY_EXPERIENCE.start();
         try {
-            List<Employee<T>> result = employees.values()
-                    .stream()
-                    .sorted()
-                    .collect(Collectors.toList());
+            List<Employee<T>> result = NormalizedKeySorter.sort(getAllEmployees(), BY_EXPERIENCE_DESC);
 
             logger.info("Sorted employees by years of experience");
             return result;
@@ -485,38 +1498,103 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error sorting employees by experience", e);
             throw new RuntimeException("Failed to sort employees by experience: " + e.getMessage(), e);
+        } finally {
+            FIND_SORTED_BY_EXPERIENCE.stop(started);
+        }
+    }
+
+    @Override
+    public List<Employee<T>> findSorted(SortOrder order) {
+        long started = FIND_SORTED.start();
+        try {
+            if(order == null) {
+                throw new IllegalArgumentException("Sort order cannot be null");
+            }
+
+            List<Employee<T>> result = NormalizedKeySorter.sort(getAllEmployees(), order);
+
+            logger.info(() -> "Sorted employees by " + order);
+            return result;
+
+        } catch (IllegalArgumentException e) {
+            // Rethrow these exceptions to be handled by UI
+            throw e;
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error sorting employees by " + order, e);
+            throw new RuntimeException("Failed to sort employees: " + e.getMessage(), e);
+        } finally {
+            FIND_SORTED.stop(started);
         }
     }
 
     @Override
     public List<Employee<T>> giveSalaryRaiseByPerformanceRating(double performanceRating, double percentageRaise)
             throws InvalidSalaryException {
+        return new ArrayList<>(applySalaryRaise(performanceRating, percentageRaise).getRaisedEmployees());
+    }
+
+    /**
+     * Gives a raise to every employee with at least the given rating as one transaction.
+     * Candidates come from the rating index and their new salaries are computed (in parallel for large
+     * batches) and validated before anything changes. Then every salary is written as one change of
+     * all the raised employees ({@link Employee#updateAll}), so {@link Employee#copy()} sees either no
+     * raise or the whole raise, and the result is published as one state under one modification version,
+     * journal entry and change event. If applying fails, the salaries already changed are restored.
+     *
+     * @param performanceRating The minimum performance rating to qualify
+     * @param percentageRaise The raise as a fraction, e.g. 0.10 for 10%
+     * @return The committed batch, which can be passed to {@link #undoSalaryRaise(SalaryRaiseBatch)}
+     * @throws InvalidSalaryException If the raise is negative or would produce an invalid salary
+     */
+    public synchronized SalaryRaiseBatch<T> applySalaryRaise(double performanceRating, double percentageRaise)
+            throws InvalidSalaryException {
+        long started = APPLY_SALARY_RAISE.start();
         try {
             if(performanceRating < 0 || performanceRating > 5) {
                 throw new IllegalArgumentException("Performance rating must be between 0 and 5");
             }
 
-            if(percentageRaise < 0) {
+            if(percentageRaise < 0 || !Double.isFinite(percentageRaise)) {
                 throw new InvalidSalaryException("Percentage raise cannot be negative");
             }
 
-            List<Employee<T>> result = employees.values()
-                    .stream()
-                    .filter(emp -> emp.getPerformanceRating() >= performanceRating)
-                    .map(emp -> {
-                        try {
-                            emp.setSalary(emp.getSalary() + emp.getSalary() * percentageRaise);
-                            return emp;
-                        } catch (Exception e) {
-                            logger.log(Level.WARNING, "Error applying salary raise to employee: " + emp.getEmployeeId(), e);
-                            return emp;
-                        }
-                    })
-                    .collect(Collectors.toList());
+            State<T> current = indexedState();
+            List<Employee<T>> candidates = current.indexes().ratingAtLeast(performanceRating).collect(Collectors.toList());
+            int size = candidates.size();
+            double[] oldSalaries = new double[size];
+            double[] newSalaries = new double[size];
+
+            IntStream positions = IntStream.range(0, size);
+            if(size >= PARALLEL_BATCH_THRESHOLD) {
+                positions = positions.parallel();
+            }
+            positions.forEach(i -> {
+                double oldSalary = candidates.get(i).getSalary();
+                oldSalaries[i] = oldSalary;
+                newSalaries[i] = oldSalary + oldSalary * percentageRaise;
+            });
+
+            for(int i = 0; i < size; i++) {
+                if(!Double.isFinite(newSalaries[i])) {
+                    throw new InvalidSalaryException("Raise would give employee " + candidates.get(i).getEmployeeId()
+                            + " an invalid salary");
+                }
+            }
+
+            EmployeeIndexes.Editor<T> indexes = current.indexes().edit();
+            applySalaries(candidates, newSalaries, oldSalaries, indexes);
+
+            long version = size == 0 ? current.version()
+                    : recordChange(current.employees(), indexes.build(), ChangeType.BULK_UPDATED, "salary", idsOf(candidates),
+                    "Salary raise of " + (percentageRaise * 100) + "% for rating >= " + performanceRating);
+            if(size > 0) {
+                undoHistory.record(UndoHistory.Delta.field(EmployeeField.SALARY, targets(candidates), bitsOf(oldSalaries),
+                        "Salary raise of " + (percentageRaise * 100) + "% for rating >= " + performanceRating));
+            }
 
-            logger.info("Applied salary raise of " + (percentageRaise * 100) + "% to " + result.size() +
+            logger.info(() -> "Applied salary raise of " + (percentageRaise * 100) + "% to " + size +
                     " employees with performance rating >= " + performanceRating);
-            return result;
+            return new SalaryRaiseBatch<>(this, candidates, oldSalaries, newSalaries, version);
 
         } catch (InvalidSalaryException | IllegalArgumentException e) {
             // Rethrow these exceptions to be handled by UI
@@ -525,11 +1603,282 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
             // Log unexpected exceptions
             logger.log(Level.SEVERE, "Unexpected error giving salary raise", e);
             throw new RuntimeException("Failed to give salary raise: " + e.getMessage(), e);
+        } finally {
+            APPLY_SALARY_RAISE.stop(started);
+        }
+    }
+
+    /**
+     * Reverts every salary of a bulk raise in one step, recorded as a single journal entry and change event
+     *
+     * @param batch The batch returned by {@link #applySalaryRaise(double, double)}
+     * @throws IllegalStateException If the batch was already undone or one of its salaries changed since
+     */
+    public synchronized void undoSalaryRaise(SalaryRaiseBatch<T> batch) {
+        long started = UNDO_SALARY_RAISE.start();
+        try {
+            if(batch == null || batch.database() != this) {
+                throw new IllegalArgumentException("Salary raise batch does not belong to this database");
+            }
+            if(batch.isUndone()) {
+                throw new IllegalStateException("Salary raise batch has already been undone");
+            }
+
+            State<T> current = indexedState();
+            List<Employee<T>> raised = batch.getRaisedEmployees();
+            int size = raised.size();
+            double[] currentSalaries = new double[size];
+            double[] restoredSalaries = new double[size];
+            for(int i = 0; i < size; i++) {
+                Employee<T> employee = raised.get(i);
+                if(current.employees().get(employee.getEmployeeId()) != employee || employee.getSalary() != batch.newSalary(i)) {
+                    throw new IllegalStateException("Employee " + employee.getEmployeeId()
+                            + " changed after the raise; it can no longer be undone");
+                }
+                currentSalaries[i] = employee.getSalary();
+                restoredSalaries[i] = batch.oldSalary(i);
+            }
+
+            EmployeeIndexes.Editor<T> indexes = current.indexes().edit();
+            applySalaries(raised, restoredSalaries, currentSalaries, indexes);
+            batch.markUndone();
+            if(size > 0) {
+                recordChange(current.employees(), indexes.build(), ChangeType.BULK_UPDATED, "salary", idsOf(raised),
+                        "Undo of salary raise committed at version " + batch.getVersion());
+                undoHistory.record(UndoHistory.Delta.field(EmployeeField.SALARY, targets(raised), bitsOf(currentSalaries),
+                        "Undo of salary raise committed at version " + batch.getVersion()));
+            }
+            logger.info(() -> "Undid salary raise for " + size + " employees");
+        } finally {
+            UNDO_SALARY_RAISE.stop(started);
+        }
+    }
+
+    // Sets all salaries as one change of every target or, if anything fails part way, restores the ones already set
+    private void applySalaries(List<Employee<T>> targets, double[] salaries, double[] previousSalaries,
+                               EmployeeIndexes.Editor<T> indexes) {
+        Employee.updateAll(targets, () -> {
+            int applied = 0;
+            try {
+                for(; applied < targets.size(); applied++) {
+                    Employee<T> employee = targets.get(applied);
+                    employee.setSalary(salaries[applied]);
+                    indexes.salaryChanged(employee, previousSalaries[applied]);
+                }
+            } catch (RuntimeException e) {
+                for(int i = 0; i < applied; i++) {
+                    Employee<T> employee = targets.get(i);
+                    employee.setSalary(previousSalaries[i]);
+                    indexes.salaryChanged(employee, salaries[i]);
+                }
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Reverts the most recent mutation that has not been undone yet.
+     * A bulk operation is reverted as one batch: a single pass over its stored old values under one
+     * modification version, journal entry and change event.
+     *
+     * @return A description of the reverted mutation, or null if there was nothing to undo
+     * @throws IllegalStateException If the employees were changed behind the database's back
+     */
+    public synchronized String undo() {
+        long started = UNDO.start();
+        try {
+            UndoHistory.Delta<T> delta = undoHistory.popUndo();
+            if(delta == null) {
+                return null;
+            }
+            applyDelta(delta, "Undo of ");
+            undoHistory.pushRedo(delta);
+            logger.info(() -> "Undid " + delta.description);
+            return delta.description;
+        } finally {
+            UNDO.stop(started);
+        }
+    }
+
+    /**
+     * Re-applies the most recently undone mutation; any new mutation discards what could be redone
+     *
+     * @return A description of the re-applied mutation, or null if there was nothing to redo
+     * @throws IllegalStateException If the employees were changed behind the database's back
+     */
+    public synchronized String redo() {
+        long started = REDO.start();
+        try {
+            UndoHistory.Delta<T> delta = undoHistory.popRedo();
+            if(delta == null) {
+                return null;
+            }
+            applyDelta(delta, "Redo of ");
+            undoHistory.pushUndo(delta);
+            logger.info(() -> "Redid " + delta.description);
+            return delta.description;
+        } finally {
+            REDO.stop(started);
+        }
+    }
+
+    public boolean canUndo() {
+        return undoHistory.undoCount() > 0;
+    }
+
+    public boolean canRedo() {
+        return undoHistory.redoCount() > 0;
+    }
+
+    // Applies a delta in one batch and turns it into its inverse
+    private void applyDelta(UndoHistory.Delta<T> delta, String prefix) {
+        try {
+            Employee<T>[] targets = delta.targets;
+            List<T> ids = new ArrayList<>(targets.length);
+            for(Employee<T> employee : targets) {
+                ids.add(employee.getEmployeeId());
+            }
+            checkApplicable(delta);
+
+            PersistentHashTrie<T, Employee<T>> employees = state.employees();
+            EmployeeIndexes.Editor<T> indexes = editIndexes();
+            ChangeType type;
+            String field = null;
+            switch(delta.kind) {
+                case FIELD -> {
+                    EmployeeIndexes.Editor<T> moving = indexes;
+                    Employee.updateAll(Arrays.asList(targets), () -> swapFields(delta, moving));
+                    type = targets.length == 1 ? ChangeType.UPDATED : ChangeType.BULK_UPDATED;
+                    field = delta.field.key();
+                }
+                case FIELDS -> {
+                    swapFieldsOfOne(delta, indexes);
+                    type = ChangeType.UPDATED;
+                }
+                case INSERT -> {
+                    PersistentHashTrie.Editor<T, Employee<T>> restored = employees.edit();
+                    for(Employee<T> employee : targets) {
+                        restored.put(employee.getEmployeeId(), employee);
+                        if(indexes != null) {
+                            indexes.add(employee);
+                        }
+                    }
+                    employees = restored.build();
+                    delta.kind = UndoHistory.Kind.DELETE;
+                    type = ChangeType.ADDED;
+                }
+                default -> {
+                    PersistentHashTrie.Editor<T, Employee<T>> deleted = employees.edit();
+                    for(Employee<T> employee : targets) {
+                        deleted.remove(employee.getEmployeeId());
+                        if(indexes != null) {
+                            indexes.remove(employee);
+                        }
+                    }
+                    employees = deleted.build();
+                    delta.kind = UndoHistory.Kind.INSERT;
+                    type = ChangeType.REMOVED;
+                }
+            }
+            recordChange(employees, build(indexes), type, field, ids, prefix + delta.description);
+
+        } catch (IllegalStateException e) {
+            // Rethrow these exceptions to be handled by UI
+            throw e;
+        } catch (Exception e) {
+            // Log unexpected exceptions
+            logger.log(Level.SEVERE, "Unexpected error applying undo history", e);
+            throw new RuntimeException("Failed to apply undo history: " + e.getMessage(), e);
+        }
+    }
+
+    // Undo is exact only if every change went through this database; otherwise the history is useless
+    private void checkApplicable(UndoHistory.Delta<T> delta) {
+        for(Employee<T> employee : delta.targets) {
+            Employee<T> current = state.employees().get(employee.getEmployeeId());
+            boolean expected = delta.kind == UndoHistory.Kind.INSERT ? current == null : current == employee;
+            if(!expected) {
+                undoHistory.clear();
+                throw new IllegalStateException("Employee " + employee.getEmployeeId()
+                        + " was changed outside the undo history; the history has been cleared");
+            }
+        }
+    }
+
+    private void swapFields(UndoHistory.Delta<T> delta, EmployeeIndexes.Editor<T> indexes) {
+        EmployeeField field = delta.field;
+        Employee<T>[] targets = delta.targets;
+        if(field == EmployeeField.NAME) {
+            for(int i = 0; i < targets.length; i++) {
+                String current = targets[i].getName();
+                targets[i].setName(delta.names[i]);
+                delta.names[i] = current;
+            }
+            return;
+        }
+        for(int i = 0; i < targets.length; i++) {
+            Employee<T> employee = targets[i];
+            long current = field.read(employee);
+            field.write(employee, delta.values[i]);
+            delta.values[i] = current;
+            moved(indexes, employee, field, current);
+        }
+    }
+
+    private void swapFieldsOfOne(UndoHistory.Delta<T> delta, EmployeeIndexes.Editor<T> indexes) {
+        delta.targets[0].update(employee -> {
+            for(int i = 0; i < delta.fields.length; i++) {
+                EmployeeField field = delta.fields[i];
+                if(field == EmployeeField.NAME) {
+                    String current = employee.getName();
+                    employee.setName(delta.names[0]);
+                    delta.names[0] = current;
+                } else {
+                    long current = field.read(employee);
+                    field.write(employee, delta.values[i]);
+                    delta.values[i] = current;
+                    moved(indexes, employee, field, current);
+                }
+            }
+        });
+    }
+
+    // Moves an employee whose field was just written in the next indexes, if any
+    private static <T> void moved(EmployeeIndexes.Editor<T> indexes, Employee<T> employee, EmployeeField field, long oldBits) {
+        if(indexes != null) {
+            switch(field) {
+                case DEPARTMENT -> indexes.departmentChanged(employee, EmployeeField.DEPARTMENTS.get((int) oldBits));
+                case SALARY -> indexes.salaryChanged(employee, Double.longBitsToDouble(oldBits));
+                case PERFORMANCE_RATING -> indexes.ratingChanged(employee, Double.longBitsToDouble(oldBits));
+                default -> { }
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Employee<T>[] targets(List<Employee<T>> employees) {
+        return employees.toArray(new Employee[0]);
+    }
+
+    private static long[] bitsOf(double[] values) {
+        long[] bits = new long[values.length];
+        for(int i = 0; i < values.length; i++) {
+            bits[i] = Double.doubleToRawLongBits(values[i]);
         }
+        return bits;
+    }
+
+    private List<T> idsOf(List<Employee<T>> targets) {
+        List<T> ids = new ArrayList<>(targets.size());
+        for(Employee<T> employee : targets) {
+            ids.add(employee.getEmployeeId());
+        }
+        return ids;
     }
 
     @Override
     public List<Employee<T>> findTopHighestPaid() {
+        long started = FIND_TOP_HIGHEST_PAID.start();
         try {
             List<Employee<T>> result = findSortedBySalary()
                     .stream()
@@ -542,11 +1891,14 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error finding top highest paid employees", e);
             throw new RuntimeException("Failed to find top highest paid employees: " + e.getMessage(), e);
+        } finally {
+            FIND_TOP_HIGHEST_PAID.stop(started);
         }
     }
 
     @Override
     public List<Employee<T>> findTopHighestPaid(int numberOfEmployees) {
+        long started = FIND_TOP_HIGHEST_PAID.start();
         try {
             if(numberOfEmployees <= 0) {
                 throw new IllegalArgumentException("Number of employees must be positive");
@@ -557,7 +1909,7 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
                     .limit(numberOfEmployees)
                     .collect(Collectors.toList());
 
-            logger.info("Found top " + numberOfEmployees + " highest paid employees");
+            logger.info(() -> "Found top " + numberOfEmployees + " highest paid employees");
             return result;
 
         } catch (IllegalArgumentException e) {
@@ -567,28 +1919,20 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
             // Log unexpected exceptions
             logger.log(Level.SEVERE, "Unexpected error finding top highest paid employees", e);
             throw new RuntimeException("Failed to find top highest paid employees: " + e.getMessage(), e);
+        } finally {
+            FIND_TOP_HIGHEST_PAID.stop(started);
         }
     }
 
     @Override
     public double calculateAverageSalaryByDepartment(String department) throws InvalidDepartmentException {
+        long started = CALCULATE_AVERAGE_SALARY_BY_DEPARTMENT.start();
         try {
-            if(department == null || department.trim().isEmpty()) {
-                throw new IllegalArgumentException("Department cannot be empty");
-            }
-
-            if(!VALID_DEPARTMENTS.contains(department)) {
-                throw new InvalidDepartmentException("Department '" + department + "' is not valid. Valid departments are: " + VALID_DEPARTMENTS);
-            }
+            requireValidDepartment(department);
 
-            double result = getAllEmployees()
-                    .stream()
-                    .filter(emp -> emp.getDepartment().equalsIgnoreCase(department))
-                    .mapToDouble(Employee::getSalary)
-                    .average()
-                    .orElse(0.0);
+            double result = columns().averageSalaryPerDepartment(columnScan()).getOrDefault(department, 0.0);
 
-            logger.info("Calculated average salary for department " + department + ": " + result);
+            logger.info(() -> "Calculated average salary for department " + department + ": " + result);
             return result;
 
         } catch (InvalidDepartmentException | IllegalArgumentException e) {
@@ -598,24 +1942,48 @@ public class EmployeeDatabase<T> implements SearchService<T>, SortService<T>, Sa
             // Log unexpected exceptions
             logger.log(Level.SEVERE, "Unexpected error calculating average salary by department", e);
             throw new RuntimeException("Failed to calculate average salary by department: " + e.getMessage(), e);
+        } finally {
+            CALCULATE_AVERAGE_SALARY_BY_DEPARTMENT.stop(started);
         }
     }
 
     @Override
     public Map<String, Double> calculateAverageSalaryPerDepartment() {
+        long started = CALCULATE_AVERAGE_SALARY_PER_DEPARTMENT.start();
         try {
-            Map<String, Double> result = getAllEmployees()
-                    .stream()
-                    .collect(Collectors.groupingBy(
-                            Employee::getDepartment,
-                            Collectors.averagingDouble(Employee::getSalary)));
+            Map<String, Double> result = columns().averageSalaryPerDepartment(columnScan());
 
-            logger.info("Calculated average salary per department for " + result.size() + " departments");
+            logger.info(() -> "Calculated average salary per department for " + result.size() + " departments");
             return result;
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error calculating average salary per department", e);
             throw new RuntimeException("Failed to calculate average salary per department: " + e.getMessage(), e);
+        } finally {
+            CALCULATE_AVERAGE_SALARY_PER_DEPARTMENT.stop(started);
+        }
+    }
+
+    /**
+     * Checks that a department is one of the departments employees can belong to
+     *
+     * @throws InvalidDepartmentException If it is not
+     * @throws IllegalArgumentException If the department is empty
+     */
+    public static void requireValidDepartment(String department) throws InvalidDepartmentException {
+        if(department == null || department.trim().isEmpty()) {
+            throw new IllegalArgumentException("Department cannot be empty");
+        }
+
+        if(!VALID_DEPARTMENTS.contains(department)) {
+            throw new InvalidDepartmentException("Department '" + department + "' is not valid. Valid departments are: " + VALID_DEPARTMENTS);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Sums and counts salaries per department, for callers that combine several databases
+     */
+    Map<String, EmployeeColumns.SalaryTotal> salaryTotalsPerDepartment() {
+        return columns().salaryTotalsPerDepartment(columnScan());
+    }
+}
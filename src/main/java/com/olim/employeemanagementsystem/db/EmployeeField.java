@@ -0,0 +1,76 @@
+package com.olim.employeemanagementsystem.db;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The editable fields of an {@link Employee}, each readable and writable as 64 raw bits so
+ * that undo deltas can keep old values in a {@code long[]} instead of copying employees.
+ * Doubles are stored as their raw bits, departments as their position in {@link #DEPARTMENTS}
+ * and the active flag as 0 or 1. Names are not primitive and are kept as references instead.
+ */
+enum EmployeeField {
+    NAME("name"),
+    DEPARTMENT("department"),
+    SALARY("salary"),
+    PERFORMANCE_RATING("performanceRating"),
+    YEARS_OF_EXPERIENCE("yearsOfExperience"),
+    ACTIVE("isActive");
+
+    // Codes of the valid departments; the order must never change while deltas exist
+    static final List<String> DEPARTMENTS = List.of("IT", "HR", "Finance", "Marketing", "Sales", "Operations", "Legal", "R&D");
+
+    private final String key;
+
+    EmployeeField(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Gets the field name used by {@link EmployeeDatabase#updateEmployeeDetails} and change events
+     */
+    String key() {
+        return key;
+    }
+
+    /**
+     * Finds the field for an update request, ignoring case
+     *
+     * @return The field, or null if there is no such field
+     */
+    static EmployeeField forKey(String key) {
+        if(key == null) {
+            return null;
+        }
+        for(EmployeeField field : values()) {
+            if(field.key.toLowerCase(Locale.ROOT).equals(key.toLowerCase(Locale.ROOT))) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    long read(Employee<?> employee) {
+        return switch(this) {
+            case NAME -> throw new UnsupportedOperationException("Names are not primitive");
+            case DEPARTMENT -> DEPARTMENTS.indexOf(employee.getDepartment());
+            case SALARY -> Double.doubleToRawLongBits(employee.getSalary());
+            case PERFORMANCE_RATING -> Double.doubleToRawLongBits(employee.getPerformanceRating());
+            case YEARS_OF_EXPERIENCE -> employee.getYearsOfExperience();
+            case ACTIVE -> employee.isActive() ? 1 : 0;
+        };
+    }
+
+    void write(Employee<?> employee, long bits) {
+        switch(this) {
+            case NAME -> throw new UnsupportedOperationException("Names are not primitive");
+            case DEPARTMENT -> employee.setDepartment(DEPARTMENTS.get((int) bits));
+            case SALARY -> employee.setSalary(Double.longBitsToDouble(bits));
+            case PERFORMANCE_RATING -> employee.setPerformanceRating(Double.longBitsToDouble(bits));
+            case YEARS_OF_EXPERIENCE -> employee.setYearsOfExperience((int) bits);
+            case ACTIVE -> employee.setActive(bits != 0);
+        }
+    }
+}
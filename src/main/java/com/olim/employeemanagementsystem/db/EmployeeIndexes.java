@@ -0,0 +1,211 @@
+package com.olim.employeemanagementsystem.db;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable secondary indexes over the employees held by an {@link EmployeeDatabase}.
+ * Employees are bucketed by department and ordered by salary and performance rating
+ * so that selective queries can visit a small candidate set instead of every employee.
+ *
+ * The maps and buckets are persistent: an {@link Editor} produces the indexes of the next database
+ * state and shares everything it did not change with this one, so a query can keep walking these
+ * indexes while writers move on. The database keeps the indexes in step with its own mutations;
+ * changing an employee through its setters directly bypasses them.
+ *
+ * @param <T> The type of the employee ID
+ */
+final class EmployeeIndexes<T> {
+    private static final EmployeeIndexes<?> EMPTY = new EmployeeIndexes<>(PersistentHashTrie.empty(),
+            PersistentSortedMap.empty(), PersistentSortedMap.empty(), 0);
+
+    // Every bucket holds the employees keyed by ID
+    private final PersistentHashTrie<String, PersistentHashTrie<T, Employee<T>>> byDepartment;
+    private final PersistentSortedMap<Double, PersistentHashTrie<T, Employee<T>>> bySalary;
+    private final PersistentSortedMap<Double, PersistentHashTrie<T, Employee<T>>> byRating;
+    private final int size;
+
+    private EmployeeIndexes(PersistentHashTrie<String, PersistentHashTrie<T, Employee<T>>> byDepartment,
+                            PersistentSortedMap<Double, PersistentHashTrie<T, Employee<T>>> bySalary,
+                            PersistentSortedMap<Double, PersistentHashTrie<T, Employee<T>>> byRating, int size) {
+        this.byDepartment = byDepartment;
+        this.bySalary = bySalary;
+        this.byRating = byRating;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> EmployeeIndexes<T> empty() {
+        return (EmployeeIndexes<T>) EMPTY;
+    }
+
+    /**
+     * Starts the indexes of the next database state; these indexes are not affected
+     */
+    Editor<T> edit() {
+        return new Editor<>(this);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int departmentCount(String department) {
+        PersistentHashTrie<T, Employee<T>> bucket = byDepartment.get(department);
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    long estimateSalaryRange(Double min, Double max) {
+        return estimateRange(bySalary, min, max);
+    }
+
+    long estimateRatingAtLeast(Double min) {
+        return estimateRange(byRating, min, null);
+    }
+
+    Stream<Employee<T>> department(String department) {
+        PersistentHashTrie<T, Employee<T>> bucket = byDepartment.get(department);
+        return bucket == null ? Stream.empty() : bucket.values().stream();
+    }
+
+    Stream<Employee<T>> salaryRange(Double min, Double max) {
+        return range(bySalary, min, max);
+    }
+
+    Stream<Employee<T>> ratingAtLeast(Double min) {
+        return range(byRating, min, null);
+    }
+
+    private static <T> Stream<Employee<T>> range(PersistentSortedMap<Double, PersistentHashTrie<T, Employee<T>>> index,
+                                                 Double min, Double max) {
+        if(min != null && max != null && min > max) {
+            return Stream.empty();
+        }
+        Spliterator<PersistentHashTrie<T, Employee<T>>> buckets = Spliterators.spliteratorUnknownSize(
+                index.values(min, max), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(buckets, false).flatMap(bucket -> bucket.values().stream());
+    }
+
+    // Interpolates over the key span instead of counting, so estimating stays O(log n)
+    private long estimateRange(PersistentSortedMap<Double, ?> index, Double min, Double max) {
+        if(index.isEmpty()) {
+            return 0;
+        }
+        double lowest = index.firstKey();
+        double highest = index.lastKey();
+        double from = min == null ? lowest : Math.max(min, lowest);
+        double to = max == null ? highest : Math.min(max, highest);
+        if(from > to) {
+            return 0;
+        }
+        if(highest == lowest) {
+            return size;
+        }
+        return (long) Math.ceil((to - from) / (highest - lowest) * size);
+    }
+
+    /**
+     * Changes on the way to the next indexes. Buckets touched by the batch are edited in place until
+     * {@link #build}, so a bulk operation costs about as much as it did with mutable maps. An editor
+     * is not thread-safe and cannot be used after it has been built.
+     */
+    static final class Editor<T> {
+        private final PersistentHashTrie.Editor<String, PersistentHashTrie<T, Employee<T>>> byDepartment;
+        private final PersistentSortedMap.Editor<Double, PersistentHashTrie<T, Employee<T>>> bySalary;
+        private final PersistentSortedMap.Editor<Double, PersistentHashTrie<T, Employee<T>>> byRating;
+        // Buckets changed by this batch, written back to their index by build()
+        private final Map<String, PersistentHashTrie.Editor<T, Employee<T>>> departmentBuckets = new HashMap<>();
+        private final Map<Double, PersistentHashTrie.Editor<T, Employee<T>>> salaryBuckets = new HashMap<>();
+        private final Map<Double, PersistentHashTrie.Editor<T, Employee<T>>> ratingBuckets = new HashMap<>();
+        private int size;
+
+        private Editor(EmployeeIndexes<T> base) {
+            byDepartment = base.byDepartment.edit();
+            bySalary = base.bySalary.edit();
+            byRating = base.byRating.edit();
+            size = base.size;
+        }
+
+        void add(Employee<T> employee) {
+            departmentBucket(employee.getDepartment()).put(employee.getEmployeeId(), employee);
+            salaryBucket(employee.getSalary()).put(employee.getEmployeeId(), employee);
+            ratingBucket(employee.getPerformanceRating()).put(employee.getEmployeeId(), employee);
+            size++;
+        }
+
+        void remove(Employee<T> employee) {
+            departmentBucket(employee.getDepartment()).remove(employee.getEmployeeId());
+            salaryBucket(employee.getSalary()).remove(employee.getEmployeeId());
+            ratingBucket(employee.getPerformanceRating()).remove(employee.getEmployeeId());
+            size--;
+        }
+
+        void departmentChanged(Employee<T> employee, String oldDepartment) {
+            departmentBucket(oldDepartment).remove(employee.getEmployeeId());
+            departmentBucket(employee.getDepartment()).put(employee.getEmployeeId(), employee);
+        }
+
+        void salaryChanged(Employee<T> employee, double oldSalary) {
+            salaryBucket(oldSalary).remove(employee.getEmployeeId());
+            salaryBucket(employee.getSalary()).put(employee.getEmployeeId(), employee);
+        }
+
+        void ratingChanged(Employee<T> employee, double oldRating) {
+            ratingBucket(oldRating).remove(employee.getEmployeeId());
+            ratingBucket(employee.getPerformanceRating()).put(employee.getEmployeeId(), employee);
+        }
+
+        /**
+         * Finishes the batch
+         *
+         * @return The indexes with every change of the batch
+         */
+        EmployeeIndexes<T> build() {
+            departmentBuckets.forEach((department, bucket) -> {
+                PersistentHashTrie<T, Employee<T>> built = bucket.build();
+                if(built.isEmpty()) {
+                    byDepartment.remove(department);
+                } else {
+                    byDepartment.put(department, built);
+                }
+            });
+            salaryBuckets.forEach((salary, bucket) -> writeBack(bySalary, salary, bucket.build()));
+            ratingBuckets.forEach((rating, bucket) -> writeBack(byRating, rating, bucket.build()));
+            return new EmployeeIndexes<>(byDepartment.build(), bySalary.build(), byRating.build(), size);
+        }
+
+        private PersistentHashTrie.Editor<T, Employee<T>> departmentBucket(String department) {
+            return openBucket(departmentBuckets, department, byDepartment::get);
+        }
+
+        private PersistentHashTrie.Editor<T, Employee<T>> salaryBucket(double salary) {
+            return openBucket(salaryBuckets, salary, bySalary::get);
+        }
+
+        private PersistentHashTrie.Editor<T, Employee<T>> ratingBucket(double rating) {
+            return openBucket(ratingBuckets, rating, byRating::get);
+        }
+
+        private static <K, T> PersistentHashTrie.Editor<T, Employee<T>> openBucket(
+                Map<K, PersistentHashTrie.Editor<T, Employee<T>>> open, K key,
+                Function<K, PersistentHashTrie<T, Employee<T>>> current) {
+            return open.computeIfAbsent(key, k -> {
+                PersistentHashTrie<T, Employee<T>> bucket = current.apply(k);
+                return (bucket == null ? PersistentHashTrie.<T, Employee<T>>empty() : bucket).edit();
+            });
+        }
+
+        private static <T> void writeBack(PersistentSortedMap.Editor<Double, PersistentHashTrie<T, Employee<T>>> index,
+                                          Double key, PersistentHashTrie<T, Employee<T>> bucket) {
+            if(bucket.isEmpty()) {
+                index.remove(key);
+            } else {
+                index.put(key, bucket);
+            }
+        }
+    }
+}
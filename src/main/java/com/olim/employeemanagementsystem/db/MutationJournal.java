@@ -0,0 +1,63 @@
+package com.olim.employeemanagementsystem.db;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded, ordered record of the mutations committed by an {@link EmployeeDatabase}.
+ * Once full, the oldest entries are discarded.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class MutationJournal<T> {
+    private static final int DEFAULT_CAPACITY = 10_000;
+
+    private final int capacity;
+    private final ArrayDeque<Entry<T>> entries = new ArrayDeque<>();
+
+    public MutationJournal() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MutationJournal(int capacity) {
+        if(capacity <= 0) {
+            throw new IllegalArgumentException("Journal capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    synchronized void append(Entry<T> entry) {
+        if(entries.size() == capacity) {
+            entries.removeFirst();
+        }
+        entries.addLast(entry);
+    }
+
+    /**
+     * Gets a copy of the retained entries, oldest first
+     */
+    public synchronized List<Entry<T>> entries() {
+        return new ArrayList<>(entries);
+    }
+
+    public synchronized Entry<T> latest() {
+        return entries.peekLast();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * One committed mutation
+     *
+     * @param version The modification version the mutation produced
+     * @param type The kind of mutation
+     * @param field The updated field for updates, null otherwise
+     * @param employeeIds The IDs of the affected employees
+     * @param description A human readable summary
+     */
+    public record Entry<T>(long version, ChangeType type, String field, List<T> employeeIds, String description) {
+    }
+}
@@ -0,0 +1,344 @@
+package com.olim.employeemanagementsystem.db;
+
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.util.RingBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Optional single-writer path for heavy edit load. Producers validate their mutation on their own
+ * thread and publish it into a pre-allocated ring buffer; one writer thread drains whatever has been
+ * published, up to a batch limit, and applies it to the database under one lock acquisition
+ * ({@link EmployeeDatabase#applyBatch}). Repeated updates of the same field of an employee within a
+ * batch coalesce to the last value, every changed employee moves in the indexes once, listeners get
+ * one change per field instead of one per call, and the optional {@link GroupCommit} persists the
+ * whole batch at once before any of it is published. Each submission returns a future that completes
+ * once its batch is committed.
+ *
+ * The writer never waits for a batch to fill, so under light load a batch is a single mutation and
+ * latency stays that of a direct call; under heavy load latency is bounded by the batch limit.
+ * When the ring buffer is full, producers wait for the writer. If the writer fails with an error,
+ * the pipeline shuts down and every mutation it has not committed fails with that error.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class MutationPipeline<T> {
+    private static final Logger logger = Logger.getLogger(MutationPipeline.class.getName());
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_MAX_BATCH = 1024;
+
+    private final EmployeeDatabase<T> database;
+    private final GroupCommit<T> groupCommit;
+    private final int maxBatch;
+    // A slot is released once its mutation has been committed
+    private final RingBuffer<Command<T>> ring;
+    private volatile Thread writer;
+
+    // Written by the writer thread only
+    private volatile long batchCount;
+    private volatile long commandCount;
+    private volatile long coalescedCount;
+
+    public MutationPipeline(EmployeeDatabase<T> database) {
+        this(database, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH, null);
+    }
+
+    /**
+     * @param capacity The number of mutations the ring buffer holds, a power of two
+     * @param maxBatch The most mutations the writer applies at once, at most the capacity
+     * @param groupCommit Persists each committed batch, or null if nothing needs persisting
+     */
+    public MutationPipeline(EmployeeDatabase<T> database, int capacity, int maxBatch, GroupCommit<T> groupCommit) {
+        if(database == null) {
+            throw new IllegalArgumentException("Database cannot be null");
+        }
+        if(capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        }
+        if(maxBatch <= 0 || maxBatch > capacity) {
+            throw new IllegalArgumentException("Batch limit must be between 1 and the capacity");
+        }
+        this.database = database;
+        this.groupCommit = groupCommit;
+        this.maxBatch = maxBatch;
+        this.ring = new RingBuffer<>(capacity, Command::new);
+    }
+
+    /**
+     * Starts the writer thread; mutations submitted before are applied once it runs
+     */
+    public synchronized void start() {
+        if(writer != null) {
+            throw new IllegalStateException("Pipeline has already been started");
+        }
+        writer = Thread.ofPlatform().name("ems-writer").daemon().start(this::drain);
+    }
+
+    /**
+     * Queues a new employee
+     *
+     * @return Completes with the employee ID once added, or with null if the ID already exists
+     * @throws InvalidSalaryException If the salary is negative or invalid
+     * @throws InvalidDepartmentException If the department is not valid
+     * @throws IllegalStateException If the pipeline has been shut down
+     */
+    public CompletableFuture<T> submitAdd(Employee<T> employee) throws InvalidSalaryException, InvalidDepartmentException {
+        if(employee == null) {
+            throw new IllegalArgumentException("Employee cannot be empty");
+        }
+        EmployeeDatabase.validateNewEmployee(employee);
+        return publish(Kind.ADD, employee.getEmployeeId(), null, null, employee);
+    }
+
+    /**
+     * Queues an update of one field
+     *
+     * @return Completes with the updated employee, or fails with
+     *         {@link com.olim.employeemanagementsystem.exception.EmployeeNotFoundException} if there is no such employee
+     * @throws InvalidSalaryException If a salary is negative
+     * @throws InvalidDepartmentException If a department is not valid
+     * @throws IllegalStateException If the pipeline has been shut down
+     */
+    public CompletableFuture<Employee<T>> submitUpdate(T employeeId, String field, Object newValue)
+            throws InvalidSalaryException, InvalidDepartmentException {
+        if(employeeId == null) {
+            throw new IllegalArgumentException("Employee ID cannot be null");
+        }
+        EmployeeDatabase.checkUpdate(field, newValue);
+        return publish(Kind.UPDATE, employeeId, EmployeeField.forKey(field), newValue, null);
+    }
+
+    /**
+     * Queues the removal of an employee
+     *
+     * @return Completes with the removed employee, or fails with
+     *         {@link com.olim.employeemanagementsystem.exception.EmployeeNotFoundException} if there is no such employee
+     * @throws IllegalStateException If the pipeline has been shut down
+     */
+    public CompletableFuture<Employee<T>> submitRemove(T employeeId) {
+        if(employeeId == null) {
+            throw new IllegalArgumentException("Employee ID cannot be null");
+        }
+        return publish(Kind.REMOVE, employeeId, null, null, null);
+    }
+
+    /**
+     * Stops accepting mutations and waits until the writer has committed every queued one
+     *
+     * @return Whether the writer finished within the timeout
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        ring.close();
+        Thread running = writer;
+        if(running == null) {
+            return ring.size() == 0;
+        }
+        LockSupport.unpark(running);
+        running.join(unit.toMillis(timeout));
+        return !running.isAlive();
+    }
+
+    public boolean isShutdown() {
+        return ring.isClosed();
+    }
+
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Gets how many mutations the writer has applied or rejected
+     */
+    public long getCommandCount() {
+        return commandCount;
+    }
+
+    /**
+     * Gets how many updates were overwritten by a later update of the same field in the same batch
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Gets how many mutations are waiting for the writer
+     */
+    public int getQueuedCount() {
+        return ring.size();
+    }
+
+    private <R> CompletableFuture<R> publish(Kind kind, T employeeId, EmployeeField field, Object value, Employee<T> employee) {
+        long sequence = ring.claim(true);
+        if(sequence == RingBuffer.CLOSED) {
+            throw new IllegalStateException("Mutation pipeline has been shut down");
+        }
+
+        CompletableFuture<R> future = new CompletableFuture<>();
+        Command<T> slot = ring.slotFor(sequence);
+        slot.kind = kind;
+        slot.employeeId = employeeId;
+        slot.field = field;
+        slot.value = value;
+        slot.employee = employee;
+        slot.future = future;
+        ring.publish(sequence);
+        return future;
+    }
+
+    // The writer loop: applies published mutations in order until shut down and empty
+    private void drain() {
+        List<Command<T>> batch = new ArrayList<>(maxBatch);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[maxBatch];
+        Object[] results = new Object[maxBatch];
+        Exception[] failures = new Exception[maxBatch];
+        long next = 0;
+        while(true) {
+            while(batch.size() < maxBatch) {
+                Command<T> slot = ring.published(next + batch.size());
+                if(slot == null) {
+                    break;
+                }
+                batch.add(slot);
+            }
+
+            if(batch.isEmpty()) {
+                if(!ring.awaitPublished(next)) {
+                    return;
+                }
+                continue;
+            }
+
+            int coalesced;
+            try {
+                coalesced = commit(batch, results, failures);
+            } catch (Throwable e) {
+                logger.log(Level.SEVERE, "Writer thread failed; the mutation pipeline is shut down", e);
+                abandon(next, e);
+                throw e;
+            }
+            for(int i = 0; i < batch.size(); i++) {
+                Command<T> slot = batch.get(i);
+                futures[i] = slot.future;
+                slot.clear();
+            }
+            int size = batch.size();
+            next += size;
+            ring.release(next);
+            batch.clear();
+            batchCount++;
+            commandCount += size;
+            coalescedCount += coalesced;
+
+            for(int i = 0; i < size; i++) {
+                complete(futures[i], results[i], failures[i]);
+                futures[i] = null;
+                results[i] = null;
+                failures[i] = null;
+            }
+        }
+    }
+
+    // Applies and persists one batch, leaving the outcome of every command in results and failures
+    private int commit(List<Command<T>> batch, Object[] results, Exception[] failures) {
+        Exception batchFailure = null;
+        try {
+            database.applyBatch(batch, groupCommit);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Failed to commit a batch of " + batch.size() + " mutations", e);
+            batchFailure = e;
+        }
+        int coalesced = 0;
+        for(int i = 0; i < batch.size(); i++) {
+            Command<T> command = batch.get(i);
+            results[i] = command.result;
+            failures[i] = batchFailure != null ? batchFailure : command.failure;
+            if(command.superseded) {
+                coalesced++;
+            }
+        }
+        return coalesced;
+    }
+
+    // Stops accepting mutations and fails every one that is queued, from the sequence the writer was at
+    private void abandon(long next, Throwable failure) {
+        ring.close();
+        while(true) {
+            Command<T> slot = ring.published(next);
+            if(slot != null) {
+                slot.future.completeExceptionally(failure);
+                slot.clear();
+                // One slot at a time, so producers waiting for a free slot can publish and be failed too
+                ring.release(++next);
+            } else if(!ring.awaitPublished(next)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void complete(CompletableFuture<?> future, Object result, Exception failure) {
+        if(failure != null) {
+            future.completeExceptionally(failure);
+        } else {
+            ((CompletableFuture<Object>) future).complete(result);
+        }
+    }
+
+    /**
+     * Persists the changes of one batch, e.g. with one transaction or one fsync, before any of them is
+     * published or any of its submitters is told the mutation is done. Runs on the writer thread while
+     * the database lock is held, so it must not change the database itself; other writers wait for it.
+     *
+     * @param <T> The type of the employee ID
+     */
+    @FunctionalInterface
+    public interface GroupCommit<T> {
+        /**
+         * @param events The changes committed by the batch, in order
+         * @throws Exception If persisting failed; the batch is then undone and every mutation of it fails with it
+         */
+        void commit(List<EmployeeChangeEvent<T>> events) throws Exception;
+    }
+
+    enum Kind {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+
+    /**
+     * One slot of the ring buffer. Producers fill it and publish it; the database sets the outcome
+     * while applying it.
+     */
+    static final class Command<T> extends RingBuffer.Slot {
+        Kind kind;
+        T employeeId;
+        EmployeeField field;
+        Object value;
+        Employee<T> employee;
+        CompletableFuture<?> future;
+
+        Object result;
+        Exception failure;
+        boolean superseded;
+
+        void clear() {
+            employeeId = null;
+            value = null;
+            employee = null;
+            future = null;
+            result = null;
+            failure = null;
+            superseded = false;
+        }
+    }
+}
@@ -0,0 +1,536 @@
+package com.olim.employeemanagementsystem.db;
+
+import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.exception.EmployeeVersionConflictException;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.query.Page;
+import com.olim.employeemanagementsystem.query.PageCursor;
+import com.olim.employeemanagementsystem.service.SalaryManagementService;
+import com.olim.employeemanagementsystem.service.SearchService;
+import com.olim.employeemanagementsystem.service.SortService;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Spreads employees over several independent {@link EmployeeDatabase} shards by hashing their IDs,
+ * behind the same service interfaces as a single database.
+ * Each shard has its own map, indexes, column snapshot and lock, so writes to different shards do
+ * not wait for each other. Reads that need every employee are scattered to all shards in parallel
+ * and gathered: filters are concatenated, sorted results and pages are combined with a k-way
+ * merge, top-N takes the top N of every shard, and averages are computed from per-shard sums and
+ * counts.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class PartitionedEmployeeDatabase<T> implements SearchService<T>, SortService<T>, SalaryManagementService<T> {
+    private static final Logger logger = Logger.getLogger(PartitionedEmployeeDatabase.class.getName());
+
+    private final EmployeeDatabase<T>[] shards;
+    private final ExecutorService executor;
+
+    /**
+     * Creates empty shards and one worker thread per processor, up to one per shard
+     *
+     * @param shardCount The number of shards
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PartitionedEmployeeDatabase(int shardCount) {
+        if(shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        shards = new EmployeeDatabase[shardCount];
+        for(int i = 0; i < shardCount; i++) {
+            shards[i] = new EmployeeDatabase<>(new HashMap<>());
+        }
+        int threads = Math.max(1, Math.min(shardCount - 1, Runtime.getRuntime().availableProcessors()));
+        executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("ems-shard-", 0).daemon().factory());
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Gets the shard an employee ID belongs to
+     */
+    int shardOf(T employeeId) {
+        int hash = employeeId.hashCode();
+        // Spread the bits so sequential integer IDs do not all land on neighbouring shards in lockstep
+        hash = (hash ^ (hash >>> 16)) * 0x45D9F3B;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, shards.length);
+    }
+
+    private EmployeeDatabase<T> shardFor(T employeeId) {
+        if(employeeId == null) {
+            throw new IllegalArgumentException("Employee ID cannot be null");
+        }
+        return shards[shardOf(employeeId)];
+    }
+
+    /**
+     * Gets the sum of the shard modification versions; it increases with every mutation of any shard
+     */
+    public long getModificationVersion() {
+        long version = 0;
+        for(EmployeeDatabase<T> shard : shards) {
+            version += shard.getModificationVersion();
+        }
+        return version;
+    }
+
+    /**
+     * Registers a listener with every shard; each event describes a change to one shard
+     */
+    public void addChangeListener(EmployeeChangeListener<T> listener) {
+        for(EmployeeDatabase<T> shard : shards) {
+            shard.addChangeListener(listener);
+        }
+    }
+
+    public void removeChangeListener(EmployeeChangeListener<T> listener) {
+        for(EmployeeDatabase<T> shard : shards) {
+            shard.removeChangeListener(listener);
+        }
+    }
+
+    public T addEmployee(Employee<T> employee) throws InvalidSalaryException, InvalidDepartmentException {
+        if(employee == null) {
+            throw new IllegalArgumentException("Employee cannot be empty");
+        }
+        return shardFor(employee.getEmployeeId()).addEmployee(employee);
+    }
+
+    /**
+     * Adds many employees, each shard taking its part in parallel.
+     * Everything is validated before any shard changes, so invalid input adds nobody.
+     *
+     * @return The IDs added, in input order; duplicates are skipped
+     */
+    public List<T> addEmployees(Collection<Employee<T>> newEmployees) throws InvalidSalaryException, InvalidDepartmentException {
+        if(newEmployees == null) {
+            throw new IllegalArgumentException("Employees cannot be null");
+        }
+        List<List<Employee<T>>> parts = new ArrayList<>(shards.length);
+        for(int i = 0; i < shards.length; i++) {
+            parts.add(new ArrayList<>());
+        }
+        for(Employee<T> employee : newEmployees) {
+            if(employee == null) {
+                throw new IllegalArgumentException("Employee cannot be empty");
+            }
+            EmployeeDatabase.validateNewEmployee(employee);
+            parts.get(shardOf(employee.getEmployeeId())).add(employee);
+        }
+
+        Set<T> added = new HashSet<>();
+        List<List<T>> addedPerShard = scatterIndexed((shard, i) -> {
+            try {
+                return shard.addEmployees(parts.get(i));
+            } catch (InvalidSalaryException | InvalidDepartmentException e) {
+                // Unreachable: every employee was validated above
+                throw new IllegalStateException("Validated employee was rejected", e);
+            }
+        });
+        for(List<T> ids : addedPerShard) {
+            added.addAll(ids);
+        }
+        List<T> ids = new ArrayList<>(added.size());
+        for(Employee<T> employee : newEmployees) {
+            if(added.remove(employee.getEmployeeId())) {
+                ids.add(employee.getEmployeeId());
+            }
+        }
+        return ids;
+    }
+
+    public Employee<T> removeEmployee(T employeeId) throws EmployeeNotFoundException {
+        return shardFor(employeeId).removeEmployee(employeeId);
+    }
+
+    public Employee<T> updateEmployeeDetails(T employeeId, String field, Object newValue)
+            throws EmployeeNotFoundException, InvalidDepartmentException, InvalidSalaryException {
+        return shardFor(employeeId).updateEmployeeDetails(employeeId, field, newValue);
+    }
+
+    public Employee<T> updateEmployeeDetails(T employeeId, Map<String, Object> changes, long expectedVersion)
+            throws EmployeeNotFoundException, InvalidDepartmentException, InvalidSalaryException, EmployeeVersionConflictException {
+        return shardFor(employeeId).updateEmployeeDetails(employeeId, changes, expectedVersion);
+    }
+
+    public Employee<T> getEmployeeById(T employeeId) throws EmployeeNotFoundException {
+        return shardFor(employeeId).getEmployeeById(employeeId);
+    }
+
+    /**
+     * Gets every employee, shard by shard
+     *
+     * @return A new list of all employees
+     */
+    public List<Employee<T>> getAllEmployees() {
+        return concat(scatter(EmployeeDatabase::snapshot));
+    }
+
+    public int size() {
+        int size = 0;
+        for(EmployeeDatabase<T> shard : shards) {
+            size += shard.getAllEmployees().size();
+        }
+        return size;
+    }
+
+    @Override
+    public List<Employee<T>> findByDepartment(String department) throws InvalidDepartmentException {
+        return concat(scatter(shard -> shard.findByDepartment(department)));
+    }
+
+    @Override
+    public List<Employee<T>> findByName(String name) {
+        return concat(scatter(shard -> shard.findByName(name)));
+    }
+
+    @Override
+    public List<Employee<T>> findByRating(double rating) {
+        return concat(scatter(shard -> shard.findByRating(rating)));
+    }
+
+    @Override
+    public List<Employee<T>> findBySalaryBetween(double min, double max) throws InvalidSalaryException {
+        return concat(scatter(shard -> shard.findBySalaryBetween(min, max)));
+    }
+
+    /**
+     * Runs the query on every shard; sorted results are merged and the limit applied to the merged result
+     */
+    @Override
+    public List<Employee<T>> findByQuery(EmployeeQuery<T> query) {
+        if(query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        List<List<Employee<T>>> parts = scatter(shard -> shard.findByQuery(query));
+        int limit = query.hasLimit() ? query.getLimit() : Integer.MAX_VALUE;
+        if(query.getComparator() != null) {
+            return merge(parts, query.getComparator(), limit);
+        }
+        List<Employee<T>> result = concat(parts);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Merges the next page of every shard. A cursor holds sort key values rather than a position, so
+     * the same cursor finds the right place in every shard.
+     */
+    @Override
+    public Page<T> findPage(EmployeeQuery<T> query, PageCursor after, int pageSize) {
+        if(query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        if(pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        List<Page<T>> pages = scatter(shard -> shard.findPage(query, after, pageSize));
+        SortOrder order = ResultPager.pagingOrder(query.getSortOrder());
+        int offset = 0;
+        int total = 0;
+        List<List<Employee<T>>> rows = new ArrayList<>(pages.size());
+        for(Page<T> page : pages) {
+            // Every row a shard has before the cursor also comes before it in the merged order
+            offset += page.offset();
+            total += page.totalCount();
+            rows.add(page.rows());
+        }
+        List<Employee<T>> merged = merge(rows, order.comparator(), pageSize);
+        PageCursor next = merged.isEmpty() ? null : PageCursor.after(merged.get(merged.size() - 1), order);
+        return new Page<>(merged, offset, total, next, getModificationVersion());
+    }
+
+    /**
+     * Reads a page by position. Any of the first offset + pageSize rows can come from any shard, so
+     * each shard returns that many and the merge skips the first offset; prefer {@link #findPage}
+     * for deep paging.
+     */
+    @Override
+    public Page<T> findPageAt(EmployeeQuery<T> query, int offset, int pageSize) {
+        if(query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        if(offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if(pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        int window = (int) Math.min((long) offset + pageSize, Integer.MAX_VALUE);
+        List<Page<T>> pages = scatter(shard -> shard.findPageAt(query, 0, window));
+        SortOrder order = ResultPager.pagingOrder(query.getSortOrder());
+        int total = 0;
+        List<List<Employee<T>>> rows = new ArrayList<>(pages.size());
+        for(Page<T> page : pages) {
+            total += page.totalCount();
+            rows.add(page.rows());
+        }
+        List<Employee<T>> merged = merge(rows, order.comparator(), window);
+        int start = Math.min(offset, merged.size());
+        List<Employee<T>> page = new ArrayList<>(merged.subList(start, merged.size()));
+        PageCursor next = page.isEmpty() ? null : PageCursor.after(page.get(page.size() - 1), order);
+        return new Page<>(page, start, total, next, getModificationVersion());
+    }
+
+    @Override
+    public void displayAll() {
+        try {
+            EmployeeDatabase.printEmployees(getAllEmployees());
+            logger.info("Displayed all employees");
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error displaying employees", e);
+            System.out.println("Error displaying employees: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, List<Employee<T>>> groupByDepartment() {
+        Map<String, List<Employee<T>>> result = new HashMap<>();
+        for(Map<String, List<Employee<T>>> part : scatter(EmployeeDatabase::groupByDepartment)) {
+            part.forEach((department, employees) ->
+                    result.computeIfAbsent(department, key -> new ArrayList<>()).addAll(employees));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Employee<T>> findSortedBySalary() {
+        return merge(scatter(EmployeeDatabase::findSortedBySalary), EmployeeDatabase.BY_SALARY_DESC.comparator(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Employee<T>> findSortedByPerformanceRating() {
+        return merge(scatter(EmployeeDatabase::findSortedByPerformanceRating),
+                EmployeeDatabase.BY_PERFORMANCE_DESC.comparator(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Employee<T>> findSortedByExperience() {
+        return merge(scatter(EmployeeDatabase::findSortedByExperience),
+                EmployeeDatabase.BY_EXPERIENCE_DESC.comparator(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Employee<T>> findSorted(SortOrder order) {
+        if(order == null) {
+            throw new IllegalArgumentException("Sort order cannot be null");
+        }
+        return merge(scatter(shard -> shard.findSorted(order)), order.comparator(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gives the raise on every shard in parallel. If any shard fails, the shards that already
+     * applied it are rolled back, so the raise happens everywhere or nowhere.
+     */
+    @Override
+    public List<Employee<T>> giveSalaryRaiseByPerformanceRating(double performanceRating, double percentageRaise)
+            throws InvalidSalaryException {
+        List<RaiseOutcome<T>> outcomes = scatter(shard -> {
+            try {
+                return new RaiseOutcome<>(shard.applySalaryRaise(performanceRating, percentageRaise), null);
+            } catch (InvalidSalaryException | RuntimeException e) {
+                return new RaiseOutcome<>(null, e);
+            }
+        });
+        Exception failure = null;
+        for(RaiseOutcome<T> outcome : outcomes) {
+            if(outcome.error() != null && failure == null) {
+                failure = outcome.error();
+            }
+        }
+        if(failure != null) {
+            for(RaiseOutcome<T> outcome : outcomes) {
+                if(outcome.batch() != null) {
+                    outcome.batch().database().undoSalaryRaise(outcome.batch());
+                }
+            }
+            if(failure instanceof InvalidSalaryException invalid) {
+                throw invalid;
+            }
+            throw (RuntimeException) failure;
+        }
+        List<Employee<T>> raised = new ArrayList<>();
+        for(RaiseOutcome<T> outcome : outcomes) {
+            raised.addAll(outcome.batch().getRaisedEmployees());
+        }
+        return raised;
+    }
+
+    private record RaiseOutcome<T>(SalaryRaiseBatch<T> batch, Exception error) {
+    }
+
+    @Override
+    public List<Employee<T>> findTopHighestPaid() {
+        return findTopHighestPaid(5);
+    }
+
+    @Override
+    public List<Employee<T>> findTopHighestPaid(int numberOfEmployees) {
+        if(numberOfEmployees <= 0) {
+            throw new IllegalArgumentException("Number of employees must be positive");
+        }
+        // The overall top N are among the top N of each shard
+        return merge(scatter(shard -> shard.findTopHighestPaid(numberOfEmployees)),
+                EmployeeDatabase.BY_SALARY_DESC.comparator(), numberOfEmployees);
+    }
+
+    @Override
+    public double calculateAverageSalaryByDepartment(String department) throws InvalidDepartmentException {
+        EmployeeDatabase.requireValidDepartment(department);
+        EmployeeColumns.SalaryTotal total = salaryTotalsPerDepartment().get(department);
+        return total == null ? 0.0 : total.average();
+    }
+
+    @Override
+    public Map<String, Double> calculateAverageSalaryPerDepartment() {
+        Map<String, Double> result = new HashMap<>();
+        salaryTotalsPerDepartment().forEach((department, total) -> result.put(department, total.average()));
+        return result;
+    }
+
+    // Averages cannot be combined, but sums and counts can
+    private Map<String, EmployeeColumns.SalaryTotal> salaryTotalsPerDepartment() {
+        Map<String, EmployeeColumns.SalaryTotal> totals = new HashMap<>();
+        for(Map<String, EmployeeColumns.SalaryTotal> part : scatter(EmployeeDatabase::salaryTotalsPerDepartment)) {
+            part.forEach((department, total) -> totals.merge(department, total, EmployeeColumns.SalaryTotal::plus));
+        }
+        return totals;
+    }
+
+    /**
+     * Stops the worker threads; the facade cannot be used afterwards
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface ShardCall<T, R, E extends Exception> {
+        R call(EmployeeDatabase<T> shard) throws E;
+    }
+
+    @FunctionalInterface
+    private interface IndexedShardCall<T, R, E extends Exception> {
+        R call(EmployeeDatabase<T> shard, int index) throws E;
+    }
+
+    private <R, E extends Exception> List<R> scatter(ShardCall<T, R, E> call) throws E {
+        return scatterIndexed((shard, index) -> call.call(shard));
+    }
+
+    /**
+     * Runs a call on every shard in parallel, the first one on the calling thread, and waits for all
+     * of them. If any fail, the first failure is thrown once every call has finished.
+     *
+     * @return The results in shard order
+     */
+    @SuppressWarnings("unchecked")
+    private <R, E extends Exception> List<R> scatterIndexed(IndexedShardCall<T, R, E> call) throws E {
+        List<Future<R>> futures = new ArrayList<>(shards.length - 1);
+        for(int i = 1; i < shards.length; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> call.call(shards[index], index)));
+        }
+
+        List<R> results = new ArrayList<>(shards.length);
+        Throwable failure = null;
+        try {
+            results.add(call.call(shards[0], 0));
+        } catch (Exception e) {
+            failure = e;
+        }
+        for(Future<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if(failure == null) {
+                    failure = e.getCause();
+                }
+            } catch (InterruptedException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for shards", e);
+            }
+        }
+
+        if(failure instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if(failure instanceof Error error) {
+            throw error;
+        }
+        if(failure != null) {
+            // Only the checked exceptions the shard call declares can get here
+            throw (E) failure;
+        }
+        return results;
+    }
+
+    private static <E> List<E> concat(List<List<E>> parts) {
+        int size = 0;
+        for(List<E> part : parts) {
+            size += part.size();
+        }
+        List<E> result = new ArrayList<>(size);
+        for(List<E> part : parts) {
+            result.addAll(part);
+        }
+        return result;
+    }
+
+    /**
+     * K-way merge of lists that are each sorted by the comparator
+     *
+     * @param limit The most elements to return
+     */
+    static <E> List<E> merge(List<List<E>> sortedParts, Comparator<? super E> comparator, int limit) {
+        int size = 0;
+        for(List<E> part : sortedParts) {
+            size += part.size();
+        }
+        List<E> result = new ArrayList<>(Math.min(size, limit));
+        // Heads of the parts, ordered by their current element; ties go to the lower part for stability
+        PriorityQueue<MergeCursor<E>> heads = new PriorityQueue<>((a, b) -> {
+            int order = comparator.compare(a.current, b.current);
+            return order != 0 ? order : Integer.compare(a.part, b.part);
+        });
+        for(int i = 0; i < sortedParts.size(); i++) {
+            Iterator<E> iterator = sortedParts.get(i).iterator();
+            if(iterator.hasNext()) {
+                heads.add(new MergeCursor<>(i, iterator, iterator.next()));
+            }
+        }
+        while(!heads.isEmpty() && result.size() < limit) {
+            MergeCursor<E> head = heads.poll();
+            result.add(head.current);
+            if(head.rest.hasNext()) {
+                head.current = head.rest.next();
+                heads.add(head);
+            }
+        }
+        return result;
+    }
+
+    private static final class MergeCursor<E> {
+        private final int part;
+        private final Iterator<E> rest;
+        private E current;
+
+        MergeCursor(int part, Iterator<E> rest, E current) {
+            this.part = part;
+            this.rest = rest;
+            this.current = current;
+        }
+    }
+}
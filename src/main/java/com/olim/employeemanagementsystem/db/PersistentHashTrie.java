@@ -0,0 +1,586 @@
+package com.olim.employeemanagementsystem.db;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map stored as a compressed hash-array-mapped trie. Each level consumes five bits of
+ * the key hash; a node keeps a bitmap of the slots in use and a dense array holding its entries first
+ * and its child nodes last, so lookups and iteration touch few, small arrays.
+ *
+ * Writes return a new trie that copies only the path from the root to the changed slot and shares
+ * every other node with the old trie, so a reader holding a trie keeps a stable snapshot for free no
+ * matter what writers do afterwards. Bulk loads go through an {@link Editor}, which updates the nodes
+ * it created itself in place instead of copying them on every write.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+final class PersistentHashTrie<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    // Levels before the hash runs out, plus the collision level below them
+    private static final int MAX_DEPTH = (32 + BITS - 1) / BITS + 1;
+
+    private static final PersistentHashTrie<?, ?> EMPTY = new PersistentHashTrie<>(BitmapNode.EMPTY, 0);
+
+    private final Node<K, V> root;
+    private final int size;
+    private Collection<V> values;
+
+    private PersistentHashTrie(Node<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashTrie<K, V> empty() {
+        return (PersistentHashTrie<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The value of the key, or null if the key is not present
+     */
+    V get(Object key) {
+        return root.get(key, hash(key), 0);
+    }
+
+    boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return A trie with the key set to the value, or this trie if the key already had the value
+     */
+    PersistentHashTrie<K, V> put(K key, V value) {
+        Change<V> change = new Change<>();
+        Node<K, V> next = root.put(null, key, hash(key), value, 0, change);
+        return next == root ? this : new PersistentHashTrie<>(next, change.added ? size + 1 : size);
+    }
+
+    /**
+     * @return A trie without the key, or this trie if the key was not present
+     */
+    PersistentHashTrie<K, V> remove(Object key) {
+        Change<V> change = new Change<>();
+        Node<K, V> next = root.remove(null, key, hash(key), 0, change);
+        return next == root ? this : new PersistentHashTrie<>(next, size - 1);
+    }
+
+    /**
+     * Starts a batch of writes based on this trie; this trie itself is not affected
+     */
+    Editor<K, V> edit() {
+        return new Editor<>(root, size);
+    }
+
+    /**
+     * Gets the values of this snapshot as an unmodifiable collection
+     */
+    Collection<V> values() {
+        Collection<V> view = values;
+        if(view == null) {
+            view = new AbstractCollection<>() {
+                @Override
+                public Iterator<V> iterator() {
+                    return new TrieIterator<>(root);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return size == 0;
+                }
+            };
+            values = view;
+        }
+        return view;
+    }
+
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root, action);
+    }
+
+    private static <K, V> void forEach(Node<K, V> node, BiConsumer<? super K, ? super V> action) {
+        for(int i = 0; i < node.payloadCount(); i++) {
+            action.accept(node.keyAt(i), node.valueAt(i));
+        }
+        for(int i = 0; i < node.nodeCount(); i++) {
+            forEach(node.nodeAt(i), action);
+        }
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A batch of writes that produces one new trie. Nodes the editor created are updated in place, so
+     * loading many entries costs about as much as filling a hash map; nodes shared with the trie it
+     * started from are still copied. An editor is not thread-safe and cannot be used after
+     * {@link #build}.
+     */
+    static final class Editor<K, V> {
+        private Object token = new Object();
+        private Node<K, V> root;
+        private int size;
+
+        private Editor(Node<K, V> root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        V get(Object key) {
+            return root.get(key, hash(key), 0);
+        }
+
+        void put(K key, V value) {
+            Change<V> change = new Change<>();
+            root = root.put(token(), key, hash(key), value, 0, change);
+            if(change.added) {
+                size++;
+            }
+        }
+
+        V remove(Object key) {
+            Change<V> change = new Change<>();
+            root = root.remove(token(), key, hash(key), 0, change);
+            if(change.removed) {
+                size--;
+            }
+            return change.old;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Finishes the batch
+         *
+         * @return The trie with every write of the batch
+         */
+        PersistentHashTrie<K, V> build() {
+            token();
+            // Without the token no one can update the nodes in place any more
+            token = null;
+            return new PersistentHashTrie<>(root, size);
+        }
+
+        private Object token() {
+            if(token == null) {
+                throw new IllegalStateException("Editor has already been built");
+            }
+            return token;
+        }
+    }
+
+    // What a put or remove did below the root
+    private static final class Change<V> {
+        boolean added;
+        boolean removed;
+        V old;
+    }
+
+    private abstract static class Node<K, V> {
+        abstract V get(Object key, int hash, int shift);
+
+        /**
+         * @param token The editor allowed to update nodes in place, null to copy every changed node
+         * @return The node with the entry, this node if nothing changed
+         */
+        abstract Node<K, V> put(Object token, K key, int hash, V value, int shift, Change<V> change);
+
+        /**
+         * @return The node without the entry, this node if the key was not present
+         */
+        abstract Node<K, V> remove(Object token, Object key, int hash, int shift, Change<V> change);
+
+        abstract int payloadCount();
+
+        abstract K keyAt(int index);
+
+        abstract V valueAt(int index);
+
+        abstract int nodeCount();
+
+        abstract Node<K, V> nodeAt(int index);
+    }
+
+    private static final class BitmapNode<K, V> extends Node<K, V> {
+        static final BitmapNode<?, ?> EMPTY = new BitmapNode<>(null, 0, 0, new Object[0]);
+
+        private final Object token;
+        // Slots holding an entry and slots holding a child node
+        private int dataMap;
+        private int nodeMap;
+        // Keys and values in pairs by slot, then the child nodes in reverse slot order
+        private Object[] content;
+
+        BitmapNode(Object token, int dataMap, int nodeMap, Object[] content) {
+            this.token = token;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        @Override
+        V get(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                return key.equals(content[2 * index]) ? value(index) : null;
+            }
+            if((nodeMap & bit) != 0) {
+                return child(nodeIndex(bit)).get(key, hash, shift + BITS);
+            }
+            return null;
+        }
+
+        @Override
+        Node<K, V> put(Object token, K key, int hash, V value, int shift, Change<V> change) {
+            int bit = bit(hash, shift);
+            if((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                K current = keyAt(index);
+                if(key.equals(current)) {
+                    V old = value(index);
+                    change.old = old;
+                    if(old == value) {
+                        return this;
+                    }
+                    BitmapNode<K, V> target = editable(token);
+                    target.content[2 * index + 1] = value;
+                    return target;
+                }
+                // Two keys share this slot: push both down into a new child
+                Node<K, V> child = merge(token, current, hash(current), value(index), key, hash, value, shift + BITS);
+                change.added = true;
+                return dataToNode(token, bit, index, child);
+            }
+            if((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node<K, V> child = child(index);
+                Node<K, V> updated = child.put(token, key, hash, value, shift + BITS, change);
+                return updated == child ? this : replaceChild(token, index, updated);
+            }
+            change.added = true;
+            return insertData(token, bit, key, value);
+        }
+
+        @Override
+        Node<K, V> remove(Object token, Object key, int hash, int shift, Change<V> change) {
+            int bit = bit(hash, shift);
+            if((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                if(!key.equals(content[2 * index])) {
+                    return this;
+                }
+                change.removed = true;
+                change.old = value(index);
+                return removeData(token, bit, index);
+            }
+            if((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node<K, V> child = child(index);
+                Node<K, V> updated = child.remove(token, key, hash, shift + BITS, change);
+                if(updated == child) {
+                    return this;
+                }
+                // A child left with one entry is folded back into this node, keeping the trie compact
+                if(updated.nodeCount() == 0 && updated.payloadCount() == 1) {
+                    return nodeToData(token, bit, index, updated.keyAt(0), updated.valueAt(0));
+                }
+                return replaceChild(token, index, updated);
+            }
+            return this;
+        }
+
+        @Override
+        int payloadCount() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        K keyAt(int index) {
+            return (K) content[2 * index];
+        }
+
+        @Override
+        V valueAt(int index) {
+            return value(index);
+        }
+
+        @Override
+        int nodeCount() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        Node<K, V> nodeAt(int index) {
+            return child(index);
+        }
+
+        @SuppressWarnings("unchecked")
+        private V value(int index) {
+            return (V) content[2 * index + 1];
+        }
+
+        @SuppressWarnings("unchecked")
+        private Node<K, V> child(int index) {
+            return (Node<K, V>) content[content.length - 1 - index];
+        }
+
+        private int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit) {
+            return Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        // This node if the editor owns it, otherwise a copy owned by the editor
+        private BitmapNode<K, V> editable(Object token) {
+            if(token != null && token == this.token) {
+                return this;
+            }
+            return new BitmapNode<>(token, dataMap, nodeMap, content.clone());
+        }
+
+        private BitmapNode<K, V> replaceChild(Object token, int index, Node<K, V> child) {
+            BitmapNode<K, V> target = editable(token);
+            target.content[content.length - 1 - index] = child;
+            return target;
+        }
+
+        private BitmapNode<K, V> insertData(Object token, int bit, K key, V value) {
+            int index = dataIndex(bit);
+            Object[] next = new Object[content.length + 2];
+            System.arraycopy(content, 0, next, 0, 2 * index);
+            next[2 * index] = key;
+            next[2 * index + 1] = value;
+            System.arraycopy(content, 2 * index, next, 2 * index + 2, content.length - 2 * index);
+            return withContent(token, dataMap | bit, nodeMap, next);
+        }
+
+        private BitmapNode<K, V> removeData(Object token, int bit, int index) {
+            Object[] next = new Object[content.length - 2];
+            System.arraycopy(content, 0, next, 0, 2 * index);
+            System.arraycopy(content, 2 * index + 2, next, 2 * index, content.length - 2 * index - 2);
+            return withContent(token, dataMap ^ bit, nodeMap, next);
+        }
+
+        private BitmapNode<K, V> dataToNode(Object token, int bit, int dataIndex, Node<K, V> child) {
+            int nodeIndex = nodeIndex(bit);
+            Object[] next = new Object[content.length - 1];
+            // Entries before and after the moved one, then the children with the new one in reverse slot order
+            System.arraycopy(content, 0, next, 0, 2 * dataIndex);
+            int childStart = content.length - nodeCount();
+            System.arraycopy(content, 2 * dataIndex + 2, next, 2 * dataIndex, childStart - 2 * dataIndex - 2);
+            int newChildStart = childStart - 2;
+            int position = next.length - 1 - nodeIndex;
+            System.arraycopy(content, childStart, next, newChildStart, position - newChildStart);
+            next[position] = child;
+            System.arraycopy(content, position + 2, next, position + 1, nodeIndex);
+            return withContent(token, dataMap ^ bit, nodeMap | bit, next);
+        }
+
+        private BitmapNode<K, V> nodeToData(Object token, int bit, int nodeIndex, K key, V value) {
+            int dataIndex = dataIndex(bit);
+            Object[] next = new Object[content.length + 1];
+            System.arraycopy(content, 0, next, 0, 2 * dataIndex);
+            next[2 * dataIndex] = key;
+            next[2 * dataIndex + 1] = value;
+            int childStart = content.length - nodeCount();
+            System.arraycopy(content, 2 * dataIndex, next, 2 * dataIndex + 2, childStart - 2 * dataIndex);
+            int position = content.length - 1 - nodeIndex;
+            // Children before the removed one in content order, then those after it
+            System.arraycopy(content, childStart, next, childStart + 2, position - childStart);
+            System.arraycopy(content, position + 1, next, position + 2, content.length - position - 1);
+            return withContent(token, dataMap | bit, nodeMap ^ bit, next);
+        }
+
+        private BitmapNode<K, V> withContent(Object token, int dataMap, int nodeMap, Object[] content) {
+            if(token != null && token == this.token) {
+                this.dataMap = dataMap;
+                this.nodeMap = nodeMap;
+                this.content = content;
+                return this;
+            }
+            return new BitmapNode<>(token, dataMap, nodeMap, content);
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+    }
+
+    // Keys whose hashes are equal in every bit, below the last bitmap level
+    private static final class CollisionNode<K, V> extends Node<K, V> {
+        private final int hash;
+        private final Object[] entries;
+
+        CollisionNode(int hash, Object[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        @Override
+        V get(Object key, int hash, int shift) {
+            int index = indexOf(key);
+            return index < 0 ? null : valueAt(index);
+        }
+
+        @Override
+        Node<K, V> put(Object token, K key, int hash, V value, int shift, Change<V> change) {
+            int index = indexOf(key);
+            if(index >= 0) {
+                change.old = valueAt(index);
+                if(change.old == value) {
+                    return this;
+                }
+                Object[] next = entries.clone();
+                next[2 * index + 1] = value;
+                return new CollisionNode<>(hash, next);
+            }
+            Object[] next = Arrays.copyOf(entries, entries.length + 2);
+            next[entries.length] = key;
+            next[entries.length + 1] = value;
+            change.added = true;
+            return new CollisionNode<>(hash, next);
+        }
+
+        @Override
+        Node<K, V> remove(Object token, Object key, int hash, int shift, Change<V> change) {
+            int index = indexOf(key);
+            if(index < 0) {
+                return this;
+            }
+            change.removed = true;
+            change.old = valueAt(index);
+            Object[] next = new Object[entries.length - 2];
+            System.arraycopy(entries, 0, next, 0, 2 * index);
+            System.arraycopy(entries, 2 * index + 2, next, 2 * index, entries.length - 2 * index - 2);
+            return new CollisionNode<>(this.hash, next);
+        }
+
+        @Override
+        int payloadCount() {
+            return entries.length / 2;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        K keyAt(int index) {
+            return (K) entries[2 * index];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V valueAt(int index) {
+            return (V) entries[2 * index + 1];
+        }
+
+        @Override
+        int nodeCount() {
+            return 0;
+        }
+
+        @Override
+        Node<K, V> nodeAt(int index) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        private int indexOf(Object key) {
+            for(int i = 0; i < entries.length; i += 2) {
+                if(key.equals(entries[i])) {
+                    return i / 2;
+                }
+            }
+            return -1;
+        }
+    }
+
+    // A node holding two entries whose hashes agree up to the given shift
+    private static <K, V> Node<K, V> merge(Object token, K key1, int hash1, V value1, K key2, int hash2, V value2, int shift) {
+        if(shift >= 32) {
+            return new CollisionNode<>(hash1, new Object[] {key1, value1, key2, value2});
+        }
+        int fragment1 = (hash1 >>> shift) & MASK;
+        int fragment2 = (hash2 >>> shift) & MASK;
+        if(fragment1 == fragment2) {
+            Node<K, V> child = merge(token, key1, hash1, value1, key2, hash2, value2, shift + BITS);
+            return new BitmapNode<>(token, 0, 1 << fragment1, new Object[] {child});
+        }
+        Object[] content = fragment1 < fragment2
+                ? new Object[] {key1, value1, key2, value2}
+                : new Object[] {key2, value2, key1, value1};
+        return new BitmapNode<>(token, (1 << fragment1) | (1 << fragment2), 0, content);
+    }
+
+    // Depth-first over the nodes, yielding each node's entries before descending into its children
+    private static final class TrieIterator<K, V> implements Iterator<V> {
+        private final Node<K, V>[] stack;
+        private final int[] nextChild = new int[MAX_DEPTH];
+        private int depth;
+        private Node<K, V> current;
+        private int nextEntry;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        TrieIterator(Node<K, V> root) {
+            stack = (Node<K, V>[]) new Node[MAX_DEPTH];
+            stack[0] = root;
+            current = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while(current == null || nextEntry >= current.payloadCount()) {
+                current = null;
+                while(depth >= 0) {
+                    Node<K, V> node = stack[depth];
+                    if(nextChild[depth] < node.nodeCount()) {
+                        Node<K, V> child = node.nodeAt(nextChild[depth]++);
+                        depth++;
+                        stack[depth] = child;
+                        nextChild[depth] = 0;
+                        current = child;
+                        nextEntry = 0;
+                        break;
+                    }
+                    depth--;
+                }
+                if(current == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public V next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.valueAt(nextEntry++);
+        }
+    }
+}
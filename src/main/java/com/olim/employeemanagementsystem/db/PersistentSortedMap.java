@@ -0,0 +1,351 @@
+package com.olim.employeemanagementsystem.db;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable sorted map stored as an AVL tree. A write copies only the nodes on the path from the root
+ * to the changed key, plus the few that rebalancing touches, and shares every other node with the old
+ * map, so a reader holding a map keeps a stable snapshot for free whatever writers do afterwards.
+ *
+ * Writes go through an {@link Editor}, which like {@link PersistentHashTrie.Editor} updates the nodes
+ * it created itself in place, so a batch of writes copies each shared node at most once.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+final class PersistentSortedMap<K extends Comparable<? super K>, V> {
+    private static final PersistentSortedMap<?, ?> EMPTY = new PersistentSortedMap<>(null, 0);
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentSortedMap(Node<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K extends Comparable<? super K>, V> PersistentSortedMap<K, V> empty() {
+        return (PersistentSortedMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The value of the key, or null if the key is not present
+     */
+    V get(K key) {
+        return find(root, key);
+    }
+
+    /**
+     * @return The lowest key, or null if the map is empty
+     */
+    K firstKey() {
+        Node<K, V> node = root;
+        if(node == null) {
+            return null;
+        }
+        while(node.left != null) {
+            node = node.left;
+        }
+        return node.key;
+    }
+
+    /**
+     * @return The highest key, or null if the map is empty
+     */
+    K lastKey() {
+        Node<K, V> node = root;
+        if(node == null) {
+            return null;
+        }
+        while(node.right != null) {
+            node = node.right;
+        }
+        return node.key;
+    }
+
+    /**
+     * Gets the values whose keys lie in a range, in ascending key order
+     *
+     * @param from The lowest key to include, null for no lower bound
+     * @param to The highest key to include, null for no upper bound
+     */
+    Iterator<V> values(K from, K to) {
+        return new RangeIterator<>(root, from, to);
+    }
+
+    /**
+     * Starts a batch of writes based on this map; this map itself is not affected
+     */
+    Editor<K, V> edit() {
+        return new Editor<>(root, size);
+    }
+
+    private static <K extends Comparable<? super K>, V> V find(Node<K, V> node, K key) {
+        while(node != null) {
+            int order = key.compareTo(node.key);
+            if(order == 0) {
+                return node.value;
+            }
+            node = order < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * A batch of writes that produces one new map. An editor is not thread-safe and cannot be used
+     * after {@link #build}.
+     */
+    static final class Editor<K extends Comparable<? super K>, V> {
+        private Object token = new Object();
+        private Node<K, V> root;
+        private int size;
+
+        private Editor(Node<K, V> root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        V get(K key) {
+            return find(root, key);
+        }
+
+        void put(K key, V value) {
+            Change<V> change = new Change<>();
+            root = insert(token(), root, key, value, change);
+            if(change.added) {
+                size++;
+            }
+        }
+
+        V remove(K key) {
+            Change<V> change = new Change<>();
+            root = delete(token(), root, key, change);
+            if(change.removed) {
+                size--;
+            }
+            return change.old;
+        }
+
+        /**
+         * Finishes the batch
+         *
+         * @return The map with every write of the batch
+         */
+        PersistentSortedMap<K, V> build() {
+            token();
+            // Without the token no one can update the nodes in place any more
+            token = null;
+            return new PersistentSortedMap<>(root, size);
+        }
+
+        private Object token() {
+            if(token == null) {
+                throw new IllegalStateException("Editor has already been built");
+            }
+            return token;
+        }
+    }
+
+    // What an insert or delete did below the root
+    private static final class Change<V> {
+        boolean added;
+        boolean removed;
+        V old;
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> insert(Object token, Node<K, V> node, K key, V value, Change<V> change) {
+        if(node == null) {
+            change.added = true;
+            return new Node<>(token, key, value, null, null);
+        }
+        int order = key.compareTo(node.key);
+        if(order == 0) {
+            change.old = node.value;
+            if(node.value == value) {
+                return node;
+            }
+            Node<K, V> target = node.editable(token);
+            target.value = value;
+            return target;
+        }
+        Node<K, V> child = order < 0 ? node.left : node.right;
+        Node<K, V> updated = insert(token, child, key, value, change);
+        if(updated == child) {
+            return node;
+        }
+        Node<K, V> target = node.editable(token);
+        if(order < 0) {
+            target.left = updated;
+        } else {
+            target.right = updated;
+        }
+        return rebalance(token, target);
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> delete(Object token, Node<K, V> node, K key, Change<V> change) {
+        if(node == null) {
+            return null;
+        }
+        int order = key.compareTo(node.key);
+        if(order == 0) {
+            change.removed = true;
+            change.old = node.value;
+            if(node.left == null) {
+                return node.right;
+            }
+            if(node.right == null) {
+                return node.left;
+            }
+            // Replace the node by its successor, the lowest node of the right subtree
+            Node<K, V> successor = node.right;
+            while(successor.left != null) {
+                successor = successor.left;
+            }
+            Node<K, V> target = node.editable(token);
+            target.right = deleteLowest(token, node.right);
+            target.key = successor.key;
+            target.value = successor.value;
+            return rebalance(token, target);
+        }
+        Node<K, V> child = order < 0 ? node.left : node.right;
+        Node<K, V> updated = delete(token, child, key, change);
+        if(updated == child) {
+            return node;
+        }
+        Node<K, V> target = node.editable(token);
+        if(order < 0) {
+            target.left = updated;
+        } else {
+            target.right = updated;
+        }
+        return rebalance(token, target);
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> deleteLowest(Object token, Node<K, V> node) {
+        if(node.left == null) {
+            return node.right;
+        }
+        Node<K, V> target = node.editable(token);
+        target.left = deleteLowest(token, node.left);
+        return rebalance(token, target);
+    }
+
+    // Restores the AVL balance of a node the editor owns after one of its subtrees changed height by one
+    private static <K extends Comparable<? super K>, V> Node<K, V> rebalance(Object token, Node<K, V> node) {
+        int balance = height(node.left) - height(node.right);
+        if(balance > 1) {
+            if(height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(token, node.left.editable(token));
+            }
+            return rotateRight(token, node);
+        }
+        if(balance < -1) {
+            if(height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(token, node.right.editable(token));
+            }
+            return rotateLeft(token, node);
+        }
+        node.updateHeight();
+        return node;
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> rotateRight(Object token, Node<K, V> node) {
+        Node<K, V> pivot = node.left.editable(token);
+        node.left = pivot.right;
+        node.updateHeight();
+        pivot.right = node;
+        pivot.updateHeight();
+        return pivot;
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> rotateLeft(Object token, Node<K, V> node) {
+        Node<K, V> pivot = node.right.editable(token);
+        node.right = pivot.left;
+        node.updateHeight();
+        pivot.left = node;
+        pivot.updateHeight();
+        return pivot;
+    }
+
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node<K, V> {
+        private final Object token;
+        private K key;
+        private V value;
+        private Node<K, V> left;
+        private Node<K, V> right;
+        private int height;
+
+        Node(Object token, K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.token = token;
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            updateHeight();
+        }
+
+        // This node if the editor owns it, otherwise a copy owned by the editor
+        Node<K, V> editable(Object token) {
+            if(token != null && token == this.token) {
+                return this;
+            }
+            return new Node<>(token, key, value, left, right);
+        }
+
+        void updateHeight() {
+            height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    // In-order walk from the first key in range, keeping the unvisited ancestors on a stack
+    private static final class RangeIterator<K extends Comparable<? super K>, V> implements Iterator<V> {
+        private final ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+        private final K to;
+
+        RangeIterator(Node<K, V> root, K from, K to) {
+            this.to = to;
+            Node<K, V> node = root;
+            while(node != null) {
+                if(from != null && node.key.compareTo(from) < 0) {
+                    node = node.right;
+                } else {
+                    stack.push(node);
+                    node = node.left;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            Node<K, V> next = stack.peek();
+            return next != null && (to == null || next.key.compareTo(to) <= 0);
+        }
+
+        @Override
+        public V next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> node = stack.pop();
+            for(Node<K, V> child = node.right; child != null; child = child.left) {
+                stack.push(child);
+            }
+            return node.value;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.olim.employeemanagementsystem.db;
+
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.AccessPath;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.query.QueryPlan;
+import com.olim.employeemanagementsystem.sort.NormalizedKeySorter;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Chooses the cheapest way to reach the candidates of an {@link EmployeeQuery}
+ * and evaluates the whole query over them in one pass.
+ * The most selective usable index wins. Salary and rating ranges that are too wide for an index
+ * to pay off are pre-filtered with a primitive column scan, and anything else falls back to a
+ * single fused scan where every predicate is tested together for each employee.
+ *
+ * @param <T> The type of the employee ID
+ */
+class QueryPlanner<T> {
+    // Below this size building columns costs more than it saves
+    static final int COLUMN_SCAN_MIN_ROWS = 4096;
+    // An index visiting more than this fraction of all rows loses to a sequential column scan
+    private static final int COLUMN_SCAN_SELECTIVITY_DIVISOR = 4;
+
+    // A supplier, so the scan implementation is only chosen by the first query that needs it
+    private final Supplier<ColumnScan> columnScan;
+
+    QueryPlanner(Supplier<ColumnScan> columnScan) {
+        this.columnScan = columnScan;
+    }
+
+    /**
+     * @param indexes The indexes of the database state the query will run against
+     */
+    QueryPlan plan(EmployeeQuery<T> query, EmployeeIndexes<T> indexes) {
+        AccessPath bestPath = AccessPath.FULL_SCAN;
+        long bestCost = indexes.size();
+
+        if(query.getDepartment() != null) {
+            long cost = indexes.departmentCount(query.getDepartment());
+            if(cost < bestCost) {
+                bestPath = AccessPath.DEPARTMENT_INDEX;
+                bestCost = cost;
+            }
+        }
+
+        long salaryCost = hasSalaryRange(query)
+                ? indexes.estimateSalaryRange(query.getMinSalary(), query.getMaxSalary()) : Long.MAX_VALUE;
+        if(salaryCost < bestCost) {
+            bestPath = AccessPath.SALARY_INDEX;
+            bestCost = salaryCost;
+        }
+
+        long ratingCost = query.getMinRating() != null
+                ? indexes.estimateRatingAtLeast(query.getMinRating()) : Long.MAX_VALUE;
+        if(ratingCost < bestCost) {
+            bestPath = AccessPath.RATING_INDEX;
+            bestCost = ratingCost;
+        }
+
+        boolean hasRange = hasSalaryRange(query) || query.getMinRating() != null;
+        if(hasRange && indexes.size() >= COLUMN_SCAN_MIN_ROWS
+                && bestCost > indexes.size() / COLUMN_SCAN_SELECTIVITY_DIVISOR) {
+            return new QueryPlan(AccessPath.COLUMN_SCAN, Math.min(salaryCost, ratingCost));
+        }
+
+        return new QueryPlan(bestPath, bestCost);
+    }
+
+    /**
+     * @param indexes The indexes of the same database state as the employees
+     * @param allEmployees Every employee of that state
+     * @param columns Gives the columns of that state, only called for a column scan
+     */
+    List<Employee<T>> execute(EmployeeQuery<T> query, QueryPlan plan, EmployeeIndexes<T> indexes,
+                              Collection<Employee<T>> allEmployees, Supplier<EmployeeColumns<T>> columns) {
+        Iterator<Employee<T>> matches = matches(query, plan, indexes, allEmployees, columns).iterator();
+
+        Comparator<Employee<T>> comparator = query.getComparator();
+        if(comparator != null && query.hasLimit()) {
+            return topN(matches, comparator, query.getLimit());
+        }
+
+        List<Employee<T>> result = new ArrayList<>();
+        int limit = query.hasLimit() ? query.getLimit() : Integer.MAX_VALUE;
+        while(matches.hasNext() && result.size() < limit) {
+            result.add(matches.next());
+        }
+        if(query.getSortOrder() != null) {
+            return NormalizedKeySorter.sort(result, query.getSortOrder());
+        }
+        if(comparator != null) {
+            result.sort(comparator);
+        }
+        return result;
+    }
+
+    /**
+     * Like {@link #execute}, but an unsorted query's matches are only found as the stream is read,
+     * so a caller can hand them out without holding them all. A sorted query's are found and sorted up front.
+     */
+    Stream<Employee<T>> stream(EmployeeQuery<T> query, QueryPlan plan, EmployeeIndexes<T> indexes,
+                               Collection<Employee<T>> allEmployees, Supplier<EmployeeColumns<T>> columns) {
+        if(query.getComparator() != null) {
+            return execute(query, plan, indexes, allEmployees, columns).stream();
+        }
+        Stream<Employee<T>> matches = matches(query, plan, indexes, allEmployees, columns);
+        return query.hasLimit() ? matches.limit(query.getLimit()) : matches;
+    }
+
+    /**
+     * Like {@link #execute}, but sorted by the given order instead of the query's, e.g. one made total
+     * for paging. A query with a limit keeps only its first matches in that order.
+     */
+    List<Employee<T>> executeSorted(EmployeeQuery<T> query, SortOrder order, QueryPlan plan, EmployeeIndexes<T> indexes,
+                                    Collection<Employee<T>> allEmployees, Supplier<EmployeeColumns<T>> columns) {
+        Iterator<Employee<T>> matches = matches(query, plan, indexes, allEmployees, columns).iterator();
+        if(query.hasLimit()) {
+            return topN(matches, order.comparator(), query.getLimit());
+        }
+        List<Employee<T>> result = new ArrayList<>();
+        matches.forEachRemaining(result::add);
+        return NormalizedKeySorter.sort(result, order);
+    }
+
+    private Stream<Employee<T>> matches(EmployeeQuery<T> query, QueryPlan plan, EmployeeIndexes<T> indexes,
+                                        Collection<Employee<T>> allEmployees, Supplier<EmployeeColumns<T>> columns) {
+        Stream<Employee<T>> candidates = switch(plan.accessPath()) {
+            case DEPARTMENT_INDEX -> indexes.department(query.getDepartment());
+            case SALARY_INDEX -> indexes.salaryRange(query.getMinSalary(), query.getMaxSalary());
+            case RATING_INDEX -> indexes.ratingAtLeast(query.getMinRating());
+            case COLUMN_SCAN -> columnCandidates(query, indexes, columns.get());
+            case FULL_SCAN -> allEmployees.stream();
+        };
+        return candidates.filter(query::matches);
+    }
+
+    // Narrows the candidates with a primitive scan of the more selective range column; the fused check still runs on each
+    private Stream<Employee<T>> columnCandidates(EmployeeQuery<T> query, EmployeeIndexes<T> indexes, EmployeeColumns<T> snapshot) {
+        ColumnScan columnScan = this.columnScan.get();
+        int[] positions = new int[snapshot.size()];
+        boolean useSalary = hasSalaryRange(query) && (query.getMinRating() == null
+                || indexes.estimateSalaryRange(query.getMinSalary(), query.getMaxSalary())
+                <= indexes.estimateRatingAtLeast(query.getMinRating()));
+        int count;
+        if(useSalary) {
+            count = columnScan.selectBetween(snapshot.salaries(),
+                    query.getMinSalary() == null ? Double.NEGATIVE_INFINITY : query.getMinSalary(),
+                    query.getMaxSalary() == null ? Double.POSITIVE_INFINITY : query.getMaxSalary(),
+                    positions);
+        } else {
+            count = columnScan.selectBetween(snapshot.ratings(), query.getMinRating(), Double.POSITIVE_INFINITY, positions);
+        }
+        return Arrays.stream(positions, 0, count).mapToObj(snapshot::row);
+    }
+
+    private static boolean hasSalaryRange(EmployeeQuery<?> query) {
+        return query.getMinSalary() != null || query.getMaxSalary() != null;
+    }
+
+    // Keeps only the best n matches in a bounded heap instead of sorting every match
+    private List<Employee<T>> topN(Iterator<Employee<T>> matches, Comparator<Employee<T>> sortOrder, int n) {
+        PriorityQueue<Employee<T>> heap = new PriorityQueue<>(Math.min(n, 1024) + 1, sortOrder.reversed());
+        while(matches.hasNext()) {
+            Employee<T> employee = matches.next();
+            if(heap.size() < n) {
+                heap.offer(employee);
+            } else if(sortOrder.compare(employee, heap.peek()) < 0) {
+                heap.poll();
+                heap.offer(employee);
+            }
+        }
+        List<Employee<T>> result = new ArrayList<>(heap);
+        result.sort(sortOrder);
+        return result;
+    }
+}
@@ -0,0 +1,154 @@
+package com.olim.employeemanagementsystem.db;
+
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.query.Page;
+import com.olim.employeemanagementsystem.query.PageCursor;
+import com.olim.employeemanagementsystem.sort.SortColumn;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Serves sorted query results one page at a time.
+ * The first page request of a query runs it through the planner once, so its candidates come from
+ * an index or a column scan, sorted by the paging order; a query with a limit only keeps its best
+ * matches in a bounded heap. Following pages of the same query at the same modification version
+ * are cut from that list, located either by offset or by binary searching for a {@link PageCursor}.
+ * The results of the most recently paged queries are kept, keyed by query equality, so callers
+ * streaming different queries at the same time do not evict each other.
+ *
+ * @param <T> The type of the employee ID
+ */
+class ResultPager<T> {
+    private static final int CACHED_RESULTS = 16;
+
+    private final LongSupplier version;
+    private final BiFunction<EmployeeQuery<T>, SortOrder, Matches<T>> run;
+    // Least recently paged first
+    private final Map<EmployeeQuery<T>, SortedResult<T>> recent = new LinkedHashMap<>(CACHED_RESULTS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<EmployeeQuery<T>, SortedResult<T>> eldest) {
+            return size() > CACHED_RESULTS;
+        }
+    };
+
+    /**
+     * @param version Gives the current modification version
+     * @param run Runs a query against the current state, sorted by the given order instead of its own
+     */
+    ResultPager(LongSupplier version, BiFunction<EmployeeQuery<T>, SortOrder, Matches<T>> run) {
+        this.version = version;
+        this.run = run;
+    }
+
+    /**
+     * The matches of a query in paging order, all read from the state of one version
+     */
+    record Matches<T>(List<Employee<T>> rows, long version) {
+    }
+
+    Page<T> pageAt(EmployeeQuery<T> query, int offset, int pageSize) {
+        if(offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        SortedResult<T> result = resultFor(query);
+        return result.page(Math.min(offset, result.size()), pageSize);
+    }
+
+    Page<T> pageAfter(EmployeeQuery<T> query, PageCursor after, int pageSize) {
+        SortedResult<T> result = resultFor(query);
+        if(after == null) {
+            return result.page(0, pageSize);
+        }
+        if(!after.order().equals(result.order)) {
+            throw new IllegalArgumentException("Page cursor was created for sort order " + after.order()
+                    + " but the query sorts by " + result.order);
+        }
+        return result.page(result.firstAfter(after), pageSize);
+    }
+
+    private SortedResult<T> resultFor(EmployeeQuery<T> query) {
+        long current = version.getAsLong();
+        SortedResult<T> result;
+        synchronized(recent) {
+            result = recent.get(query);
+        }
+        if(result != null && result.version == current) {
+            return result;
+        }
+        // Run outside the lock, so one slow query does not hold up pages of the others
+        SortOrder order = pagingOrder(query.getSortOrder());
+        Matches<T> matches = run.apply(query, order);
+        result = new SortedResult<>(order, matches.rows(), matches.version());
+        synchronized(recent) {
+            SortedResult<T> cached = recent.get(query);
+            if(cached == null || cached.version < result.version) {
+                recent.put(query, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Makes the order total by breaking remaining ties on the employee ID
+     */
+    static SortOrder pagingOrder(SortOrder order) {
+        if(order == null) {
+            return SortOrder.by(SortKey.ascending(SortColumn.ID));
+        }
+        for(SortKey key : order.keys()) {
+            if(key.column() == SortColumn.ID) {
+                return order;
+            }
+        }
+        return order.then(SortKey.ascending(SortColumn.ID));
+    }
+
+    private static final class SortedResult<T> {
+        private final SortOrder order;
+        private final List<Employee<T>> rows;
+        private final long version;
+
+        private SortedResult(SortOrder order, List<Employee<T>> rows, long version) {
+            this.order = order;
+            this.rows = rows;
+            this.version = version;
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        // Binary search for the first row that sorts after the cursor
+        int firstAfter(PageCursor cursor) {
+            int low = 0;
+            int high = rows.size();
+            while(low < high) {
+                int middle = (low + high) >>> 1;
+                if(cursor.compareTo(rows.get(middle)) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        Page<T> page(int offset, int pageSize) {
+            if(pageSize <= 0) {
+                throw new IllegalArgumentException("Page size must be positive");
+            }
+            int end = (int) Math.min((long) offset + pageSize, rows.size());
+            List<Employee<T>> page = Collections.unmodifiableList(rows.subList(offset, end));
+            PageCursor next = page.isEmpty() ? null : PageCursor.after(page.get(page.size() - 1), order);
+            return new Page<>(page, offset, rows.size(), next, version);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.olim.employeemanagementsystem.db;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The outcome of a transactional bulk salary raise, doubling as the undo token for it.
+ * Passing it to {@link EmployeeDatabase#undoSalaryRaise(SalaryRaiseBatch)} restores every
+ * salary of the batch in one step; a batch can be undone only once.
+ *
+ * @param <T> The type of the employee ID
+ */
+public final class SalaryRaiseBatch<T> {
+    private final EmployeeDatabase<T> database;
+    private final List<Employee<T>> employees;
+    private final double[] oldSalaries;
+    private final double[] newSalaries;
+    private final long version;
+    private final AtomicBoolean undone = new AtomicBoolean();
+
+    SalaryRaiseBatch(EmployeeDatabase<T> database, List<Employee<T>> employees,
+                     double[] oldSalaries, double[] newSalaries, long version) {
+        this.database = database;
+        this.employees = Collections.unmodifiableList(employees);
+        this.oldSalaries = oldSalaries;
+        this.newSalaries = newSalaries;
+        this.version = version;
+    }
+
+    public List<Employee<T>> getRaisedEmployees() {
+        return employees;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * Gets the modification version the raise was committed at
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isUndone() {
+        return undone.get();
+    }
+
+    EmployeeDatabase<T> database() {
+        return database;
+    }
+
+    double oldSalary(int index) {
+        return oldSalaries[index];
+    }
+
+    double newSalary(int index) {
+        return newSalaries[index];
+    }
+
+    boolean markUndone() {
+        return undone.compareAndSet(false, true);
+    }
+}
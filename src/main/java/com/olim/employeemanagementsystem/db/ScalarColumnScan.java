@@ -0,0 +1,41 @@
+package com.olim.employeemanagementsystem.db;
+
+/**
+ * Plain loop implementation of {@link ColumnScan}, used unless the Vector API is enabled
+ */
+final class ScalarColumnScan implements ColumnScan {
+    static final ScalarColumnScan INSTANCE = new ScalarColumnScan();
+
+    private ScalarColumnScan() {
+    }
+
+    @Override
+    public int selectBetween(double[] column, double min, double max, int[] positions) {
+        int count = 0;
+        for(int i = 0; i < column.length; i++) {
+            double value = column[i];
+            if(value >= min && value <= max) {
+                positions[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public double sum(double[] column) {
+        double sum = 0;
+        for(double value : column) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Override
+    public void sumByCode(double[] values, int[] codes, double[] sums, long[] counts) {
+        for(int i = 0; i < values.length; i++) {
+            int code = codes[i];
+            sums[code] += values[i];
+            counts[code]++;
+        }
+    }
+}
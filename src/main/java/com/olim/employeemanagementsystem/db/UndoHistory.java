@@ -0,0 +1,237 @@
+package com.olim.employeemanagementsystem.db;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Undo and redo stacks of the mutations committed by an {@link EmployeeDatabase}.
+ * Each entry is a compact inverse delta: the affected employees plus, for field updates, the field
+ * ids and the old values as raw 64-bit primitives, so undoing a raise over 100k employees needs two
+ * arrays rather than 100k employee copies. Applying a delta turns it into its own inverse, which then
+ * moves to the other stack. The estimated size of both stacks is kept under a memory limit by
+ * discarding the oldest undo entries; a new mutation discards everything that could be redone.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class UndoHistory<T> {
+    public static final long DEFAULT_MEMORY_LIMIT = 32L * 1024 * 1024;
+
+    // Rough per-entry and per-element costs used for the memory estimate
+    private static final long ENTRY_OVERHEAD = 96;
+    private static final long BYTES_PER_TARGET = 8;
+    private static final long BYTES_PER_VALUE = 8;
+
+    private final ArrayDeque<Delta<T>> undo = new ArrayDeque<>();
+    private final ArrayDeque<Delta<T>> redo = new ArrayDeque<>();
+    private long memoryLimit;
+    private long memoryUsed;
+    private long discarded;
+
+    public UndoHistory() {
+        this(DEFAULT_MEMORY_LIMIT);
+    }
+
+    public UndoHistory(long memoryLimit) {
+        setMemoryLimit(memoryLimit);
+    }
+
+    /**
+     * Sets the most memory the history may use, discarding the oldest entries if it is over the new limit
+     *
+     * @param bytes The limit in bytes; 0 disables undo
+     */
+    public final synchronized void setMemoryLimit(long bytes) {
+        if(bytes < 0) {
+            throw new IllegalArgumentException("Memory limit cannot be negative");
+        }
+        memoryLimit = bytes;
+        trim();
+    }
+
+    public synchronized long getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    /**
+     * Gets the estimated memory held by the undo and redo entries
+     */
+    public synchronized long getMemoryUsed() {
+        return memoryUsed;
+    }
+
+    public synchronized int undoCount() {
+        return undo.size();
+    }
+
+    public synchronized int redoCount() {
+        return redo.size();
+    }
+
+    /**
+     * Gets how many undo entries were dropped to stay under the memory limit
+     */
+    public synchronized long getDiscardedCount() {
+        return discarded;
+    }
+
+    /**
+     * Gets the description of the mutation the next undo reverts, or null if there is none
+     */
+    public synchronized String peekUndo() {
+        Delta<T> delta = undo.peekLast();
+        return delta == null ? null : delta.description;
+    }
+
+    public synchronized String peekRedo() {
+        Delta<T> delta = redo.peekLast();
+        return delta == null ? null : delta.description;
+    }
+
+    synchronized void record(Delta<T> delta) {
+        clearRedo();
+        undo.addLast(delta);
+        memoryUsed += delta.bytes;
+        trim();
+    }
+
+    synchronized Delta<T> popUndo() {
+        Delta<T> delta = undo.pollLast();
+        if(delta != null) {
+            memoryUsed -= delta.bytes;
+        }
+        return delta;
+    }
+
+    synchronized Delta<T> popRedo() {
+        Delta<T> delta = redo.pollLast();
+        if(delta != null) {
+            memoryUsed -= delta.bytes;
+        }
+        return delta;
+    }
+
+    synchronized void pushUndo(Delta<T> delta) {
+        undo.addLast(delta);
+        memoryUsed += delta.bytes;
+        trim();
+    }
+
+    synchronized void pushRedo(Delta<T> delta) {
+        redo.addLast(delta);
+        memoryUsed += delta.bytes;
+        trim();
+    }
+
+    public synchronized void clear() {
+        undo.clear();
+        redo.clear();
+        memoryUsed = 0;
+    }
+
+    private void clearRedo() {
+        for(Delta<T> delta : redo) {
+            memoryUsed -= delta.bytes;
+        }
+        redo.clear();
+    }
+
+    // Oldest undo entries go first, then the redo entries furthest from the present
+    private void trim() {
+        Iterator<Delta<T>> oldest = undo.iterator();
+        while(memoryUsed > memoryLimit && oldest.hasNext()) {
+            memoryUsed -= oldest.next().bytes;
+            oldest.remove();
+            discarded++;
+        }
+        Iterator<Delta<T>> furthest = redo.iterator();
+        while(memoryUsed > memoryLimit && furthest.hasNext()) {
+            memoryUsed -= furthest.next().bytes;
+            furthest.remove();
+        }
+    }
+
+    enum Kind {
+        // Sets a field of every target to the stored value; its own inverse once the values are swapped
+        FIELD,
+        // Sets several fields of one target to the stored values, likewise its own inverse
+        FIELDS,
+        // Puts the targets back into the database; inverse of a removal
+        INSERT,
+        // Takes the targets out of the database; inverse of an addition
+        DELETE
+    }
+
+    /**
+     * One inverse delta. Applying it through {@link EmployeeDatabase} mutates it into the delta
+     * that reverts the application.
+     */
+    static final class Delta<T> {
+        Kind kind;
+        final EmployeeField field;
+        // The fields of a FIELDS delta, in the same order as its values
+        final EmployeeField[] fields;
+        final Employee<T>[] targets;
+        // Old primitive values for FIELD and FIELDS deltas, swapped with the current ones on every apply
+        final long[] values;
+        // Old names for NAME deltas, swapped likewise
+        final String[] names;
+        final String description;
+        final long bytes;
+
+        private Delta(Kind kind, EmployeeField field, EmployeeField[] fields, Employee<T>[] targets, long[] values,
+                      String[] names, String description) {
+            this.kind = kind;
+            this.field = field;
+            this.fields = fields;
+            this.targets = targets;
+            this.values = values;
+            this.names = names;
+            this.description = description;
+            long estimate = ENTRY_OVERHEAD + (long) targets.length * BYTES_PER_TARGET;
+            if(values != null) {
+                estimate += (long) values.length * BYTES_PER_VALUE;
+            }
+            if(fields != null) {
+                estimate += (long) fields.length * BYTES_PER_TARGET;
+            }
+            if(names != null) {
+                for(String name : names) {
+                    estimate += BYTES_PER_TARGET + 40 + 2L * name.length();
+                }
+            }
+            this.bytes = estimate;
+        }
+
+        static <T> Delta<T> field(EmployeeField field, Employee<T>[] targets, long[] oldValues, String description) {
+            return new Delta<>(Kind.FIELD, field, null, targets, oldValues, null, description);
+        }
+
+        static <T> Delta<T> names(Employee<T>[] targets, String[] oldNames, String description) {
+            return new Delta<>(Kind.FIELD, EmployeeField.NAME, null, targets, null, oldNames, description);
+        }
+
+        /**
+         * Reverts one update of several fields of one employee
+         *
+         * @param oldValues The old values of the fields, ignored for the name
+         * @param oldName The old name if the name is one of the fields, null otherwise
+         */
+        static <T> Delta<T> fields(Employee<T>[] target, EmployeeField[] fields, long[] oldValues, String oldName, String description) {
+            return new Delta<>(Kind.FIELDS, null, fields, target, oldValues, oldName == null ? null : new String[] {oldName}, description);
+        }
+
+        static <T> Delta<T> insert(Employee<T>[] removed, String description) {
+            return new Delta<>(Kind.INSERT, null, null, removed, null, null, description);
+        }
+
+        static <T> Delta<T> delete(Employee<T>[] added, String description) {
+            return new Delta<>(Kind.DELETE, null, null, added, null, null, description);
+        }
+
+        int size() {
+            return targets.length;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.olim.employeemanagementsystem.db;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of {@link ColumnScan} processing as many lanes per step as the
+ * preferred vector shape of the CPU allows (4 doubles with AVX2, 8 with AVX-512).
+ * Only loaded after {@link ColumnScan#isVectorApiAvailable()} has confirmed the module is present.
+ * Sums are accumulated lane-wise, so they may differ from the scalar result in the last bits.
+ */
+final class VectorColumnScan implements ColumnScan {
+    static final VectorColumnScan INSTANCE = new VectorColumnScan();
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    // Same lane count as DOUBLES so an int comparison mask can be cast onto a double vector
+    private static final VectorSpecies<Integer> CODES =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.length() * Integer.SIZE));
+
+    private VectorColumnScan() {
+    }
+
+    @Override
+    public int selectBetween(double[] column, double min, double max, int[] positions) {
+        int count = 0;
+        int i = 0;
+        int upperBound = DOUBLES.loopBound(column.length);
+        for(; i < upperBound; i += DOUBLES.length()) {
+            DoubleVector values = DoubleVector.fromArray(DOUBLES, column, i);
+            VectorMask<Double> matches = values.compare(VectorOperators.GE, min)
+                    .and(values.compare(VectorOperators.LE, max));
+            long lanes = matches.toLong();
+            while(lanes != 0) {
+                positions[count++] = i + Long.numberOfTrailingZeros(lanes);
+                lanes &= lanes - 1;
+            }
+        }
+        for(; i < column.length; i++) {
+            double value = column[i];
+            if(value >= min && value <= max) {
+                positions[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public double sum(double[] column) {
+        DoubleVector accumulator = DoubleVector.zero(DOUBLES);
+        int i = 0;
+        int upperBound = DOUBLES.loopBound(column.length);
+        for(; i < upperBound; i += DOUBLES.length()) {
+            accumulator = accumulator.add(DoubleVector.fromArray(DOUBLES, column, i));
+        }
+        double sum = accumulator.reduceLanes(VectorOperators.ADD);
+        for(; i < column.length; i++) {
+            sum += column[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void sumByCode(double[] values, int[] codes, double[] sums, long[] counts) {
+        // One masked pass per code; there are only a handful of departments
+        for(int code = 0; code < sums.length; code++) {
+            DoubleVector accumulator = DoubleVector.zero(DOUBLES);
+            long count = 0;
+            int i = 0;
+            int upperBound = DOUBLES.loopBound(values.length);
+            for(; i < upperBound; i += DOUBLES.length()) {
+                VectorMask<Integer> inGroup = IntVector.fromArray(CODES, codes, i).compare(VectorOperators.EQ, code);
+                accumulator = accumulator.add(DoubleVector.fromArray(DOUBLES, values, i), inGroup.cast(DOUBLES));
+                count += inGroup.trueCount();
+            }
+            double sum = accumulator.reduceLanes(VectorOperators.ADD);
+            for(; i < values.length; i++) {
+                if(codes[i] == code) {
+                    sum += values[i];
+                    count++;
+                }
+            }
+            sums[code] += sum;
+            counts[code] += count;
+        }
+    }
+}
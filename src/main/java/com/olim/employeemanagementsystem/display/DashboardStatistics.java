@@ -0,0 +1,277 @@
+package com.olim.employeemanagementsystem.display;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.*;
+
+/**
+ * Running aggregates behind the live dashboard: headcount and average salary by department,
+ * the salary and performance bands of the reports in {@link EmployeeDisplay}, and the top earners.
+ * Every tracked employee remembers the values it was counted with, so a change batch only
+ * subtracts the old contribution of each changed employee and adds the new one; nothing is
+ * recomputed from the full employee list after {@link #reset}. Salary totals are kept in cents
+ * so they never drift. The top earners are a small candidate set that is only rebuilt from all
+ * employees when removals and pay cuts have emptied it below the number shown.
+ * Not thread-safe; confine an instance to one thread.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class DashboardStatistics<T> {
+    public static final int DEFAULT_TOP_EARNERS = 10;
+
+    // Same ranges as the salary distribution and performance reports
+    private static final double[] SALARY_BOUNDS = {50000, 70000, 90000, 110000};
+    private static final String[] SALARY_LABELS = {
+            "Below $50,000", "$50,000 - $70,000", "$70,000 - $90,000", "$90,000 - $110,000", "$110,000 and above"};
+    private static final double[] RATING_BOUNDS = {3.0, 3.5, 4.0, 4.5};
+    private static final String[] RATING_LABELS = {"Below Average", "Average", "Good", "Excellent", "Outstanding"};
+
+    private final int topEarnerCount;
+    private final int candidateCount;
+
+    private final Map<T, Tracked<T>> tracked = new HashMap<>();
+    private final Map<String, Totals> departments = new TreeMap<>();
+    private final Totals[] salaryBands = newTotals(SALARY_LABELS.length);
+    private final Totals[] ratingBands = newTotals(RATING_LABELS.length);
+    // The highest paid employees, a superset of the top earners shown
+    private final TreeSet<Tracked<T>> leaders = new TreeSet<>(Comparator
+            .comparingLong((Tracked<T> t) -> t.salaryCents).reversed()
+            .thenComparingLong(t -> t.sequence));
+    private long totalSalaryCents;
+    private long nextSequence;
+    private long revision;
+
+    public DashboardStatistics() {
+        this(DEFAULT_TOP_EARNERS);
+    }
+
+    public DashboardStatistics(int topEarnerCount) {
+        if(topEarnerCount <= 0) {
+            throw new IllegalArgumentException("Top earner count must be positive");
+        }
+        this.topEarnerCount = topEarnerCount;
+        this.candidateCount = topEarnerCount * 4;
+    }
+
+    private static Totals[] newTotals(int count) {
+        Totals[] totals = new Totals[count];
+        for(int i = 0; i < count; i++) {
+            totals[i] = new Totals();
+        }
+        return totals;
+    }
+
+    /**
+     * Replaces all aggregates with ones computed from the given employees
+     */
+    public void reset(Collection<Employee<T>> employees) {
+        tracked.clear();
+        departments.clear();
+        leaders.clear();
+        for(Totals band : salaryBands) {
+            band.clear();
+        }
+        for(Totals band : ratingBands) {
+            band.clear();
+        }
+        totalSalaryCents = 0;
+        for(Employee<T> employee : employees) {
+            Tracked<T> entry = new Tracked<>(employee, nextSequence++);
+            tracked.put(employee.getEmployeeId(), entry);
+            add(entry);
+        }
+        rebuildLeaders();
+        revision++;
+    }
+
+    /**
+     * Applies the net effect of a batch of changes
+     *
+     * @param upserts Employees that were added or updated, in their current state
+     * @param removedIds IDs of employees that were removed
+     */
+    public void apply(Collection<Employee<T>> upserts, Collection<T> removedIds) {
+        for(T id : removedIds) {
+            Tracked<T> entry = tracked.remove(id);
+            if(entry != null) {
+                subtract(entry);
+                leaders.remove(entry);
+            }
+        }
+        for(Employee<T> employee : upserts) {
+            Tracked<T> entry = tracked.get(employee.getEmployeeId());
+            if(entry == null) {
+                entry = new Tracked<>(employee, nextSequence++);
+                tracked.put(employee.getEmployeeId(), entry);
+            } else {
+                subtract(entry);
+                // Must leave the ordered set before its salary changes
+                leaders.remove(entry);
+                entry.capture(employee);
+            }
+            add(entry);
+            updateLeader(entry);
+        }
+        revision++;
+    }
+
+    // Keeps the leaders the highest paid of all tracked employees
+    private void updateLeader(Tracked<T> entry) {
+        boolean othersAllLeaders = leaders.size() == tracked.size() - 1;
+        if(othersAllLeaders || (!leaders.isEmpty() && leaders.comparator().compare(entry, leaders.last()) < 0)) {
+            leaders.add(entry);
+            if(leaders.size() > candidateCount) {
+                leaders.pollLast();
+            }
+        }
+        // A leader whose pay fell below the last candidate is dropped; an outsider may now rank above it
+    }
+
+    private void rebuildLeaders() {
+        leaders.clear();
+        for(Tracked<T> entry : tracked.values()) {
+            leaders.add(entry);
+            if(leaders.size() > candidateCount) {
+                leaders.pollLast();
+            }
+        }
+    }
+
+    private void add(Tracked<T> entry) {
+        departments.computeIfAbsent(entry.department, department -> new Totals()).add(entry.salaryCents);
+        salaryBands[band(entry.salary, SALARY_BOUNDS)].add(entry.salaryCents);
+        ratingBands[band(entry.rating, RATING_BOUNDS)].add(entry.salaryCents);
+        totalSalaryCents += entry.salaryCents;
+    }
+
+    private void subtract(Tracked<T> entry) {
+        Totals department = departments.get(entry.department);
+        department.subtract(entry.salaryCents);
+        if(department.count == 0) {
+            departments.remove(entry.department);
+        }
+        salaryBands[band(entry.salary, SALARY_BOUNDS)].subtract(entry.salaryCents);
+        ratingBands[band(entry.rating, RATING_BOUNDS)].subtract(entry.salaryCents);
+        totalSalaryCents -= entry.salaryCents;
+    }
+
+    // Index of the first bound above the value; bounds are lower-inclusive like the reports
+    private static int band(double value, double[] bounds) {
+        int index = 0;
+        while(index < bounds.length && value >= bounds[index]) {
+            index++;
+        }
+        return index;
+    }
+
+    public int size() {
+        return tracked.size();
+    }
+
+    /**
+     * Gets an immutable copy of the current aggregates; costs O(departments + top earners)
+     */
+    public Snapshot snapshot() {
+        if(leaders.size() < Math.min(topEarnerCount, tracked.size())) {
+            rebuildLeaders();
+        }
+
+        Map<String, Integer> headcount = new LinkedHashMap<>();
+        Map<String, Double> averageSalary = new LinkedHashMap<>();
+        departments.forEach((department, totals) -> {
+            headcount.put(department, totals.count);
+            averageSalary.put(department, totals.average());
+        });
+
+        List<Earner> topEarners = new ArrayList<>(topEarnerCount);
+        for(Tracked<T> entry : leaders) {
+            if(topEarners.size() == topEarnerCount) {
+                break;
+            }
+            topEarners.add(new Earner(entry.name, entry.department, entry.salary));
+        }
+
+        return new Snapshot(revision, tracked.size(),
+                tracked.isEmpty() ? 0.0 : totalSalaryCents / 100.0 / tracked.size(),
+                Collections.unmodifiableMap(headcount), Collections.unmodifiableMap(averageSalary),
+                bands(SALARY_LABELS, salaryBands), bands(RATING_LABELS, ratingBands), List.copyOf(topEarners));
+    }
+
+    private static List<Band> bands(String[] labels, Totals[] totals) {
+        List<Band> bands = new ArrayList<>(labels.length);
+        for(int i = 0; i < labels.length; i++) {
+            bands.add(new Band(labels[i], totals[i].count, totals[i].average()));
+        }
+        return List.copyOf(bands);
+    }
+
+    /**
+     * The dashboard figures at one point in time
+     *
+     * @param revision Increases with every reset or applied batch
+     * @param headcount Number of employees
+     * @param averageSalary Average salary over all employees
+     * @param headcountByDepartment Employees per department, by department name
+     * @param averageSalaryByDepartment Average salary per department, by department name
+     * @param salaryBands Employees per salary range, lowest range first
+     * @param ratingBands Employees per performance band, lowest band first
+     * @param topEarners The highest paid employees, highest first
+     */
+    public record Snapshot(long revision, int headcount, double averageSalary,
+                           Map<String, Integer> headcountByDepartment, Map<String, Double> averageSalaryByDepartment,
+                           List<Band> salaryBands, List<Band> ratingBands, List<Earner> topEarners) {
+    }
+
+    public record Band(String label, int count, double averageSalary) {
+    }
+
+    public record Earner(String name, String department, double salary) {
+    }
+
+    private static final class Totals {
+        private int count;
+        private long salaryCents;
+
+        void add(long cents) {
+            count++;
+            salaryCents += cents;
+        }
+
+        void subtract(long cents) {
+            count--;
+            salaryCents -= cents;
+        }
+
+        void clear() {
+            count = 0;
+            salaryCents = 0;
+        }
+
+        double average() {
+            return count == 0 ? 0.0 : salaryCents / 100.0 / count;
+        }
+    }
+
+    // The values an employee was last counted with; employees are updated in place
+    private static final class Tracked<T> {
+        private final long sequence;
+        private String name;
+        private String department;
+        private double salary;
+        private long salaryCents;
+        private double rating;
+
+        Tracked(Employee<T> employee, long sequence) {
+            this.sequence = sequence;
+            capture(employee);
+        }
+
+        void capture(Employee<T> employee) {
+            name = employee.getName();
+            department = employee.getDepartment();
+            salary = employee.getSalary();
+            salaryCents = Math.round(salary * 100);
+            rating = employee.getPerformanceRating();
+        }
+    }
+}
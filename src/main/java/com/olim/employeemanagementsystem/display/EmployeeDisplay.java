@@ -2,6 +2,8 @@ package com.olim.employeemanagementsystem.display;
 
 import com.olim.employeemanagementsystem.model.Employee;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -39,10 +41,17 @@ public class EmployeeDisplay {
 
     //generate Department summary report by going
     public static <T> void generateDepartmentSummaryReport(Collection<Employee<T>> employees) {
-        System.out.println("\nDEPARTMENT SUMMARY REPORT:");
-        System.out.println("+----------------------+-----------+-----------------+-----------------+-----------------+");
-        System.out.println("| Department           | Emp Count | Avg Salary ($)  | Avg Experience  | Avg Performance |");
-        System.out.println("+----------------------+-----------+-----------------+-----------------+-----------------+");
+        System.out.print(formatDepartmentSummaryReport(employees));
+    }
+
+    //Format the department summary report as a string so it can be cached and shown again
+    public static <T> String formatDepartmentSummaryReport(Collection<Employee<T>> employees) {
+        StringWriter buffer = new StringWriter();
+        PrintWriter out = new PrintWriter(buffer);
+        out.println("\nDEPARTMENT SUMMARY REPORT:");
+        out.println("+----------------------+-----------+-----------------+-----------------+-----------------+");
+        out.println("| Department           | Emp Count | Avg Salary ($)  | Avg Experience  | Avg Performance |");
+        out.println("+----------------------+-----------+-----------------+-----------------+-----------------+");
         
         // Group employees by department and calculate stats
         Map<String, List<Employee<T>>> empByDept = employees.stream()
@@ -64,19 +73,28 @@ public class EmployeeDisplay {
                     .average()
                     .orElse(0);
                     
-            System.out.printf("| %-20s | %9d | %15.2f | %15.1f | %15.1f |%n",
+            out.printf("| %-20s | %9d | %15.2f | %15.1f | %15.1f |%n",
                     dept, deptEmps.size(), avgSalary, avgExp, avgPerf);
         });
         
-        System.out.println("+----------------------+-----------+-----------------+-----------------+-----------------+");
+        out.println("+----------------------+-----------+-----------------+-----------------+-----------------+");
+        out.flush();
+        return buffer.toString();
     }
 
     //Display performance rating report by categorizing performance
     public static <T> void generatePerformanceReport(Collection<Employee<T>> employees) {
-        System.out.println("\nPERFORMANCE RATING REPORT:");
-        System.out.println("+------------------+-----------+------------------+");
-        System.out.println("| Performance      | Count     | Avg Salary ($)   |");
-        System.out.println("+------------------+-----------+------------------+");
+        System.out.print(formatPerformanceReport(employees));
+    }
+
+    //Format the performance rating report as a string so it can be cached and shown again
+    public static <T> String formatPerformanceReport(Collection<Employee<T>> employees) {
+        StringWriter buffer = new StringWriter();
+        PrintWriter out = new PrintWriter(buffer);
+        out.println("\nPERFORMANCE RATING REPORT:");
+        out.println("+------------------+-----------+------------------+");
+        out.println("| Performance      | Count     | Avg Salary ($)   |");
+        out.println("+------------------+-----------+------------------+");
 
         // Outstanding (≥4.5)
         List<Employee<T>> outstandingEmps = employees.stream()
@@ -86,7 +104,7 @@ public class EmployeeDisplay {
                 .mapToDouble(Employee::getSalary)
                 .average()
                 .orElse(0.0);
-        System.out.printf("| Outstanding      | %9d | %16.2f |%n",
+        out.printf("| Outstanding      | %9d | %16.2f |%n",
                 outstandingEmps.size(), outstandingAvgSalary);
 
         // Excellent (4.0-4.4)
@@ -97,7 +115,7 @@ public class EmployeeDisplay {
                 .mapToDouble(Employee::getSalary)
                 .average()
                 .orElse(0.0);
-        System.out.printf("| Excellent        | %9d | %16.2f |%n",
+        out.printf("| Excellent        | %9d | %16.2f |%n",
                 excellentEmps.size(), excellentAvgSalary);
 
         // Good (3.5-3.9)
@@ -108,7 +126,7 @@ public class EmployeeDisplay {
                 .mapToDouble(Employee::getSalary)
                 .average()
                 .orElse(0.0);
-        System.out.printf("| Good             | %9d | %16.2f |%n",
+        out.printf("| Good             | %9d | %16.2f |%n",
                 goodEmps.size(), goodAvgSalary);
 
         // Average (3.0-3.4)
@@ -119,7 +137,7 @@ public class EmployeeDisplay {
                 .mapToDouble(Employee::getSalary)
                 .average()
                 .orElse(0.0);
-        System.out.printf("| Average          | %9d | %16.2f |%n",
+        out.printf("| Average          | %9d | %16.2f |%n",
                 averageEmps.size(), averageAvgSalary);
 
         // Below Average (<3)
@@ -130,56 +148,67 @@ public class EmployeeDisplay {
                 .mapToDouble(Employee::getSalary)
                 .average()
                 .orElse(0.0);
-        System.out.printf("| Below Average    | %9d | %16.2f |%n",
+        out.printf("| Below Average    | %9d | %16.2f |%n",
                 belowAvgEmps.size(), belowAvgSalary);
 
-        System.out.println("+------------------+-----------+------------------+");
+        out.println("+------------------+-----------+------------------+");
 
         // Add a legend to explain the rating ranges
-        System.out.println("\nPerformance Rating Ranges:");
-        System.out.println("- Outstanding:    ≥4.5");
-        System.out.println("- Excellent:      4.0-4.4");
-        System.out.println("- Good:           3.5-3.9");
-        System.out.println("- Average:        3.0-3.4");
-        System.out.println("- Below Average:  <3.0");
+        out.println("\nPerformance Rating Ranges:");
+        out.println("- Outstanding:    ≥4.5");
+        out.println("- Excellent:      4.0-4.4");
+        out.println("- Good:           3.5-3.9");
+        out.println("- Average:        3.0-3.4");
+        out.println("- Below Average:  <3.0");
+        out.flush();
+        return buffer.toString();
     }
     //Display format reports by having salary ranges
     public static <T> void generateSalaryDistributionReport(Collection<Employee<T>> employees) {
-        System.out.println("\nSALARY DISTRIBUTION REPORT:");
-        System.out.println("+---------------------------+-----------+");
-        System.out.println("| Salary Range              | Count     |");
-        System.out.println("+---------------------------+-----------+");
+        System.out.print(formatSalaryDistributionReport(employees));
+    }
+
+    //Format the salary distribution report as a string so it can be cached and shown again
+    public static <T> String formatSalaryDistributionReport(Collection<Employee<T>> employees) {
+        StringWriter buffer = new StringWriter();
+        PrintWriter out = new PrintWriter(buffer);
+        out.println("\nSALARY DISTRIBUTION REPORT:");
+        out.println("+---------------------------+-----------+");
+        out.println("| Salary Range              | Count     |");
+        out.println("+---------------------------+-----------+");
 
         // Below $50,000
         long belowFiftyK = employees.stream()
                 .filter(emp -> emp.getSalary() < 50000)
                 .count();
-        System.out.printf("| %-25s | %9d |%n", "Below $50,000", belowFiftyK);
+        out.printf("| %-25s | %9d |%n", "Below $50,000", belowFiftyK);
 
         // $50,000 - $70,000
         long fiftyToSeventyK = employees.stream()
                 .filter(emp -> emp.getSalary() >= 50000 && emp.getSalary() < 70000)
                 .count();
-        System.out.printf("| %-25s | %9d |%n", "$50,000 - $70,000", fiftyToSeventyK);
+        out.printf("| %-25s | %9d |%n", "$50,000 - $70,000", fiftyToSeventyK);
 
         // $70,000 - $90,000
         long seventyToNinetyK = employees.stream()
                 .filter(emp -> emp.getSalary() >= 70000 && emp.getSalary() < 90000)
                 .count();
-        System.out.printf("| %-25s | %9d |%n", "$70,000 - $90,000", seventyToNinetyK);
+        out.printf("| %-25s | %9d |%n", "$70,000 - $90,000", seventyToNinetyK);
 
         // $90,000 - $110,000
         long ninetyToOneHundredTenK = employees.stream()
                 .filter(emp -> emp.getSalary() >= 90000 && emp.getSalary() < 110000)
                 .count();
-        System.out.printf("| %-25s | %9d |%n", "$90,000 - $110,000", ninetyToOneHundredTenK);
+        out.printf("| %-25s | %9d |%n", "$90,000 - $110,000", ninetyToOneHundredTenK);
 
         // $110,000 and above
         long aboveOneHundredTenK = employees.stream()
                 .filter(emp -> emp.getSalary() >= 110000)
                 .count();
-        System.out.printf("| %-25s | %9d |%n", "$110,000 and above", aboveOneHundredTenK);
+        out.printf("| %-25s | %9d |%n", "$110,000 and above", aboveOneHundredTenK);
 
-        System.out.println("+---------------------------+-----------+");
+        out.println("+---------------------------+-----------+");
+        out.flush();
+        return buffer.toString();
     }
 }
\ No newline at end of file
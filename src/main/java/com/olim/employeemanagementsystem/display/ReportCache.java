@@ -0,0 +1,124 @@
+package com.olim.employeemanagementsystem.display;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, least-recently-used cache for generated reports.
+ * Every entry is stamped with the database modification version it was computed from,
+ * so a lookup with a newer version is a miss and the stale entry is dropped.
+ *
+ * @param <V> The type of the cached report result
+ */
+public class ReportCache<V> {
+    private static final int DEFAULT_MAX_ENTRIES = 16;
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, CachedReport<V>> entries;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public ReportCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public ReportCache(int maxEntries) {
+        if(maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedReport<V>> eldest) {
+                if(size() > ReportCache.this.maxEntries) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets a report from the cache, generating and storing it if there is no entry
+     * for the given version
+     *
+     * @param reportName The name identifying the report
+     * @param version The modification version of the data the report is built from
+     * @param generator Generates the report on a cache miss
+     * @return The cached or freshly generated report
+     */
+    public synchronized V get(String reportName, long version, Supplier<V> generator) {
+        if(reportName == null) {
+            throw new IllegalArgumentException("Report name cannot be null");
+        }
+
+        CachedReport<V> cached = entries.get(reportName);
+        if(cached != null && cached.version() == version) {
+            hitCount++;
+            return cached.value();
+        }
+
+        missCount++;
+        V value = generator.get();
+        entries.put(reportName, new CachedReport<>(version, value));
+        return value;
+    }
+
+    /**
+     * Removes every entry computed from a version older than the given one
+     *
+     * @param currentVersion The current modification version
+     */
+    public synchronized void invalidateOlderThan(long currentVersion) {
+        Iterator<CachedReport<V>> iterator = entries.values().iterator();
+        while(iterator.hasNext()) {
+            if(iterator.next().version() < currentVersion) {
+                iterator.remove();
+                evictionCount++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ReportCache[size=%d/%d, hits=%d, misses=%d, evictions=%d, hitRate=%.2f]",
+                entries.size(), maxEntries, hitCount, missCount, evictionCount, getHitRate());
+    }
+
+    private record CachedReport<V>(long version, V value) {
+    }
+}
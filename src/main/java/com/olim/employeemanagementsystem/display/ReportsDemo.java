@@ -4,6 +4,7 @@ import com.olim.employeemanagementsystem.db.EmployeeDatabase;
 import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
 import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
 import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
 
 import java.util.HashMap;
 
@@ -11,6 +12,10 @@ public class ReportsDemo {
     public static void main(String[] args) throws InvalidDepartmentException, InvalidSalaryException {
         // Create an employee database
         EmployeeDatabase<Integer> database = new EmployeeDatabase<>(new HashMap<>());
+        if (args.length > 0) {
+            // Reports over a generated workforce, e.g. "ReportsDemo 1000000"
+            database.addEmployees(EmployeeGenerator.withSeed(42).generate(1001, Integer.parseInt(args[0])));
+        } else {
             database.addEmployee(new Employee<>(1001, "John Smith", "IT", 78500.0, 4.2, 5, true));
             database.addEmployee(new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true));
             database.addEmployee(new Employee<>(1003, "Michael Chen", "Finance", 85000.0, 3.8, 7, true));
@@ -21,6 +26,7 @@ public class ReportsDemo {
             database.addEmployee(new Employee<>(1008, "Amanda Miller", "Finance", 79000.0, 3.9, 5, true));
             database.addEmployee(new Employee<>(1009, "Thomas Garcia", "Marketing", 68000.0, 2.8, 3, false));
             database.addEmployee(new Employee<>(1010, "Jennifer Taylor", "Sales", 108000.0, 4.6, 8, true));
+        }
 
         
         System.out.println("==========================================================");
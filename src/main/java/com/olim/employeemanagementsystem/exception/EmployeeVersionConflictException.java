@@ -0,0 +1,25 @@
+package com.olim.employeemanagementsystem.exception;
+
+public class EmployeeVersionConflictException extends Exception{
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public EmployeeVersionConflictException(long expectedVersion, long actualVersion) {
+        this("Employee was changed by someone else: expected version " + expectedVersion + " but found " + actualVersion,
+                expectedVersion, actualVersion);
+    }
+
+    public EmployeeVersionConflictException(String message, long expectedVersion, long actualVersion) {
+        super(message);
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
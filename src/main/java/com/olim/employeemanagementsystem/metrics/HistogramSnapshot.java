@@ -0,0 +1,59 @@
+package com.olim.employeemanagementsystem.metrics;
+
+/**
+ * Latencies recorded by a {@link LatencyHistogram} up to some moment, in nanoseconds
+ */
+public class HistogramSnapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long sum, long max) {
+        this.counts = counts;
+        long total = 0;
+        for(long bucket : counts) {
+            total += bucket;
+        }
+        this.count = total;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Gets the latency that the given percentage of recorded values do not exceed, rounded up
+     * to the top of its bucket like HdrHistogram does
+     *
+     * @param percentile Between 0 and 100
+     * @return The latency, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if(percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if(count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for(int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if(seen >= rank) {
+                return Math.min(LatencyHistogram.highestValueIn(i), max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,117 @@
+package com.olim.employeemanagementsystem.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Histogram of latencies in nanoseconds with HDR-style log-linear buckets: every power of two is
+ * split into 32 equal buckets, so a recorded value is known to within about 3% at any magnitude,
+ * from nanoseconds up to {@link #MAX_TRACKABLE_NANOS}, in a fixed 1152 buckets.
+ *
+ * Recording is lock-free and spread over stripes chosen by thread, so threads recording at the
+ * same time rarely touch the same counters. A stripe is only allocated once a thread maps to it.
+ * Snapshots add up the stripes without stopping recorders, so a snapshot taken while values are
+ * recorded may miss the newest of them.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 39;
+
+    /** Longer latencies, about 18 minutes, are counted in the last bucket */
+    public static final long MAX_TRACKABLE_NANOS = (1L << (MAX_MAGNITUDE + 1)) - 1;
+    static final int BUCKETS = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    // Each stripe holds the bucket counts followed by the sum and the maximum
+    private static final int SUM = BUCKETS;
+    private static final int MAX = BUCKETS + 1;
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes;
+    private final int mask;
+
+    public LatencyHistogram() {
+        int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+        this.stripes = new AtomicReferenceArray<>(stripeCount);
+        this.mask = stripeCount - 1;
+    }
+
+    /**
+     * Records one latency; negative values count as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        AtomicLongArray stripe = stripe();
+        stripe.getAndIncrement(bucketOf(Math.min(value, MAX_TRACKABLE_NANOS)));
+        stripe.getAndAdd(SUM, value);
+        long max = stripe.get(MAX);
+        while(value > max && !stripe.weakCompareAndSetVolatile(MAX, max, value)) {
+            max = stripe.get(MAX);
+        }
+    }
+
+    /**
+     * Adds up the values recorded so far
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long sum = 0;
+        long max = 0;
+        for(int s = 0; s < stripes.length(); s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if(stripe == null) {
+                continue;
+            }
+            for(int i = 0; i < BUCKETS; i++) {
+                counts[i] += stripe.get(i);
+            }
+            sum += stripe.get(SUM);
+            max = Math.max(max, stripe.get(MAX));
+        }
+        return new HistogramSnapshot(counts, sum, max);
+    }
+
+    /**
+     * Forgets every recorded value. Values recorded while resetting may be kept or lost.
+     */
+    public void reset() {
+        for(int s = 0; s < stripes.length(); s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if(stripe != null) {
+                for(int i = 0; i < stripe.length(); i++) {
+                    stripe.set(i, 0);
+                }
+            }
+        }
+    }
+
+    private AtomicLongArray stripe() {
+        // Spreads thread IDs, which are usually consecutive, over the stripes
+        int index = (int) ((Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        AtomicLongArray stripe = stripes.get(index);
+        if(stripe == null) {
+            stripes.compareAndSet(index, null, new AtomicLongArray(BUCKETS + 2));
+            stripe = stripes.get(index);
+        }
+        return stripe;
+    }
+
+    static int bucketOf(long value) {
+        if(value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Gets the highest value that falls into a bucket
+     */
+    static long highestValueIn(int bucket) {
+        if(bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,150 @@
+package com.olim.employeemanagementsystem.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds the operation timers of the application by name. Once {@link #registerMBeans} has been
+ * called, every timer, including ones created later, is also available as a platform MBean
+ * named {@code com.olim.employeemanagementsystem:type=Operation,name=<operation>}.
+ *
+ * Start the JVM with {@code -Dems.metrics.disabled=true} to turn timing into a no-op.
+ */
+public class MetricsRegistry {
+    private static final Logger logger = Logger.getLogger(MetricsRegistry.class.getName());
+    private static final String DOMAIN = "com.olim.employeemanagementsystem";
+
+    static final boolean ENABLED = !Boolean.getBoolean("ems.metrics.disabled");
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final ConcurrentHashMap<String, OperationTimer> timers = new ConcurrentHashMap<>();
+    private volatile MBeanServer server;
+
+    /**
+     * Gets the registry the application records into
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets the timer of an operation, creating it on first use
+     *
+     * @param name The operation, e.g. {@code EmployeeDatabase.findByDepartment}
+     */
+    public OperationTimer timer(String name) {
+        return timer(name, 1);
+    }
+
+    /**
+     * Gets the timer of an operation, creating it on first use with a sample rate
+     *
+     * @param sampleRate Times one in this many calls, chosen at random; 1 times every call
+     */
+    public OperationTimer timer(String name, int sampleRate) {
+        if(name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Operation name cannot be empty");
+        }
+        if(sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate must be positive");
+        }
+        OperationTimer existing = timers.get(name);
+        if(existing != null) {
+            return existing;
+        }
+        OperationTimer created = new OperationTimer(name, sampleRate);
+        existing = timers.putIfAbsent(name, created);
+        if(existing != null) {
+            return existing;
+        }
+        MBeanServer current = server;
+        if(current != null) {
+            register(current, created);
+        }
+        return created;
+    }
+
+    /**
+     * Gets every timer, ordered by name
+     */
+    public List<OperationTimer> timers() {
+        List<OperationTimer> result = new ArrayList<>(timers.values());
+        result.sort(Comparator.comparing(OperationTimer::getName));
+        return result;
+    }
+
+    /**
+     * Registers every timer, now and in future, with the platform MBean server
+     */
+    public void registerMBeans() {
+        registerMBeans(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Registers every timer, now and in future, with an MBean server
+     */
+    public synchronized void registerMBeans(MBeanServer mbeanServer) {
+        if(mbeanServer == null) {
+            throw new IllegalArgumentException("MBean server cannot be null");
+        }
+        if(server != null) {
+            throw new IllegalStateException("Metrics are already registered");
+        }
+        server = mbeanServer;
+        // Timers created from now on register themselves; registering one twice is harmless
+        for(OperationTimer timer : timers.values()) {
+            register(mbeanServer, timer);
+        }
+    }
+
+    /**
+     * Removes the timers from the MBean server they were registered with
+     */
+    public synchronized void unregisterMBeans() {
+        MBeanServer current = server;
+        if(current == null) {
+            return;
+        }
+        server = null;
+        for(OperationTimer timer : timers.values()) {
+            try {
+                current.unregisterMBean(objectName(timer.getName()));
+            } catch (InstanceNotFoundException e) {
+                // Already gone
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Could not unregister metrics for " + timer.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Gets the MBean name of an operation
+     */
+    public static ObjectName objectName(String operation) {
+        try {
+            return new ObjectName(DOMAIN + ":type=Operation,name=" + operation);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Invalid operation name: " + operation, e);
+        }
+    }
+
+    private static void register(MBeanServer mbeanServer, OperationTimer timer) {
+        try {
+            mbeanServer.registerMBean(timer, objectName(timer.getName()));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by the thread that created the timer
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Could not register metrics for " + timer.getName(), e);
+        }
+    }
+}
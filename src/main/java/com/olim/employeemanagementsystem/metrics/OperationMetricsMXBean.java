@@ -0,0 +1,35 @@
+package com.olim.employeemanagementsystem.metrics;
+
+/**
+ * How often an operation ran and how long it took, as shown in JConsole or VisualVM under
+ * {@code com.olim.employeemanagementsystem:type=Operation}. Counts and latencies cover the time
+ * since start-up or the last {@link #reset()}; latencies of sampled operations cover a random
+ * sample of the calls.
+ */
+public interface OperationMetricsMXBean {
+    String getName();
+
+    long getCount();
+
+    /**
+     * Gets how many calls there are for every one timed
+     */
+    int getSampleRate();
+
+    double getMeanMillis();
+
+    double getMaxMillis();
+
+    double get50thPercentileMillis();
+
+    double get90thPercentileMillis();
+
+    double get99thPercentileMillis();
+
+    double get999thPercentileMillis();
+
+    /**
+     * Starts counting and measuring afresh
+     */
+    void reset();
+}
@@ -0,0 +1,148 @@
+package com.olim.employeemanagementsystem.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts calls of one operation and records their latencies. Callers keep the start time:
+ *
+ * <pre>{@code
+ * long start = timer.start();
+ * try {
+ *     ...
+ * } finally {
+ *     timer.stop(start);
+ * }
+ * }</pre>
+ *
+ * When metrics are disabled, both calls do nothing. A sampled timer counts every call but only
+ * times one in every sample rate, chosen at random, for operations so fast that reading the
+ * clock twice would noticeably slow them down.
+ */
+public final class OperationTimer implements OperationMetricsMXBean {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    // Returned by start() for calls that are counted but not timed
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private final String name;
+    private final int sampleRate;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    // Every call of a sampled timer; unsampled timers count in the histogram
+    private final LongAdder calls = new LongAdder();
+
+    OperationTimer(String name, int sampleRate) {
+        this.name = name;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return The start time to pass to {@link #stop}
+     */
+    public long start() {
+        if(!MetricsRegistry.ENABLED) {
+            return 0;
+        }
+        if(sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a call that began at the given start time
+     */
+    public void stop(long start) {
+        if(!MetricsRegistry.ENABLED) {
+            return;
+        }
+        if(sampleRate > 1) {
+            calls.increment();
+            if(start == NOT_SAMPLED) {
+                return;
+            }
+        }
+        histogram.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Records a call that took the given time
+     */
+    public void record(long nanos) {
+        if(MetricsRegistry.ENABLED) {
+            if(sampleRate > 1) {
+                calls.increment();
+            }
+            histogram.record(nanos);
+        }
+    }
+
+    /**
+     * Gets the latencies recorded so far; for a sampled timer, only those of the sampled calls
+     */
+    public HistogramSnapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return sampleRate > 1 ? calls.sum() : histogram.snapshot().getCount();
+    }
+
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return histogram.snapshot().getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return histogram.snapshot().getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double get50thPercentileMillis() {
+        return percentileMillis(50);
+    }
+
+    @Override
+    public double get90thPercentileMillis() {
+        return percentileMillis(90);
+    }
+
+    @Override
+    public double get99thPercentileMillis() {
+        return percentileMillis(99);
+    }
+
+    @Override
+    public double get999thPercentileMillis() {
+        return percentileMillis(99.9);
+    }
+
+    @Override
+    public void reset() {
+        histogram.reset();
+        calls.reset();
+    }
+
+    private double percentileMillis(double percentile) {
+        return histogram.snapshot().getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public String toString() {
+        HistogramSnapshot snapshot = histogram.snapshot();
+        return String.format("%s: %d calls, mean %.3f ms, p50 %.3f ms, p99 %.3f ms, max %.3f ms", name, getCount(),
+                snapshot.getMean() / NANOS_PER_MILLI, snapshot.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                snapshot.getValueAtPercentile(99) / NANOS_PER_MILLI, snapshot.getMax() / NANOS_PER_MILLI);
+    }
+}
@@ -1,6 +1,20 @@
 package com.olim.employeemanagementsystem.model;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.function.Consumer;
+
 public class Employee<T> implements Comparable<Employee<T>>{
+    private static final VarHandle VERSION;
+    static {
+        try {
+            VERSION = MethodHandles.lookup().findVarHandle(Employee.class, "version", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private T employeeId;
     private String name;
     private String department;
@@ -8,6 +22,13 @@ public class Employee<T> implements Comparable<Employee<T>>{
     private double performanceRating;
     private int yearsOfExperience;
     private boolean isActive;
+    // A seqlock: odd while a change is being written and bumped again when it is done, so an editor
+    // can tell whether the employee changed since it was read and a reader can tell a torn read.
+    // A writer makes it odd with a CAS, so changes from several threads take turns.
+    private volatile long version;
+    // The thread whose change is open and how many changes it has open; only that thread writes them
+    private Thread writer;
+    private int openChanges;
 
     public Employee(T employeeId, String name, String department, double salary, double performanceRating, int yearsOfExperience, boolean iActive) {
         this.employeeId = employeeId;
@@ -24,7 +45,9 @@ public class Employee<T> implements Comparable<Employee<T>>{
     }
 
     public void setEmployeeId(T employeeId) {
+        beginChange();
         this.employeeId = employeeId;
+        endChange();
     }
 
     public String getName() {
@@ -32,7 +55,9 @@ public class Employee<T> implements Comparable<Employee<T>>{
     }
 
     public void setName(String name) {
+        beginChange();
         this.name = name;
+        endChange();
     }
 
     public String getDepartment() {
@@ -40,7 +65,9 @@ public class Employee<T> implements Comparable<Employee<T>>{
     }
 
     public void setDepartment(String department) {
+        beginChange();
         this.department = department;
+        endChange();
     }
 
     public double getSalary() {
@@ -48,7 +75,9 @@ public class Employee<T> implements Comparable<Employee<T>>{
     }
 
     public void setSalary(double salary) {
+        beginChange();
         this.salary = salary;
+        endChange();
     }
 
     public double getPerformanceRating() {
@@ -56,7 +85,9 @@ public class Employee<T> implements Comparable<Employee<T>>{
     }
 
     public void setPerformanceRating(double performanceRating) {
+        beginChange();
         this.performanceRating = performanceRating;
+        endChange();
     }
 
     public int getYearsOfExperience() {
@@ -64,7 +95,9 @@ public class Employee<T> implements Comparable<Employee<T>>{
     }
 
     public void setYearsOfExperience(int yearsOfExperience) {
+        beginChange();
         this.yearsOfExperience = yearsOfExperience;
+        endChange();
     }
 
     public boolean isActive() {
@@ -72,7 +105,103 @@ public class Employee<T> implements Comparable<Employee<T>>{
     }
 
     public void setActive(boolean active) {
+        beginChange();
         isActive = active;
+        endChange();
+    }
+
+    /**
+     * Changes several values as one change: the version moves on once for all of them, and
+     * {@link #copy()} sees either none or all of them. Changes from other threads wait until it is done.
+     *
+     * @param changes Sets the new values through this employee's setters
+     */
+    public void update(Consumer<? super Employee<T>> changes) {
+        beginChange();
+        try {
+            changes.accept(this);
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Changes several employees as one change: every one of them stays mid-change until the values
+     * of all of them are written, so {@link #copy()} never returns the new value of one while another
+     * still has its old one. The version of each moves on once.
+     *
+     * @param employees The employees the changes write to
+     * @param changes Sets the new values through the employees' setters
+     */
+    public static void updateAll(List<? extends Employee<?>> employees, Runnable changes) {
+        int begun = 0;
+        try {
+            for(; begun < employees.size(); begun++) {
+                Employee<?> employee = employees.get(begun);
+                employee.beginChange();
+            }
+            changes.run();
+        } finally {
+            for(int i = 0; i < begun; i++) {
+                Employee<?> employee = employees.get(i);
+                employee.endChange();
+            }
+        }
+    }
+
+    /**
+     * Gets the version of this employee's values. It starts at 0 and grows with every change, so a
+     * caller can read it without locking and later ask the database to update the employee only if
+     * it is still the same. It is odd while a change is being written; {@link #copy()} gives values
+     * together with the version they belong to.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Copies the values as of one version without locking, retrying if a change is written
+     * meanwhile. Reading the getters one by one can mix values from before and after a change.
+     *
+     * @return A detached employee with the same values and version
+     */
+    public Employee<T> copy() {
+        while(true) {
+            long before = version;
+            if((before & 1) == 0) {
+                Employee<T> copy = new Employee<>(employeeId, name, department, salary, performanceRating, yearsOfExperience, isActive);
+                // The values must be read before the version is checked again
+                VarHandle.loadLoadFence();
+                if(version == before) {
+                    copy.version = before;
+                    return copy;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void beginChange() {
+        Thread current = Thread.currentThread();
+        if(writer == current) {
+            openChanges++;
+            return;
+        }
+        // Waits for another thread's change to finish; the CAS also keeps the values from being written before the version turns odd
+        long even = version;
+        while((even & 1) != 0 || !VERSION.compareAndSet(this, even, even + 1)) {
+            Thread.onSpinWait();
+            even = version;
+        }
+        writer = current;
+        openChanges = 1;
+    }
+
+    private void endChange() {
+        if(--openChanges == 0) {
+            writer = null;
+            version++;
+        }
     }
 
     @Override
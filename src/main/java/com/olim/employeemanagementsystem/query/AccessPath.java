@@ -0,0 +1,12 @@
+package com.olim.employeemanagementsystem.query;
+
+/**
+ * The ways a query can reach its candidate employees
+ */
+public enum AccessPath {
+    DEPARTMENT_INDEX,
+    SALARY_INDEX,
+    RATING_INDEX,
+    COLUMN_SCAN,
+    FULL_SCAN
+}
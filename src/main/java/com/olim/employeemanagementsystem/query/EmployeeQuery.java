@@ -0,0 +1,281 @@
+package com.olim.employeemanagementsystem.query;
+
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Immutable description of an employee search combining any number of predicates
+ * with an optional sort order and result limit.
+ * Unset criteria match every employee.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class EmployeeQuery<T> {
+    private final String nameContains;
+    private final String department;
+    private final Double minSalary;
+    private final Double maxSalary;
+    private final Double minRating;
+    private final Integer minExperience;
+    private final Integer maxExperience;
+    private final Boolean active;
+    private final SortOrder sortOrder;
+    private final Comparator<Employee<T>> comparator;
+    private final int limit;
+
+    private EmployeeQuery(Builder<T> builder) {
+        this.nameContains = builder.nameContains == null ? null : builder.nameContains.toLowerCase(Locale.ROOT);
+        this.department = builder.department;
+        this.minSalary = builder.minSalary;
+        this.maxSalary = builder.maxSalary;
+        this.minRating = builder.minRating;
+        this.minExperience = builder.minExperience;
+        this.maxExperience = builder.maxExperience;
+        this.active = builder.active;
+        this.sortOrder = builder.sortOrder;
+        this.comparator = builder.sortOrder != null ? builder.sortOrder.comparator() : builder.comparator;
+        this.limit = builder.limit;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Tests every predicate of the query against one employee in a single pass
+     *
+     * @param employee The employee to test
+     * @return true if the employee satisfies all criteria
+     */
+    public boolean matches(Employee<T> employee) {
+        if(department != null && !department.equals(employee.getDepartment())) {
+            return false;
+        }
+        double salary = employee.getSalary();
+        if(minSalary != null && salary < minSalary) {
+            return false;
+        }
+        if(maxSalary != null && salary > maxSalary) {
+            return false;
+        }
+        if(minRating != null && employee.getPerformanceRating() < minRating) {
+            return false;
+        }
+        int years = employee.getYearsOfExperience();
+        if(minExperience != null && years < minExperience) {
+            return false;
+        }
+        if(maxExperience != null && years > maxExperience) {
+            return false;
+        }
+        if(active != null && employee.isActive() != active) {
+            return false;
+        }
+        // Name matching is the most expensive check, so it runs last
+        return nameContains == null || employee.getName().toLowerCase(Locale.ROOT).contains(nameContains);
+    }
+
+    public String getNameContains() {
+        return nameContains;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public Double getMinSalary() {
+        return minSalary;
+    }
+
+    public Double getMaxSalary() {
+        return maxSalary;
+    }
+
+    public Double getMinRating() {
+        return minRating;
+    }
+
+    public Integer getMinExperience() {
+        return minExperience;
+    }
+
+    public Integer getMaxExperience() {
+        return maxExperience;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    /**
+     * Gets the sort order when the query is sorted by columns, which allows a normalized-key sort
+     *
+     * @return The column sort order, or null if the query is unsorted or sorted by a plain comparator
+     */
+    public SortOrder getSortOrder() {
+        return sortOrder;
+    }
+
+    public Comparator<Employee<T>> getComparator() {
+        return comparator;
+    }
+
+    public boolean hasLimit() {
+        return limit > 0;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Queries are equal when they have the same criteria, order and limit, so they can key caches.
+     * Queries sorted by a plain comparator are only equal if they share the comparator instance.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) {
+            return true;
+        }
+        if(!(o instanceof EmployeeQuery<?> other)) {
+            return false;
+        }
+        return limit == other.limit
+                && Objects.equals(nameContains, other.nameContains)
+                && Objects.equals(department, other.department)
+                && Objects.equals(minSalary, other.minSalary)
+                && Objects.equals(maxSalary, other.maxSalary)
+                && Objects.equals(minRating, other.minRating)
+                && Objects.equals(minExperience, other.minExperience)
+                && Objects.equals(maxExperience, other.maxExperience)
+                && Objects.equals(active, other.active)
+                && (sortOrder != null ? sortOrder.equals(other.sortOrder) : other.sortOrder == null && Objects.equals(comparator, other.comparator));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nameContains, department, minSalary, maxSalary, minRating, minExperience, maxExperience,
+                active, sortOrder != null ? sortOrder : comparator, limit);
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeQuery{" +
+                "nameContains='" + nameContains + '\'' +
+                ", department='" + department + '\'' +
+                ", salary=[" + minSalary + ", " + maxSalary + "]" +
+                ", minRating=" + minRating +
+                ", experience=[" + minExperience + ", " + maxExperience + "]" +
+                ", active=" + active +
+                ", sortOrder=" + (sortOrder != null ? sortOrder : comparator != null ? "comparator" : "none") +
+                ", limit=" + limit +
+                '}';
+    }
+
+    public static class Builder<T> {
+        private String nameContains;
+        private String department;
+        private Double minSalary;
+        private Double maxSalary;
+        private Double minRating;
+        private Integer minExperience;
+        private Integer maxExperience;
+        private Boolean active;
+        private SortOrder sortOrder;
+        private Comparator<Employee<T>> comparator;
+        private int limit;
+
+        private Builder() {
+        }
+
+        public Builder<T> nameContains(String name) {
+            this.nameContains = (name == null || name.trim().isEmpty()) ? null : name.trim();
+            return this;
+        }
+
+        public Builder<T> department(String department) {
+            this.department = department;
+            return this;
+        }
+
+        public Builder<T> minSalary(double minSalary) {
+            if(minSalary < 0) {
+                throw new IllegalArgumentException("Minimum salary cannot be negative");
+            }
+            this.minSalary = minSalary;
+            return this;
+        }
+
+        public Builder<T> maxSalary(double maxSalary) {
+            if(maxSalary < 0) {
+                throw new IllegalArgumentException("Maximum salary cannot be negative");
+            }
+            this.maxSalary = maxSalary;
+            return this;
+        }
+
+        public Builder<T> salaryBetween(double min, double max) {
+            if(min > max) {
+                throw new IllegalArgumentException("Minimum salary cannot be greater than maximum salary");
+            }
+            return minSalary(min).maxSalary(max);
+        }
+
+        public Builder<T> minRating(double minRating) {
+            if(minRating < 0 || minRating > 5) {
+                throw new IllegalArgumentException("Rating must be between 0 and 5");
+            }
+            this.minRating = minRating;
+            return this;
+        }
+
+        public Builder<T> minExperience(int years) {
+            if(years < 0) {
+                throw new IllegalArgumentException("Years of experience cannot be negative");
+            }
+            this.minExperience = years;
+            return this;
+        }
+
+        public Builder<T> maxExperience(int years) {
+            if(years < 0) {
+                throw new IllegalArgumentException("Years of experience cannot be negative");
+            }
+            this.maxExperience = years;
+            return this;
+        }
+
+        public Builder<T> active(boolean active) {
+            this.active = active;
+            return this;
+        }
+
+        public Builder<T> sortedBy(SortOrder sortOrder) {
+            this.sortOrder = sortOrder;
+            this.comparator = null;
+            return this;
+        }
+
+        public Builder<T> sortedBy(Comparator<Employee<T>> comparator) {
+            this.comparator = comparator;
+            this.sortOrder = null;
+            return this;
+        }
+
+        public Builder<T> limit(int limit) {
+            if(limit <= 0) {
+                throw new IllegalArgumentException("Limit must be positive");
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        public EmployeeQuery<T> build() {
+            return new EmployeeQuery<>(this);
+        }
+    }
+}
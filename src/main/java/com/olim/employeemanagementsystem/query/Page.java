@@ -0,0 +1,25 @@
+package com.olim.employeemanagementsystem.query;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.List;
+
+/**
+ * One page of a sorted query result
+ *
+ * @param rows The employees on the page, in sort order
+ * @param offset The position of the first row within the whole result
+ * @param totalCount The number of employees matching the query
+ * @param next The cursor for the following page, or null if the page is empty
+ * @param version The database modification version the page was read at
+ * @param <T> The type of the employee ID
+ */
+public record Page<T>(List<Employee<T>> rows, int offset, int totalCount, PageCursor next, long version) {
+    public Page {
+        rows = List.copyOf(rows);
+    }
+
+    public boolean hasMore() {
+        return offset + rows.size() < totalCount;
+    }
+}
@@ -0,0 +1,61 @@
+package com.olim.employeemanagementsystem.query;
+
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keyset pagination position: the sort key values of the last row of a page.
+ * The next page starts at the first row that sorts after these values, so rows inserted
+ * or removed before the position do not shift the following pages the way an offset would.
+ * The sort order always ends with the employee ID, which makes every position unique.
+ *
+ * @param order The complete sort order the values were read with
+ * @param values One value per sort key, in key order
+ */
+public record PageCursor(SortOrder order, List<Comparable<?>> values) {
+    public PageCursor {
+        if(order == null || values == null || values.size() != order.keys().size()) {
+            throw new IllegalArgumentException("A page cursor needs one value per sort key");
+        }
+        values = Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    /**
+     * Creates the cursor positioned just after the given row
+     *
+     * @param row The last row of a page
+     * @param order The sort order of the pages
+     * @return The cursor of the following page
+     */
+    public static PageCursor after(Employee<?> row, SortOrder order) {
+        List<Comparable<?>> values = new ArrayList<>(order.keys().size());
+        for(SortKey key : order.keys()) {
+            values.add(key.column().valueOf(row));
+        }
+        return new PageCursor(order, values);
+    }
+
+    /**
+     * Compares a row with the cursor position in the cursor's sort order
+     *
+     * @param row The row to compare
+     * @return A positive number if the row sorts after the cursor, zero if it is the cursor row, negative otherwise
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public int compareTo(Employee<?> row) {
+        List<SortKey> keys = order.keys();
+        for(int i = 0; i < keys.size(); i++) {
+            SortKey key = keys.get(i);
+            int result = ((Comparable) key.column().valueOf(row)).compareTo(values.get(i));
+            if(result != 0) {
+                return key.descending() ? -result : result;
+            }
+        }
+        return 0;
+    }
+}
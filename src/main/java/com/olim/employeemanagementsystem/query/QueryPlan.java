@@ -0,0 +1,15 @@
+package com.olim.employeemanagementsystem.query;
+
+/**
+ * The access path chosen for a query together with the number of candidate
+ * employees the planner expects it to visit
+ *
+ * @param accessPath The index or scan used to produce candidates
+ * @param estimatedCandidates The estimated number of employees visited
+ */
+public record QueryPlan(AccessPath accessPath, long estimatedCandidates) {
+    @Override
+    public String toString() {
+        return accessPath + " (~" + estimatedCandidates + " candidates)";
+    }
+}
@@ -0,0 +1,288 @@
+package com.olim.employeemanagementsystem.replication;
+
+import com.olim.employeemanagementsystem.db.ChangeType;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a local {@link EmployeeDatabase} in step with a {@link ReplicationLeader} for serving reads.
+ * The follower applies the leader's changes in order, each as one change of the local database, so
+ * its listeners, indexes and reports work as usual. It reconnects on its own after a failure and
+ * resumes from the last change it applied, or installs a new snapshot if the leader can no longer
+ * supply the missing changes. The local database must not be modified other than by the follower.
+ *
+ * Versions are the leader's modification versions, so a client that wrote to the leader can wait
+ * for the version the write produced before reading its own write here. Staleness is how long ago
+ * the follower was last known to have every change of the leader; reads through
+ * {@link #readableDatabase()} are refused once it exceeds the maximum lag.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class ReplicationFollower<T> {
+    private static final Logger logger = Logger.getLogger(ReplicationFollower.class.getName());
+    private static final Duration DEFAULT_MAX_LAG = Duration.ofSeconds(1);
+    private static final Duration RECONNECT_DELAY = Duration.ofMillis(200);
+    // A leader sends heartbeats far more often than this, so silence means it is gone
+    private static final int READ_TIMEOUT_MILLIS = 5000;
+
+    private final EmployeeDatabase<T> database;
+    private final Function<String, T> idParser;
+    private final Object progress = new Object();
+    private volatile Duration maxLag = DEFAULT_MAX_LAG;
+
+    // Written by the replication thread only
+    private volatile long leaderId;
+    private volatile long appliedVersion = -1;
+    private volatile long leaderVersion = -1;
+    private volatile long freshAsOfNanos = System.nanoTime() - Long.MAX_VALUE / 2;
+    private volatile int snapshotCount;
+    private volatile boolean connected;
+
+    private volatile boolean running;
+    private Thread thread;
+    private volatile Socket socket;
+
+    /**
+     * @param database The local database to keep in step; normally empty
+     * @param idParser Turns the IDs shipped as text back into employee IDs, e.g. Integer::valueOf
+     */
+    public ReplicationFollower(EmployeeDatabase<T> database, Function<String, T> idParser) {
+        if(database == null || idParser == null) {
+            throw new IllegalArgumentException("Database and ID parser cannot be null");
+        }
+        this.database = database;
+        this.idParser = idParser;
+    }
+
+    /**
+     * Sets the largest staleness at which {@link #readableDatabase()} still serves reads
+     */
+    public void setMaxLag(Duration maxLag) {
+        if(maxLag == null || maxLag.isNegative()) {
+            throw new IllegalArgumentException("Maximum lag cannot be negative");
+        }
+        this.maxLag = maxLag;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    /**
+     * Starts following the leader at the given address, reconnecting until stopped
+     */
+    public synchronized void start(InetSocketAddress leader) {
+        if(running) {
+            throw new IllegalStateException("Follower is already running");
+        }
+        running = true;
+        thread = Thread.ofVirtual().name("ems-follower").start(() -> follow(leader));
+    }
+
+    /**
+     * Disconnects from the leader; the local data and applied version are kept for a later start
+     */
+    public synchronized void stop() throws InterruptedException {
+        if(!running) {
+            return;
+        }
+        running = false;
+        Socket current = socket;
+        if(current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Error closing leader socket", e);
+            }
+        }
+        thread.interrupt();
+        thread.join();
+        thread = null;
+    }
+
+    public EmployeeDatabase<T> getDatabase() {
+        return database;
+    }
+
+    /**
+     * Gets the local database for reads, if the follower is within its maximum lag
+     *
+     * @throws IllegalStateException If the data may be older than the maximum lag
+     */
+    public EmployeeDatabase<T> readableDatabase() {
+        Duration staleness = getStaleness();
+        if(staleness.compareTo(maxLag) > 0) {
+            throw new IllegalStateException("Replica is " + staleness.toMillis() + " ms behind the leader, over the "
+                    + maxLag.toMillis() + " ms limit");
+        }
+        return database;
+    }
+
+    /**
+     * Gets the leader version of the last change applied locally, or -1 before the first snapshot
+     */
+    public long getAppliedVersion() {
+        return appliedVersion;
+    }
+
+    /**
+     * Gets the latest leader version the follower has heard of
+     */
+    public long getLeaderVersion() {
+        return leaderVersion;
+    }
+
+    /**
+     * Gets how many changes the follower knows it is missing
+     */
+    public long getVersionLag() {
+        return Math.max(0, leaderVersion - appliedVersion);
+    }
+
+    /**
+     * Gets how long ago the follower was last known to have every change of the leader
+     */
+    public Duration getStaleness() {
+        return Duration.ofNanos(System.nanoTime() - freshAsOfNanos);
+    }
+
+    public boolean isWithinMaxLag() {
+        return getStaleness().compareTo(maxLag) <= 0;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Gets how many snapshots have been installed; one per start from scratch, plus one whenever the
+     * follower fell too far behind to catch up from the leader's log
+     */
+    public int getSnapshotCount() {
+        return snapshotCount;
+    }
+
+    /**
+     * Waits until the change with the given leader version has been applied locally
+     *
+     * @return Whether it was applied within the timeout
+     */
+    public boolean awaitVersion(long version, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized(progress) {
+            while(appliedVersion < version) {
+                long remaining = deadline - System.nanoTime();
+                if(remaining <= 0) {
+                    return false;
+                }
+                progress.wait(Math.max(1, remaining / 1_000_000));
+            }
+        }
+        return true;
+    }
+
+    private void follow(InetSocketAddress leader) {
+        while(running) {
+            try (Socket current = new Socket()) {
+                socket = current;
+                current.connect(leader, READ_TIMEOUT_MILLIS);
+                current.setTcpNoDelay(true);
+                current.setSoTimeout(READ_TIMEOUT_MILLIS);
+                replicate(current);
+            } catch (IOException e) {
+                if(running) {
+                    logger.log(Level.WARNING, "Lost connection to leader " + leader + ": " + e);
+                }
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Unexpected error following leader " + leader, e);
+            } finally {
+                connected = false;
+                socket = null;
+            }
+            try {
+                Thread.sleep(RECONNECT_DELAY);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void replicate(Socket current) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(current.getOutputStream()));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(current.getInputStream(), 64 * 1024));
+        out.writeInt(ReplicationProtocol.MAGIC);
+        out.writeInt(ReplicationProtocol.PROTOCOL_VERSION);
+        out.writeLong(leaderId);
+        out.writeLong(appliedVersion);
+        out.flush();
+        if(in.readInt() != ReplicationProtocol.MAGIC) {
+            throw new IOException("Not a replication leader");
+        }
+        long id = in.readLong();
+        connected = true;
+        logger.info("Following leader " + current.getRemoteSocketAddress() + " from version " + appliedVersion);
+
+        while(running) {
+            byte frame = in.readByte();
+            switch(frame) {
+                case ReplicationProtocol.SNAPSHOT -> {
+                    long version = in.readLong();
+                    List<Employee<T>> employees = ReplicationProtocol.readEmployees(in, ReplicationProtocol.readCount(in), idParser);
+                    database.replaceAll(employees);
+                    // Only a complete snapshot ties this follower to the new leader's log
+                    leaderId = id;
+                    snapshotCount++;
+                    applied(version);
+                    logger.info("Installed snapshot of " + employees.size() + " employees at version " + version);
+                }
+                case ReplicationProtocol.CHANGE -> {
+                    long version = in.readLong();
+                    ChangeType type = ReplicationProtocol.readChangeType(in);
+                    String field = in.readBoolean() ? in.readUTF() : null;
+                    List<Employee<T>> present = ReplicationProtocol.readEmployees(in, ReplicationProtocol.readCount(in), idParser);
+                    int removedCount = ReplicationProtocol.readCount(in);
+                    List<T> removed = new ArrayList<>(removedCount);
+                    for(int i = 0; i < removedCount; i++) {
+                        removed.add(idParser.apply(in.readUTF()));
+                    }
+                    if(version > appliedVersion) {
+                        database.applyReplicatedChange(type, field, present, removed);
+                        applied(version);
+                    }
+                }
+                case ReplicationProtocol.HEARTBEAT -> {
+                    long receivedNanos = System.nanoTime();
+                    leaderVersion = Math.max(leaderVersion, in.readLong());
+                    markFreshIfCaughtUp(receivedNanos);
+                }
+                default -> throw new IOException("Unknown frame " + frame);
+            }
+        }
+    }
+
+    private void applied(long version) {
+        synchronized(progress) {
+            appliedVersion = version;
+            leaderVersion = Math.max(leaderVersion, version);
+            progress.notifyAll();
+        }
+    }
+
+    // Heartbeats carry the leader's latest version when sent, so only they prove the follower was current
+    private void markFreshIfCaughtUp(long receivedNanos) {
+        if(appliedVersion >= leaderVersion) {
+            freshAsOfNanos = receivedNanos;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.olim.employeemanagementsystem.replication;
+
+import com.olim.employeemanagementsystem.db.ChangeType;
+import com.olim.employeemanagementsystem.db.EmployeeChangeEvent;
+import com.olim.employeemanagementsystem.db.EmployeeChangeListener;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Streams the mutations of an {@link EmployeeDatabase} over TCP to {@link ReplicationFollower}s.
+ * Every committed change is captured while the database is still locked, as the new values of the
+ * affected employees, so the log is in commit order and replaying it gives the same contents.
+ * Encoded changes are kept in a bounded in-memory log; a follower that reconnects within it only
+ * receives the changes it missed, and any other follower first receives a snapshot of every
+ * employee and then the log from the snapshot's version on. Each follower is served by its own
+ * virtual thread, so a slow follower only falls behind itself.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class ReplicationLeader<T> {
+    private static final Logger logger = Logger.getLogger(ReplicationLeader.class.getName());
+    public static final long DEFAULT_LOG_LIMIT = 64L * 1024 * 1024;
+    private static final Duration DEFAULT_HEARTBEAT_INTERVAL = Duration.ofMillis(100);
+    private static final int WRITE_BUFFER = 64 * 1024;
+
+    private final EmployeeDatabase<T> database;
+    private final long logLimit;
+    // Tells followers whether their position refers to this leader's log
+    private final long leaderId = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+    private volatile Duration heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+    private EmployeeChangeListener<T> listener;
+    private ReplicationLog log;
+    private ServerSocket serverSocket;
+
+    public ReplicationLeader(EmployeeDatabase<T> database) {
+        this(database, DEFAULT_LOG_LIMIT);
+    }
+
+    /**
+     * @param database The database to replicate
+     * @param logLimit The most bytes of encoded changes to keep for followers that fall behind
+     */
+    public ReplicationLeader(EmployeeDatabase<T> database, long logLimit) {
+        if(database == null) {
+            throw new IllegalArgumentException("Database cannot be null");
+        }
+        if(logLimit <= 0) {
+            throw new IllegalArgumentException("Log limit must be positive");
+        }
+        this.database = database;
+        this.logLimit = logLimit;
+    }
+
+    /**
+     * Sets how often an idle follower is told the leader's version, which bounds how long it takes
+     * a follower to notice it is up to date or that the leader has gone
+     */
+    public void setHeartbeatInterval(Duration interval) {
+        if(interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Heartbeat interval must be positive");
+        }
+        heartbeatInterval = interval;
+    }
+
+    /**
+     * Starts accepting followers on the given port of every interface
+     *
+     * @param port The port, or 0 for any free port
+     */
+    public void start(int port) throws IOException {
+        start(new InetSocketAddress(port));
+    }
+
+    public synchronized void start(InetSocketAddress address) throws IOException {
+        if(serverSocket != null) {
+            throw new IllegalStateException("Leader is already running");
+        }
+        ServerSocket socket = new ServerSocket();
+        socket.setReuseAddress(true);
+        socket.bind(address);
+
+        // Listen before reading the version, so every change after it reaches the log; changes
+        // captured in between are at or before the version and the log ignores them
+        ReplicationLog started = new ReplicationLog(Long.MAX_VALUE, logLimit);
+        log = started;
+        listener = this::capture;
+        database.addChangeListener(listener);
+        started.startAfter(database.getModificationVersion());
+        serverSocket = socket;
+        Thread.ofVirtual().name("ems-replication-accept").start(() -> acceptFollowers(socket, started));
+        logger.info("Replication leader listening on port " + socket.getLocalPort());
+    }
+
+    public synchronized int getPort() {
+        if(serverSocket == null) {
+            throw new IllegalStateException("Leader is not running");
+        }
+        return serverSocket.getLocalPort();
+    }
+
+    public synchronized boolean isRunning() {
+        return serverSocket != null;
+    }
+
+    /**
+     * Gets the number of followers currently connected
+     */
+    public int getFollowerCount() {
+        return followers.size();
+    }
+
+    public EmployeeDatabase<T> getDatabase() {
+        return database;
+    }
+
+    /**
+     * Disconnects every follower and stops accepting new ones
+     */
+    public synchronized void stop() {
+        if(serverSocket == null) {
+            return;
+        }
+        database.removeChangeListener(listener);
+        log.close();
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Error closing replication socket", e);
+        }
+        for(Socket follower : followers) {
+            closeQuietly(follower);
+        }
+        serverSocket = null;
+        logger.info("Replication leader stopped");
+    }
+
+    // Runs on the mutating thread with the database locked, so the values read are the committed ones
+    private void capture(EmployeeChangeEvent<T> event) {
+        List<Employee<T>> present = new ArrayList<>();
+        List<T> removed = new ArrayList<>();
+        for(T employeeId : event.employeeIds()) {
+            if(event.type() == ChangeType.REMOVED) {
+                removed.add(employeeId);
+                continue;
+            }
+            try {
+                present.add(database.getEmployeeById(employeeId));
+            } catch (EmployeeNotFoundException e) {
+                removed.add(employeeId);
+            }
+        }
+        log.append(event.version(), ReplicationProtocol.encodeChange(event.version(), event.type(), event.field(), present, removed));
+    }
+
+    private void acceptFollowers(ServerSocket socket, ReplicationLog from) {
+        while(!socket.isClosed()) {
+            try {
+                Socket follower = socket.accept();
+                follower.setTcpNoDelay(true);
+                followers.add(follower);
+                Thread.ofVirtual().name("ems-replication-" + follower.getRemoteSocketAddress()).start(() -> serve(follower, from));
+            } catch (SocketException e) {
+                // Closed by stop()
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Error accepting follower", e);
+            }
+        }
+    }
+
+    private void serve(Socket socket, ReplicationLog from) {
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), WRITE_BUFFER));
+            if(in.readInt() != ReplicationProtocol.MAGIC || in.readInt() != ReplicationProtocol.PROTOCOL_VERSION) {
+                logger.warning("Rejected follower " + socket.getRemoteSocketAddress() + ": unknown protocol");
+                return;
+            }
+            long knownLeader = in.readLong();
+            long position = in.readLong();
+            out.writeInt(ReplicationProtocol.MAGIC);
+            out.writeLong(leaderId);
+
+            if(knownLeader != leaderId || !from.covers(position)) {
+                position = sendSnapshot(out);
+            }
+            logger.info("Follower " + socket.getRemoteSocketAddress() + " streaming from version " + position);
+
+            while(!socket.isClosed()) {
+                List<ReplicationLog.Record> batch = from.after(position, heartbeatInterval.toMillis());
+                if(batch == null) {
+                    logger.info("Follower " + socket.getRemoteSocketAddress() + " fell out of the log at version " + position);
+                    position = sendSnapshot(out);
+                    continue;
+                }
+                for(ReplicationLog.Record record : batch) {
+                    out.write(record.frame());
+                    position = record.version();
+                }
+                out.writeByte(ReplicationProtocol.HEARTBEAT);
+                out.writeLong(Math.max(position, from.latestVersion()));
+                out.flush();
+            }
+        } catch (EOFException | SocketException e) {
+            logger.info("Follower " + socket.getRemoteSocketAddress() + " disconnected");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Error replicating to " + socket.getRemoteSocketAddress(), e);
+        } finally {
+            followers.remove(socket);
+        }
+    }
+
+    // The copy is taken under the database lock, so the log continues exactly after its version
+    private long sendSnapshot(DataOutputStream out) throws IOException {
+        List<Employee<T>> employees = new ArrayList<>();
+        long version = database.copyEmployees(employees);
+        out.writeByte(ReplicationProtocol.SNAPSHOT);
+        out.writeLong(version);
+        out.writeInt(employees.size());
+        for(Employee<T> employee : employees) {
+            ReplicationProtocol.writeEmployee(out, employee);
+        }
+        out.flush();
+        logger.info("Sent snapshot of " + employees.size() + " employees at version " + version);
+        return version;
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Error closing follower socket", e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.olim.employeemanagementsystem.replication;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The tail of the leader's mutation log: encoded change frames in version order, bounded by their
+ * total size. Followers that are behind read from it; a follower whose position has already been
+ * discarded has to start over from a snapshot.
+ */
+final class ReplicationLog {
+    // Most records handed out per read, so heartbeats interleave with a long catch-up
+    static final int MAX_BATCH = 1024;
+
+    private final long maxBytes;
+    private final ArrayList<Record> records = new ArrayList<>();
+    // Records before this index have been discarded but not yet compacted away
+    private int head;
+    private long bytes;
+    // Every record up to and including this version is gone, or was never here
+    private long baseVersion;
+    private boolean closed;
+
+    /**
+     * @param baseVersion The version the log starts after; records up to it are ignored until {@link #startAfter}, e.g. Long.MAX_VALUE to ignore everything
+     * @param maxBytes The most encoded bytes to retain; the latest record is always retained
+     */
+    ReplicationLog(long baseVersion, long maxBytes) {
+        this.baseVersion = baseVersion;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Sets the version an empty log starts after
+     */
+    synchronized void startAfter(long version) {
+        if(records.size() > head) {
+            throw new IllegalStateException("Log already has records");
+        }
+        baseVersion = version;
+    }
+
+    synchronized void append(long version, byte[] frame) {
+        if(version <= latestVersion()) {
+            return;
+        }
+        records.add(new Record(version, frame));
+        bytes += frame.length;
+        while(bytes > maxBytes && records.size() - head > 1) {
+            Record discarded = records.get(head);
+            records.set(head++, null);
+            bytes -= discarded.frame.length;
+            baseVersion = discarded.version;
+        }
+        if(head > 1024 && head > records.size() / 2) {
+            records.subList(0, head).clear();
+            head = 0;
+        }
+        notifyAll();
+    }
+
+    synchronized long latestVersion() {
+        return records.size() > head ? records.get(records.size() - 1).version : baseVersion;
+    }
+
+    /**
+     * Gets whether every record after the given version is still retained
+     */
+    synchronized boolean covers(long version) {
+        return version >= baseVersion && version <= latestVersion();
+    }
+
+    /**
+     * Gets the records after a version, waiting for one if there are none yet
+     *
+     * @param version The version the reader has already seen
+     * @param timeoutMillis How long to wait for a new record
+     * @return Up to {@link #MAX_BATCH} records, empty on timeout, or null if the reader has fallen
+     *         out of the log and needs a snapshot
+     */
+    synchronized List<Record> after(long version, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while(!closed && covers(version) && latestVersion() == version) {
+            long remaining = (deadline - System.nanoTime()) / 1_000_000;
+            if(remaining <= 0) {
+                return List.of();
+            }
+            wait(remaining);
+        }
+        if(closed) {
+            return List.of();
+        }
+        if(!covers(version)) {
+            return null;
+        }
+        // Binary search for the first record after the version
+        int low = head;
+        int high = records.size() - 1;
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if(records.get(middle).version <= version) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int end = Math.min(records.size(), low + MAX_BATCH);
+        return new ArrayList<>(records.subList(low, end));
+    }
+
+    synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    record Record(long version, byte[] frame) {
+    }
+}
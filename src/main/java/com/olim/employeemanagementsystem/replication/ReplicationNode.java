@@ -0,0 +1,106 @@
+package com.olim.employeemanagementsystem.replication;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import com.olim.employeemanagementsystem.workload.Operation;
+import com.olim.employeemanagementsystem.workload.OperationType;
+import com.olim.employeemanagementsystem.workload.WorkloadTrace;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs a leader or a follower as its own process, for trying replication across JVMs on one machine.
+ * <pre>
+ * ReplicationNode leader &lt;port&gt; &lt;employees&gt;
+ * ReplicationNode follower &lt;host&gt; &lt;port&gt;
+ * </pre>
+ * The node prints "ready" and then answers commands read from standard input, one line each:
+ * <pre>
+ * version          prints "version &lt;version&gt; &lt;digest&gt;"
+ * write &lt;count&gt;    leader: applies that many generated writes, then prints the version
+ * await &lt;version&gt;  follower: waits up to ten seconds for the version, then prints the version or "timeout"
+ * quit
+ * </pre>
+ * Two nodes hold the same employees when they print the same digest.
+ */
+public class ReplicationNode {
+    private static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    public static void main(String[] args) throws Exception {
+        if(args.length != 3 || !(args[0].equals("leader") || args[0].equals("follower"))) {
+            System.err.println("Usage: ReplicationNode leader <port> <employees> | follower <host> <port>");
+            System.exit(2);
+        }
+        Logger.getLogger("").setLevel(Level.WARNING);
+        EmployeeDatabase<Integer> database = new EmployeeDatabase<>(new HashMap<>());
+        BufferedReader commands = new BufferedReader(new InputStreamReader(System.in));
+
+        if(args[0].equals("leader")) {
+            int population = Integer.parseInt(args[2]);
+            EmployeeGenerator generator = EmployeeGenerator.withSeed(42);
+            database.addEmployees(generator.generate(0, population));
+            ReplicationLeader<Integer> leader = new ReplicationLeader<>(database);
+            leader.start(Integer.parseInt(args[1]));
+            System.out.println("ready " + leader.getPort());
+            long seed = 0;
+            for(String line; (line = commands.readLine()) != null && !line.equals("quit"); ) {
+                String[] command = line.trim().split("\\s+");
+                if(command[0].equals("write")) {
+                    WorkloadTrace.replay(writes(generator, population, ++seed, Integer.parseInt(command[1])), database);
+                }
+                System.out.println("version " + database.getModificationVersion() + " " + digest(database));
+            }
+            leader.stop();
+        } else {
+            ReplicationFollower<Integer> follower = new ReplicationFollower<>(database, Integer::valueOf);
+            follower.start(new InetSocketAddress(args[1], Integer.parseInt(args[2])));
+            System.out.println("ready");
+            for(String line; (line = commands.readLine()) != null && !line.equals("quit"); ) {
+                String[] command = line.trim().split("\\s+");
+                if(command[0].equals("await") && !follower.awaitVersion(Long.parseLong(command[1]), AWAIT_TIMEOUT)) {
+                    System.out.println("timeout " + follower.getAppliedVersion());
+                    continue;
+                }
+                System.out.println("version " + follower.getAppliedVersion() + " " + digest(database));
+            }
+            follower.stop();
+        }
+    }
+
+    private static List<Operation> writes(EmployeeGenerator generator, int population, long seed, int count) {
+        WorkloadTrace.Builder trace = WorkloadTrace.builder(generator, population).seed(seed);
+        for(OperationType type : OperationType.values()) {
+            if(!type.isWrite()) {
+                trace.weight(type, 0);
+            }
+        }
+        return trace.build().generate(count);
+    }
+
+    /**
+     * Summarizes every value of every employee, independent of their order
+     *
+     * @return The employee count and a hash of their values
+     */
+    public static <T> String digest(EmployeeDatabase<T> database) {
+        List<Employee<T>> employees = new ArrayList<>();
+        database.copyEmployees(employees);
+        long sum = 0;
+        for(Employee<T> employee : employees) {
+            int hash = Objects.hash(employee.getEmployeeId(), employee.getName(), employee.getDepartment(),
+                    employee.getSalary(), employee.getPerformanceRating(), employee.getYearsOfExperience(), employee.isActive());
+            sum += hash * 0x9E3779B97F4A7C15L;
+        }
+        return employees.size() + ":" + Long.toHexString(sum);
+    }
+}
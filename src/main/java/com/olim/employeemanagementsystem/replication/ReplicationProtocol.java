@@ -0,0 +1,110 @@
+package com.olim.employeemanagementsystem.replication;
+
+import com.olim.employeemanagementsystem.db.ChangeType;
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Wire format shared by {@link ReplicationLeader} and {@link ReplicationFollower}.
+ * <pre>
+ * follower: MAGIC, PROTOCOL_VERSION, known leader ID (0 if none), last applied version (-1 if none)
+ * leader:   MAGIC, leader ID, then frames
+ *   SNAPSHOT  version, count, count x employee
+ *   CHANGE    version, change type, has field, [field], present count, present x employee, removed count, removed x ID
+ *   HEARTBEAT latest shipped version
+ * employee: ID, name, department, salary, rating, years of experience, active
+ * </pre>
+ * IDs travel as strings and are parsed back by the follower, like the IDs in HTTP API paths.
+ */
+final class ReplicationProtocol {
+    static final int MAGIC = 0x454D5352;
+    static final int PROTOCOL_VERSION = 1;
+
+    static final byte SNAPSHOT = 1;
+    static final byte CHANGE = 2;
+    static final byte HEARTBEAT = 3;
+
+    private static final ChangeType[] CHANGE_TYPES = ChangeType.values();
+
+    private ReplicationProtocol() {
+    }
+
+    /**
+     * Encodes one change frame; done once per mutation on the leader and shared by every follower
+     */
+    static <T> byte[] encodeChange(long version, ChangeType type, String field, List<Employee<T>> present, List<T> removedIds) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + present.size() * 64 + removedIds.size() * 8);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(CHANGE);
+            out.writeLong(version);
+            out.writeByte(type.ordinal());
+            out.writeBoolean(field != null);
+            if(field != null) {
+                out.writeUTF(field);
+            }
+            out.writeInt(present.size());
+            for(Employee<T> employee : present) {
+                writeEmployee(out, employee);
+            }
+            out.writeInt(removedIds.size());
+            for(T employeeId : removedIds) {
+                out.writeUTF(String.valueOf(employeeId));
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // A byte array stream cannot fail
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void writeEmployee(DataOutput out, Employee<?> employee) throws IOException {
+        out.writeUTF(String.valueOf(employee.getEmployeeId()));
+        out.writeUTF(employee.getName());
+        out.writeUTF(employee.getDepartment());
+        out.writeDouble(employee.getSalary());
+        out.writeDouble(employee.getPerformanceRating());
+        out.writeInt(employee.getYearsOfExperience());
+        out.writeBoolean(employee.isActive());
+    }
+
+    static <T> Employee<T> readEmployee(DataInput in, Function<String, T> idParser) throws IOException {
+        T employeeId = idParser.apply(in.readUTF());
+        String name = in.readUTF();
+        String department = in.readUTF();
+        double salary = in.readDouble();
+        double rating = in.readDouble();
+        int years = in.readInt();
+        boolean active = in.readBoolean();
+        return new Employee<>(employeeId, name, department, salary, rating, years, active);
+    }
+
+    static ChangeType readChangeType(DataInput in) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if(ordinal >= CHANGE_TYPES.length) {
+            throw new IOException("Unknown change type " + ordinal);
+        }
+        return CHANGE_TYPES[ordinal];
+    }
+
+    static <T> List<Employee<T>> readEmployees(DataInput in, int count, Function<String, T> idParser) throws IOException {
+        List<Employee<T>> employees = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            employees.add(readEmployee(in, idParser));
+        }
+        return employees;
+    }
+
+    static int readCount(DataInput in) throws IOException {
+        int count = in.readInt();
+        if(count < 0) {
+            throw new IOException("Negative count " + count);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,247 @@
+package com.olim.employeemanagementsystem.service;
+
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.query.Page;
+import com.olim.employeemanagementsystem.query.PageCursor;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous versions of the search, sort and salary services. Every call runs the synchronous
+ * service method on an executor (a virtual thread per call by default) and returns a
+ * {@link CompletableFuture}, so callers can fan out several queries and compose the results
+ * without blocking a thread of their own.
+ * Cancelling a returned future interrupts the thread running it, and so does the optional
+ * timeout, which completes the future with a {@link TimeoutException}.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class AsyncEmployeeServices<T> implements AsyncSearchService<T>, AsyncSortService<T>, AsyncSalaryManagementService<T> {
+    private static final Logger logger = Logger.getLogger(AsyncEmployeeServices.class.getName());
+
+    private final SearchService<T> search;
+    private final SortService<T> sort;
+    private final SalaryManagementService<T> salaries;
+    private final Executor executor;
+    private final Duration timeout;
+    private final boolean ownsExecutor;
+
+    /**
+     * Runs calls on a new virtual thread each, without a timeout
+     *
+     * @param services Usually the EmployeeDatabase
+     */
+    public <S extends SearchService<T> & SortService<T> & SalaryManagementService<T>> AsyncEmployeeServices(S services) {
+        this(services, services, services,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ems-async-", 0).factory()), null, true);
+    }
+
+    /**
+     * @param services Usually the EmployeeDatabase
+     * @param executor Runs the calls; not shut down by {@link #shutdown()}
+     * @param timeout How long a call may run before it fails with a TimeoutException, or null for no limit
+     */
+    public <S extends SearchService<T> & SortService<T> & SalaryManagementService<T>> AsyncEmployeeServices(
+            S services, Executor executor, Duration timeout) {
+        this(services, services, services, executor, timeout, false);
+    }
+
+    public AsyncEmployeeServices(SearchService<T> search, SortService<T> sort, SalaryManagementService<T> salaries,
+                                 Executor executor, Duration timeout) {
+        this(search, sort, salaries, executor, timeout, false);
+    }
+
+    private AsyncEmployeeServices(SearchService<T> search, SortService<T> sort, SalaryManagementService<T> salaries,
+                                  Executor executor, Duration timeout, boolean ownsExecutor) {
+        if(timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        this.search = search;
+        this.sort = sort;
+        this.salaries = salaries;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Runs any work on the same executor, with the same timeout and cancellation as the service calls
+     *
+     * @param work The work; a checked exception it throws completes the future exceptionally
+     * @return The future of the work
+     */
+    public <R> CompletableFuture<R> submit(Callable<R> work) {
+        Call<R> call = new Call<>();
+        try {
+            executor.execute(() -> call.run(work));
+        } catch (RejectedExecutionException e) {
+            call.completeExceptionally(e);
+            return call;
+        }
+        if(timeout != null) {
+            call.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return call;
+    }
+
+    @Override
+    public CompletableFuture<List<Employee<T>>> findByDepartmentAsync(String department) {
+        return submit(() -> search.findByDepartment(department));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee<T>>> findByNameAsync(String name) {
+        return submit(() -> search.findByName(name));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee<T>>> findByRatingAsync(double rating) {
+        return submit(() -> search.findByRating(rating));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee<T>>> findBySalaryBetweenAsync(double min, double max) {
+        return submit(() -> search.findBySalaryBetween(min, max));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee<T>>> findByQueryAsync(EmployeeQuery<T> query) {
+        return submit(() -> search.findByQuery(query));
+    }
+
+    @Override
+    public CompletableFuture<Page<T>> findPageAsync(EmployeeQuery<T> query, PageCursor after, int pageSize) {
+        return submit(() -> search.findPage(query, after, pageSize));
+    }
+
+    @Override
+    public CompletableFuture<Page<T>> findPageAtAsync(EmployeeQuery<T> query, int offset, int pageSize) {
+        return submit(() -> search.findPageAt(query, offset, pageSize));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<Employee<T>>>> groupByDepartmentAsync() {
+        return submit(search::groupByDepartment);
+    }
+
+    @Override
+    public CompletableFuture<List<Employee<T>>> findSortedBySalaryAsync() {
+        return submit(sort::findSortedBySalary);
+    }
+
+    @Override
+    public CompletableFuture<List<Employee<T>>> findSortedByPerformanceRatingAsync() {
+        return submit(sort::findSortedByPerformanceRating);
+    }
+
+    @Override
+    public CompletableFuture<List<Employee<T>>> findSortedByExperienceAsync() {
+        return submit(sort::findSortedByExperience);
+    }
+
+    @Override
+    public CompletableFuture<List<Employee<T>>> findSortedAsync(SortOrder order) {
+        return submit(() -> sort.findSorted(order));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee<T>>> giveSalaryRaiseByPerformanceRatingAsync(double performanceRating, double percentageRaise) {
+        return submit(() -> salaries.giveSalaryRaiseByPerformanceRating(performanceRating, percentageRaise));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee<T>>> findTopHighestPaidAsync() {
+        return submit(salaries::findTopHighestPaid);
+    }
+
+    @Override
+    public CompletableFuture<List<Employee<T>>> findTopHighestPaidAsync(int numberOfEmployees) {
+        return submit(() -> salaries.findTopHighestPaid(numberOfEmployees));
+    }
+
+    @Override
+    public CompletableFuture<Double> calculateAverageSalaryByDepartmentAsync(String department) {
+        return submit(() -> salaries.calculateAverageSalaryByDepartment(department));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Double>> calculateAverageSalaryPerDepartmentAsync() {
+        return submit(salaries::calculateAverageSalaryPerDepartment);
+    }
+
+    /**
+     * Stops the default executor, interrupting running calls; an executor passed in is left alone
+     */
+    public void shutdown() {
+        if(ownsExecutor && executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    /**
+     * A future that knows the thread computing it, so that cancelling it or timing it out
+     * can interrupt that thread
+     */
+    private static final class Call<R> extends CompletableFuture<R> {
+        private Thread worker;
+
+        void run(Callable<R> work) {
+            synchronized (this) {
+                // Cancelled or timed out before it started
+                if(isDone()) {
+                    return;
+                }
+                worker = Thread.currentThread();
+            }
+            try {
+                complete(work.call());
+            } catch (InterruptedException e) {
+                completeExceptionally(e);
+            } catch (RuntimeException e) {
+                if(completeExceptionally(e)) {
+                    logger.log(Level.WARNING, "Asynchronous service call failed", e);
+                }
+            } catch (Exception e) {
+                // Checked exceptions such as invalid departments are for the caller to handle
+                completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    worker = null;
+                    // Do not leak an interrupt meant for this call into the next task on a pooled thread
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if(cancelled) {
+                interruptWorker();
+            }
+            return cancelled;
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable ex) {
+            boolean completed = super.completeExceptionally(ex);
+            if(completed && ex instanceof TimeoutException) {
+                interruptWorker();
+            }
+            return completed;
+        }
+
+        private synchronized void interruptWorker() {
+            if(worker != null && worker != Thread.currentThread()) {
+                worker.interrupt();
+            }
+        }
+    }
+}
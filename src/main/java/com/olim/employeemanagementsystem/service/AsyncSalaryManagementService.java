@@ -0,0 +1,16 @@
+package com.olim.employeemanagementsystem.service;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Asynchronous counterpart of SalaryManagementService; checked exceptions complete the future exceptionally
+public interface AsyncSalaryManagementService<T> {
+    CompletableFuture<List<Employee<T>>> giveSalaryRaiseByPerformanceRatingAsync(double performanceRating, double percentageRaise);
+    CompletableFuture<List<Employee<T>>> findTopHighestPaidAsync();
+    CompletableFuture<List<Employee<T>>> findTopHighestPaidAsync(int numberOfEmployees);
+    CompletableFuture<Double> calculateAverageSalaryByDepartmentAsync(String department);
+    CompletableFuture<Map<String, Double>> calculateAverageSalaryPerDepartmentAsync();
+}
@@ -0,0 +1,22 @@
+package com.olim.employeemanagementsystem.service;
+
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.query.Page;
+import com.olim.employeemanagementsystem.query.PageCursor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Asynchronous counterpart of SearchService; checked exceptions complete the future exceptionally
+public interface AsyncSearchService<T> {
+    CompletableFuture<List<Employee<T>>> findByDepartmentAsync(String department);
+    CompletableFuture<List<Employee<T>>> findByNameAsync(String name);
+    CompletableFuture<List<Employee<T>>> findByRatingAsync(double rating);
+    CompletableFuture<List<Employee<T>>> findBySalaryBetweenAsync(double min, double max);
+    CompletableFuture<List<Employee<T>>> findByQueryAsync(EmployeeQuery<T> query);
+    CompletableFuture<Page<T>> findPageAsync(EmployeeQuery<T> query, PageCursor after, int pageSize);
+    CompletableFuture<Page<T>> findPageAtAsync(EmployeeQuery<T> query, int offset, int pageSize);
+    CompletableFuture<Map<String,List<Employee<T>>>> groupByDepartmentAsync();
+}
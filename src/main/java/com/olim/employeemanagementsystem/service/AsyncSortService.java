@@ -0,0 +1,15 @@
+package com.olim.employeemanagementsystem.service;
+
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Asynchronous counterpart of SortService
+public interface AsyncSortService<T> {
+    CompletableFuture<List<Employee<T>>> findSortedBySalaryAsync();
+    CompletableFuture<List<Employee<T>>> findSortedByPerformanceRatingAsync();
+    CompletableFuture<List<Employee<T>>> findSortedByExperienceAsync();
+    CompletableFuture<List<Employee<T>>> findSortedAsync(SortOrder order);
+}
@@ -3,6 +3,9 @@ package com.olim.employeemanagementsystem.service;
 import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
 import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
 import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.query.Page;
+import com.olim.employeemanagementsystem.query.PageCursor;
 
 import java.util.HashMap;
 import java.util.List;
@@ -13,6 +16,10 @@ public interface  SearchService<T> {
     List<Employee<T>> findByName(String name);
     List<Employee<T>> findByRating(double rating);
     List<Employee<T>> findBySalaryBetween(double min, double max) throws InvalidSalaryException;
+    List<Employee<T>> findByQuery(EmployeeQuery<T> query);
+    // Keyset pagination: the page of rows sorting after the cursor, or the first page if it is null
+    Page<T> findPage(EmployeeQuery<T> query, PageCursor after, int pageSize);
+    Page<T> findPageAt(EmployeeQuery<T> query, int offset, int pageSize);
     void displayAll();
     Map<String,List<Employee<T>>> groupByDepartment();
 }
@@ -1,6 +1,7 @@
 package com.olim.employeemanagementsystem.service;
 
 import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.sort.SortOrder;
 
 import java.util.List;
 
@@ -8,4 +9,5 @@ public interface SortService<T> {
     List<Employee<T>> findSortedBySalary();
     List<Employee<T>> findSortedByPerformanceRating();
     List<Employee<T>> findSortedByExperience();
+    List<Employee<T>> findSorted(SortOrder order);
 }
@@ -0,0 +1,192 @@
+package com.olim.employeemanagementsystem.sort;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Sorts employees without a comparator by first encoding every sort column into
+ * order-preserving unsigned 64-bit keys and then LSD radix sorting an index permutation.
+ * <p>
+ * Numbers are mapped so that their unsigned bit patterns sort like the values
+ * ({@link Double#compare} order for doubles); strings and non-numeric IDs are replaced by their
+ * rank in a sorted dictionary of the distinct values, so only the few distinct values are ever
+ * compared. Descending columns use the bitwise complement of the key. Columns are radix sorted
+ * from the last key to the first, one byte per pass, skipping bytes that are identical in every
+ * row, and because each pass is stable the result is the same as a stable comparator sort.
+ */
+public final class NormalizedKeySorter {
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private NormalizedKeySorter() {
+    }
+
+    /**
+     * Sorts employees by the given order
+     *
+     * @param employees The employees to sort
+     * @param order The sort order
+     * @return A new list with the employees in sorted order
+     */
+    public static <T> List<Employee<T>> sort(Collection<Employee<T>> employees, SortOrder order) {
+        List<Employee<T>> rows = employees instanceof RandomAccess && employees instanceof List<Employee<T>> list
+                ? list : new ArrayList<>(employees);
+        int[] permutation = sortPermutation(rows, order);
+        List<Employee<T>> result = new ArrayList<>(permutation.length);
+        for(int position : permutation) {
+            result.add(rows.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Computes the sorted order of the rows as positions into the list, leaving the list untouched
+     *
+     * @param rows The employees to sort
+     * @param order The sort order
+     * @return The position of the first row in sorted order, then the second and so on
+     */
+    public static <T> int[] sortPermutation(List<Employee<T>> rows, SortOrder order) {
+        int size = rows.size();
+        int[] permutation = new int[size];
+        for(int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+        if(size < 2) {
+            return permutation;
+        }
+
+        int[] buffer = new int[size];
+        List<SortKey> keys = order.keys();
+        for(int k = keys.size() - 1; k >= 0; k--) {
+            long[] columnKeys = encode(rows, keys.get(k));
+            if(radixSort(columnKeys, permutation, buffer)) {
+                int[] swap = permutation;
+                permutation = buffer;
+                buffer = swap;
+            }
+        }
+        return permutation;
+    }
+
+    /**
+     * Encodes one column of every row into an unsigned key whose order matches the sort key
+     */
+    static <T> long[] encode(List<Employee<T>> rows, SortKey key) {
+        int size = rows.size();
+        long[] keys = new long[size];
+        switch(key.column()) {
+            case SALARY -> {
+                for(int i = 0; i < size; i++) {
+                    keys[i] = encodeDouble(rows.get(i).getSalary());
+                }
+            }
+            case PERFORMANCE_RATING -> {
+                for(int i = 0; i < size; i++) {
+                    keys[i] = encodeDouble(rows.get(i).getPerformanceRating());
+                }
+            }
+            case YEARS_OF_EXPERIENCE -> {
+                for(int i = 0; i < size; i++) {
+                    keys[i] = encodeLong(rows.get(i).getYearsOfExperience());
+                }
+            }
+            case NAME -> encodeRanks(rows, Employee::getName, keys);
+            case DEPARTMENT -> encodeRanks(rows, Employee::getDepartment, keys);
+            case ID -> encodeIds(rows, keys);
+        }
+        if(key.descending()) {
+            for(int i = 0; i < size; i++) {
+                keys[i] = ~keys[i];
+            }
+        }
+        return keys;
+    }
+
+    static long encodeDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        // Flip all bits of negatives and only the sign bit of positives
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    static long encodeLong(long value) {
+        return value ^ Long.MIN_VALUE;
+    }
+
+    private static <T> void encodeIds(List<Employee<T>> rows, long[] keys) {
+        Object sample = rows.get(0).getEmployeeId();
+        if(sample instanceof Integer || sample instanceof Long || sample instanceof Short || sample instanceof Byte) {
+            for(int i = 0; i < keys.length; i++) {
+                keys[i] = encodeLong(((Number) rows.get(i).getEmployeeId()).longValue());
+            }
+        } else {
+            encodeRanks(rows, Employee::getEmployeeId, keys);
+        }
+    }
+
+    // Replaces each value by its rank among the distinct values; only distinct values are compared
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T, V> void encodeRanks(List<Employee<T>> rows, Function<Employee<T>, V> field,
+                                           long[] keys) {
+        HashMap<V, Integer> ranks = new HashMap<>();
+        for(Employee<T> row : rows) {
+            ranks.putIfAbsent(field.apply(row), 0);
+        }
+        Object[] distinct = ranks.keySet().toArray();
+        Arrays.sort(distinct, (a, b) -> ((Comparable) a).compareTo(b));
+        for(int rank = 0; rank < distinct.length; rank++) {
+            ranks.put((V) distinct[rank], rank);
+        }
+        for(int i = 0; i < keys.length; i++) {
+            keys[i] = ranks.get(field.apply(rows.get(i)));
+        }
+    }
+
+    /**
+     * Stable LSD radix sort of the permutation by the keys of the rows it points to
+     *
+     * @return true if the sorted permutation ended up in the buffer rather than the input array
+     */
+    private static boolean radixSort(long[] keys, int[] permutation, int[] buffer) {
+        // Bytes above the highest bit that differs between any two keys never change the order
+        long differing = 0;
+        long first = keys[0];
+        for(long key : keys) {
+            differing |= key ^ first;
+        }
+        if(differing == 0) {
+            return false;
+        }
+
+        int[] source = permutation;
+        int[] target = buffer;
+        int[] counts = new int[RADIX];
+        int highestBit = 63 - Long.numberOfLeadingZeros(differing);
+        for(int shift = 0; shift <= highestBit; shift += RADIX_BITS) {
+            if(((differing >>> shift) & (RADIX - 1)) == 0) {
+                continue;
+            }
+
+            Arrays.fill(counts, 0);
+            for(int position : source) {
+                counts[(int) (keys[position] >>> shift) & (RADIX - 1)]++;
+            }
+            int offset = 0;
+            for(int digit = 0; digit < RADIX; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for(int position : source) {
+                target[counts[(int) (keys[position] >>> shift) & (RADIX - 1)]++] = position;
+            }
+
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        return source != permutation;
+    }
+}
@@ -0,0 +1,32 @@
+package com.olim.employeemanagementsystem.sort;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+/**
+ * The employee fields a {@link SortOrder} can order by
+ */
+public enum SortColumn {
+    ID,
+    NAME,
+    DEPARTMENT,
+    SALARY,
+    PERFORMANCE_RATING,
+    YEARS_OF_EXPERIENCE;
+
+    /**
+     * Reads this column from an employee
+     *
+     * @param employee The employee to read
+     * @return The column value, compared the same way the column is sorted
+     */
+    public Comparable<?> valueOf(Employee<?> employee) {
+        return switch(this) {
+            case ID -> (Comparable<?>) employee.getEmployeeId();
+            case NAME -> employee.getName();
+            case DEPARTMENT -> employee.getDepartment();
+            case SALARY -> employee.getSalary();
+            case PERFORMANCE_RATING -> employee.getPerformanceRating();
+            case YEARS_OF_EXPERIENCE -> employee.getYearsOfExperience();
+        };
+    }
+}
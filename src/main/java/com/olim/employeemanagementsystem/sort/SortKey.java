@@ -0,0 +1,28 @@
+package com.olim.employeemanagementsystem.sort;
+
+/**
+ * One column of a sort order together with its direction
+ *
+ * @param column The column to order by
+ * @param descending true to put the highest values first
+ */
+public record SortKey(SortColumn column, boolean descending) {
+    public SortKey {
+        if(column == null) {
+            throw new IllegalArgumentException("Sort column cannot be null");
+        }
+    }
+
+    public static SortKey ascending(SortColumn column) {
+        return new SortKey(column, false);
+    }
+
+    public static SortKey descending(SortColumn column) {
+        return new SortKey(column, true);
+    }
+
+    @Override
+    public String toString() {
+        return column + (descending ? " DESC" : " ASC");
+    }
+}
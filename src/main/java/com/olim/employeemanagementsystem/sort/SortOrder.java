@@ -0,0 +1,81 @@
+package com.olim.employeemanagementsystem.sort;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An ordered list of sort keys, e.g. department ascending then salary descending.
+ * Later keys only break ties left by earlier ones.
+ */
+public final class SortOrder {
+    private final List<SortKey> keys;
+
+    private SortOrder(List<SortKey> keys) {
+        this.keys = Collections.unmodifiableList(keys);
+    }
+
+    public static SortOrder by(SortKey... keys) {
+        if(keys == null || keys.length == 0) {
+            throw new IllegalArgumentException("A sort order needs at least one key");
+        }
+        return new SortOrder(List.of(keys));
+    }
+
+    public SortOrder then(SortKey key) {
+        List<SortKey> combined = new ArrayList<>(keys);
+        combined.add(key);
+        return new SortOrder(combined);
+    }
+
+    public List<SortKey> keys() {
+        return keys;
+    }
+
+    /**
+     * Builds the equivalent comparator, for callers that sort or merge a few rows at a time
+     *
+     * @return A comparator ordering employees the same way the normalized-key sort does
+     */
+    public <T> Comparator<Employee<T>> comparator() {
+        Comparator<Employee<T>> result = null;
+        for(SortKey key : keys) {
+            Comparator<Employee<T>> next = columnComparator(key.column());
+            if(key.descending()) {
+                next = next.reversed();
+            }
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Comparator<Employee<T>> columnComparator(SortColumn column) {
+        return switch(column) {
+            case ID -> (e1, e2) -> ((Comparable<Object>) e1.getEmployeeId()).compareTo(e2.getEmployeeId());
+            case NAME -> Comparator.comparing(Employee::getName);
+            case DEPARTMENT -> Comparator.comparing(Employee::getDepartment);
+            case SALARY -> Comparator.comparingDouble(Employee::getSalary);
+            case PERFORMANCE_RATING -> Comparator.comparingDouble(Employee::getPerformanceRating);
+            case YEARS_OF_EXPERIENCE -> Comparator.comparingInt(Employee::getYearsOfExperience);
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SortOrder other && keys.equals(other.keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return keys.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return keys.toString();
+    }
+}
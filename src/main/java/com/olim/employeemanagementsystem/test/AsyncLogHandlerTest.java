@@ -0,0 +1,245 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.util.AsyncLogHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the asynchronous log handler
+ */
+public class AsyncLogHandlerTest {
+    private Path directory;
+    private Path file;
+    private Logger logger;
+    private AsyncLogHandler handler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("ems-log");
+        file = directory.resolve("test.log");
+        logger = Logger.getLogger(AsyncLogHandlerTest.class.getName() + "." + System.nanoTime());
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.ALL);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (handler != null) {
+            logger.removeHandler(handler);
+            handler.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private void attach(AsyncLogHandler.Builder builder) throws IOException {
+        handler = builder.build();
+        logger.addHandler(handler);
+    }
+
+    @Test
+    void testWritesEveryRecordInOrderPerThread() throws Exception {
+        attach(AsyncLogHandler.builder().file(file, 0, 1).capacity(16));
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    logger.info("thread " + thread + " record " + i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        handler.close();
+
+        List<String> messages = messages(file);
+        assertEquals(4000, messages.size());
+        for (int t = 0; t < 4; t++) {
+            String prefix = "INFO: thread " + t + " record ";
+            List<String> ofThread = messages.stream().filter(m -> m.startsWith(prefix)).toList();
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(prefix + i, ofThread.get(i));
+            }
+        }
+        assertEquals(0, handler.getDroppedCount());
+    }
+
+    @Test
+    void testSourceIsTheLoggingMethod() throws Exception {
+        attach(AsyncLogHandler.builder().file(file, 0, 1));
+        logger.info("from the test");
+        handler.flush();
+
+        String text = Files.readString(file);
+        assertTrue(text.contains(AsyncLogHandlerTest.class.getName() + " testSourceIsTheLoggingMethod"), text);
+    }
+
+    @Test
+    void testSourceIsTheLoggerWithoutCallerInference() throws Exception {
+        attach(AsyncLogHandler.builder().file(file, 0, 1).inferCaller(false));
+        logger.info("from the test");
+        handler.flush();
+
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.get(0).endsWith(" " + logger.getName()), lines.get(0));
+    }
+
+    @Test
+    void testDropPolicyDropsWhileBufferIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        attach(AsyncLogHandler.builder().file(file, 0, 1).capacity(4).overflow(AsyncLogHandler.OverflowPolicy.DROP));
+        handler.setFormatter(new BlockingFormatter(release));
+
+        // The writer stalls on the first record, so three more fit in the buffer
+        for (int i = 0; i < 100; i++) {
+            logger.info("record " + i);
+        }
+        assertEquals(96, handler.getDroppedCount());
+
+        release.countDown();
+        handler.close();
+        List<String> messages = messages(file);
+        assertEquals(List.of("INFO: record 0", "INFO: record 1", "INFO: record 2", "INFO: record 3"),
+                messages.stream().filter(m -> m.startsWith("INFO")).toList());
+        assertTrue(messages.contains("WARNING: 96 log records were dropped because the log buffer was full"));
+    }
+
+    @Test
+    void testWarningsWaitInsteadOfBeingDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        attach(AsyncLogHandler.builder().file(file, 0, 1).capacity(4).overflow(AsyncLogHandler.OverflowPolicy.DROP));
+        handler.setFormatter(new BlockingFormatter(release));
+        for (int i = 0; i < 4; i++) {
+            logger.info("record " + i);
+        }
+
+        Thread warner = Thread.ofPlatform().start(() -> logger.warning("must not be lost"));
+        warner.join(200);
+        assertTrue(warner.isAlive(), "The warning should wait for room in the buffer");
+
+        release.countDown();
+        warner.join();
+        handler.close();
+        assertTrue(messages(file).contains("WARNING: must not be lost"));
+        assertEquals(0, handler.getDroppedCount());
+    }
+
+    @Test
+    void testSampleKeepsSomeRecordsWhileBufferIsFull() throws Exception {
+        attach(AsyncLogHandler.builder().file(file, 0, 1).capacity(4).sample(10));
+        handler.setFormatter(new SlowFormatter());
+        for (int i = 0; i < 200; i++) {
+            logger.info("record " + i);
+        }
+        handler.close();
+
+        long dropped = handler.getDroppedCount();
+        List<String> records = messages(file).stream().filter(m -> m.startsWith("INFO: record ")).toList();
+        assertTrue(dropped > 0, "Nothing was dropped");
+        assertEquals(200 - dropped, records.size());
+        assertTrue(records.size() >= 200 / 10, "Kept only " + records.size());
+    }
+
+    @Test
+    void testRotatesBySize() throws Exception {
+        attach(AsyncLogHandler.builder().file(file, 2000, 3));
+        for (int i = 0; i < 500; i++) {
+            logger.info("a record long enough to fill the file quickly " + i);
+        }
+        handler.close();
+
+        assertTrue(Files.exists(file));
+        assertTrue(Files.exists(directory.resolve("test.log.1")));
+        assertTrue(Files.exists(directory.resolve("test.log.2")));
+        assertFalse(Files.exists(directory.resolve("test.log.3")));
+        for (String name : List.of("test.log", "test.log.1", "test.log.2")) {
+            assertTrue(Files.size(directory.resolve(name)) <= 2000, name + " is too large");
+        }
+        List<String> latest = messages(file);
+        assertEquals("INFO: a record long enough to fill the file quickly 499", latest.get(latest.size() - 1));
+    }
+
+    @Test
+    void testFlushWaitsForQueuedRecords() throws Exception {
+        attach(AsyncLogHandler.builder().file(file, 0, 1).capacity(64));
+        for (int i = 0; i < 1000; i++) {
+            logger.fine("record " + i);
+        }
+        handler.flush();
+
+        assertEquals(1000, messages(file).size());
+        assertEquals(0, handler.getQueuedCount());
+    }
+
+    @Test
+    void testClosedHandlerIgnoresRecords() throws Exception {
+        attach(AsyncLogHandler.builder().file(file, 0, 1));
+        logger.info("before");
+        handler.close();
+        logger.info("after");
+
+        assertEquals(List.of("INFO: before"), messages(file));
+    }
+
+    // SimpleFormatter writes the source and time on one line and the level and message on the next
+    private static List<String> messages(Path file) throws IOException {
+        return Files.readAllLines(file).stream().filter(line -> line.matches("[A-Z]+: .*")).toList();
+    }
+
+    /**
+     * Holds the writer thread on its first record until released
+     */
+    private static class BlockingFormatter extends Formatter {
+        private final CountDownLatch release;
+        private final Formatter delegate = new java.util.logging.SimpleFormatter();
+
+        BlockingFormatter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String format(LogRecord record) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return delegate.format(record);
+        }
+    }
+
+    private static class SlowFormatter extends Formatter {
+        private final Formatter delegate = new java.util.logging.SimpleFormatter();
+
+        @Override
+        public String format(LogRecord record) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return delegate.format(record);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.service.AsyncEmployeeServices;
+import com.olim.employeemanagementsystem.sort.SortColumn;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the asynchronous service variants
+ */
+public class AsyncServicesTest {
+    private EmployeeDatabase<Integer> database;
+    private AsyncEmployeeServices<Integer> services;
+
+    @BeforeEach
+    void setUp() throws InvalidSalaryException, InvalidDepartmentException {
+        database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployee(new Employee<>(1001, "John Smith", "IT", 75000.0, 4.2, 5, true));
+        database.addEmployee(new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true));
+        database.addEmployee(new Employee<>(1003, "Michael Chen", "Finance", 85000.0, 3.8, 7, true));
+        database.addEmployee(new Employee<>(1004, "Emily Davis", "IT", 92000.0, 4.8, 6, true));
+        services = new AsyncEmployeeServices<>(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.shutdown();
+    }
+
+    @Test
+    void testFanOutMatchesSynchronousResults() throws Exception {
+        CompletableFuture<List<Employee<Integer>>> it = services.findByDepartmentAsync("IT");
+        CompletableFuture<List<Employee<Integer>>> sorted = services.findSortedAsync(SortOrder.by(SortKey.descending(SortColumn.SALARY)));
+        CompletableFuture<Map<String, Double>> averages = services.calculateAverageSalaryPerDepartmentAsync();
+        CompletableFuture<Double> itAverage = services.calculateAverageSalaryByDepartmentAsync("IT");
+
+        CompletableFuture.allOf(it, sorted, averages, itAverage).get(10, TimeUnit.SECONDS);
+
+        assertEquals(database.findByDepartment("IT"), it.join());
+        assertEquals(database.findSorted(SortOrder.by(SortKey.descending(SortColumn.SALARY))), sorted.join());
+        assertEquals(database.calculateAverageSalaryPerDepartment(), averages.join());
+        assertEquals(83500.0, itAverage.join());
+    }
+
+    @Test
+    void testCheckedExceptionCompletesFuture() {
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> services.findByDepartmentAsync("Nowhere").get(10, TimeUnit.SECONDS));
+        assertInstanceOf(InvalidDepartmentException.class, error.getCause());
+    }
+
+    @Test
+    void testRunsOnVirtualThreadsByDefault() throws Exception {
+        assertTrue(services.submit(() -> Thread.currentThread().isVirtual()).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCancelInterruptsRunningCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        CompletableFuture<Void> call = services.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(30_000);
+                interrupted.complete(false);
+            } catch (InterruptedException e) {
+                interrupted.complete(true);
+            }
+            return null;
+        });
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertTrue(call.cancel(true));
+        assertTrue(interrupted.get(10, TimeUnit.SECONDS));
+        assertTrue(call.isCancelled());
+    }
+
+    @Test
+    void testTimeoutFailsAndInterruptsCall() throws Exception {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        AsyncEmployeeServices<Integer> limited = new AsyncEmployeeServices<>(database, executor, Duration.ofMillis(100));
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        try {
+            CompletableFuture<Void> call = limited.submit(() -> {
+                try {
+                    Thread.sleep(30_000);
+                } catch (InterruptedException e) {
+                    interrupted.complete(true);
+                }
+                return null;
+            });
+
+            ExecutionException error = assertThrows(ExecutionException.class, () -> call.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, error.getCause());
+            assertTrue(interrupted.get(10, TimeUnit.SECONDS));
+            // Fast calls are unaffected by the limit
+            assertEquals(2, limited.findByDepartmentAsync("IT").get(10, TimeUnit.SECONDS).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.view.BackgroundTasks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for background task execution with stale-task cancellation
+ */
+public class BackgroundTasksTest {
+    private BackgroundTasks tasks;
+    private List<String> results;
+
+    @BeforeEach
+    void setUp() {
+        // Results are delivered on the worker thread instead of the JavaFX application thread
+        tasks = new BackgroundTasks(Executors.newVirtualThreadPerTaskExecutor(), Runnable::run);
+        results = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tasks.shutdown();
+    }
+
+    @Test
+    void testResultIsDelivered() throws Exception {
+        CompletableFuture<String> delivered = new CompletableFuture<>();
+        Future<String> task = tasks.submit("query", () -> "done", delivered::complete, error -> fail(error.getMessage()));
+
+        assertEquals("done", task.get(5, TimeUnit.SECONDS));
+        assertEquals("done", delivered.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testNewerTaskCancelsOlderOne() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Future<String> older = tasks.submit("query", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "older";
+        }, results::add, error -> fail(error.getMessage()));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> delivered = new CompletableFuture<>();
+        tasks.submit("query", () -> "newer", delivered::complete, error -> fail(error.getMessage()));
+
+        assertEquals("newer", delivered.get(5, TimeUnit.SECONDS));
+        assertTrue(older.isCancelled());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void testTasksWithDifferentKeysRunIndependently() throws Exception {
+        CountDownLatch delivered = new CountDownLatch(2);
+        tasks.submit("report", () -> "report", result -> delivered.countDown(), error -> fail(error.getMessage()));
+        tasks.submit("query", () -> "query", result -> delivered.countDown(), error -> fail(error.getMessage()));
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailureIsReported() throws Exception {
+        CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        tasks.<String>submit("query", () -> {
+            throw new IllegalStateException("broken");
+        }, results::add, failure::complete);
+
+        assertEquals("broken", failure.get(5, TimeUnit.SECONDS).getMessage());
+        assertTrue(results.isEmpty());
+    }
+}
@@ -0,0 +1,135 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.ChangeType;
+import com.olim.employeemanagementsystem.db.EmployeeChangeEvent;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.db.SalaryRaiseBatch;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the transactional bulk salary raise and its undo
+ */
+public class BulkSalaryRaiseTest {
+
+    private EmployeeDatabase<Integer> database;
+    private List<EmployeeChangeEvent<Integer>> events;
+
+    @BeforeEach
+    void setUp() throws InvalidSalaryException, InvalidDepartmentException {
+        database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployee(new Employee<>(1001, "John Smith", "IT", 75000.0, 4.2, 5, true));
+        database.addEmployee(new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true));
+        database.addEmployee(new Employee<>(1003, "Michael Chen", "Finance", 85000.0, 3.8, 7, true));
+
+        events = new ArrayList<>();
+        database.addChangeListener(events::add);
+    }
+
+    @Test
+    void testRaiseIsOneVersionOneEntryOneEvent() throws Exception {
+        long versionBefore = database.getModificationVersion();
+        int journalBefore = database.getJournal().size();
+
+        SalaryRaiseBatch<Integer> batch = database.applySalaryRaise(4.0, 0.10);
+
+        assertEquals(2, batch.size());
+        assertEquals(versionBefore + 1, database.getModificationVersion());
+        assertEquals(journalBefore + 1, database.getJournal().size());
+        assertEquals(1, events.size());
+        assertEquals(ChangeType.BULK_UPDATED, events.get(0).type());
+        assertEquals(2, events.get(0).employeeIds().size());
+        assertEquals(82500.0, database.getEmployeeById(1001).getSalary(), 0.01);
+        assertEquals(71500.0, database.getEmployeeById(1002).getSalary(), 0.01);
+        assertEquals(85000.0, database.getEmployeeById(1003).getSalary(), 0.01);
+    }
+
+    @Test
+    void testUndoRevertsWholeBatch() throws Exception {
+        SalaryRaiseBatch<Integer> batch = database.applySalaryRaise(4.0, 0.10);
+
+        database.undoSalaryRaise(batch);
+
+        assertEquals(75000.0, database.getEmployeeById(1001).getSalary(), 0.01);
+        assertEquals(65000.0, database.getEmployeeById(1002).getSalary(), 0.01);
+        assertEquals(2, events.size());
+        assertTrue(batch.isUndone());
+        assertThrows(IllegalStateException.class, () -> database.undoSalaryRaise(batch));
+
+        // The salary index follows the undo
+        assertEquals(1, database.findBySalaryBetween(74000, 76000).size());
+    }
+
+    @Test
+    void testUndoRefusedAfterLaterChange() throws Exception {
+        SalaryRaiseBatch<Integer> batch = database.applySalaryRaise(4.0, 0.10);
+        database.updateEmployeeDetails(1001, "salary", 90000.0);
+
+        assertThrows(IllegalStateException.class, () -> database.undoSalaryRaise(batch));
+        assertEquals(90000.0, database.getEmployeeById(1001).getSalary(), 0.01);
+        assertEquals(71500.0, database.getEmployeeById(1002).getSalary(), 0.01);
+    }
+
+    @Test
+    void testInvalidRaiseChangesNothing() throws Exception {
+        database.updateEmployeeDetails(1002, "salary", Double.MAX_VALUE);
+        long versionBefore = database.getModificationVersion();
+
+        // Doubling the largest salary overflows, so no employee may be raised
+        assertThrows(InvalidSalaryException.class, () -> database.applySalaryRaise(4.0, 1.0));
+        assertEquals(versionBefore, database.getModificationVersion());
+        assertEquals(75000.0, database.getEmployeeById(1001).getSalary(), 0.01);
+    }
+
+    @Test
+    void testCopiesNeverSeePartOfARaise() throws Exception {
+        List<Employee<Integer>> staff = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            staff.add(new Employee<>(10_000 + i, "Employee " + i, "IT", 50000.0, 4.5, 2, true));
+        }
+        database.addEmployees(staff);
+        // The order the raise writes salaries in
+        List<Employee<Integer>> raised = database.applySalaryRaise(4.5, 0.01).getRaisedEmployees();
+
+        AtomicBoolean raising = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> reader = pool.submit(() -> {
+                int passes = 0;
+                while (raising.get() || passes == 0) {
+                    // Read in write order: once one employee has a raise, every later one must have it too
+                    double previous = 0;
+                    for (int i = 0; i < raised.size(); i += 97) {
+                        double salary = raised.get(i).copy().getSalary();
+                        assertTrue(salary >= previous, "Saw a later employee without a raise an earlier one had");
+                        previous = salary;
+                    }
+                    passes++;
+                }
+                return passes;
+            });
+            for (int i = 0; i < 30; i++) {
+                database.applySalaryRaise(4.5, 0.01);
+            }
+            raising.set(false);
+            assertTrue(reader.get(60, TimeUnit.SECONDS) > 0);
+        } finally {
+            raising.set(false);
+            pool.shutdownNow();
+        }
+    }
+}
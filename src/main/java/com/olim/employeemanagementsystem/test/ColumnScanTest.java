@@ -0,0 +1,55 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.ColumnScan;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for the scalar and SIMD column scans
+ */
+public class ColumnScanTest {
+
+    @Test
+    void testScalarScansAreTheDefault() {
+        assumeTrue(!Boolean.getBoolean("ems.vector.enabled"), "SIMD scans are enabled for this JVM");
+        assertSame(ColumnScan.scalar(), ColumnScan.configured());
+    }
+
+    @Test
+    void testVectorScansMatchScalarScans() {
+        assumeTrue(ColumnScan.isVectorApiAvailable(), "Module jdk.incubator.vector is not available");
+        Random random = new Random(42);
+        // Not a multiple of any vector length, so the tail loops run too
+        int size = 10_003;
+        double[] salaries = new double[size];
+        int[] codes = new int[size];
+        for (int i = 0; i < size; i++) {
+            salaries[i] = 30000 + random.nextInt(90000);
+            codes[i] = random.nextInt(8);
+        }
+        ColumnScan scalar = ColumnScan.scalar();
+        ColumnScan vectorized = ColumnScan.vectorized();
+
+        int[] expected = new int[size];
+        int[] actual = new int[size];
+        int count = scalar.selectBetween(salaries, 70000, 90000, expected);
+        assertEquals(count, vectorized.selectBetween(salaries, 70000, 90000, actual));
+        assertArrayEquals(Arrays.copyOf(expected, count), Arrays.copyOf(actual, count));
+
+        assertEquals(scalar.sum(salaries), vectorized.sum(salaries), 1e-3);
+
+        double[] expectedSums = new double[8];
+        long[] expectedCounts = new long[8];
+        double[] actualSums = new double[8];
+        long[] actualCounts = new long[8];
+        scalar.sumByCode(salaries, codes, expectedSums, expectedCounts);
+        vectorized.sumByCode(salaries, codes, actualSums, actualCounts);
+        assertArrayEquals(expectedCounts, actualCounts);
+        assertArrayEquals(expectedSums, actualSums, 1e-3);
+    }
+}
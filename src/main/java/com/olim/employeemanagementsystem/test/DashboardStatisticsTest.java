@@ -0,0 +1,123 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.display.DashboardStatistics;
+import com.olim.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the incrementally maintained dashboard statistics
+ */
+public class DashboardStatisticsTest {
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Sales"};
+
+    private Map<Integer, Employee<Integer>> employees;
+    private DashboardStatistics<Integer> statistics;
+
+    @BeforeEach
+    void setUp() {
+        employees = new LinkedHashMap<>();
+        for (int i = 1; i <= 200; i++) {
+            employees.put(i, new Employee<>(i, "Employee " + i, DEPARTMENTS[i % DEPARTMENTS.length],
+                    40000.0 + i * 400.25, 2.5 + (i % 6) * 0.5, i % 20, true));
+        }
+        statistics = new DashboardStatistics<>(5);
+        statistics.reset(employees.values());
+    }
+
+    private DashboardStatistics.Snapshot fresh() {
+        DashboardStatistics<Integer> recomputed = new DashboardStatistics<>(5);
+        recomputed.reset(employees.values());
+        return recomputed.snapshot();
+    }
+
+    private static void assertSameFigures(DashboardStatistics.Snapshot expected, DashboardStatistics.Snapshot actual) {
+        assertEquals(expected.headcount(), actual.headcount());
+        assertEquals(expected.averageSalary(), actual.averageSalary(), 1e-6);
+        assertEquals(expected.headcountByDepartment(), actual.headcountByDepartment());
+        assertEquals(expected.averageSalaryByDepartment().keySet(), actual.averageSalaryByDepartment().keySet());
+        expected.averageSalaryByDepartment().forEach((department, average) ->
+                assertEquals(average, actual.averageSalaryByDepartment().get(department), 1e-6));
+        assertEquals(expected.salaryBands(), actual.salaryBands());
+        assertEquals(expected.ratingBands(), actual.ratingBands());
+        assertEquals(expected.topEarners().stream().map(DashboardStatistics.Earner::salary).toList(),
+                actual.topEarners().stream().map(DashboardStatistics.Earner::salary).toList());
+    }
+
+    @Test
+    void testBandsMatchReportRanges() {
+        DashboardStatistics.Snapshot snapshot = statistics.snapshot();
+
+        assertEquals(200, snapshot.headcount());
+        assertEquals("Below $50,000", snapshot.salaryBands().get(0).label());
+        // Salaries 40400.25 .. 49604.75 fall below $50,000
+        assertEquals(24, snapshot.salaryBands().get(0).count());
+        assertEquals(200, snapshot.ratingBands().stream().mapToInt(DashboardStatistics.Band::count).sum());
+        assertEquals("Employee 200", snapshot.topEarners().get(0).name());
+        assertEquals(5, snapshot.topEarners().size());
+    }
+
+    @Test
+    void testUpdatesMoveEmployeesBetweenGroups() {
+        Employee<Integer> employee = employees.get(4);
+        employee.setDepartment("Legal");
+        employee.setSalary(500000.0);
+        statistics.apply(List.of(employee), List.of());
+
+        DashboardStatistics.Snapshot snapshot = statistics.snapshot();
+        assertEquals(1, snapshot.headcountByDepartment().get("Legal"));
+        assertEquals("Employee 4", snapshot.topEarners().get(0).name());
+        assertSameFigures(fresh(), snapshot);
+    }
+
+    @Test
+    void testRemovingTopEarnersRefillsTheBoard() {
+        List<Integer> removed = new ArrayList<>();
+        for (int i = 200; i > 170; i--) {
+            employees.remove(i);
+            removed.add(i);
+        }
+        statistics.apply(List.of(), removed);
+
+        DashboardStatistics.Snapshot snapshot = statistics.snapshot();
+        assertEquals("Employee 170", snapshot.topEarners().get(0).name());
+        assertSameFigures(fresh(), snapshot);
+    }
+
+    @Test
+    void testRandomBatchesMatchRecomputation() {
+        Random random = new Random(36);
+        int nextId = 1000;
+        for (int round = 0; round < 50; round++) {
+            List<Employee<Integer>> upserts = new ArrayList<>();
+            List<Integer> removed = new ArrayList<>();
+            List<Integer> ids = new ArrayList<>(employees.keySet());
+            for (int change = 0; change < 10; change++) {
+                int kind = random.nextInt(4);
+                if (kind == 0 && !ids.isEmpty()) {
+                    Integer id = ids.remove(random.nextInt(ids.size()));
+                    employees.remove(id);
+                    removed.add(id);
+                } else if (kind == 1) {
+                    Employee<Integer> added = new Employee<>(nextId, "New " + nextId,
+                            DEPARTMENTS[random.nextInt(DEPARTMENTS.length)], 30000.0 + random.nextInt(100000), 3.0, 1, true);
+                    employees.put(nextId++, added);
+                    upserts.add(added);
+                } else if (!ids.isEmpty()) {
+                    Employee<Integer> updated = employees.get(ids.get(random.nextInt(ids.size())));
+                    updated.setSalary(30000.0 + random.nextInt(150000) + 0.5);
+                    updated.setPerformanceRating(random.nextInt(51) / 10.0);
+                    upserts.add(updated);
+                }
+            }
+            // A batch holds the net effect: an employee is never both upserted and removed
+            upserts.removeIf(employee -> removed.contains(employee.getEmployeeId()));
+            statistics.apply(upserts, removed);
+            assertSameFigures(fresh(), statistics.snapshot());
+        }
+    }
+}
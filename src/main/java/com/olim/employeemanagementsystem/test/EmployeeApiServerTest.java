@@ -0,0 +1,219 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.api.EmployeeApiServer;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the embedded HTTP API, over loopback
+ */
+public class EmployeeApiServerTest {
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Marketing", "Sales"};
+
+    private EmployeeDatabase<Integer> database;
+    private EmployeeApiServer<Integer> server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = new EmployeeDatabase<>(new HashMap<>());
+        List<Employee<Integer>> employees = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            employees.add(new Employee<>(i, "Employee \"" + i + "\"", DEPARTMENTS[i % DEPARTMENTS.length],
+                    30000.0 + (i * 37L) % 120000, (i % 51) / 10.0, i % 30, i % 7 != 0));
+        }
+        database.addEmployees(employees);
+        server = new EmployeeApiServer<>(database, Integer::valueOf);
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void testGetEmployeeById() throws Exception {
+        Response response = get("/api/employees/42");
+        assertEquals(200, response.status);
+        assertTrue(response.body.contains("\"employeeId\":42"), response.body);
+        assertTrue(response.body.contains("\"name\":\"Employee \\\"42\\\"\""), response.body);
+
+        assertEquals(404, get("/api/employees/999999").status);
+        assertEquals(400, get("/api/employees/abc").status);
+    }
+
+    @Test
+    void testLargeResultIsStreamedInChunks() throws Exception {
+        HttpURLConnection connection = open("/api/sorted/salary");
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("chunked", connection.getHeaderField("Transfer-Encoding"));
+        String body = read(connection);
+
+        assertTrue(body.startsWith("[{") && body.endsWith("}]"));
+        assertEquals(50_000, count(body, "\"employeeId\":"));
+    }
+
+    @Test
+    void testFiltersSortsAndAggregates() throws Exception {
+        Response query = get("/api/employees?department=HR&minSalary=100000&sort=SALARY:desc,ID&limit=3");
+        assertEquals(200, query.status);
+        assertEquals(3, count(query.body, "\"employeeId\":"));
+        assertEquals(0, count(query.body, "\"department\":\"IT\""));
+
+        Response department = get("/api/search/department/Finance");
+        assertEquals(10_000, count(department.body, "\"employeeId\":"));
+        assertEquals(400, get("/api/search/department/Nowhere").status);
+
+        Response salary = get("/api/search/salary?min=30000&max=30100");
+        assertEquals(database.findBySalaryBetween(30000, 30100).size(), count(salary.body, "\"employeeId\":"));
+
+        Response top = get("/api/salaries/top?count=5");
+        assertEquals(5, count(top.body, "\"employeeId\":"));
+
+        Response average = get("/api/salaries/average/IT");
+        assertEquals("{\"averageSalary\":" + database.calculateAverageSalaryByDepartment("IT") + "}", average.body);
+        assertTrue(get("/api/salaries/averages").body.contains("\"Sales\":"));
+
+        assertEquals(404, get("/api/sorted/height").status);
+        assertEquals(400, get("/api/employees?colour=red").status);
+    }
+
+    @Test
+    void testPagesKeepOrderAndLimit() throws Exception {
+        Response top = get("/api/salaries/top?count=2500");
+        assertEquals(200, top.status);
+        List<Double> salaries = values(top.body, "\"salary\":");
+        assertEquals(2500, salaries.size());
+        for (int i = 1; i < salaries.size(); i++) {
+            assertTrue(salaries.get(i - 1) >= salaries.get(i), "Out of order at row " + i);
+        }
+        assertEquals(database.findTopHighestPaid(2500).get(2499).getSalary(), salaries.get(2499));
+        assertEquals(400, get("/api/salaries/top?count=0").status);
+    }
+
+    @Test
+    void testListsStreamWhileWritersMutate() throws Exception {
+        AtomicBoolean writing = new AtomicBoolean(true);
+        // Platform threads: a client blocked reading a chunked response pins a virtual thread's carrier
+        ExecutorService threads = Executors.newFixedThreadPool(5);
+        try {
+            Future<?> writer = threads.submit(() -> {
+                try {
+                    SplittableRandom random = new SplittableRandom(7);
+                    for (int i = 0; i < 3000; i++) {
+                        int id = random.nextInt(50_000);
+                        database.updateEmployeeDetails(id, "salary", 30000.0 + random.nextInt(120_000));
+                        database.updateEmployeeDetails(id, "department", DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+                    }
+                } finally {
+                    writing.set(false);
+                }
+                return null;
+            });
+            List<Future<Response>> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(threads.submit(() -> {
+                    Response last = null;
+                    while (writing.get() || last == null) {
+                        last = get("/api/search/department/Finance");
+                        assertEquals(200, last.status);
+                        assertTrue(last.body.startsWith("[") && last.body.endsWith("]"));
+                        assertEquals(200, get("/api/sorted/salary").status);
+                    }
+                    return last;
+                }));
+            }
+            writer.get(60, TimeUnit.SECONDS);
+            for (Future<Response> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            writing.set(false);
+            threads.shutdownNow();
+        }
+        Response department = get("/api/search/department/Finance");
+        assertEquals(database.findByDepartment("Finance").size(), count(department.body, "\"employeeId\":"));
+    }
+
+    @Test
+    void testRejectsOtherMethods() throws Exception {
+        HttpURLConnection connection = open("/api/employees/1");
+        connection.setRequestMethod("DELETE");
+        assertEquals(405, connection.getResponseCode());
+        assertEquals(1, database.findByName("Employee \"1\"").size());
+    }
+
+    @Test
+    void testServesManyConcurrentRequests() throws Exception {
+        int requests = 500;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Response>> responses = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                int id = i * 97;
+                responses.add(clients.submit(() -> get("/api/employees/" + id)));
+            }
+            for (int i = 0; i < requests; i++) {
+                Response response = responses.get(i).get(60, TimeUnit.SECONDS);
+                assertEquals(200, response.status);
+                assertTrue(response.body.contains("\"employeeId\":" + i * 97 + ","));
+            }
+        }
+    }
+
+    private record Response(int status, String body) {
+    }
+
+    private Response get(String path) throws IOException {
+        HttpURLConnection connection = open(path);
+        int status = connection.getResponseCode();
+        return new Response(status, read(connection));
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        return (HttpURLConnection) URI.create("http://127.0.0.1:" + server.getPort() + path).toURL().openConnection();
+    }
+
+    private static String read(HttpURLConnection connection) throws IOException {
+        InputStream in = connection.getResponseCode() < 400 ? connection.getInputStream() : connection.getErrorStream();
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<Double> values(String text, String needle) {
+        List<Double> values = new ArrayList<>();
+        for (int at = text.indexOf(needle); at >= 0; at = text.indexOf(needle, at + needle.length())) {
+            int start = at + needle.length();
+            int end = text.indexOf(',', start);
+            values.add(Double.parseDouble(text.substring(start, end)));
+        }
+        return values;
+    }
+
+    private static int count(String text, String needle) {
+        int count = 0;
+        for (int at = text.indexOf(needle); at >= 0; at = text.indexOf(needle, at + needle.length())) {
+            count++;
+        }
+        return count;
+    }
+}
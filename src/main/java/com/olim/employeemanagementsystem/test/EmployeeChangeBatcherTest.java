@@ -0,0 +1,108 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.EmployeeChangeEvent;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.view.EmployeeChangeBatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for coalescing database change events into per-pulse batches
+ */
+public class EmployeeChangeBatcherTest {
+    private EmployeeDatabase<Integer> database;
+    // Stands in for the JavaFX pulse: scheduled callbacks run only when the test says so
+    private List<Runnable> pulse;
+    private List<EmployeeChangeBatcher.Batch<Integer>> batches;
+
+    @BeforeEach
+    void setUp() throws InvalidSalaryException, InvalidDepartmentException {
+        database = new EmployeeDatabase<>(new HashMap<>());
+        for (int i = 1; i <= 100; i++) {
+            database.addEmployee(new Employee<>(i, "Employee " + i, "IT", 50000.0 + i, i % 2 == 0 ? 4.5 : 3.0, 5, true));
+        }
+        pulse = new ArrayList<>();
+        batches = new ArrayList<>();
+        database.addChangeListener(new EmployeeChangeBatcher<>(pulse::add, batches::add));
+    }
+
+    private void runPulse() {
+        List<Runnable> scheduled = new ArrayList<>(pulse);
+        pulse.clear();
+        scheduled.forEach(Runnable::run);
+    }
+
+    @Test
+    void testFieldUpdatesOfOneEmployeeBecomeOneRowChange() throws Exception {
+        database.updateEmployeeDetails(7, "name", "Renamed");
+        database.updateEmployeeDetails(7, "salary", 70000.0);
+        database.updateEmployeeDetails(7, "yearsOfExperience", 9);
+
+        assertEquals(1, pulse.size());
+        runPulse();
+
+        assertEquals(1, batches.size());
+        EmployeeChangeBatcher.Batch<Integer> batch = batches.get(0);
+        assertEquals(3, batch.eventCount());
+        assertEquals(1, batch.upserts().size());
+        assertEquals("Renamed", batch.upserts().get(0).getName());
+        assertEquals(database.getModificationVersion(), batch.version());
+    }
+
+    @Test
+    void testAddThenRemoveWithinOnePulseCancelsOut() throws Exception {
+        database.addEmployee(new Employee<>(500, "Temp", "HR", 40000.0, 3.0, 1, true));
+        database.removeEmployee(500);
+        database.removeEmployee(3);
+        runPulse();
+
+        EmployeeChangeBatcher.Batch<Integer> batch = batches.get(0);
+        assertTrue(batch.upserts().isEmpty());
+        assertEquals(List.of(500, 3), batch.removedIds());
+    }
+
+    @Test
+    void testBulkRaiseIsOneBatch() throws Exception {
+        database.applySalaryRaise(4.5, 10);
+        runPulse();
+
+        assertEquals(1, batches.size());
+        assertEquals(50, batches.get(0).upserts().size());
+        assertEquals(1, batches.get(0).eventCount());
+    }
+
+    @Test
+    void testNextPulseStartsNewBatch() throws EmployeeNotFoundException, InvalidSalaryException, InvalidDepartmentException {
+        database.updateEmployeeDetails(1, "name", "First");
+        runPulse();
+        database.updateEmployeeDetails(2, "name", "Second");
+        runPulse();
+        runPulse();
+
+        assertEquals(2, batches.size());
+        assertEquals(2, batches.get(1).upserts().get(0).getEmployeeId());
+    }
+
+    @Test
+    void testEventsCarryTheCommittedEmployees() throws Exception {
+        List<EmployeeChangeEvent<Integer>> events = new ArrayList<>();
+        database.addChangeListener(events::add);
+        database.updateEmployeeDetails(5, "salary", 65000.0);
+        database.removeEmployee(6);
+
+        assertSame(database.getEmployeeById(5), events.get(0).employees().get(0));
+        assertEquals(65000.0, events.get(0).employees().get(0).getSalary(), 0.01);
+        assertEquals(List.of(6), events.get(1).employeeIds());
+        assertNull(events.get(1).employees().get(0));
+    }
+}
@@ -0,0 +1,83 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.sort.SortColumn;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+import com.olim.employeemanagementsystem.view.EmployeeFilterPipeline;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the live filter-and-sort pipeline behind the employee table
+ */
+public class EmployeeFilterPipelineTest {
+    private EmployeeFilterPipeline<Integer> pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new EmployeeFilterPipeline<>();
+        pipeline.getSource().setAll(List.of(
+                new Employee<>(1001, "John Smith", "IT", 75000.0, 4.2, 5, true),
+                new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true),
+                new Employee<>(1003, "Michael Chen", "Finance", 85000.0, 3.8, 7, true),
+                new Employee<>(1004, "Emily Davis", "IT", 95000.0, 4.8, 6, true),
+                new Employee<>(1005, "Robert Wilson", "Marketing", 55000.0, 3.5, 4, false)));
+    }
+
+    @Test
+    void testCombinedCriteria() {
+        pipeline.setDepartment("IT");
+        pipeline.setSalaryRange(80000.0, null);
+
+        assertEquals(1, pipeline.getItems().size());
+        assertEquals(1004, pipeline.getItems().get(0).getEmployeeId());
+
+        pipeline.setDepartment("All");
+        pipeline.setMinRating(4.0);
+        pipeline.setNameSearch("  EMILY ");
+        assertEquals(1, pipeline.getItems().size());
+
+        pipeline.clearFilters();
+        assertEquals(5, pipeline.getItems().size());
+    }
+
+    @Test
+    void testSortOrderAppliesToFilteredRows() {
+        pipeline.setSalaryRange(60000.0, 90000.0);
+        pipeline.setSortOrder(SortOrder.by(SortKey.descending(SortColumn.SALARY)));
+
+        assertEquals(List.of(1003, 1001, 1002),
+                pipeline.getItems().stream().map(Employee::getEmployeeId).toList());
+    }
+
+    @Test
+    void testUnchangedCriterionDoesNotRefilter() {
+        pipeline.setNameSearch("o");
+        AtomicInteger changes = new AtomicInteger();
+        pipeline.getItems().addListener((ListChangeListener<Employee<Integer>>) change -> changes.incrementAndGet());
+
+        pipeline.setNameSearch("O");
+        pipeline.setDepartment(null);
+
+        assertEquals(0, changes.get());
+    }
+
+    @Test
+    void testSourceChangesFlowThroughFilters() {
+        pipeline.setDepartment("IT");
+        pipeline.setSortOrder(SortOrder.by(SortKey.ascending(SortColumn.NAME)));
+
+        pipeline.getSource().add(new Employee<>(1006, "Alice Park", "IT", 70000.0, 4.1, 2, true));
+        pipeline.getSource().add(new Employee<>(1007, "Brian Ortiz", "Sales", 70000.0, 4.1, 2, true));
+
+        assertEquals(List.of(1006, 1004, 1001),
+                pipeline.getItems().stream().map(Employee::getEmployeeId).toList());
+    }
+}
@@ -0,0 +1,102 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.comparator.EmployeeSalaryComparator;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.AccessPath;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for composed employee queries and the index-aware planner
+ */
+public class EmployeeQueryTest {
+
+    private EmployeeDatabase<Integer> database;
+
+    @BeforeEach
+    void setUp() throws InvalidSalaryException, InvalidDepartmentException {
+        database = new EmployeeDatabase<>(new HashMap<>());
+
+        database.addEmployee(new Employee<>(1001, "John Smith", "IT", 75000.0, 4.2, 5, true));
+        database.addEmployee(new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true));
+        database.addEmployee(new Employee<>(1003, "Michael Chen", "Finance", 85000.0, 3.8, 7, true));
+        database.addEmployee(new Employee<>(1004, "Emily Davis", "IT", 95000.0, 4.8, 6, true));
+        database.addEmployee(new Employee<>(1005, "Robert Wilson", "Marketing", 72000.0, 3.5, 4, false));
+        database.addEmployee(new Employee<>(1006, "Jessica Brown", "IT", 67500.0, 4.0, 2, true));
+    }
+
+    @Test
+    void testCombinedPredicates() {
+        List<Employee<Integer>> result = database.findByQuery(EmployeeQuery.<Integer>builder()
+                .department("IT")
+                .minSalary(70000)
+                .minRating(4.0)
+                .active(true)
+                .build());
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().anyMatch(emp -> emp.getEmployeeId().equals(1001)));
+        assertTrue(result.stream().anyMatch(emp -> emp.getEmployeeId().equals(1004)));
+    }
+
+    @Test
+    void testSortAndLimit() {
+        List<Employee<Integer>> result = database.findByQuery(EmployeeQuery.<Integer>builder()
+                .nameContains("o")
+                .sortedBy(new EmployeeSalaryComparator<>())
+                .limit(2)
+                .build());
+
+        // John, Sarah, Robert and Jessica match; the two best paid come first
+        assertEquals(2, result.size());
+        assertEquals(1001, result.get(0).getEmployeeId());
+        assertEquals(1005, result.get(1).getEmployeeId());
+    }
+
+    @Test
+    void testPlannerPicksMostSelectiveIndex() {
+        // Only one employee is in HR, so the department bucket beats the wide salary range
+        assertEquals(AccessPath.DEPARTMENT_INDEX, database.explain(EmployeeQuery.<Integer>builder()
+                .department("HR")
+                .salaryBetween(0, 200000)
+                .build()).accessPath());
+
+        // A narrow salary range is cheaper than the IT bucket
+        assertEquals(AccessPath.SALARY_INDEX, database.explain(EmployeeQuery.<Integer>builder()
+                .department("IT")
+                .salaryBetween(94000, 96000)
+                .build()).accessPath());
+
+        // Nothing indexable falls back to one fused scan
+        assertEquals(AccessPath.FULL_SCAN, database.explain(EmployeeQuery.<Integer>builder()
+                .nameContains("smith")
+                .build()).accessPath());
+    }
+
+    @Test
+    void testIndexesFollowUpdates() throws Exception {
+        database.updateEmployeeDetails(1002, "department", "IT");
+        database.updateEmployeeDetails(1002, "salary", 99000.0);
+
+        List<Employee<Integer>> result = database.findByQuery(EmployeeQuery.<Integer>builder()
+                .department("IT")
+                .salaryBetween(98000, 100000)
+                .build());
+
+        assertEquals(1, result.size());
+        assertEquals(1002, result.get(0).getEmployeeId());
+        assertTrue(database.findByDepartment("HR").isEmpty());
+
+        database.removeEmployee(1002);
+        assertTrue(database.findBySalaryBetween(98000, 100000).isEmpty());
+    }
+}
@@ -0,0 +1,226 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.cache.EmployeeReadCache;
+import com.olim.employeemanagementsystem.cache.EmployeeStore;
+import com.olim.employeemanagementsystem.cache.TinyLfuCache;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the W-TinyLFU cache and the read-through employee cache built on it
+ */
+public class EmployeeReadCacheTest {
+    private EmployeeDatabase<Integer> database;
+    private CountingStore store;
+    private EmployeeReadCache<Integer> cache;
+
+    @BeforeEach
+    void setUp() throws InvalidSalaryException, InvalidDepartmentException {
+        database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployee(new Employee<>(1001, "John Smith", "IT", 75000.0, 4.2, 5, true));
+        database.addEmployee(new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true));
+        database.addEmployee(new Employee<>(1003, "Michael Chen", "IT", 85000.0, 3.8, 7, true));
+        store = new CountingStore(EmployeeStore.of(database));
+        cache = EmployeeReadCache.withMaximumSize(store, 100, 10).attachTo(database);
+    }
+
+    @Test
+    void testRepeatReadsAreServedFromCache() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("John Smith", cache.getEmployeeById(1001).getName());
+        }
+        EmployeeQuery<Integer> query = EmployeeQuery.<Integer>builder().department("IT").build();
+        assertEquals(2, cache.findByQuery(query).size());
+        assertEquals(2, cache.findByQuery(EmployeeQuery.<Integer>builder().department("IT").build()).size());
+
+        assertEquals(1, store.byId.get());
+        assertEquals(1, store.byQuery.get());
+        assertEquals(4, cache.getEmployeeStats().hits());
+        assertEquals(0.8, cache.getEmployeeStats().hitRate(), 1e-9);
+        assertEquals(1, cache.getSearchStats().hits());
+    }
+
+    @Test
+    void testMissingEmployeeIsNotCached() {
+        assertThrows(EmployeeNotFoundException.class, () -> cache.getEmployeeById(9999));
+        assertThrows(EmployeeNotFoundException.class, () -> cache.getEmployeeById(9999));
+        assertEquals(2, store.byId.get());
+        assertEquals(0, cache.getEmployeeCache().size());
+    }
+
+    @Test
+    void testMutationsInvalidateEntries() throws Exception {
+        EmployeeQuery<Integer> query = EmployeeQuery.<Integer>builder().department("IT").build();
+        cache.getEmployeeById(1002);
+        assertEquals(2, cache.findByQuery(query).size());
+
+        database.updateEmployeeDetails(1002, "department", "IT");
+        assertEquals("IT", cache.getEmployeeById(1002).getDepartment());
+        assertEquals(3, cache.findByQuery(query).size());
+        assertEquals(2, store.byId.get());
+        assertEquals(2, store.byQuery.get());
+
+        database.removeEmployee(1002);
+        assertThrows(EmployeeNotFoundException.class, () -> cache.getEmployeeById(1002));
+        assertEquals(2, cache.findByQuery(query).size());
+    }
+
+    @Test
+    void testInvalidationDuringLoadIsNotCached() {
+        TinyLfuCache<Integer, String> values = TinyLfuCache.<Integer, String>builder().maximumSize(10).build();
+        String loaded = values.get(1, key -> {
+            // A write lands while the old value is still being read
+            values.invalidate(key);
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertNull(values.getIfPresent(1));
+        assertEquals("fresh", values.get(1, key -> "fresh"));
+        assertEquals("fresh", values.getIfPresent(1));
+    }
+
+    @Test
+    void testHotEntriesSurviveScan() {
+        TinyLfuCache<Integer, Integer> values = TinyLfuCache.<Integer, Integer>builder().maximumSize(100).build();
+        for (int round = 0; round < 10; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                values.get(hot, key -> key);
+            }
+        }
+        // A one-off scan of cold keys mixed into the hot traffic, as a report over every employee would be
+        for (int cold = 1_000; cold < 6_000; cold++) {
+            values.get(cold, key -> key);
+            values.get(cold % 50, key -> key);
+        }
+
+        int hotCached = 0;
+        for (int hot = 0; hot < 50; hot++) {
+            if (values.getIfPresent(hot) != null) {
+                hotCached++;
+            }
+        }
+        assertEquals(50, hotCached);
+        assertTrue(values.size() <= 100);
+        assertTrue(values.stats().rejections() > 0);
+    }
+
+    @Test
+    void testWeightBoundIsRespected() {
+        TinyLfuCache<Integer, String> values = TinyLfuCache.<Integer, String>builder()
+                .maximumWeight(1_000, (key, value) -> value.length())
+                .build();
+        for (int i = 0; i < 500; i++) {
+            values.put(i, "x".repeat(10 + i % 40));
+            assertTrue(values.weightedSize() <= 1_000);
+        }
+        assertTrue(values.stats().evictions() > 0);
+
+        // Too heavy to ever fit
+        values.put(-1, "x".repeat(2_000));
+        assertNull(values.getIfPresent(-1));
+        assertTrue(values.weightedSize() <= 1_000);
+    }
+
+    @Test
+    void testWeightedEmployeeCacheStaysUnderByteBudget() throws Exception {
+        List<Employee<Integer>> staff = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            staff.add(new Employee<>(10_000 + i, "Employee " + i, "Sales", 40000.0 + i, 3.0, 2, true));
+        }
+        database.addEmployees(staff);
+        EmployeeReadCache<Integer> weighted = EmployeeReadCache.withMaximumWeight(store, 64 * 1024).attachTo(database);
+        for (Employee<Integer> employee : staff) {
+            weighted.getEmployeeById(employee.getEmployeeId());
+        }
+
+        long budget = weighted.getEmployeeCache().getMaximum();
+        assertEquals(48 * 1024, budget);
+        assertTrue(weighted.getEmployeeCache().weightedSize() <= budget);
+        assertTrue(weighted.getEmployeeCache().size() < staff.size());
+        assertTrue(weighted.getEmployeeStats().evictions() > 0);
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        TinyLfuCache<Integer, String> values = TinyLfuCache.<Integer, String>builder().maximumSize(10).build();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> values.get(7, key -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                awaitQuietly(release);
+                return "seven";
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(pool.submit(() -> values.get(7, key -> {
+                    loads.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            // Give the waiting threads time to find the running load
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("seven", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, values.stats().loads());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class CountingStore implements EmployeeStore<Integer> {
+        private final EmployeeStore<Integer> delegate;
+        private final AtomicInteger byId = new AtomicInteger();
+        private final AtomicInteger byQuery = new AtomicInteger();
+
+        CountingStore(EmployeeStore<Integer> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Employee<Integer> findById(Integer employeeId) {
+            byId.incrementAndGet();
+            return delegate.findById(employeeId);
+        }
+
+        @Override
+        public List<Employee<Integer>> findByQuery(EmployeeQuery<Integer> query) {
+            byQuery.incrementAndGet();
+            return delegate.findByQuery(query);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.sort.SortColumn;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+import com.olim.employeemanagementsystem.view.EmployeeFilterPipeline;
+import com.olim.employeemanagementsystem.view.EmployeeTableModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the table model that filters on a background thread
+ */
+public class EmployeeTableModelTest {
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Marketing", "Sales"};
+
+    private EmployeeTableModel<Integer> model;
+    private List<Employee<Integer>> employees;
+
+    @BeforeEach
+    void setUp() {
+        // Row changes are replayed on the worker thread instead of the JavaFX application thread
+        model = new EmployeeTableModel<>(Executors.newSingleThreadExecutor(), Runnable::run);
+        employees = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 2000; i++) {
+            employees.add(new Employee<>(i, "Name " + random.nextInt(500), DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+                    30000 + random.nextInt(100000), random.nextInt(51) / 10.0, random.nextInt(30), true));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        model.shutdown();
+    }
+
+    @Test
+    void testReplayedRowsMatchPipelineAfterEachChange() throws Exception {
+        model.setSource(employees).get(5, TimeUnit.SECONDS);
+        assertEquals(employees.size(), model.getItems().size());
+
+        // Rows with equal sort keys may be placed differently by incremental and fresh sorts,
+        // so the reference pipeline goes through the same sequence of changes
+        EmployeeFilterPipeline<Integer> reference = new EmployeeFilterPipeline<>();
+        reference.getSource().setAll(employees);
+
+        Random random = new Random(3);
+        SortOrder[] orders = {SortOrder.by(SortKey.ascending(SortColumn.ID)),
+                SortOrder.by(SortKey.descending(SortColumn.SALARY)), SortOrder.by(SortKey.ascending(SortColumn.NAME))};
+        for (int i = 0; i < 30; i++) {
+            EmployeeFilterPipeline.Criteria criteria = new EmployeeFilterPipeline.Criteria(
+                    random.nextBoolean() ? "All" : DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+                    random.nextBoolean() ? null : 30000.0 + random.nextInt(60000),
+                    null,
+                    random.nextBoolean() ? null : random.nextInt(5) * 1.0,
+                    random.nextBoolean() ? null : "name " + random.nextInt(10),
+                    orders[random.nextInt(orders.length)]);
+            model.applyCriteria(criteria).get(5, TimeUnit.SECONDS);
+            reference.apply(criteria, () -> false);
+
+            assertEquals(reference.getItems(), model.getItems());
+        }
+    }
+
+    @Test
+    void testSourceChangesKeepCurrentCriteria() throws Exception {
+        EmployeeFilterPipeline.Criteria itOnly = new EmployeeFilterPipeline.Criteria("IT", null, null, null, null,
+                SortOrder.by(SortKey.ascending(SortColumn.ID)));
+        model.applyCriteria(itOnly);
+        model.setSource(employees).get(5, TimeUnit.SECONDS);
+
+        employees.add(new Employee<>(5000, "New Hire", "IT", 50000.0, 3.0, 1, true));
+        employees.remove(0);
+        model.setSource(new ArrayList<>(employees)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(expected(itOnly), model.getItems());
+    }
+
+    @Test
+    void testChangeBatchesTouchOnlyChangedRows() throws Exception {
+        EmployeeFilterPipeline.Criteria itBySalary = new EmployeeFilterPipeline.Criteria("IT", null, null, null, null,
+                SortOrder.by(SortKey.descending(SortColumn.SALARY), SortKey.ascending(SortColumn.ID)));
+        model.applyCriteria(itBySalary);
+        model.setSource(employees).get(5, TimeUnit.SECONDS);
+        Employee<Integer> untouched = model.getItems().get(model.getItems().size() - 1);
+
+        // Move one IT employee to the top, move one employee out of IT, add one and remove one
+        Employee<Integer> raised = model.getItems().get(10);
+        raised.setSalary(1_000_000.0);
+        Employee<Integer> transferred = model.getItems().get(20);
+        transferred.setDepartment("HR");
+        Employee<Integer> hired = new Employee<>(9000, "New Hire", "IT", 200_000.0, 4.0, 1, true);
+        Employee<Integer> leaver = model.getItems().get(30);
+        employees.add(hired);
+        employees.remove(leaver);
+        model.applyChanges(List.of(raised, transferred, hired), List.of(leaver.getEmployeeId())).get(5, TimeUnit.SECONDS);
+
+        assertEquals(expected(itBySalary), model.getItems());
+        assertSame(raised, model.getItems().get(0));
+        assertSame(hired, model.getItems().get(1));
+        assertSame(untouched, model.getItems().get(model.getItems().size() - 1));
+    }
+
+    @Test
+    void testLargeChangeBatchMatchesFreshFilter() throws Exception {
+        EmployeeFilterPipeline.Criteria wellRated = new EmployeeFilterPipeline.Criteria(null, null, null, 3.0, null,
+                SortOrder.by(SortKey.ascending(SortColumn.ID)));
+        model.applyCriteria(wellRated);
+        model.setSource(employees).get(5, TimeUnit.SECONDS);
+
+        List<Employee<Integer>> changed = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i += 2) {
+            Employee<Integer> employee = employees.get(i);
+            employee.setPerformanceRating(5.0 - employee.getPerformanceRating());
+            changed.add(employee);
+        }
+        model.applyChanges(changed, List.of()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(expected(wellRated), model.getItems());
+    }
+
+    @Test
+    void testOnlyLatestOfQueuedRequestsIsApplied() throws Exception {
+        model.setSource(employees);
+        Future<?> last = null;
+        for (String department : DEPARTMENTS) {
+            last = model.applyCriteria(new EmployeeFilterPipeline.Criteria(department, null, null, null, null, null));
+        }
+        last.get(5, TimeUnit.SECONDS);
+
+        assertTrue(model.getItems().stream().allMatch(emp -> "Sales".equals(emp.getDepartment())));
+    }
+
+    private List<Employee<Integer>> expected(EmployeeFilterPipeline.Criteria criteria) {
+        EmployeeFilterPipeline<Integer> reference = new EmployeeFilterPipeline<>();
+        reference.getSource().setAll(employees);
+        reference.apply(criteria, () -> false);
+        return new ArrayList<>(reference.getItems());
+    }
+}
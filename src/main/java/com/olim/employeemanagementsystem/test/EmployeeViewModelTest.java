@@ -0,0 +1,89 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.view.EmployeeViewModel;
+import com.olim.employeemanagementsystem.view.EmployeeViewModels;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ObservableValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the observable employee view models behind the table cells
+ */
+public class EmployeeViewModelTest {
+    private Employee<Integer> employee;
+    private EmployeeViewModels<Integer> viewModels;
+
+    @BeforeEach
+    void setUp() {
+        employee = new Employee<>(1, "John Doe", "IT", 75000.0, 4.5, 5, true);
+        viewModels = new EmployeeViewModels<>(3);
+    }
+
+    @Test
+    void testRefreshNotifiesOnlyChangedProperties() {
+        EmployeeViewModel<Integer> viewModel = new EmployeeViewModel<>(employee);
+        List<Object> changes = new ArrayList<>();
+        viewModel.salaryProperty().addListener((observable, oldValue, newValue) -> changes.add(newValue));
+        viewModel.nameProperty().addListener((observable, oldValue, newValue) -> changes.add(newValue));
+
+        employee.setSalary(80000.0);
+        viewModel.refresh();
+
+        assertEquals(List.of(80000.0), changes);
+        assertEquals(80000.0, viewModel.salaryProperty().get());
+    }
+
+    @Test
+    void testUnusedPropertiesAreCreatedWithCurrentValues() {
+        EmployeeViewModel<Integer> viewModel = new EmployeeViewModel<>(employee);
+        employee.setDepartment("HR");
+        viewModel.refresh();
+
+        assertEquals("HR", viewModel.departmentProperty().get());
+        assertEquals(5, viewModel.yearsOfExperienceProperty().get());
+        assertTrue(viewModel.activeProperty().get());
+    }
+
+    @Test
+    void testCellsOfOneRowShareViewModel() {
+        ObservableValue<String> name = viewModels.cellValue(employee, EmployeeViewModel::nameProperty);
+        ObservableValue<Double> salary = viewModels.cellValue(employee, EmployeeViewModel::salaryProperty);
+
+        assertSame(viewModels.of(employee), ((ReadOnlyProperty<?>) name).getBean());
+        assertSame(viewModels.of(employee), ((ReadOnlyProperty<?>) salary).getBean());
+        assertEquals(1, viewModels.size());
+        assertNull(viewModels.cellValue(null, EmployeeViewModel::nameProperty));
+    }
+
+    @Test
+    void testBatchRefreshUpdatesCellsInPlaceAndDropsRemovedRows() {
+        ObservableValue<String> name = viewModels.cellValue(employee, EmployeeViewModel::nameProperty);
+        Employee<Integer> other = new Employee<>(2, "Jane Smith", "HR", 65000.0, 4.0, 3, true);
+        viewModels.of(other);
+
+        employee.setName("John Renamed");
+        Employee<Integer> replacement = new Employee<>(2, "Jane Replaced", "HR", 65000.0, 4.0, 3, true);
+        viewModels.refresh(List.of(employee, replacement));
+
+        assertEquals("John Renamed", name.getValue());
+        assertSame(replacement, viewModels.of(replacement).getEmployee());
+
+        viewModels.remove(List.of(1));
+        assertEquals(1, viewModels.size());
+    }
+
+    @Test
+    void testLeastRecentlyRenderedViewModelsAreEvicted() {
+        for (int i = 1; i <= 5; i++) {
+            viewModels.of(new Employee<>(i, "Employee " + i, "IT", 50000.0, 3.0, 1, true));
+        }
+        assertEquals(3, viewModels.size());
+    }
+}
@@ -0,0 +1,162 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.metrics.HistogramSnapshot;
+import com.olim.employeemanagementsystem.metrics.LatencyHistogram;
+import com.olim.employeemanagementsystem.metrics.MetricsRegistry;
+import com.olim.employeemanagementsystem.metrics.OperationTimer;
+import com.olim.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for latency histograms, operation timers and their MBeans
+ */
+public class MetricsTest {
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    void testPercentilesAreWithinBucketPrecision() {
+        // One to a hundred thousand microseconds, each once
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros * 1000);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(100_000_000, snapshot.getMax());
+        assertEquals(50_000_500.0, snapshot.getMean(), 1e-6);
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            double exact = percentile * 1_000_000;
+            long reported = snapshot.getValueAtPercentile(percentile);
+            assertTrue(reported >= exact && reported <= exact * 1.04, percentile + "th percentile was " + reported);
+        }
+        assertEquals(100_000_000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        for (int nanos = 0; nanos < 32; nanos++) {
+            histogram.record(nanos);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getValueAtPercentile(0));
+        assertEquals(15, snapshot.getValueAtPercentile(50));
+        assertEquals(31, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testHugeValuesAreCountedInTheLastBucket() {
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(2, snapshot.getCount());
+        assertEquals(Long.MAX_VALUE, snapshot.getMax());
+        assertEquals(0, snapshot.getValueAtPercentile(50));
+        assertTrue(snapshot.getValueAtPercentile(100) >= LatencyHistogram.MAX_TRACKABLE_NANOS);
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNothing() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(800_000, snapshot.getCount());
+        assertEquals(99_999, snapshot.getMax());
+        assertEquals(49_999.5, snapshot.getMean(), 1e-6);
+    }
+
+    @Test
+    void testResetForgetsValues() {
+        histogram.record(1000);
+        histogram.reset();
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+        assertEquals(0.0, snapshot.getMean());
+    }
+
+    @Test
+    void testRegistryReturnsOneTimerPerName() {
+        MetricsRegistry registry = new MetricsRegistry();
+        OperationTimer timer = registry.timer("Test.operation");
+
+        assertSame(timer, registry.timer("Test.operation"));
+        registry.timer("Test.another");
+        assertEquals(List.of("Test.another", "Test.operation"),
+                registry.timers().stream().map(OperationTimer::getName).toList());
+    }
+
+    @Test
+    void testSampledTimerCountsEveryCall() {
+        OperationTimer timer = new MetricsRegistry().timer("Test.sampled", 16);
+        for (int i = 0; i < 16_000; i++) {
+            timer.stop(timer.start());
+        }
+
+        assertEquals(16_000, timer.getCount());
+        long timed = timer.snapshot().getCount();
+        assertTrue(timed > 500 && timed < 1500, "Timed " + timed + " calls");
+    }
+
+    @Test
+    void testTimersAreReadableAsMBeans() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        MetricsRegistry registry = new MetricsRegistry();
+        OperationTimer before = registry.timer("Test.before");
+        before.record(2_000_000);
+        registry.registerMBeans(server);
+        OperationTimer after = registry.timer("Test.after");
+        after.record(5_000_000);
+
+        ObjectName beforeName = MetricsRegistry.objectName("Test.before");
+        assertEquals(1L, server.getAttribute(beforeName, "Count"));
+        assertEquals(2.0, (Double) server.getAttribute(beforeName, "99thPercentileMillis"), 0.1);
+        assertEquals(5.0, (Double) server.getAttribute(MetricsRegistry.objectName("Test.after"), "MaxMillis"), 1e-9);
+
+        server.invoke(beforeName, "reset", null, null);
+        assertEquals(0L, server.getAttribute(beforeName, "Count"));
+
+        registry.unregisterMBeans();
+        assertFalse(server.isRegistered(beforeName));
+    }
+
+    @Test
+    void testDatabaseOperationsAreTimed() throws Exception {
+        OperationTimer timer = MetricsRegistry.getDefault().timer("EmployeeDatabase.findByDepartment");
+        long before = timer.getCount();
+
+        EmployeeDatabase<Integer> database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployee(new Employee<>(1, "John Smith", "IT", 75000.0, 4.2, 5, true));
+        database.findByDepartment("IT");
+        database.findByDepartment("HR");
+
+        assertEquals(before + 2, timer.getCount());
+    }
+}
@@ -0,0 +1,256 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.ChangeType;
+import com.olim.employeemanagementsystem.db.EmployeeChangeEvent;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.db.MutationPipeline;
+import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the single-writer mutation pipeline
+ */
+public class MutationPipelineTest {
+    private EmployeeDatabase<Integer> database;
+    private List<EmployeeChangeEvent<Integer>> events;
+    private MutationPipeline<Integer> pipeline;
+
+    @BeforeEach
+    void setUp() throws InvalidSalaryException, InvalidDepartmentException {
+        database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployee(new Employee<>(1001, "John Smith", "IT", 75000.0, 4.2, 5, true));
+        database.addEmployee(new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true));
+        events = new CopyOnWriteArrayList<>();
+        database.addChangeListener(events::add);
+        pipeline = new MutationPipeline<>(database);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testSubmissionsCompleteOnceApplied() throws Exception {
+        pipeline.start();
+        assertEquals(1003, pipeline.submitAdd(new Employee<>(1003, "Michael Chen", "Finance", 85000.0, 3.8, 7, true)).get(5, TimeUnit.SECONDS));
+        Employee<Integer> updated = pipeline.submitUpdate(1003, "salary", 90000.0).get(5, TimeUnit.SECONDS);
+        assertEquals(90000.0, updated.getSalary());
+        assertEquals(1002, pipeline.submitRemove(1002).get(5, TimeUnit.SECONDS).getEmployeeId());
+        assertNull(pipeline.submitAdd(new Employee<>(1001, "Duplicate", "IT", 1.0, 1.0, 1, true)).get(5, TimeUnit.SECONDS));
+
+        assertEquals(90000.0, database.getEmployeeById(1003).getSalary());
+        assertThrows(EmployeeNotFoundException.class, () -> database.getEmployeeById(1002));
+        assertEquals(List.of(1003), ids(database.findByQuery(EmployeeQuery.<Integer>builder().salaryBetween(88000.0, 95000.0).build())));
+    }
+
+    @Test
+    void testRepeatedUpdatesCoalesceInOneBatch() throws Exception {
+        // Queued before the writer starts, so they drain as one batch
+        List<CompletableFuture<Employee<Integer>>> futures = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            futures.add(pipeline.submitUpdate(1001, "salary", 75000.0 + i));
+            futures.add(pipeline.submitUpdate(1002, "salary", 65000.0 + i));
+        }
+        futures.add(pipeline.submitUpdate(1001, "name", "John Renamed"));
+        long versionBefore = database.getModificationVersion();
+        pipeline.start();
+        for (CompletableFuture<Employee<Integer>> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, pipeline.getBatchCount());
+        assertEquals(198, pipeline.getCoalescedCount());
+        assertEquals(75100.0, database.getEmployeeById(1001).getSalary());
+        assertEquals(65100.0, database.getEmployeeById(1002).getSalary());
+        assertEquals("John Renamed", database.getEmployeeById(1001).getName());
+        // One change per field rather than one per call
+        assertEquals(versionBefore + 2, database.getModificationVersion());
+        assertEquals(ChangeType.BULK_UPDATED, events.get(events.size() - 1).type());
+        assertEquals(List.of(1001, 1002), events.get(events.size() - 1).employeeIds());
+
+        database.undo();
+        database.undo();
+        assertEquals(75000.0, database.getEmployeeById(1001).getSalary());
+        assertEquals("John Smith", database.getEmployeeById(1001).getName());
+        assertEquals(List.of(1001), ids(database.findByQuery(EmployeeQuery.<Integer>builder().salaryBetween(74000.0, 76000.0).build())));
+    }
+
+    @Test
+    void testAddAndRemoveOfSameEmployeeKeepSubmissionOrder() throws Exception {
+        Employee<Integer> first = new Employee<>(2000, "First", "IT", 50000.0, 3.0, 1, true);
+        Employee<Integer> second = new Employee<>(2000, "Second", "HR", 60000.0, 3.5, 2, true);
+        pipeline.submitAdd(first);
+        pipeline.submitUpdate(2000, "salary", 55000.0);
+        pipeline.submitRemove(2000);
+        CompletableFuture<Integer> readded = pipeline.submitAdd(second);
+        events.clear();
+        pipeline.start();
+        readded.get(5, TimeUnit.SECONDS);
+
+        assertSame(second, database.getEmployeeById(2000));
+        assertEquals(55000.0, first.getSalary());
+        assertEquals(List.of(ChangeType.ADDED, ChangeType.UPDATED, ChangeType.REMOVED, ChangeType.ADDED),
+                events.stream().map(EmployeeChangeEvent::type).toList());
+    }
+
+    @Test
+    void testFailuresAreReportedPerMutation() throws Exception {
+        assertThrows(InvalidSalaryException.class, () -> pipeline.submitUpdate(1001, "salary", -1.0));
+        assertThrows(InvalidDepartmentException.class, () -> pipeline.submitUpdate(1001, "department", "Nowhere"));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.submitUpdate(1001, "unknown", 1));
+
+        CompletableFuture<Employee<Integer>> missing = pipeline.submitUpdate(9999, "salary", 1.0);
+        CompletableFuture<Employee<Integer>> valid = pipeline.submitUpdate(1001, "salary", 80000.0);
+        pipeline.start();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(EmployeeNotFoundException.class, failure.getCause());
+        assertEquals(80000.0, valid.get(5, TimeUnit.SECONDS).getSalary());
+    }
+
+    @Test
+    void testGroupCommitRunsOncePerBatch() throws Exception {
+        List<List<EmployeeChangeEvent<Integer>>> commits = new CopyOnWriteArrayList<>();
+        MutationPipeline<Integer> persisting = new MutationPipeline<>(database, 64, 64, batch -> {
+            commits.add(batch);
+            if (batch.get(0).type() == ChangeType.REMOVED) {
+                throw new IOException("Disk full");
+            }
+        });
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(persisting.submitUpdate(1001, "yearsOfExperience", 10 + i));
+            futures.add(persisting.submitUpdate(1002, "isActive", i % 2 == 0));
+        }
+        persisting.start();
+        for (CompletableFuture<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(1, commits.size());
+        assertEquals(2, commits.get(0).size());
+
+        CompletableFuture<Employee<Integer>> removal = persisting.submitRemove(1002);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> removal.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, failure.getCause());
+        assertTrue(persisting.shutdown(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailedGroupCommitLeavesDatabaseUnchanged() throws Exception {
+        MutationPipeline<Integer> persisting = new MutationPipeline<>(database, 64, 64, batch -> {
+            throw new IOException("Disk full");
+        });
+        long versionBefore = database.getModificationVersion();
+        int undoStepsBefore = database.getUndoHistory().undoCount();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        futures.add(persisting.submitUpdate(1001, "salary", 90000.0));
+        futures.add(persisting.submitUpdate(1001, "name", "John Renamed"));
+        futures.add(persisting.submitAdd(new Employee<>(1003, "Michael Chen", "Finance", 85000.0, 3.8, 7, true)));
+        futures.add(persisting.submitRemove(1002));
+        persisting.start();
+        for (CompletableFuture<?> future : futures) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, failure.getCause());
+        }
+        assertTrue(persisting.shutdown(5, TimeUnit.SECONDS));
+
+        assertEquals(versionBefore, database.getModificationVersion());
+        assertEquals(undoStepsBefore, database.getUndoHistory().undoCount());
+        assertTrue(events.isEmpty());
+        assertEquals(75000.0, database.getEmployeeById(1001).getSalary());
+        assertEquals("John Smith", database.getEmployeeById(1001).getName());
+        assertEquals(1002, database.getEmployeeById(1002).getEmployeeId());
+        assertThrows(EmployeeNotFoundException.class, () -> database.getEmployeeById(1003));
+        assertEquals(List.of(1001), ids(database.findByQuery(EmployeeQuery.<Integer>builder().salaryBetween(74000.0, 76000.0).build())));
+    }
+
+    @Test
+    void testWriterErrorFailsQueuedMutationsAndShutsDown() throws Exception {
+        Error crash = new Error("Writer crashed");
+        // One mutation per batch, so the second is still queued when the first fails
+        MutationPipeline<Integer> crashing = new MutationPipeline<>(database, 4, 1, batch -> {
+            throw crash;
+        });
+        CompletableFuture<Employee<Integer>> first = crashing.submitUpdate(1001, "salary", 90000.0);
+        CompletableFuture<Employee<Integer>> second = crashing.submitUpdate(1002, "salary", 70000.0);
+        crashing.start();
+
+        for (CompletableFuture<Employee<Integer>> future : List.of(first, second)) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertSame(crash, failure.getCause());
+        }
+        assertTrue(crashing.isShutdown());
+        assertThrows(IllegalStateException.class, () -> crashing.submitRemove(1001));
+        assertTrue(crashing.shutdown(5, TimeUnit.SECONDS));
+        assertEquals(75000.0, database.getEmployeeById(1001).getSalary());
+        assertEquals(65000.0, database.getEmployeeById(1002).getSalary());
+    }
+
+    @Test
+    void testConcurrentProducers() throws Exception {
+        pipeline.start();
+        int producers = 8;
+        int perProducer = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<List<CompletableFuture<Employee<Integer>>>>> submitted = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                submitted.add(pool.submit(() -> {
+                    List<CompletableFuture<Employee<Integer>>> futures = new ArrayList<>();
+                    for (int i = 0; i < perProducer; i++) {
+                        futures.add(pipeline.submitUpdate(producer % 2 == 0 ? 1001 : 1002, "yearsOfExperience", i));
+                    }
+                    return futures;
+                }));
+            }
+            for (Future<List<CompletableFuture<Employee<Integer>>>> producer : submitted) {
+                for (CompletableFuture<Employee<Integer>> future : producer.get(30, TimeUnit.SECONDS)) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(producers * perProducer, pipeline.getCommandCount());
+        assertTrue(pipeline.getBatchCount() <= pipeline.getCommandCount());
+        assertEquals(perProducer - 1, database.getEmployeeById(1001).getYearsOfExperience());
+        assertEquals(0, pipeline.getQueuedCount());
+    }
+
+    @Test
+    void testShutdownDrainsQueueAndRejectsNewMutations() throws Exception {
+        CompletableFuture<Employee<Integer>> queued = pipeline.submitUpdate(1001, "salary", 99000.0);
+        pipeline.start();
+        assertTrue(pipeline.shutdown(5, TimeUnit.SECONDS));
+
+        assertTrue(queued.isDone());
+        assertEquals(99000.0, database.getEmployeeById(1001).getSalary());
+        assertThrows(IllegalStateException.class, () -> pipeline.submitRemove(1001));
+    }
+
+    private static List<Integer> ids(List<Employee<Integer>> employees) {
+        return employees.stream().map(Employee::getEmployeeId).sorted().toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.sort.NormalizedKeySorter;
+import com.olim.employeemanagementsystem.sort.SortColumn;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the normalized-key radix sort
+ */
+public class NormalizedKeySorterTest {
+
+    @Test
+    void testMatchesComparatorSortOnRandomData() {
+        String[] departments = {"IT", "HR", "Finance", "Marketing", "Sales"};
+        Random random = new Random(7);
+        List<Employee<Integer>> employees = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            employees.add(new Employee<>(random.nextInt(100000), "Name " + random.nextInt(300),
+                    departments[random.nextInt(departments.length)],
+                    Math.round(random.nextDouble() * 20) * 5000.0, random.nextInt(11) / 2.0,
+                    random.nextInt(40), random.nextBoolean()));
+        }
+
+        List<SortOrder> orders = List.of(
+                SortOrder.by(SortKey.ascending(SortColumn.ID)),
+                SortOrder.by(SortKey.ascending(SortColumn.NAME)),
+                SortOrder.by(SortKey.descending(SortColumn.SALARY)),
+                SortOrder.by(SortKey.ascending(SortColumn.DEPARTMENT), SortKey.descending(SortColumn.SALARY)),
+                SortOrder.by(SortKey.descending(SortColumn.PERFORMANCE_RATING), SortKey.ascending(SortColumn.YEARS_OF_EXPERIENCE),
+                        SortKey.ascending(SortColumn.NAME)));
+
+        for (SortOrder order : orders) {
+            List<Employee<Integer>> expected = new ArrayList<>(employees);
+            expected.sort(order.comparator());
+
+            List<Employee<Integer>> actual = NormalizedKeySorter.sort(employees, order);
+
+            // Both sorts are stable, so the results must be identical row for row
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertSame(expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testNegativeAndSpecialDoublesKeepNumericOrder() {
+        List<Employee<Integer>> employees = new ArrayList<>();
+        double[] salaries = {5.5, -0.0, -250.0, 0.0, Double.MAX_VALUE, -Double.MAX_VALUE, 1e-9};
+        for (int i = 0; i < salaries.length; i++) {
+            employees.add(new Employee<>(i, "E" + i, "IT", salaries[i], 3.0, 1, true));
+        }
+
+        List<Employee<Integer>> sorted = NormalizedKeySorter.sort(employees, SortOrder.by(SortKey.ascending(SortColumn.SALARY)));
+
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(Double.compare(sorted.get(i - 1).getSalary(), sorted.get(i).getSalary()) <= 0);
+        }
+    }
+
+    @Test
+    void testFindSortedByDepartmentThenSalary() throws InvalidSalaryException, InvalidDepartmentException {
+        EmployeeDatabase<Integer> database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployee(new Employee<>(1001, "John Smith", "IT", 75000.0, 4.2, 5, true));
+        database.addEmployee(new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true));
+        database.addEmployee(new Employee<>(1003, "Michael Chen", "Finance", 85000.0, 3.8, 7, true));
+        database.addEmployee(new Employee<>(1004, "Emily Davis", "IT", 95000.0, 4.8, 6, true));
+
+        List<Employee<Integer>> sorted = database.findSorted(
+                SortOrder.by(SortKey.ascending(SortColumn.DEPARTMENT), SortKey.descending(SortColumn.SALARY)));
+
+        assertEquals(1003, sorted.get(0).getEmployeeId()); // Finance
+        assertEquals(1002, sorted.get(1).getEmployeeId()); // HR
+        assertEquals(1004, sorted.get(2).getEmployeeId()); // IT, 95000
+        assertEquals(1001, sorted.get(3).getEmployeeId()); // IT, 75000
+    }
+}
@@ -0,0 +1,262 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.EmployeeChangeEvent;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.EmployeeVersionConflictException;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for compare-and-set updates with per-employee versions
+ */
+public class OptimisticConcurrencyTest {
+    private EmployeeDatabase<Integer> database;
+    private List<EmployeeChangeEvent<Integer>> events;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployee(new Employee<>(1001, "John Smith", "IT", 75000.0, 4.2, 5, true));
+        database.addEmployee(new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true));
+        events = new ArrayList<>();
+        database.addChangeListener(events::add);
+    }
+
+    @Test
+    void testVersionGrowsWithEveryChange() throws Exception {
+        Employee<Integer> employee = database.getEmployeeById(1001);
+        long created = employee.getVersion();
+
+        database.updateEmployeeDetails(1001, "salary", 80000.0);
+        long updated = employee.getVersion();
+        assertTrue(updated > created);
+
+        database.undo();
+        assertTrue(employee.getVersion() > updated);
+        database.giveSalaryRaiseByPerformanceRating(4.0, 0.10);
+        assertTrue(employee.getVersion() > updated + 1);
+    }
+
+    @Test
+    void testStaleVersionConflicts() throws Exception {
+        long seen = database.getEmployeeById(1001).getVersion();
+        // Another user saves first
+        database.updateEmployeeDetails(1001, "salary", 90000.0, seen);
+
+        EmployeeVersionConflictException conflict = assertThrows(EmployeeVersionConflictException.class,
+                () -> database.updateEmployeeDetails(1001, "salary", 70000.0, seen));
+        assertEquals(seen, conflict.getExpectedVersion());
+        assertEquals(database.getEmployeeById(1001).getVersion(), conflict.getActualVersion());
+        assertEquals(90000.0, database.getEmployeeById(1001).getSalary());
+        assertEquals(1, events.size());
+
+        database.updateEmployeeDetails(1001, "salary", 70000.0, conflict.getActualVersion());
+        assertEquals(70000.0, database.getEmployeeById(1001).getSalary());
+    }
+
+    @Test
+    void testMultiFieldUpdateIsAllOrNothing() throws Exception {
+        Employee<Integer> employee = database.getEmployeeById(1002);
+        long version = employee.getVersion();
+
+        Map<String, Object> invalid = new LinkedHashMap<>();
+        invalid.put("name", "Sarah Renamed");
+        invalid.put("salary", 70000.0);
+        invalid.put("department", "Nowhere");
+        assertThrows(InvalidDepartmentException.class, () -> database.updateEmployeeDetails(1002, invalid, version));
+        assertEquals("Sarah Johnson", employee.getName());
+        assertEquals(version, employee.getVersion());
+        assertTrue(events.isEmpty());
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("name", "Sarah Johnson");
+        changes.put("department", "Finance");
+        changes.put("salary", 65000.0);
+        database.updateEmployeeDetails(1002, changes, version);
+        // Only the department actually changed
+        assertEquals(1, events.size());
+        assertEquals("department", events.get(0).field());
+        assertEquals(List.of(1002), database.findByDepartment("Finance").stream().map(Employee::getEmployeeId).toList());
+
+        database.undo();
+        assertEquals("HR", employee.getDepartment());
+    }
+
+    @Test
+    void testMultiFieldUpdateIsOneChange() throws Exception {
+        Employee<Integer> employee = database.getEmployeeById(1001);
+        int undoSteps = database.getUndoHistory().undoCount();
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("name", "John Renamed");
+        changes.put("salary", 82000.0);
+        changes.put("department", "Finance");
+        database.updateEmployeeDetails(1001, changes, employee.getVersion());
+        assertEquals(1, events.size());
+        assertNull(events.get(0).field());
+        assertEquals(List.of(1001), events.get(0).employeeIds());
+        assertEquals(undoSteps + 1, database.getUndoHistory().undoCount());
+        assertEquals(List.of(1001), database.findByDepartment("Finance").stream().map(Employee::getEmployeeId).toList());
+
+        database.undo();
+        assertEquals("John Smith", employee.getName());
+        assertEquals(75000.0, employee.getSalary());
+        assertEquals("IT", employee.getDepartment());
+        assertTrue(database.findByDepartment("Finance").isEmpty());
+        database.redo();
+        assertEquals("John Renamed", employee.getName());
+        assertEquals("Finance", employee.getDepartment());
+    }
+
+    @Test
+    void testCopyNeverMixesTwoUpdates() throws Exception {
+        Employee<Integer> employee = database.getEmployeeById(1001);
+        database.updateEmployeeDetails(1001, Map.of("salary", 50000.0, "performanceRating", 1.0), employee.getVersion());
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Future<Integer> reader = CompletableFuture.supplyAsync(() -> {
+            int copies = 0;
+            while(writing.get() || copies == 0) {
+                Employee<Integer> copy = employee.copy();
+                assertEquals(0, copy.getVersion() % 2);
+                // Either every value of the low state or every value of the high one
+                boolean low = copy.getSalary() == 50000.0;
+                assertEquals(low ? "IT" : "HR", copy.getDepartment());
+                assertEquals(low ? 1.0 : 5.0, copy.getPerformanceRating());
+                copies++;
+            }
+            return copies;
+        });
+        try {
+            for(int i = 0; i < 5000; i++) {
+                boolean low = i % 2 == 0;
+                Map<String, Object> changes = new LinkedHashMap<>();
+                changes.put("salary", low ? 90000.0 : 50000.0);
+                changes.put("department", low ? "HR" : "IT");
+                changes.put("performanceRating", low ? 5.0 : 1.0);
+                database.updateEmployeeDetails(1001, changes, employee.getVersion());
+            }
+        } finally {
+            writing.set(false);
+        }
+        assertTrue(reader.get(60, TimeUnit.SECONDS) > 0);
+    }
+
+    @Test
+    void testConcurrentSettersNeverLoseAChange() throws Exception {
+        Employee<Integer> employee = new Employee<>(7, "Detached", "IT", 1000.0, 3.0, 1, true);
+        int threads = 4;
+        int changesPerThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for(int t = 0; t < threads; t++) {
+                int offset = t;
+                writers.add(pool.submit(() -> {
+                    for(int i = 0; i < changesPerThread; i++) {
+                        if(i % 2 == 0) {
+                            employee.setSalary(offset * 1000.0 + i);
+                        } else {
+                            employee.update(changing -> {
+                                changing.setYearsOfExperience(offset);
+                                changing.setActive(offset % 2 == 0);
+                            });
+                        }
+                    }
+                }));
+            }
+            for(Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        // Every change moved the version on by exactly two, and none was left open
+        assertEquals(2L * threads * changesPerThread, employee.getVersion());
+        assertEquals(employee.getVersion(), employee.copy().getVersion());
+    }
+
+    @Test
+    void testReadersDoNotWaitForWriters() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread writer = Thread.ofPlatform().start(() -> {
+            // Holds the database lock the way a long write would
+            synchronized(database) {
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        try {
+            locked.await();
+            CompletableFuture<Long> read = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return database.getEmployeeById(1001).getVersion();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            });
+            assertEquals(database.getEmployeeById(1001).getVersion(), read.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            writer.join();
+        }
+    }
+
+    @Test
+    void testContentionLosesNoUpdates() throws Exception {
+        int threads = 8;
+        int incrementsPerThread = 2000;
+        int[] hot = {1001, 1002};
+        AtomicLong conflicts = new AtomicLong();
+        AtomicLong attempts = new AtomicLong();
+        int before = database.getEmployeeById(1001).getYearsOfExperience() + database.getEmployeeById(1002).getYearsOfExperience();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        for(int t = 0; t < threads; t++) {
+            int seed = t;
+            workers.add(executor.submit(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for(int i = 0; i < incrementsPerThread; i++) {
+                    int id = hot[random.nextInt(hot.length)];
+                    while(true) {
+                        // Read without locking, then write only if nothing changed in between
+                        Employee<Integer> employee = database.getEmployeeById(id);
+                        long version = employee.getVersion();
+                        int years = employee.getYearsOfExperience();
+                        attempts.incrementAndGet();
+                        try {
+                            database.updateEmployeeDetails(id, "yearsOfExperience", years + 1, version);
+                            break;
+                        } catch (EmployeeVersionConflictException e) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for(Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int after = database.getEmployeeById(1001).getYearsOfExperience() + database.getEmployeeById(1002).getYearsOfExperience();
+        assertEquals(before + threads * incrementsPerThread, after);
+        assertEquals((long) threads * incrementsPerThread, attempts.get() - conflicts.get());
+        assertEquals(threads * incrementsPerThread, events.size());
+    }
+}
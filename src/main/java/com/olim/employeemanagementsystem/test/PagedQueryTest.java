@@ -0,0 +1,129 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.query.Page;
+import com.olim.employeemanagementsystem.query.PageCursor;
+import com.olim.employeemanagementsystem.sort.SortColumn;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for keyset and offset pagination of query results
+ */
+public class PagedQueryTest {
+    private EmployeeDatabase<Integer> database;
+
+    @BeforeEach
+    void setUp() throws InvalidSalaryException, InvalidDepartmentException {
+        database = new EmployeeDatabase<>(new HashMap<>());
+        String[] departments = {"IT", "HR", "Finance", "Marketing", "Sales"};
+        Random random = new Random(5);
+        for (int i = 1; i <= 1000; i++) {
+            database.addEmployee(new Employee<>(i, "Employee " + random.nextInt(100), departments[random.nextInt(departments.length)],
+                    // Few distinct salaries so the ID tie-break matters
+                    40000.0 + random.nextInt(10) * 5000, random.nextInt(11) / 2.0, random.nextInt(20), true));
+        }
+    }
+
+    @Test
+    void testKeysetPagesConcatenateToFullResult() {
+        EmployeeQuery<Integer> query = EmployeeQuery.<Integer>builder()
+                .minRating(2.0)
+                .sortedBy(SortOrder.by(SortKey.descending(SortColumn.SALARY)))
+                .build();
+        List<Employee<Integer>> expected = database.findByQuery(query);
+
+        List<Employee<Integer>> paged = new ArrayList<>();
+        PageCursor cursor = null;
+        Page<Integer> page;
+        do {
+            page = database.findPage(query, cursor, 64);
+            paged.addAll(page.rows());
+            cursor = page.next();
+            assertEquals(expected.size(), page.totalCount());
+        } while (page.hasMore());
+
+        assertEquals(expected.size(), paged.size());
+        for (int i = 1; i < paged.size(); i++) {
+            Employee<Integer> previous = paged.get(i - 1);
+            Employee<Integer> current = paged.get(i);
+            assertTrue(previous.getSalary() > current.getSalary()
+                    || (previous.getSalary() == current.getSalary() && previous.getEmployeeId() < current.getEmployeeId()));
+        }
+    }
+
+    @Test
+    void testOffsetPageMatchesKeysetPage() {
+        EmployeeQuery<Integer> query = EmployeeQuery.<Integer>builder()
+                .sortedBy(SortOrder.by(SortKey.ascending(SortColumn.NAME)))
+                .build();
+
+        Page<Integer> first = database.findPage(query, null, 100);
+        Page<Integer> second = database.findPage(query, first.next(), 100);
+        Page<Integer> jumped = database.findPageAt(query, 100, 100);
+
+        assertEquals(100, second.offset());
+        assertEquals(second.rows(), jumped.rows());
+    }
+
+    @Test
+    void testCursorKeepsPositionWhenEarlierRowsAreInserted() throws InvalidSalaryException, InvalidDepartmentException {
+        EmployeeQuery<Integer> query = EmployeeQuery.<Integer>builder()
+                .sortedBy(SortOrder.by(SortKey.ascending(SortColumn.ID)))
+                .build();
+        Page<Integer> first = database.findPage(query, null, 10);
+        assertEquals(10, first.rows().get(9).getEmployeeId());
+
+        // A row sorting before the cursor shifts offsets but not the keyset position
+        database.addEmployee(new Employee<>(0, "Early Hire", "IT", 50000.0, 3.0, 1, true));
+        Page<Integer> next = database.findPage(query, first.next(), 10);
+
+        assertEquals(11, next.rows().get(0).getEmployeeId());
+        assertEquals(11, next.offset());
+        assertEquals(1001, next.totalCount());
+    }
+
+    @Test
+    void testLimitedQueryPagesOnlyItsBestMatches() {
+        SortOrder bySalary = SortOrder.by(SortKey.descending(SortColumn.SALARY));
+        EmployeeQuery<Integer> all = EmployeeQuery.<Integer>builder().minRating(2.0).sortedBy(bySalary).build();
+        EmployeeQuery<Integer> best = EmployeeQuery.<Integer>builder().minRating(2.0).sortedBy(bySalary).limit(25).build();
+        List<Employee<Integer>> expected = database.findPageAt(all, 0, 25).rows();
+
+        List<Employee<Integer>> paged = new ArrayList<>();
+        PageCursor cursor = null;
+        Page<Integer> page;
+        do {
+            page = database.findPage(best, cursor, 10);
+            paged.addAll(page.rows());
+            cursor = page.next();
+            assertEquals(25, page.totalCount());
+        } while (page.hasMore());
+
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    void testCursorFromAnotherSortOrderIsRejected() {
+        EmployeeQuery<Integer> byName = EmployeeQuery.<Integer>builder()
+                .sortedBy(SortOrder.by(SortKey.ascending(SortColumn.NAME)))
+                .build();
+        EmployeeQuery<Integer> byId = EmployeeQuery.<Integer>builder().build();
+        PageCursor cursor = database.findPage(byName, null, 10).next();
+
+        assertThrows(IllegalArgumentException.class, () -> database.findPage(byId, cursor, 10));
+    }
+}
@@ -0,0 +1,158 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.db.PartitionedEmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.query.Page;
+import com.olim.employeemanagementsystem.query.PageCursor;
+import com.olim.employeemanagementsystem.sort.SortColumn;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the hash-partitioned database, checked against a single database holding the same employees
+ */
+public class PartitionedDatabaseTest {
+    private static final int POPULATION = 20_000;
+
+    private EmployeeDatabase<Integer> single;
+    private PartitionedEmployeeDatabase<Integer> partitioned;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Separate copies, since both databases mutate the employees they hold
+        single = new EmployeeDatabase<>(new HashMap<>());
+        single.addEmployees(EmployeeGenerator.withSeed(7).generate(0, POPULATION));
+        partitioned = new PartitionedEmployeeDatabase<>(4);
+        partitioned.addEmployees(EmployeeGenerator.withSeed(7).generate(0, POPULATION));
+    }
+
+    @AfterEach
+    void tearDown() {
+        partitioned.shutdown();
+    }
+
+    @Test
+    void testSearchesMatchSingleDatabase() throws Exception {
+        assertEquals(POPULATION, partitioned.size());
+        assertEquals(sortedIds(single.findByDepartment("Sales")), sortedIds(partitioned.findByDepartment("Sales")));
+        assertEquals(sortedIds(single.findBySalaryBetween(50000, 60000)), sortedIds(partitioned.findBySalaryBetween(50000, 60000)));
+        assertEquals(sortedIds(single.findByRating(4.0)), sortedIds(partitioned.findByRating(4.0)));
+        assertThrows(InvalidDepartmentException.class, () -> partitioned.findByDepartment("Nowhere"));
+
+        EmployeeQuery<Integer> query = EmployeeQuery.<Integer>builder().department("IT").minRating(3.5)
+                .sortedBy(SortOrder.by(SortKey.descending(SortColumn.SALARY))).limit(50).build();
+        assertEquals(values(single.findByQuery(query), Employee::getSalary), values(partitioned.findByQuery(query), Employee::getSalary));
+    }
+
+    @Test
+    void testSortsAndTopNAreMerged() {
+        assertEquals(values(single.findSortedBySalary(), Employee::getSalary),
+                values(partitioned.findSortedBySalary(), Employee::getSalary));
+        assertEquals(values(single.findSortedByExperience(), Employee::getYearsOfExperience),
+                values(partitioned.findSortedByExperience(), Employee::getYearsOfExperience));
+        assertEquals(values(single.findTopHighestPaid(25), Employee::getSalary),
+                values(partitioned.findTopHighestPaid(25), Employee::getSalary));
+
+        SortOrder order = SortOrder.by(SortKey.ascending(SortColumn.DEPARTMENT), SortKey.descending(SortColumn.PERFORMANCE_RATING));
+        assertEquals(values(single.findSorted(order), e -> e.getDepartment() + e.getPerformanceRating()),
+                values(partitioned.findSorted(order), e -> e.getDepartment() + e.getPerformanceRating()));
+    }
+
+    @Test
+    void testPagingWalksSameRowsAsSingleDatabase() {
+        EmployeeQuery<Integer> query = EmployeeQuery.<Integer>builder().active(true)
+                .sortedBy(SortOrder.by(SortKey.descending(SortColumn.SALARY))).build();
+        List<Integer> expected = ids(single.findPageAt(query, 0, POPULATION).rows());
+
+        List<Integer> walked = new ArrayList<>();
+        PageCursor cursor = null;
+        Page<Integer> page;
+        do {
+            page = partitioned.findPage(query, cursor, 700);
+            assertEquals(walked.size(), page.offset());
+            assertEquals(expected.size(), page.totalCount());
+            walked.addAll(ids(page.rows()));
+            cursor = page.next();
+        } while(page.hasMore());
+        assertEquals(expected, walked);
+
+        Page<Integer> deep = partitioned.findPageAt(query, 5000, 100);
+        assertEquals(expected.subList(5000, 5100), ids(deep.rows()));
+        assertEquals(5000, deep.offset());
+    }
+
+    @Test
+    void testAveragesCombineShardTotals() throws Exception {
+        Map<String, Double> expected = single.calculateAverageSalaryPerDepartment();
+        Map<String, Double> actual = partitioned.calculateAverageSalaryPerDepartment();
+        assertEquals(expected.keySet(), actual.keySet());
+        for(String department : expected.keySet()) {
+            assertEquals(expected.get(department), actual.get(department), 1e-6);
+            assertEquals(single.calculateAverageSalaryByDepartment(department),
+                    partitioned.calculateAverageSalaryByDepartment(department), 1e-6);
+        }
+        assertThrows(InvalidDepartmentException.class, () -> partitioned.calculateAverageSalaryByDepartment("Nowhere"));
+
+        Map<String, List<Employee<Integer>>> groups = partitioned.groupByDepartment();
+        assertEquals(POPULATION, groups.values().stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void testMutationsRouteToOneShard() throws Exception {
+        partitioned.addEmployee(new Employee<>(POPULATION, "Late Hire", "HR", 52000.0, 4.0, 1, true));
+        partitioned.updateEmployeeDetails(POPULATION, "salary", 999_999.0);
+        assertEquals(POPULATION, partitioned.findTopHighestPaid(1).get(0).getEmployeeId());
+
+        partitioned.removeEmployee(POPULATION);
+        assertThrows(EmployeeNotFoundException.class, () -> partitioned.getEmployeeById(POPULATION));
+        assertEquals(POPULATION, partitioned.size());
+
+        double before = partitioned.getEmployeeById(3).getSalary();
+        double rating = partitioned.getEmployeeById(3).getPerformanceRating();
+        int raised = partitioned.giveSalaryRaiseByPerformanceRating(rating, 0.10).size();
+        assertEquals(single.giveSalaryRaiseByPerformanceRating(rating, 0.10).size(), raised);
+        assertEquals(before * 1.10, partitioned.getEmployeeById(3).getSalary(), 1e-6);
+    }
+
+    @Test
+    void testAddEmployeesIsAllOrNothing() throws Exception {
+        List<Employee<Integer>> batch = new ArrayList<>();
+        for(int i = 0; i < 100; i++) {
+            batch.add(new Employee<>(POPULATION + i, "New " + i, "IT", 50000.0, 3.0, 1, true));
+        }
+        batch.add(new Employee<>(POPULATION + 100, "Invalid", "Nowhere", 50000.0, 3.0, 1, true));
+        assertThrows(InvalidDepartmentException.class, () -> partitioned.addEmployees(batch));
+        assertEquals(POPULATION, partitioned.size());
+
+        batch.remove(batch.size() - 1);
+        batch.add(new Employee<>(5, "Duplicate", "IT", 50000.0, 3.0, 1, true));
+        List<Integer> added = partitioned.addEmployees(batch);
+        assertEquals(ids(batch.subList(0, 100)), added);
+        assertNotEquals("Duplicate", partitioned.getEmployeeById(5).getName());
+    }
+
+    private static List<Integer> ids(List<Employee<Integer>> employees) {
+        return employees.stream().map(Employee::getEmployeeId).toList();
+    }
+
+    private static List<Integer> sortedIds(List<Employee<Integer>> employees) {
+        return employees.stream().map(Employee::getEmployeeId).sorted().toList();
+    }
+
+    private static <V> List<V> values(List<Employee<Integer>> employees, Function<Employee<Integer>, V> key) {
+        return employees.stream().map(key).toList();
+    }
+}
@@ -0,0 +1,197 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.replication.ReplicationFollower;
+import com.olim.employeemanagementsystem.replication.ReplicationLeader;
+import com.olim.employeemanagementsystem.replication.ReplicationNode;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for replicating a database from a leader to followers over loopback TCP
+ */
+public class ReplicationTest {
+    private static final int POPULATION = 20_000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    private EmployeeDatabase<Integer> leaderDatabase;
+    private ReplicationLeader<Integer> leader;
+    private final List<ReplicationFollower<Integer>> followers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        leaderDatabase = new EmployeeDatabase<>(new HashMap<>());
+        leaderDatabase.addEmployees(EmployeeGenerator.withSeed(11).generate(0, POPULATION));
+        leader = new ReplicationLeader<>(leaderDatabase);
+        leader.setHeartbeatInterval(Duration.ofMillis(20));
+        leader.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for(ReplicationFollower<Integer> follower : followers) {
+            follower.stop();
+        }
+        leader.stop();
+    }
+
+    private ReplicationFollower<Integer> follow(ReplicationLeader<Integer> from) {
+        ReplicationFollower<Integer> follower = new ReplicationFollower<>(new EmployeeDatabase<>(new HashMap<>()), Integer::valueOf);
+        follower.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), from.getPort()));
+        followers.add(follower);
+        return follower;
+    }
+
+    private void assertReplicated(ReplicationFollower<Integer> follower) throws Exception {
+        assertTrue(follower.awaitVersion(leaderDatabase.getModificationVersion(), TIMEOUT), "Follower did not catch up");
+        assertEquals(ReplicationNode.digest(leaderDatabase), ReplicationNode.digest(follower.getDatabase()));
+    }
+
+    @Test
+    void testFollowerReceivesSnapshotThenChanges() throws Exception {
+        ReplicationFollower<Integer> follower = follow(leader);
+        assertReplicated(follower);
+        assertEquals(1, follower.getSnapshotCount());
+
+        leaderDatabase.updateEmployeeDetails(7, "department", "Legal");
+        leaderDatabase.updateEmployeeDetails(8, "name", "Renamed Person");
+        leaderDatabase.removeEmployee(9);
+        leaderDatabase.addEmployee(new Employee<>(POPULATION, "Late Hire", "HR", 52000.0, 4.0, 1, true));
+        leaderDatabase.giveSalaryRaiseByPerformanceRating(4.0, 0.05);
+        leaderDatabase.undo();
+        leaderDatabase.undo();
+        assertReplicated(follower);
+
+        // Replicated changes keep the follower's indexes in step
+        EmployeeDatabase<Integer> replica = follower.readableDatabase();
+        assertEquals(leaderDatabase.findByDepartment("Legal").size(), replica.findByDepartment("Legal").size());
+        assertEquals(leaderDatabase.findBySalaryBetween(60000, 70000).size(), replica.findBySalaryBetween(60000, 70000).size());
+        assertEquals(1, follower.getSnapshotCount());
+    }
+
+    @Test
+    void testReconnectCatchesUpFromLogTail() throws Exception {
+        ReplicationFollower<Integer> follower = follow(leader);
+        assertReplicated(follower);
+        follower.stop();
+
+        for(int i = 0; i < 500; i++) {
+            leaderDatabase.updateEmployeeDetails(i, "salary", 40000.0 + i);
+        }
+        follower.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), leader.getPort()));
+        assertReplicated(follower);
+        assertEquals(1, follower.getSnapshotCount());
+    }
+
+    @Test
+    void testFollowerOutsideLogGetsNewSnapshot() throws Exception {
+        leader.stop();
+        leader = new ReplicationLeader<>(leaderDatabase, 4096);
+        leader.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        ReplicationFollower<Integer> follower = follow(leader);
+        assertReplicated(follower);
+        follower.stop();
+
+        for(int i = 0; i < 500; i++) {
+            leaderDatabase.updateEmployeeDetails(i, "yearsOfExperience", 40);
+        }
+        follower.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), leader.getPort()));
+        assertReplicated(follower);
+        assertEquals(2, follower.getSnapshotCount());
+    }
+
+    @Test
+    void testStaleFollowerRefusesReads() throws Exception {
+        ReplicationFollower<Integer> follower = follow(leader);
+        follower.setMaxLag(Duration.ofMillis(300));
+        assertReplicated(follower);
+        Thread.sleep(100);
+        assertTrue(follower.isWithinMaxLag(), "Staleness " + follower.getStaleness());
+        assertEquals(0, follower.getVersionLag());
+
+        leader.stop();
+        Thread.sleep(600);
+        assertFalse(follower.isWithinMaxLag());
+        assertThrows(IllegalStateException.class, follower::readableDatabase);
+        // The data itself stays available to callers that accept stale reads
+        assertEquals(POPULATION, follower.getDatabase().getAllEmployees().size());
+    }
+
+    @Test
+    void testFollowersInSeparateProcesses() throws Exception {
+        String java = ProcessHandle.current().info().command().orElse(null);
+        String classPath = System.getProperty("java.class.path");
+        assumeTrue(java != null && classPath != null && !classPath.isEmpty(), "Cannot start a JVM on the test class path");
+
+        List<Node> nodes = new ArrayList<>();
+        try {
+            for(int i = 0; i < 2; i++) {
+                Process process = new ProcessBuilder(java, "-cp", classPath, ReplicationNode.class.getName(),
+                        "follower", InetAddress.getLoopbackAddress().getHostAddress(), String.valueOf(leader.getPort()))
+                        .redirectError(ProcessBuilder.Redirect.DISCARD)
+                        .start();
+                nodes.add(new Node(process));
+            }
+            for(int round = 0; round < 3; round++) {
+                for(int i = 0; i < 200; i++) {
+                    leaderDatabase.updateEmployeeDetails(round * 200 + i, "performanceRating", (i % 50) / 10.0);
+                }
+                leaderDatabase.removeEmployee(POPULATION - 1 - round);
+                String expected = "version " + leaderDatabase.getModificationVersion() + " " + ReplicationNode.digest(leaderDatabase);
+                for(Node node : nodes) {
+                    assertEquals(expected, node.ask("await " + leaderDatabase.getModificationVersion()));
+                }
+            }
+        } finally {
+            for(Node node : nodes) {
+                node.close();
+            }
+        }
+    }
+
+    // A node process driven through its standard input and output
+    private static final class Node {
+        private final Process process;
+        private final PrintWriter commands;
+        private final BufferedReader answers;
+
+        Node(Process process) {
+            this.process = process;
+            commands = new PrintWriter(process.getOutputStream(), true);
+            answers = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        }
+
+        String ask(String command) throws Exception {
+            commands.println(command);
+            String line;
+            do {
+                line = answers.readLine();
+            } while(line != null && line.equals("ready"));
+            return line;
+        }
+
+        void close() throws Exception {
+            commands.close();
+            if(!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.display.EmployeeDisplay;
+import com.olim.employeemanagementsystem.display.ReportCache;
+import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the version-stamped report cache
+ */
+public class ReportCacheTest {
+
+    private EmployeeDatabase<Integer> database;
+    private ReportCache<String> cache;
+
+    @BeforeEach
+    void setUp() throws InvalidSalaryException, InvalidDepartmentException {
+        database = new EmployeeDatabase<>(new HashMap<>());
+        cache = new ReportCache<>(2);
+
+        database.addEmployee(new Employee<>(1001, "John Smith", "IT", 75000.0, 4.2, 5, true));
+        database.addEmployee(new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true));
+    }
+
+    @Test
+    void testModificationVersionIncreasesOnEveryChange() throws Exception {
+        long afterAdds = database.getModificationVersion();
+        assertEquals(2L, afterAdds);
+
+        database.updateEmployeeDetails(1001, "salary", 80000.0);
+        assertTrue(database.getModificationVersion() > afterAdds);
+
+        long afterUpdate = database.getModificationVersion();
+        database.removeEmployee(1002);
+        assertTrue(database.getModificationVersion() > afterUpdate);
+
+        // Failed operations leave the version untouched
+        long afterRemove = database.getModificationVersion();
+        assertThrows(EmployeeNotFoundException.class, () -> database.removeEmployee(9999));
+        assertEquals(afterRemove, database.getModificationVersion());
+    }
+
+    @Test
+    void testRepeatRequestWithoutChangesIsCacheHit() {
+        String first = cache.get("department", database.getModificationVersion(),
+                () -> EmployeeDisplay.formatDepartmentSummaryReport(database.getAllEmployees()));
+        String second = cache.get("department", database.getModificationVersion(),
+                () -> fail("Report should have been served from the cache"));
+
+        assertSame(first, second);
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+    }
+
+    @Test
+    void testChangeInvalidatesCachedReport() throws Exception {
+        String before = cache.get("salary", database.getModificationVersion(),
+                () -> EmployeeDisplay.formatSalaryDistributionReport(database.getAllEmployees()));
+
+        database.updateEmployeeDetails(1002, "salary", 120000.0);
+
+        String after = cache.get("salary", database.getModificationVersion(),
+                () -> EmployeeDisplay.formatSalaryDistributionReport(database.getAllEmployees()));
+
+        assertNotEquals(before, after);
+        assertEquals(0L, cache.getHitCount());
+        assertEquals(2L, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        cache.get("department", 1, () -> "a");
+        cache.get("salary", 1, () -> "b");
+        cache.get("performance", 1, () -> "c");
+
+        assertEquals(2, cache.size());
+        assertEquals(1L, cache.getEvictionCount());
+    }
+}
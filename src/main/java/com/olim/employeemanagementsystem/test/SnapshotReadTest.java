@@ -0,0 +1,210 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.AccessPath;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the lock-free snapshots returned by getAllEmployees and used by indexed queries
+ */
+public class SnapshotReadTest {
+    private EmployeeDatabase<Integer> database;
+
+    @BeforeEach
+    void setUp() throws InvalidSalaryException, InvalidDepartmentException {
+        database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployee(new Employee<>(1001, "John Smith", "IT", 75000.0, 4.2, 5, true));
+        database.addEmployee(new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true));
+        database.addEmployee(new Employee<>(1003, "Michael Chen", "Finance", 85000.0, 3.8, 7, true));
+    }
+
+    @Test
+    void testSnapshotIgnoresLaterAddsAndRemoves() throws Exception {
+        Collection<Employee<Integer>> before = database.getAllEmployees();
+        database.addEmployee(new Employee<>(1004, "Emily Davis", "IT", 92000.0, 4.8, 6, true));
+        database.removeEmployee(1001);
+
+        assertEquals(Set.of(1001, 1002, 1003), ids(before));
+        assertEquals(Set.of(1002, 1003, 1004), ids(database.getAllEmployees()));
+        assertThrows(UnsupportedOperationException.class, () -> before.add(new Employee<>(1005, "Added", "IT", 1.0, 1.0, 1, true)));
+    }
+
+    @Test
+    void testSnapshotSurvivesBulkLoadAndUndo() throws Exception {
+        List<Employee<Integer>> staff = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            staff.add(new Employee<>(10_000 + i, "Employee " + i, "Sales", 40000.0 + i, 3.0, 2, true));
+        }
+        Collection<Employee<Integer>> before = database.getAllEmployees();
+        database.addEmployees(staff);
+        Collection<Employee<Integer>> loaded = database.getAllEmployees();
+        database.removeEmployee(10_000);
+        database.undo();
+        database.removeEmployee(10_001);
+
+        assertEquals(3, before.size());
+        assertEquals(50_003, loaded.size());
+        assertEquals(50_003, ids(loaded).size());
+        assertEquals(50_002, database.getAllEmployees().size());
+        assertEquals(10_000, database.getEmployeeById(10_000).getEmployeeId());
+        assertFalse(ids(database.getAllEmployees()).contains(10_001));
+    }
+
+    @Test
+    void testReadersIterateWhileWritersMutate() throws Exception {
+        List<Employee<Integer>> staff = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            staff.add(new Employee<>(20_000 + i, "Employee " + i, "IT", 50000.0, 3.0, 2, true));
+        }
+        database.addEmployees(staff);
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(pool.submit(() -> {
+                    int snapshots = 0;
+                    while (writing.get() || snapshots == 0) {
+                        Collection<Employee<Integer>> snapshot = database.getAllEmployees();
+                        int counted = 0;
+                        for (Employee<Integer> employee : snapshot) {
+                            assertNotNull(employee);
+                            counted++;
+                        }
+                        // A stable snapshot iterates exactly the size it reports
+                        assertEquals(snapshot.size(), counted);
+                        snapshots++;
+                    }
+                    return snapshots;
+                }));
+            }
+            Future<?> writer = pool.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    database.addEmployee(new Employee<>(100_000 + i, "New " + i, "HR", 60000.0, 4.0, 1, true));
+                    database.removeEmployee(20_000 + i);
+                }
+                return null;
+            });
+            writer.get(60, TimeUnit.SECONDS);
+            writing.set(false);
+            for (Future<Integer> reader : readers) {
+                assertTrue(reader.get(60, TimeUnit.SECONDS) > 0);
+            }
+        } finally {
+            writing.set(false);
+            pool.shutdownNow();
+        }
+        assertEquals(10_003, database.getAllEmployees().size());
+    }
+
+    @Test
+    void testIndexedQueriesRunWhileWritersMutate() throws Exception {
+        String[] departments = {"IT", "HR", "Finance", "Marketing", "Sales", "Operations", "Legal", "R&D"};
+        List<Employee<Integer>> staff = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            staff.add(new Employee<>(30_000 + i, "Employee " + i, departments[i % departments.length],
+                    40000.0 + i * 10, (i % 51) / 10.0, 2, true));
+        }
+        database.addEmployees(staff);
+        EmployeeQuery<Integer> salaryQuery = EmployeeQuery.<Integer>builder().salaryBetween(45000.0, 47000.0).build();
+        EmployeeQuery<Integer> ratingQuery = EmployeeQuery.<Integer>builder().minRating(4.6).build();
+        EmployeeQuery<Integer> departmentQuery = EmployeeQuery.<Integer>builder().department("Legal").build();
+        assertEquals(AccessPath.SALARY_INDEX, database.explain(salaryQuery).accessPath());
+        assertEquals(AccessPath.RATING_INDEX, database.explain(ratingQuery).accessPath());
+        assertEquals(AccessPath.DEPARTMENT_INDEX, database.explain(departmentQuery).accessPath());
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(pool.submit(() -> {
+                    int queries = 0;
+                    while (writing.get() || queries == 0) {
+                        assertNoDuplicates(database.findBySalaryBetween(45000.0, 47000.0));
+                        assertNoDuplicates(database.findByRating(4.6));
+                        assertNoDuplicates(database.findByDepartment("Legal"));
+                        assertNoDuplicates(database.findByQuery(salaryQuery));
+                        queries++;
+                    }
+                    return queries;
+                }));
+            }
+            Future<?> writer = pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 5_000; i++) {
+                    int id = 30_000 + random.nextInt(2_000);
+                    database.updateEmployeeDetails(id, "salary", 44000.0 + random.nextInt(4_000));
+                    database.updateEmployeeDetails(id, "performanceRating", random.nextInt(51) / 10.0);
+                    database.updateEmployeeDetails(id, "department", departments[random.nextInt(departments.length)]);
+                    if (i % 10 == 0) {
+                        database.addEmployee(new Employee<>(200_000 + i, "New " + i, "Legal", 46000.0, 4.8, 1, true));
+                        database.removeEmployee(200_000 + i);
+                    }
+                }
+                database.giveSalaryRaiseByPerformanceRating(4.0, 0.01);
+                database.undo();
+                return null;
+            });
+            writer.get(60, TimeUnit.SECONDS);
+            writing.set(false);
+            for (Future<Integer> reader : readers) {
+                assertTrue(reader.get(60, TimeUnit.SECONDS) > 0);
+            }
+        } finally {
+            writing.set(false);
+            pool.shutdownNow();
+        }
+
+        // The maintained indexes still agree with a scan of every employee
+        for (String department : departments) {
+            Set<Integer> expected = new HashSet<>();
+            for (Employee<Integer> employee : database.getAllEmployees()) {
+                if (employee.getDepartment().equals(department)) {
+                    expected.add(employee.getEmployeeId());
+                }
+            }
+            assertEquals(expected, ids(database.findByDepartment(department)));
+        }
+        Set<Integer> expected = new HashSet<>();
+        for (Employee<Integer> employee : database.getAllEmployees()) {
+            if (employee.getSalary() >= 45000.0 && employee.getSalary() <= 47000.0) {
+                expected.add(employee.getEmployeeId());
+            }
+        }
+        assertEquals(expected, ids(database.findBySalaryBetween(45000.0, 47000.0)));
+    }
+
+    private static void assertNoDuplicates(List<Employee<Integer>> result) {
+        assertEquals(result.size(), ids(result).size());
+    }
+
+    private static Set<Integer> ids(Collection<Employee<Integer>> employees) {
+        Set<Integer> ids = new HashSet<>();
+        for (Employee<Integer> employee : employees) {
+            ids.add(employee.getEmployeeId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,167 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.HelloApplication;
+import com.olim.employeemanagementsystem.db.ChangeType;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.util.StartupTimer;
+import com.olim.employeemanagementsystem.view.BackgroundTasks;
+import com.olim.employeemanagementsystem.view.EmployeeLoader;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for fast startup: background loading, lazily built indexes and time to first frame
+ */
+public class StartupTest {
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Marketing", "Sales"};
+    private static final long FIRST_FRAME_BUDGET_MILLIS = 3000;
+
+    private EmployeeDatabase<Integer> database;
+    private BackgroundTasks tasks;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmployeeDatabase<>(new HashMap<>());
+        tasks = new BackgroundTasks(Executors.newVirtualThreadPerTaskExecutor(), Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tasks.shutdown();
+    }
+
+    private static Iterator<Employee<Integer>> generated(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Employee<>(i, "Employee " + i, DEPARTMENTS[i % DEPARTMENTS.length],
+                        30000.0 + (i * 37L) % 120000, (i % 51) / 10.0, i % 30, i % 7 != 0))
+                .iterator();
+    }
+
+    @Test
+    void testLoaderAddsOneChangePerChunk() throws Exception {
+        List<Integer> chunkSizes = new ArrayList<>();
+        database.addChangeListener(event -> {
+            assertEquals(ChangeType.ADDED, event.type());
+            chunkSizes.add(event.employeeIds().size());
+        });
+
+        int loaded = new EmployeeLoader<>(database, 1000).load(generated(10_500));
+
+        assertEquals(10_500, loaded);
+        assertEquals(10_500, database.getAllEmployees().size());
+        assertEquals(11, chunkSizes.size());
+        assertEquals(500, chunkSizes.get(10));
+    }
+
+    @Test
+    void testFirstRowsArriveLongBeforeLoadFinishes() throws Exception {
+        CompletableFuture<Long> firstChunk = new CompletableFuture<>();
+        database.addChangeListener(event -> firstChunk.complete(System.nanoTime()));
+        CompletableFuture<Integer> loaded = new CompletableFuture<>();
+
+        long start = System.nanoTime();
+        new EmployeeLoader<>(database).loadInBackground(generated(200_000), tasks,
+                loaded::complete, loaded::completeExceptionally);
+        long startupNanos = System.nanoTime() - start;
+
+        assertEquals(200_000, loaded.get(60, TimeUnit.SECONDS));
+        long loadNanos = System.nanoTime() - start;
+        long firstChunkNanos = firstChunk.get() - start;
+        // Starting the load must not wait for the data, and the table gets its first rows early
+        assertTrue(startupNanos * 10 < loadNanos, "Starting took " + startupNanos / 1_000_000 + " ms of " + loadNanos / 1_000_000);
+        assertTrue(firstChunkNanos * 4 < loadNanos, "First rows after " + firstChunkNanos / 1_000_000 + " ms of " + loadNanos / 1_000_000);
+    }
+
+    @Test
+    void testIndexesAreBuiltByFirstQuery() throws Exception {
+        new EmployeeLoader<>(database).load(generated(20_000));
+        assertFalse(database.isIndexed());
+
+        EmployeeQuery<Integer> query = EmployeeQuery.<Integer>builder().department("HR").salaryBetween(50000.0, 60000.0).build();
+        assertEquals(bruteForce(query), ids(database.findByQuery(query)));
+        assertTrue(database.isIndexed());
+
+        // Mutations after the build keep the indexes in step
+        database.updateEmployeeDetails(1, "department", "HR");
+        database.updateEmployeeDetails(1, "salary", 55000.0);
+        database.removeEmployee(6);
+        database.addEmployee(new Employee<>(50_000, "Late Hire", "HR", 52000.0, 4.0, 1, true));
+        assertEquals(bruteForce(query), ids(database.findByQuery(query)));
+    }
+
+    @Test
+    void testAddEmployeesValidatesEverythingFirst() throws Exception {
+        database.addEmployee(new Employee<>(1, "Existing", "IT", 50000.0, 3.0, 1, true));
+        List<Employee<Integer>> chunk = List.of(
+                new Employee<>(1, "Duplicate", "IT", 50000.0, 3.0, 1, true),
+                new Employee<>(2, "Valid", "HR", 50000.0, 3.0, 1, true),
+                new Employee<>(2, "Duplicate In Chunk", "HR", 50000.0, 3.0, 1, true));
+        assertEquals(List.of(2), database.addEmployees(chunk));
+        assertEquals("Valid", database.getEmployeeById(2).getName());
+
+        List<Employee<Integer>> invalid = List.of(
+                new Employee<>(3, "Valid", "HR", 50000.0, 3.0, 1, true),
+                new Employee<>(4, "Invalid", "Nowhere", 50000.0, 3.0, 1, true));
+        assertThrows(InvalidDepartmentException.class, () -> database.addEmployees(invalid));
+        assertEquals(2, database.getAllEmployees().size());
+    }
+
+    @Test
+    void testTimeToFirstFrame() throws Exception {
+        assumeTrue(startToolkit(), "No display available to start JavaFX");
+
+        long start = System.nanoTime();
+        CompletableFuture<Duration> firstFrame = StartupTimer.firstFrame();
+        Platform.runLater(() -> {
+            try {
+                new HelloApplication().start(new Stage());
+            } catch (Exception e) {
+                firstFrame.completeExceptionally(e);
+            }
+        });
+        firstFrame.get(30, TimeUnit.SECONDS);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(millis < FIRST_FRAME_BUDGET_MILLIS, "First frame after " + millis + " ms");
+    }
+
+    private static boolean startToolkit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException e) {
+            // Already running
+            return true;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+        return started.await(10, TimeUnit.SECONDS);
+    }
+
+    private List<Integer> bruteForce(EmployeeQuery<Integer> query) {
+        return database.getAllEmployees().stream()
+                .filter(query::matches)
+                .map(Employee::getEmployeeId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> ids(List<Employee<Integer>> employees) {
+        return employees.stream().map(Employee::getEmployeeId).sorted().collect(Collectors.toList());
+    }
+}
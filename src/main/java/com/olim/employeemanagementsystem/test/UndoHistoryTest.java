@@ -0,0 +1,157 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.ChangeType;
+import com.olim.employeemanagementsystem.db.EmployeeChangeEvent;
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.db.SalaryRaiseBatch;
+import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for undo and redo through the compact undo history
+ */
+public class UndoHistoryTest {
+    private EmployeeDatabase<Integer> database;
+    private List<EmployeeChangeEvent<Integer>> events;
+
+    @BeforeEach
+    void setUp() throws InvalidSalaryException, InvalidDepartmentException {
+        database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployee(new Employee<>(1001, "John Smith", "IT", 75000.0, 4.2, 5, true));
+        database.addEmployee(new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true));
+        database.addEmployee(new Employee<>(1003, "Michael Chen", "Finance", 85000.0, 3.8, 7, true));
+        events = new ArrayList<>();
+        database.addChangeListener(events::add);
+    }
+
+    @Test
+    void testUndoAndRedoFieldUpdates() throws Exception {
+        database.updateEmployeeDetails(1001, "name", "John Renamed");
+        database.updateEmployeeDetails(1001, "department", "Sales");
+        database.updateEmployeeDetails(1001, "isActive", false);
+
+        assertNotNull(database.undo());
+        assertTrue(database.getEmployeeById(1001).isActive());
+        assertNotNull(database.undo());
+        assertEquals("IT", database.getEmployeeById(1001).getDepartment());
+        assertEquals(List.of(1001), ids(database.findByQuery(EmployeeQuery.<Integer>builder().department("IT").build())));
+        assertNotNull(database.undo());
+        assertEquals("John Smith", database.getEmployeeById(1001).getName());
+
+        assertNotNull(database.redo());
+        assertEquals("John Renamed", database.getEmployeeById(1001).getName());
+        assertEquals(ChangeType.UPDATED, events.get(events.size() - 1).type());
+        assertEquals("name", events.get(events.size() - 1).field());
+    }
+
+    @Test
+    void testUndoRemoveRestoresEmployee() throws Exception {
+        Employee<Integer> removed = database.removeEmployee(1002);
+
+        assertNotNull(database.undo());
+        assertSame(removed, database.getEmployeeById(1002));
+        assertEquals(ChangeType.ADDED, events.get(events.size() - 1).type());
+        assertEquals(List.of(1002), ids(database.findByQuery(EmployeeQuery.<Integer>builder().department("HR").build())));
+
+        assertNotNull(database.redo());
+        assertThrows(EmployeeNotFoundException.class, () -> database.getEmployeeById(1002));
+    }
+
+    @Test
+    void testUndoAddRemovesEmployee() throws Exception {
+        database.addEmployee(new Employee<>(1004, "Emily Davis", "IT", 92000.0, 4.8, 6, true));
+        assertNotNull(database.undo());
+        assertThrows(EmployeeNotFoundException.class, () -> database.getEmployeeById(1004));
+        assertEquals(ChangeType.REMOVED, events.get(events.size() - 1).type());
+    }
+
+    @Test
+    void testBulkRaiseIsUndoneInOneBatch() throws Exception {
+        List<Employee<Integer>> staff = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            staff.add(new Employee<>(10_000 + i, "Employee " + i, "IT", 40000.0 + i, 4.0, 2, true));
+        }
+        database.addEmployees(staff);
+        events.clear();
+
+        database.giveSalaryRaiseByPerformanceRating(4.0, 0.10);
+        long versionAfterRaise = database.getModificationVersion();
+        assertEquals(44000.0, database.getEmployeeById(10_000).getSalary(), 1e-9);
+
+        assertNotNull(database.undo());
+        assertEquals(versionAfterRaise + 1, database.getModificationVersion());
+        assertEquals(2, events.size());
+        assertEquals(ChangeType.BULK_UPDATED, events.get(1).type());
+        assertEquals(100_002, events.get(1).employeeIds().size());
+        assertEquals(40000.0, database.getEmployeeById(10_000).getSalary());
+        assertEquals(75000.0, database.getEmployeeById(1001).getSalary());
+        assertEquals(100_003, database.findBySalaryBetween(0, 200000).size());
+
+        assertNotNull(database.redo());
+        assertEquals(44000.0, database.getEmployeeById(10_000).getSalary(), 1e-9);
+    }
+
+    @Test
+    void testNewMutationDiscardsRedo() throws Exception {
+        database.updateEmployeeDetails(1003, "salary", 90000.0);
+        database.undo();
+        assertTrue(database.canRedo());
+
+        database.updateEmployeeDetails(1003, "yearsOfExperience", 8);
+        assertFalse(database.canRedo());
+        assertNull(database.redo());
+    }
+
+    @Test
+    void testMemoryLimitDropsOldestEntries() throws Exception {
+        database.getUndoHistory().setMemoryLimit(1000);
+        for (int i = 0; i < 50; i++) {
+            database.updateEmployeeDetails(1001, "salary", 50000.0 + i);
+        }
+
+        int kept = database.getUndoHistory().undoCount();
+        assertTrue(kept > 0 && kept < 50, "Kept " + kept + " entries");
+        assertTrue(database.getUndoHistory().getMemoryUsed() <= 1000);
+        // The three additions from setUp were the oldest entries
+        assertEquals(53 - kept, database.getUndoHistory().getDiscardedCount());
+
+        while (database.undo() != null) {
+            // Undo everything still kept
+        }
+        assertEquals(50000.0 + 49 - kept, database.getEmployeeById(1001).getSalary());
+    }
+
+    @Test
+    void testRaiseTokenUndoIsItselfUndoable() throws Exception {
+        SalaryRaiseBatch<Integer> batch = database.applySalaryRaise(4.0, 0.10);
+        database.undoSalaryRaise(batch);
+        assertEquals(75000.0, database.getEmployeeById(1001).getSalary());
+
+        database.undo();
+        assertEquals(82500.0, database.getEmployeeById(1001).getSalary(), 1e-9);
+        database.undo();
+        assertEquals(75000.0, database.getEmployeeById(1001).getSalary());
+    }
+
+    @Test
+    void testBulkLoadClearsHistory() throws Exception {
+        assertTrue(database.canUndo());
+        database.addEmployees(List.of(new Employee<>(2000, "Loaded", "HR", 50000.0, 3.0, 1, true)));
+        assertFalse(database.canUndo());
+    }
+
+    private static List<Integer> ids(List<Employee<Integer>> employees) {
+        return employees.stream().map(Employee::getEmployeeId).sorted().toList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.olim.employeemanagementsystem.test;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+import com.olim.employeemanagementsystem.workload.Operation;
+import com.olim.employeemanagementsystem.workload.OperationType;
+import com.olim.employeemanagementsystem.workload.WorkloadTrace;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the seeded employee generator and workload traces
+ */
+public class WorkloadGeneratorTest {
+    private static final int POPULATION = 100_000;
+
+    private EmployeeGenerator generator;
+    private List<Employee<Integer>> employees;
+
+    @BeforeEach
+    void setUp() {
+        generator = EmployeeGenerator.withSeed(42);
+        employees = generator.generate(0, POPULATION);
+    }
+
+    @Test
+    void testSameSeedGivesSameEmployees() {
+        List<Employee<Integer>> again = EmployeeGenerator.withSeed(42).generate(0, 1000);
+        List<Employee<Integer>> other = EmployeeGenerator.withSeed(43).generate(0, 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(describe(employees.get(i)), describe(again.get(i)));
+        }
+        assertNotEquals(describe(employees.subList(0, 1000)), describe(other));
+
+        // Each employee depends only on its ID
+        assertEquals(describe(employees.get(77_777)), describe(generator.employee(77_777)));
+        Iterator<Employee<Integer>> streamed = generator.iterator(500, 3);
+        assertEquals(describe(employees.get(501)), describe(List.of(streamed.next(), streamed.next()).get(1)));
+    }
+
+    @Test
+    void testDepartmentSizesAreSkewed() {
+        List<Long> sizes = employees.stream()
+                .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting()))
+                .values().stream().sorted(Comparator.reverseOrder()).toList();
+
+        assertEquals(8, sizes.size());
+        // Zipf: the largest department is several times the smallest, and roughly twice the second
+        assertTrue(sizes.get(0) > 5 * sizes.get(7), sizes.toString());
+        assertTrue(sizes.get(0) > 1.7 * sizes.get(1), sizes.toString());
+    }
+
+    @Test
+    void testSalariesAreLogNormalAndRatingsClustered() throws Exception {
+        double[] salaries = employees.stream().mapToDouble(Employee::getSalary).sorted().toArray();
+        double median = salaries[salaries.length / 2];
+        double mean = Arrays.stream(salaries).average().orElseThrow();
+        assertTrue(salaries[0] > 0);
+        // Right-skewed: a long tail of high earners pulls the mean above the median
+        assertTrue(mean > median, "mean " + mean + ", median " + median);
+        assertTrue(salaries[salaries.length - 1] > 3 * median);
+
+        Map<Double, Long> ratings = employees.stream()
+                .collect(Collectors.groupingBy(Employee::getPerformanceRating, Collectors.counting()));
+        assertTrue(ratings.keySet().stream().allMatch(rating -> rating >= 0 && rating <= 5));
+        // Cluster centres are far more common than the gaps between them
+        assertTrue(ratings.getOrDefault(3.4, 0L) > 5 * ratings.getOrDefault(2.9, 0L), ratings.toString());
+
+        // Everything generated is valid for the database
+        EmployeeDatabase<Integer> database = new EmployeeDatabase<>(new HashMap<>());
+        assertEquals(POPULATION, database.addEmployees(employees).size());
+    }
+
+    @Test
+    void testNamesShareCommonPrefixes() {
+        long jo = employees.stream().filter(employee -> employee.getName().startsWith("Jo")).count();
+        long distinct = employees.stream().map(Employee::getName).distinct().count();
+        assertTrue(jo > POPULATION / 10, "Names starting with Jo: " + jo);
+        assertTrue(distinct < POPULATION / 50, "Distinct names: " + distinct);
+    }
+
+    @Test
+    void testTraceIsReproducibleAndReplaysCleanly() throws Exception {
+        WorkloadTrace trace = WorkloadTrace.builder(generator, 10_000)
+                .weight(OperationType.REMOVE, 10)
+                .weight(OperationType.SALARY_RAISE, 1)
+                .build();
+        List<Operation> operations = trace.generate(20_000);
+        assertTrue(describeOperations(operations).equals(describeOperations(trace.generate(20_000))));
+
+        Map<OperationType, Long> counts = operations.stream()
+                .collect(Collectors.groupingBy(Operation::type, Collectors.counting()));
+        assertTrue(counts.get(OperationType.GET_BY_ID) > counts.get(OperationType.UPDATE_SALARY));
+        assertTrue(counts.containsKey(OperationType.ADD) && counts.containsKey(OperationType.REMOVE));
+
+        // Hot employees: the ten most requested IDs take a large share of the lookups
+        Map<Integer, Long> lookups = operations.stream()
+                .filter(operation -> operation.type() == OperationType.GET_BY_ID)
+                .collect(Collectors.groupingBy(Operation::employeeId, Collectors.counting()));
+        long hottest = lookups.values().stream().sorted(Comparator.reverseOrder()).limit(10).mapToLong(Long::longValue).sum();
+        assertTrue(hottest * 5 > counts.get(OperationType.GET_BY_ID), "Top ten IDs got " + hottest);
+
+        // The trace follows its own adds and removes, so nothing it asks for is missing
+        EmployeeDatabase<Integer> database = new EmployeeDatabase<>(new HashMap<>());
+        database.addEmployees(generator.generate(0, 10_000));
+        assertEquals(0, WorkloadTrace.replay(operations, database));
+    }
+
+    @Test
+    void testReadOnlyTraceHasNoWrites() {
+        List<Operation> operations = WorkloadTrace.builder(generator, POPULATION).readOnly().seed(3).build().generate(5000);
+        assertTrue(operations.stream().noneMatch(operation -> operation.type().isWrite()));
+    }
+
+    private static String describe(Employee<Integer> employee) {
+        return employee.getEmployeeId() + "|" + employee.getName() + "|" + employee.getDepartment() + "|" + employee.getSalary()
+                + "|" + employee.getPerformanceRating() + "|" + employee.getYearsOfExperience() + "|" + employee.isActive();
+    }
+
+    private static List<String> describeOperations(List<Operation> operations) {
+        return operations.stream()
+                .map(operation -> operation.type() + "|" + operation.employeeId() + "|" + operation.text() + "|" + operation.low()
+                        + "|" + operation.high() + "|" + (operation.employee() == null ? "" : describe(operation.employee())))
+                .toList();
+    }
+
+    private static String describe(List<Employee<Integer>> employees) {
+        return employees.stream().map(WorkloadGeneratorTest::describe).collect(Collectors.joining(","));
+    }
+}
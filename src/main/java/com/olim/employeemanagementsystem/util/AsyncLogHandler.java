@@ -0,0 +1,400 @@
+package com.olim.employeemanagementsystem.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Log handler that keeps formatting and I/O off the logging threads. {@link #publish} only
+ * resolves the calling class and puts the record into a pre-allocated ring buffer; one writer
+ * thread drains whatever has been published, formats it, writes it to the log file and console,
+ * and flushes once per batch instead of once per record. The log file rotates by size the way
+ * {@link java.util.logging.FileHandler} does: the current file is renamed to {@code name.1},
+ * {@code name.1} to {@code name.2} and so on, keeping at most the configured number of files.
+ *
+ * When the ring buffer is full, the {@link OverflowPolicy} decides whether a record waits for
+ * the writer or is dropped. Records at {@link Level#WARNING} or above always wait, and the
+ * writer notes in the log how many records it lost.
+ *
+ * Output is encoded as UTF-8. See {@link Builder} for the options.
+ */
+public class AsyncLogHandler extends Handler {
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * What {@link #publish} does with a record below {@link Level#WARNING} when the buffer is full
+     */
+    public enum OverflowPolicy {
+        /** Wait for the writer, so no record is lost */
+        BLOCK,
+        /** Drop the record */
+        DROP,
+        /** Keep one record in every sample rate, waiting for the writer, and drop the rest */
+        SAMPLE
+    }
+
+    private final Path file;
+    private final long limit;
+    private final int count;
+    private final PrintStream console;
+    private final Level consoleLevel;
+    private final OverflowPolicy overflow;
+    private final int sampleRate;
+    private final boolean inferCaller;
+    // A slot is released once its record has been written and flushed
+    private final RingBuffer<Slot> ring;
+    private final int maxBatch;
+    private final Thread writer;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+
+    // Used by the writer thread only
+    private OutputStream out;
+    private long written;
+    private long droppedReported;
+
+    private AsyncLogHandler(Builder builder) throws IOException {
+        this.file = builder.file;
+        this.limit = builder.limit;
+        this.count = builder.count;
+        this.console = builder.console;
+        this.consoleLevel = builder.consoleLevel;
+        this.overflow = builder.overflow;
+        this.sampleRate = builder.sampleRate;
+        this.inferCaller = builder.inferCaller;
+        this.ring = new RingBuffer<>(builder.capacity, Slot::new);
+        // Flushing a quarter of the buffer at a time lets waiting producers continue sooner
+        this.maxBatch = Math.max(1, builder.capacity / 4);
+        setFormatter(new SimpleFormatter());
+        if(file != null) {
+            // Fail on the caller's thread if the log file cannot be opened
+            open(true);
+        }
+        this.writer = Thread.ofPlatform().name("ems-log-writer").daemon().start(this::drain);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Queues a record for the writer thread. Does nothing once the handler is closed.
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if(!isLoggable(record)) {
+            return;
+        }
+        if(inferCaller) {
+            // The caller is found by walking the current stack, so it must happen before the record changes thread
+            record.getSourceClassName();
+        } else {
+            // Reading the source first would walk the stack, so it is replaced even if the caller set one
+            record.setSourceClassName(record.getLoggerName());
+        }
+
+        boolean mustKeep = overflow == OverflowPolicy.BLOCK || record.getLevel().intValue() >= Level.WARNING.intValue();
+        long sequence = ring.claim(mustKeep);
+        if(sequence == RingBuffer.FULL) {
+            if(overflow == OverflowPolicy.SAMPLE && overflowed.getAndIncrement() % sampleRate == 0) {
+                sequence = ring.claim(true);
+            } else {
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+        if(sequence == RingBuffer.CLOSED) {
+            return;
+        }
+
+        ring.slotFor(sequence).record = record;
+        ring.publish(sequence);
+    }
+
+    /**
+     * Waits until every record published before this call has been written and flushed
+     */
+    @Override
+    public void flush() {
+        long target = ring.claimedCount();
+        while(ring.consumedCount() < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, 100_000);
+        }
+    }
+
+    /**
+     * Stops accepting records, writes the ones already queued and closes the log file
+     */
+    @Override
+    public void close() {
+        ring.close();
+        LockSupport.unpark(writer);
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets how many records were dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets how many records are waiting for the writer
+     */
+    public int getQueuedCount() {
+        return ring.size();
+    }
+
+    // The writer loop: writes published records in order until closed and empty
+    private void drain() {
+        ByteArrayOutputStream consoleBuffer = new ByteArrayOutputStream(BUFFER_SIZE);
+        long next = 0;
+        while(true) {
+            int size = 0;
+            while(size < maxBatch) {
+                Slot slot = ring.published(next + size);
+                if(slot == null) {
+                    break;
+                }
+                write(slot.record, consoleBuffer);
+                slot.record = null;
+                size++;
+            }
+
+            if(size == 0) {
+                if(!ring.awaitPublished(next)) {
+                    closeFile();
+                    return;
+                }
+                continue;
+            }
+
+            long lost = dropped.get();
+            if(lost != droppedReported) {
+                LogRecord note = new LogRecord(Level.WARNING, (lost - droppedReported) + " log records were dropped because the log buffer was full");
+                note.setLoggerName(AsyncLogHandler.class.getName());
+                note.setSourceClassName(AsyncLogHandler.class.getName());
+                note.setSourceMethodName("publish");
+                write(note, consoleBuffer);
+                droppedReported = lost;
+            }
+            flushOutputs(consoleBuffer);
+            next += size;
+            ring.release(next);
+        }
+    }
+
+    private void write(LogRecord record, ByteArrayOutputStream consoleBuffer) {
+        byte[] bytes;
+        try {
+            bytes = getFormatter().format(record).getBytes(StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            reportError("Failed to format a log record", e, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+        if(console != null && record.getLevel().intValue() >= consoleLevel.intValue()) {
+            consoleBuffer.writeBytes(bytes);
+        }
+        if(out == null) {
+            return;
+        }
+        try {
+            if(limit > 0 && written > 0 && written + bytes.length > limit) {
+                rotate();
+            }
+            out.write(bytes);
+            written += bytes.length;
+        } catch (IOException e) {
+            reportError("Failed to write to " + file, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    private void flushOutputs(ByteArrayOutputStream consoleBuffer) {
+        if(consoleBuffer.size() > 0) {
+            console.write(consoleBuffer.toByteArray(), 0, consoleBuffer.size());
+            console.flush();
+            consoleBuffer.reset();
+        }
+        if(out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                reportError("Failed to flush " + file, e, ErrorManager.FLUSH_FAILURE);
+            }
+        }
+    }
+
+    private void open(boolean append) throws IOException {
+        out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING), BUFFER_SIZE);
+        written = append ? Files.size(file) : 0;
+        byte[] head = getFormatter().getHead(this).getBytes(StandardCharsets.UTF_8);
+        out.write(head);
+        written += head.length;
+    }
+
+    // Shifts the numbered files up by one, dropping the oldest, and starts a new current file
+    private void rotate() throws IOException {
+        closeFile();
+        Files.deleteIfExists(rotated(count - 1));
+        for(int i = count - 2; i >= 0; i--) {
+            Path from = rotated(i);
+            if(Files.exists(from)) {
+                Files.move(from, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        open(false);
+    }
+
+    private Path rotated(int generation) {
+        return generation == 0 ? file : file.resolveSibling(file.getFileName() + "." + generation);
+    }
+
+    private void closeFile() {
+        if(out == null) {
+            return;
+        }
+        try {
+            out.write(getFormatter().getTail(this).getBytes(StandardCharsets.UTF_8));
+            out.close();
+        } catch (IOException e) {
+            reportError("Failed to close " + file, e, ErrorManager.CLOSE_FAILURE);
+        }
+        out = null;
+    }
+
+    /**
+     * One slot of the ring buffer. A producer sets the record and publishes it.
+     */
+    private static final class Slot extends RingBuffer.Slot {
+        LogRecord record;
+    }
+
+    /**
+     * Configures a handler. At least one of a file and a console must be set.
+     */
+    public static class Builder {
+        private Path file;
+        private long limit;
+        private int count = 1;
+        private PrintStream console;
+        private Level consoleLevel = Level.ALL;
+        private int capacity = 8192;
+        private OverflowPolicy overflow = OverflowPolicy.BLOCK;
+        private int sampleRate = 1;
+        private boolean inferCaller = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Appends records to a file
+         *
+         * @param limit The size in bytes at which the file rotates, or 0 to never rotate
+         * @param count How many files to keep, including the current one
+         */
+        public Builder file(Path file, long limit, int count) {
+            if(file == null) {
+                throw new IllegalArgumentException("File cannot be null");
+            }
+            if(limit < 0 || count < 1) {
+                throw new IllegalArgumentException("Limit cannot be negative and at least one file must be kept");
+            }
+            this.file = file;
+            this.limit = limit;
+            this.count = count;
+            return this;
+        }
+
+        /**
+         * Also writes records at or above a level to a console stream, e.g. {@code System.err}
+         */
+        public Builder console(PrintStream console, Level level) {
+            if(console == null || level == null) {
+                throw new IllegalArgumentException("Console and level cannot be null");
+            }
+            this.console = console;
+            this.consoleLevel = level;
+            return this;
+        }
+
+        /**
+         * Sets how many records the buffer holds, a power of two
+         */
+        public Builder capacity(int capacity) {
+            if(capacity <= 0 || Integer.bitCount(capacity) != 1) {
+                throw new IllegalArgumentException("Capacity must be a positive power of two");
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets what happens to records when the buffer is full. Sampling keeps every record; use
+         * {@link #sample} to keep fewer.
+         */
+        public Builder overflow(OverflowPolicy overflow) {
+            if(overflow == null) {
+                throw new IllegalArgumentException("Overflow policy cannot be null");
+            }
+            this.overflow = overflow;
+            return this;
+        }
+
+        /**
+         * Keeps one in every {@code rate} records that arrive while the buffer is full
+         */
+        public Builder sample(int rate) {
+            if(rate < 1) {
+                throw new IllegalArgumentException("Sample rate must be positive");
+            }
+            this.overflow = OverflowPolicy.SAMPLE;
+            this.sampleRate = rate;
+            return this;
+        }
+
+        /**
+         * Sets whether records name the class and method that logged them, found by walking the
+         * logging thread's stack. The walk costs more than the rest of publishing a record; without
+         * it the source is the logger name, which is the class name for loggers named after their class.
+         */
+        public Builder inferCaller(boolean inferCaller) {
+            this.inferCaller = inferCaller;
+            return this;
+        }
+
+        /**
+         * Opens the log file and starts the writer thread
+         *
+         * @throws IOException If the log file cannot be opened
+         */
+        public AsyncLogHandler build() throws IOException {
+            if(file == null && console == null) {
+                throw new IllegalStateException("Either a file or a console must be set");
+            }
+            return new AsyncLogHandler(this);
+        }
+    }
+}
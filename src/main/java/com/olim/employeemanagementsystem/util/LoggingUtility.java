@@ -1,6 +1,7 @@
 package com.olim.employeemanagementsystem.util;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.logging.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -11,11 +12,25 @@ import java.time.format.DateTimeFormatter;
  */
 public class LoggingUtility {
     private static final Logger LOGGER = Logger.getLogger(LoggingUtility.class.getName());
-    private static Handler fileHandler;
+    private static AsyncLogHandler logHandler;
     private static final String LOG_FILE_FORMAT = "logs/employee_management_%s.log";
+    private static final long LOG_FILE_LIMIT = 10 * 1024 * 1024;
+    private static final int LOG_FILE_COUNT = 5;
+    private static final int LOG_BUFFER_CAPACITY = 8192;
+    private static final int LOG_SAMPLE_RATE = 100;
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static boolean configured;
     
-    static {
+    /**
+     * Sets up console and file logging once; later calls do nothing.
+     * Opening the log file is slow, so the application calls this from a background thread
+     * instead of a static initializer that would run on the startup path.
+     */
+    public static synchronized void configure() {
+        if (configured) {
+            return;
+        }
+        configured = true;
         try {
             configureLogger();
         } catch (IOException e) {
@@ -25,7 +40,10 @@ public class LoggingUtility {
     }
     
     /**
-     * Configures the logging system with file and console handlers.
+     * Configures the logging system with one asynchronous handler that writes to the console
+     * and a size-rotated log file, so logging threads never wait on formatting or disk writes.
+     * The overflow policy is read from {@code ems.log.overflow} (block, drop or sample). Records name
+     * the logging class; {@code -Dems.log.callers=true} adds the method at the cost of a stack walk per record.
      */
     private static void configureLogger() throws IOException {
         // Get the root logger
@@ -36,22 +54,36 @@ public class LoggingUtility {
             rootLogger.removeHandler(handler);
         }
         
-        // Create a console handler
-        ConsoleHandler consoleHandler = new ConsoleHandler();
-        consoleHandler.setLevel(Level.INFO);
-        consoleHandler.setFormatter(new SimpleFormatter());
-        rootLogger.addHandler(consoleHandler);
+        // Set the overall log level
+        rootLogger.setLevel(Level.INFO);
         
-        // Create a file handler
         String logFileName = String.format(LOG_FILE_FORMAT, 
                 LocalDateTime.now().format(DATE_FORMAT));
-        fileHandler = new FileHandler(logFileName, true);
-        fileHandler.setLevel(Level.ALL);
-        fileHandler.setFormatter(new SimpleFormatter());
-        rootLogger.addHandler(fileHandler);
-        
-        // Set the overall log level
-        rootLogger.setLevel(Level.INFO);
+        try {
+            logHandler = handlerBuilder().file(Path.of(logFileName), LOG_FILE_LIMIT, LOG_FILE_COUNT).build();
+            rootLogger.addHandler(logHandler);
+        } catch (IOException e) {
+            // Without the file we still log to the console
+            logHandler = handlerBuilder().build();
+            rootLogger.addHandler(logHandler);
+            throw e;
+        }
+    }
+    
+    /**
+     * Console output stays at INFO while the file gets everything
+     */
+    private static AsyncLogHandler.Builder handlerBuilder() {
+        AsyncLogHandler.Builder builder = AsyncLogHandler.builder()
+                .console(System.err, Level.INFO)
+                .capacity(LOG_BUFFER_CAPACITY)
+                .inferCaller(Boolean.getBoolean("ems.log.callers"));
+        switch (System.getProperty("ems.log.overflow", "block").toLowerCase()) {
+            case "drop" -> builder.overflow(AsyncLogHandler.OverflowPolicy.DROP);
+            case "sample" -> builder.sample(LOG_SAMPLE_RATE);
+            default -> builder.overflow(AsyncLogHandler.OverflowPolicy.BLOCK);
+        }
+        return builder;
     }
     
     /**
@@ -62,11 +94,11 @@ public class LoggingUtility {
     }
     
     /**
-     * Closes the file handler when the application shuts down.
+     * Writes any queued log records and closes the log file when the application shuts down.
      */
-    public static void shutdown() {
-        if (fileHandler != null) {
-            fileHandler.close();
+    public static synchronized void shutdown() {
+        if (logHandler != null) {
+            logHandler.close();
         }
     }
 }
\ No newline at end of file
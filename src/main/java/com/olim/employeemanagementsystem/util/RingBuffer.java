@@ -0,0 +1,200 @@
+package com.olim.employeemanagementsystem.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Pre-allocated ring buffer that many producer threads publish into and one consumer thread drains
+ * in order. A producer claims the next sequence with one CAS, waits until the consumer has freed the
+ * slot a full lap earlier, fills the slot and publishes it by writing its sequence; the consumer reads
+ * every slot whose sequence it expects next, then releases them all at once. Slots are reused, so
+ * publishing allocates nothing.
+ *
+ * The consumer never blocks producers: when it finds nothing it spins briefly and then parks for at
+ * most a millisecond at a time, and a producer that sees it parked wakes it. Closing the buffer stops
+ * further claims and lets the consumer finish what was claimed before.
+ *
+ * Shared by the mutation pipeline and the asynchronous log handler; this package is not exported
+ * from the module.
+ *
+ * @param <S> The type of the slots
+ */
+public final class RingBuffer<S extends RingBuffer.Slot> {
+    /** Returned by {@link #claim} once the buffer is closed */
+    public static final long CLOSED = -1;
+    /** Returned by {@link #claim} when the buffer is full and the caller does not want to wait */
+    public static final long FULL = -2;
+
+    // Set on the claim counter once no more sequences are handed out
+    private static final long CLOSED_BIT = Long.MIN_VALUE;
+    private static final int SPINS = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Slot[] slots;
+    private final int mask;
+
+    // Next sequence to claim, plus the CLOSED bit
+    private final AtomicLong claimed = new AtomicLong();
+    // Every sequence below this has been consumed and its slot may be reused
+    private volatile long consumed;
+    // The consumer while it is parked waiting for the next sequence, otherwise null
+    private volatile Thread parkedConsumer;
+
+    // Used by the consumer thread only
+    private int idle;
+
+    /**
+     * @param capacity The number of slots, a power of two
+     * @param newSlot Creates each slot up front
+     */
+    public RingBuffer(int capacity, Supplier<S> newSlot) {
+        if(capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        }
+        slots = new Slot[capacity];
+        for(int i = 0; i < capacity; i++) {
+            slots[i] = newSlot.get();
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * Claims the next sequence for a producer, which must then fill {@link #slotFor} it and {@link #publish} it
+     *
+     * @param waitIfFull Whether to claim even when the buffer is full, so that {@link #slotFor} waits for the consumer
+     * @return The sequence, {@link #CLOSED} if the buffer is closed, or {@link #FULL} if it is full and the caller does not wait
+     */
+    public long claim(boolean waitIfFull) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if((sequence & CLOSED_BIT) != 0) {
+                return CLOSED;
+            }
+            if(!waitIfFull && sequence - consumed >= slots.length) {
+                return FULL;
+            }
+        } while(!claimed.compareAndSet(sequence, sequence + 1));
+        return sequence;
+    }
+
+    /**
+     * Gets the slot of a claimed sequence, waiting until the consumer has consumed it a full lap earlier
+     */
+    public S slotFor(long sequence) {
+        int spins = 0;
+        while(sequence - consumed >= slots.length) {
+            if(spins++ < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, 1_000);
+            }
+        }
+        return slot(sequence);
+    }
+
+    /**
+     * Hands a filled slot to the consumer
+     */
+    public void publish(long sequence) {
+        // Publishes the slot's fields to the consumer
+        slots[(int) sequence & mask].published = sequence;
+        Thread waiting = parkedConsumer;
+        if(waiting != null) {
+            LockSupport.unpark(waiting);
+        }
+    }
+
+    /**
+     * Gets a slot for the consumer
+     *
+     * @return The slot if its sequence has been published, otherwise null
+     */
+    public S published(long sequence) {
+        return slots[(int) sequence & mask].published == sequence ? slot(sequence) : null;
+    }
+
+    /**
+     * Waits briefly for the consumer's next sequence to be published: spins at first, then parks
+     *
+     * @return False once the buffer is closed and every claimed sequence has been consumed
+     */
+    public boolean awaitPublished(long next) {
+        long current = claimed.get();
+        if((current & CLOSED_BIT) != 0 && (current & ~CLOSED_BIT) == next) {
+            return false;
+        }
+        if(idle++ < SPINS) {
+            Thread.onSpinWait();
+        } else {
+            parkedConsumer = Thread.currentThread();
+            // Checked again after announcing the park, so a producer publishing meanwhile wakes it
+            if(published(next) == null) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            parkedConsumer = null;
+        }
+        return true;
+    }
+
+    /**
+     * Frees every slot below a sequence for reuse, once the consumer is done with them
+     */
+    public void release(long next) {
+        idle = 0;
+        consumed = next;
+    }
+
+    /**
+     * Stops handing out sequences; the ones already claimed are still consumed
+     */
+    public void close() {
+        long current;
+        do {
+            current = claimed.get();
+        } while((current & CLOSED_BIT) == 0 && !claimed.compareAndSet(current, current | CLOSED_BIT));
+    }
+
+    public boolean isClosed() {
+        return (claimed.get() & CLOSED_BIT) != 0;
+    }
+
+    /**
+     * Gets how many sequences have been claimed so far
+     */
+    public long claimedCount() {
+        return claimed.get() & ~CLOSED_BIT;
+    }
+
+    /**
+     * Gets how many sequences the consumer has released so far
+     */
+    public long consumedCount() {
+        return consumed;
+    }
+
+    /**
+     * Gets how many claimed sequences the consumer has not released yet
+     */
+    public int size() {
+        return (int) (claimedCount() - consumed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private S slot(long sequence) {
+        return (S) slots[(int) sequence & mask];
+    }
+
+    /**
+     * Base of the slots; subclasses add the fields producers fill in
+     */
+    public abstract static class Slot {
+        // The sequence last published into this slot
+        private volatile long published = -1;
+
+        protected Slot() {
+        }
+    }
+}
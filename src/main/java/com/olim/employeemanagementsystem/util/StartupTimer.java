@@ -0,0 +1,54 @@
+package com.olim.employeemanagementsystem.util;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+/**
+ * Measures startup phases from the moment the application is launched.
+ * The clock starts when this class is first used, which {@code HelloApplication.main} does first.
+ */
+public final class StartupTimer {
+    private static final Logger logger = Logger.getLogger(StartupTimer.class.getName());
+    private static final long START_NANOS = System.nanoTime();
+    private static final CompletableFuture<Duration> firstFrame = new CompletableFuture<>();
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Starts the clock if it is not running yet
+     */
+    public static void start() {
+        logger.fine("Startup timer running");
+    }
+
+    public static Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - START_NANOS);
+    }
+
+    /**
+     * Logs how long startup took to reach a phase
+     *
+     * @param phase The phase that was reached
+     */
+    public static void mark(String phase) {
+        logger.info(phase + " after " + elapsed().toMillis() + " ms");
+    }
+
+    /**
+     * Records that the first frame was laid out; only the first call counts
+     */
+    public static void firstFrameShown() {
+        if(firstFrame.complete(elapsed())) {
+            mark("First frame");
+        }
+    }
+
+    /**
+     * Completes with the time from launch to the first frame
+     */
+    public static CompletableFuture<Duration> firstFrame() {
+        return firstFrame.copy();
+    }
+}
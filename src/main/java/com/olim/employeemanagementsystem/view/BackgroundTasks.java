@@ -0,0 +1,121 @@
+package com.olim.employeemanagementsystem.view;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs slow work such as queries and report generation on virtual threads and hands the
+ * results back to the JavaFX application thread.
+ * Tasks are submitted under a key and only the latest task per key is kept: submitting a new
+ * task interrupts the previous one, and a result that arrives after it was superseded is dropped.
+ */
+public class BackgroundTasks {
+    private static final Logger logger = Logger.getLogger(BackgroundTasks.class.getName());
+
+    private final ExecutorService executor;
+    private final Executor uiExecutor;
+    private final Map<String, Future<?>> latest = new ConcurrentHashMap<>();
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(false);
+    private final AtomicInteger running = new AtomicInteger();
+
+    public BackgroundTasks() {
+        this(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ems-task-", 0).factory()),
+                Platform::runLater);
+    }
+
+    /**
+     * @param executor Runs the work
+     * @param uiExecutor Receives results, progress and errors; the JavaFX application thread in the UI
+     */
+    public BackgroundTasks(ExecutorService executor, Executor uiExecutor) {
+        this.executor = executor;
+        this.uiExecutor = uiExecutor;
+    }
+
+    /**
+     * Runs work in the background, replacing any task still running under the same key
+     *
+     * @param key Tasks with the same key supersede each other
+     * @param work The work to run off the UI thread
+     * @param onSuccess Receives the result on the UI thread, unless the task was superseded
+     * @param onFailure Receives the error on the UI thread, unless the task was superseded
+     * @return The future of the submitted task
+     */
+    public <R> Future<R> submit(String key, Callable<R> work, Consumer<R> onSuccess, Consumer<Throwable> onFailure) {
+        running.incrementAndGet();
+        updateBusy();
+        CompletableFuture<R> task = new CompletableFuture<>();
+        Future<?> previous = latest.put(key, task);
+        if(previous != null) {
+            previous.cancel(true);
+        }
+
+        Future<?> execution = executor.submit(() -> {
+            try {
+                R result = work.call();
+                if(task.complete(result)) {
+                    publish(key, task, () -> onSuccess.accept(result));
+                }
+            } catch (InterruptedException | CancellationException e) {
+                task.cancel(false);
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                if(task.completeExceptionally(e)) {
+                    logger.log(Level.WARNING, "Background task '" + key + "' failed", e);
+                    publish(key, task, () -> onFailure.accept(e));
+                }
+            } finally {
+                running.decrementAndGet();
+                updateBusy();
+            }
+        });
+        // Cancelling the returned future interrupts the thread running the work
+        task.whenComplete((result, error) -> {
+            if(task.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+        return task;
+    }
+
+    private void publish(String key, Future<?> task, Runnable action) {
+        uiExecutor.execute(() -> {
+            // A newer task under the same key makes this result stale
+            if(latest.get(key) == task) {
+                latest.remove(key, task);
+                action.run();
+            }
+        });
+    }
+
+    private void updateBusy() {
+        uiExecutor.execute(() -> busy.set(running.get() > 0));
+    }
+
+    /**
+     * Gets whether any task is running; only changes on the UI thread
+     */
+    public ReadOnlyBooleanProperty busyProperty() {
+        return busy.getReadOnlyProperty();
+    }
+
+    public boolean isBusy() {
+        return busy.get();
+    }
+
+    /**
+     * Cancels every running task and stops accepting new ones
+     */
+    public void shutdown() {
+        latest.values().forEach(task -> task.cancel(true));
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,102 @@
+package com.olim.employeemanagementsystem.view;
+
+import com.olim.employeemanagementsystem.db.EmployeeChangeEvent;
+import com.olim.employeemanagementsystem.db.EmployeeChangeListener;
+import com.olim.employeemanagementsystem.model.Employee;
+
+import javafx.application.Platform;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Collects database change events into one batch per UI pulse.
+ * The first event after a flush schedules a single callback on the UI executor; every event
+ * that arrives before it runs is merged into the same batch, keeping only the latest state of
+ * each employee. The six field updates of an edited employee therefore become one row update,
+ * and a bulk raise over 100k employees becomes one batch.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class EmployeeChangeBatcher<T> implements EmployeeChangeListener<T> {
+    private final Executor uiExecutor;
+    private final Consumer<Batch<T>> onBatch;
+
+    // Guarded by this; filled on mutating threads and drained on the UI thread
+    private Map<T, Employee<T>> upserts = new LinkedHashMap<>();
+    private Set<T> removed = new LinkedHashSet<>();
+    private long version;
+    private int events;
+    private boolean scheduled;
+
+    public EmployeeChangeBatcher(Consumer<Batch<T>> onBatch) {
+        this(Platform::runLater, onBatch);
+    }
+
+    public EmployeeChangeBatcher(Executor uiExecutor, Consumer<Batch<T>> onBatch) {
+        this.uiExecutor = uiExecutor;
+        this.onBatch = onBatch;
+    }
+
+    @Override
+    public void onChange(EmployeeChangeEvent<T> event) {
+        // The event carries the employees of its own version, so no query runs while the database is locked
+        List<T> ids = event.employeeIds();
+        List<Employee<T>> current = event.employees();
+
+        boolean schedule;
+        synchronized(this) {
+            for(int i = 0; i < ids.size(); i++) {
+                Employee<T> employee = current.get(i);
+                if(employee == null) {
+                    upserts.remove(ids.get(i));
+                    removed.add(ids.get(i));
+                } else {
+                    removed.remove(ids.get(i));
+                    upserts.put(ids.get(i), employee);
+                }
+            }
+            version = Math.max(version, event.version());
+            events++;
+            schedule = !scheduled;
+            scheduled = true;
+        }
+        if(schedule) {
+            uiExecutor.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        Batch<T> batch;
+        synchronized(this) {
+            batch = new Batch<>(List.copyOf(upserts.values()), List.copyOf(removed), version, events);
+            upserts = new LinkedHashMap<>();
+            removed = new LinkedHashSet<>();
+            events = 0;
+            scheduled = false;
+        }
+        if(!batch.isEmpty()) {
+            onBatch.accept(batch);
+        }
+    }
+
+    /**
+     * The net effect of all changes since the previous batch
+     *
+     * @param upserts Employees that were added or updated, in their current state
+     * @param removedIds IDs of employees that were removed
+     * @param version The newest modification version included
+     * @param eventCount How many change events were merged into this batch
+     * @param <T> The type of the employee ID
+     */
+    public record Batch<T>(List<Employee<T>> upserts, List<T> removedIds, long version, int eventCount) {
+        public boolean isEmpty() {
+            return upserts.isEmpty() && removedIds.isEmpty();
+        }
+
+        public int size() {
+            return upserts.size() + removedIds.size();
+        }
+    }
+}
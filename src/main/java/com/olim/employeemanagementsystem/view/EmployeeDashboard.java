@@ -0,0 +1,242 @@
+package com.olim.employeemanagementsystem.view;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.display.DashboardStatistics;
+
+import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.Tile.SkinType;
+import eu.hansolo.tilesfx.TileBuilder;
+import eu.hansolo.tilesfx.chart.ChartData;
+import eu.hansolo.tilesfx.skins.BarChartItem;
+import eu.hansolo.tilesfx.skins.LeaderBoardItem;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Live dashboard of TilesFX tiles: headcount, average salary, headcount by department,
+ * salary distribution, performance bands and top earners.
+ * The {@link DashboardStatistics} are confined to one virtual thread, which receives database
+ * changes through its own {@link EmployeeChangeBatcher} and publishes a snapshot after every batch.
+ * The tiles poll for a new snapshot at a fixed rate, so a burst of edits costs one tile update
+ * per interval and nothing is recomputed from the full employee list after the initial load.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class EmployeeDashboard<T> {
+    private static final Logger logger = Logger.getLogger(EmployeeDashboard.class.getName());
+    private static final Duration REFRESH_INTERVAL = Duration.millis(500);
+    private static final double TILE_SIZE = 300;
+
+    private final EmployeeDatabase<T> database;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("ems-dashboard").factory());
+    private final DashboardStatistics<T> statistics = new DashboardStatistics<>();
+    private final EmployeeChangeBatcher<T> changeBatcher;
+    private final AtomicReference<DashboardStatistics.Snapshot> latest = new AtomicReference<>();
+    private final Timeline refresh = new Timeline(new KeyFrame(REFRESH_INTERVAL, event -> updateTiles()));
+    private long shownRevision = -1;
+
+    private final Tile headcountTile = TileBuilder.create()
+            .skinType(SkinType.NUMBER).prefSize(TILE_SIZE, TILE_SIZE)
+            .title("Headcount").decimals(0).description("Loading...").build();
+    private final Tile averageSalaryTile = TileBuilder.create()
+            .skinType(SkinType.NUMBER).prefSize(TILE_SIZE, TILE_SIZE)
+            .title("Average Salary").unit("$").decimals(0).build();
+    private final Tile departmentTile = TileBuilder.create()
+            .skinType(SkinType.BAR_CHART).prefSize(TILE_SIZE, TILE_SIZE)
+            .title("Headcount by Department").decimals(0).build();
+    private final Tile salaryTile = TileBuilder.create()
+            .skinType(SkinType.BAR_CHART).prefSize(TILE_SIZE, TILE_SIZE)
+            .title("Salary Distribution").decimals(0).build();
+    private final Tile ratingTile = TileBuilder.create()
+            .skinType(SkinType.DONUT_CHART).prefSize(TILE_SIZE, TILE_SIZE)
+            .title("Performance Bands").decimals(0).build();
+    private final Tile topEarnersTile = TileBuilder.create()
+            .skinType(SkinType.LEADER_BOARD).prefSize(TILE_SIZE, TILE_SIZE)
+            .title("Top Earners").build();
+
+    // Tile items are kept and updated in place rather than rebuilt
+    private final Map<String, BarChartItem> departmentItems = new HashMap<>();
+    private final List<BarChartItem> salaryItems = new ArrayList<>();
+    private final List<ChartData> ratingItems = new ArrayList<>();
+    private final List<LeaderBoardItem> topEarnerItems = new ArrayList<>();
+
+    private Stage stage;
+
+    public EmployeeDashboard(EmployeeDatabase<T> database) {
+        this.database = database;
+        this.changeBatcher = new EmployeeChangeBatcher<>(this::runOnWorker, this::applyBatch);
+        refresh.setCycleCount(Timeline.INDEFINITE);
+    }
+
+    /**
+     * Opens the dashboard window and starts following database changes
+     *
+     * @param owner The main window
+     */
+    public void show(Window owner) {
+        if(stage != null) {
+            stage.toFront();
+            return;
+        }
+        FlowPane tiles = new FlowPane(10, 10, headcountTile, averageSalaryTile, departmentTile,
+                salaryTile, ratingTile, topEarnersTile);
+        tiles.setPadding(new Insets(10));
+        tiles.setPrefWrapLength(3 * TILE_SIZE + 20);
+
+        stage = new Stage();
+        stage.initOwner(owner);
+        stage.setTitle("Employee Dashboard");
+        stage.setScene(new Scene(tiles));
+        stage.setOnHidden(event -> stop());
+        start();
+        stage.show();
+    }
+
+    public boolean isShowing() {
+        return stage != null && stage.isShowing();
+    }
+
+    private void start() {
+        // Listen first: changes made during the initial load are applied after it on the same thread
+        database.addChangeListener(changeBatcher);
+        worker.execute(() -> {
+            try {
+                statistics.reset(database.getAllEmployees());
+                latest.set(statistics.snapshot());
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Error loading dashboard statistics", e);
+            }
+        });
+        refresh.play();
+    }
+
+    private void runOnWorker(Runnable task) {
+        try {
+            worker.execute(task);
+        } catch (RejectedExecutionException e) {
+            // The dashboard was closed while a database change was being reported
+        }
+    }
+
+    private void applyBatch(EmployeeChangeBatcher.Batch<T> batch) {
+        try {
+            statistics.apply(batch.upserts(), batch.removedIds());
+            latest.set(statistics.snapshot());
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Error updating dashboard statistics", e);
+        }
+    }
+
+    /**
+     * Stops following database changes and releases the worker thread
+     */
+    public void stop() {
+        refresh.stop();
+        database.removeChangeListener(changeBatcher);
+        worker.shutdownNow();
+    }
+
+    private void updateTiles() {
+        DashboardStatistics.Snapshot snapshot = latest.get();
+        if(snapshot == null || snapshot.revision() == shownRevision) {
+            return;
+        }
+        shownRevision = snapshot.revision();
+
+        headcountTile.setValue(snapshot.headcount());
+        headcountTile.setDescription(snapshot.headcountByDepartment().size() + " departments");
+        averageSalaryTile.setValue(snapshot.averageSalary());
+        updateDepartments(snapshot.headcountByDepartment());
+        updateBands(salaryItems, snapshot.salaryBands(), salaryTile);
+        updateRatings(snapshot.ratingBands());
+        updateTopEarners(snapshot.topEarners());
+    }
+
+    private void updateDepartments(Map<String, Integer> headcount) {
+        Iterator<Map.Entry<String, BarChartItem>> iterator = departmentItems.entrySet().iterator();
+        while(iterator.hasNext()) {
+            Map.Entry<String, BarChartItem> entry = iterator.next();
+            if(!headcount.containsKey(entry.getKey())) {
+                departmentTile.removeBarChartItem(entry.getValue());
+                iterator.remove();
+            }
+        }
+        headcount.forEach((department, count) -> {
+            BarChartItem item = departmentItems.get(department);
+            if(item == null) {
+                item = new BarChartItem(department, count, Tile.BLUE);
+                departmentItems.put(department, item);
+                departmentTile.addBarChartItem(item);
+            } else if(item.getValue() != count) {
+                item.setValue(count);
+            }
+        });
+    }
+
+    private void updateBands(List<BarChartItem> items, List<DashboardStatistics.Band> bands, Tile tile) {
+        if(items.isEmpty()) {
+            for(DashboardStatistics.Band band : bands) {
+                items.add(new BarChartItem(band.label(), band.count(), Tile.GREEN));
+            }
+            tile.setBarChartItems(items);
+            return;
+        }
+        for(int i = 0; i < bands.size(); i++) {
+            if(items.get(i).getValue() != bands.get(i).count()) {
+                items.get(i).setValue(bands.get(i).count());
+            }
+        }
+    }
+
+    private void updateRatings(List<DashboardStatistics.Band> bands) {
+        if(ratingItems.isEmpty()) {
+            Color[] colors = {Tile.RED, Tile.ORANGE, Tile.YELLOW, Tile.LIGHT_GREEN, Tile.GREEN};
+            for(int i = 0; i < bands.size(); i++) {
+                ratingItems.add(new ChartData(bands.get(i).label(), bands.get(i).count(), colors[i % colors.length]));
+            }
+            ratingTile.setChartData(ratingItems);
+            return;
+        }
+        for(int i = 0; i < bands.size(); i++) {
+            if(ratingItems.get(i).getValue() != bands.get(i).count()) {
+                ratingItems.get(i).setValue(bands.get(i).count());
+            }
+        }
+    }
+
+    private void updateTopEarners(List<DashboardStatistics.Earner> earners) {
+        if(topEarnerItems.size() != earners.size()) {
+            topEarnerItems.clear();
+            for(DashboardStatistics.Earner earner : earners) {
+                topEarnerItems.add(new LeaderBoardItem(earner.name(), earner.salary()));
+            }
+            topEarnersTile.setLeaderBoardItems(topEarnerItems);
+            return;
+        }
+        for(int i = 0; i < earners.size(); i++) {
+            LeaderBoardItem item = topEarnerItems.get(i);
+            DashboardStatistics.Earner earner = earners.get(i);
+            if(!earner.name().equals(item.getName())) {
+                item.setName(earner.name());
+            }
+            if(item.getValue() != earner.salary()) {
+                item.setValue(earner.salary());
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.olim.employeemanagementsystem.view;
+
+import com.olim.employeemanagementsystem.metrics.MetricsRegistry;
+import com.olim.employeemanagementsystem.metrics.OperationTimer;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Live filter-and-sort view over the employees shown in the table.
+ * Every criterion has its own {@link FilteredList} stage chained behind the previous one, so changing
+ * one criterion only re-tests the rows that reach its stage, and later stages only see the rows that
+ * were added or removed rather than the whole list. Stages are ordered from the criteria that change
+ * least (department) to the one that changes with every keystroke (name).
+ * <p>
+ * The pipeline is not thread-safe; all calls, including changes to the source, must come from one thread.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class EmployeeFilterPipeline<T> {
+    private static final OperationTimer APPLY = MetricsRegistry.getDefault().timer("EmployeeFilterPipeline.apply");
+
+    private final ObservableList<Employee<T>> source;
+    private final FilteredList<Employee<T>> byDepartment;
+    private final FilteredList<Employee<T>> bySalary;
+    private final FilteredList<Employee<T>> byRating;
+    private final FilteredList<Employee<T>> byName;
+    private final SortedList<Employee<T>> sorted;
+
+    private String department;
+    private Double minSalary;
+    private Double maxSalary;
+    private Double minRating;
+    private String nameSearch;
+    private SortOrder sortOrder;
+
+    public EmployeeFilterPipeline() {
+        this(FXCollections.observableArrayList());
+    }
+
+    public EmployeeFilterPipeline(ObservableList<Employee<T>> source) {
+        this.source = source;
+        this.byDepartment = new FilteredList<>(source);
+        this.bySalary = new FilteredList<>(byDepartment);
+        this.byRating = new FilteredList<>(bySalary);
+        this.byName = new FilteredList<>(byRating);
+        this.sorted = new SortedList<>(byName);
+    }
+
+    /**
+     * Gets the unfiltered employees; changes to it flow through the pipeline incrementally
+     */
+    public ObservableList<Employee<T>> getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the filtered and sorted employees to show in the table
+     */
+    public SortedList<Employee<T>> getItems() {
+        return sorted;
+    }
+
+    public void setDepartment(String department) {
+        String value = (department == null || "All".equals(department)) ? null : department;
+        if(Objects.equals(value, this.department)) {
+            return;
+        }
+        this.department = value;
+        byDepartment.setPredicate(value == null ? null : emp -> value.equals(emp.getDepartment()));
+    }
+
+    public void setSalaryRange(Double minSalary, Double maxSalary) {
+        if(Objects.equals(minSalary, this.minSalary) && Objects.equals(maxSalary, this.maxSalary)) {
+            return;
+        }
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        if(minSalary == null && maxSalary == null) {
+            bySalary.setPredicate(null);
+            return;
+        }
+        double min = minSalary == null ? Double.NEGATIVE_INFINITY : minSalary;
+        double max = maxSalary == null ? Double.POSITIVE_INFINITY : maxSalary;
+        bySalary.setPredicate(emp -> emp.getSalary() >= min && emp.getSalary() <= max);
+    }
+
+    public void setMinRating(Double minRating) {
+        if(Objects.equals(minRating, this.minRating)) {
+            return;
+        }
+        this.minRating = minRating;
+        byRating.setPredicate(minRating == null ? null : emp -> emp.getPerformanceRating() >= minRating);
+    }
+
+    public void setNameSearch(String nameSearch) {
+        String value = (nameSearch == null || nameSearch.trim().isEmpty())
+                ? null : nameSearch.trim().toLowerCase(Locale.ROOT);
+        if(Objects.equals(value, this.nameSearch)) {
+            return;
+        }
+        this.nameSearch = value;
+        Predicate<Employee<T>> predicate = value == null ? null
+                : emp -> emp.getName().toLowerCase(Locale.ROOT).contains(value);
+        byName.setPredicate(predicate);
+    }
+
+    public void setSortOrder(SortOrder sortOrder) {
+        if(Objects.equals(sortOrder, this.sortOrder)) {
+            return;
+        }
+        this.sortOrder = sortOrder;
+        sorted.setComparator(sortOrder == null ? null : sortOrder.comparator());
+    }
+
+    /**
+     * Applies every criterion and the sort order, stage by stage
+     *
+     * @param criteria The criteria to apply
+     * @param superseded Checked between stages; once it returns true the remaining stages are skipped
+     * @return true if all stages were applied, false if a newer request superseded this one
+     */
+    public boolean apply(Criteria criteria, BooleanSupplier superseded) {
+        long started = APPLY.start();
+        try {
+            setDepartment(criteria.department());
+            if(superseded.getAsBoolean()) {
+                return false;
+            }
+            setSalaryRange(criteria.minSalary(), criteria.maxSalary());
+            if(superseded.getAsBoolean()) {
+                return false;
+            }
+            setMinRating(criteria.minRating());
+            if(superseded.getAsBoolean()) {
+                return false;
+            }
+            setNameSearch(criteria.nameSearch());
+            if(superseded.getAsBoolean()) {
+                return false;
+            }
+            setSortOrder(criteria.sortOrder());
+            return true;
+        } finally {
+            APPLY.stop(started);
+        }
+    }
+
+    public void clearFilters() {
+        setDepartment(null);
+        setSalaryRange(null, null);
+        setMinRating(null);
+        setNameSearch(null);
+    }
+
+    /**
+     * One complete set of filter inputs, captured on the UI thread and applied elsewhere.
+     * Null values leave the corresponding criterion unset.
+     */
+    public record Criteria(String department, Double minSalary, Double maxSalary, Double minRating,
+                           String nameSearch, SortOrder sortOrder) {
+
+        /**
+         * Builds the equivalent database query, for tables too large to filter in memory
+         */
+        public <T> EmployeeQuery<T> toQuery() {
+            EmployeeQuery.Builder<T> query = EmployeeQuery.builder();
+            if(department != null && !"All".equals(department)) {
+                query.department(department);
+            }
+            if(minSalary != null) {
+                query.minSalary(minSalary);
+            }
+            if(maxSalary != null) {
+                query.maxSalary(maxSalary);
+            }
+            if(minRating != null) {
+                query.minRating(minRating);
+            }
+            query.nameContains(nameSearch);
+            if(sortOrder != null) {
+                query.sortedBy(sortOrder);
+            }
+            return query.build();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.olim.employeemanagementsystem.view;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
+import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Loads employees into the database in chunks, off the JavaFX application thread.
+ * Each chunk is added with one {@link EmployeeDatabase#addEmployees} call, so the table receives
+ * it as one change batch and the first rows appear while the rest are still loading.
+ * A load that is cancelled stops between chunks and keeps the chunks already added.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class EmployeeLoader<T> {
+    private static final Logger logger = Logger.getLogger(EmployeeLoader.class.getName());
+    public static final int DEFAULT_CHUNK_SIZE = 5_000;
+
+    private final EmployeeDatabase<T> database;
+    private final int chunkSize;
+
+    public EmployeeLoader(EmployeeDatabase<T> database) {
+        this(database, DEFAULT_CHUNK_SIZE);
+    }
+
+    public EmployeeLoader(EmployeeDatabase<T> database, int chunkSize) {
+        if(chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.database = database;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Loads the employees on a background task
+     *
+     * @param source The employees to load; read on the background thread
+     * @param tasks Runs the load
+     * @param onLoaded Receives the number of employees added, on the UI thread
+     * @param onFailure Receives the error that stopped the load, on the UI thread
+     */
+    public Future<Integer> loadInBackground(Iterator<Employee<T>> source, BackgroundTasks tasks,
+                                            Consumer<Integer> onLoaded, Consumer<Throwable> onFailure) {
+        return tasks.submit("load", () -> load(source), onLoaded, onFailure);
+    }
+
+    /**
+     * Loads the employees on the calling thread
+     *
+     * @param source The employees to load
+     * @return The number of employees added
+     * @throws CancellationException If the thread is interrupted between chunks
+     */
+    public int load(Iterator<Employee<T>> source) throws InvalidSalaryException, InvalidDepartmentException {
+        long start = System.nanoTime();
+        int added = 0;
+        List<Employee<T>> chunk = new ArrayList<>(chunkSize);
+        while(source.hasNext()) {
+            chunk.add(source.next());
+            if(chunk.size() == chunkSize || !source.hasNext()) {
+                if(Thread.currentThread().isInterrupted()) {
+                    logger.info("Loading cancelled after " + added + " employees");
+                    throw new CancellationException("Loading cancelled");
+                }
+                added += database.addEmployees(chunk).size();
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        logger.info("Loaded " + added + " employees in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return added;
+    }
+}
@@ -1,28 +1,60 @@
 package com.olim.employeemanagementsystem.view;
 
-import com.olim.employeemanagementsystem.comparator.EmployeePerformanceComparator;
-import com.olim.employeemanagementsystem.comparator.EmployeeSalaryComparator;
+import com.olim.employeemanagementsystem.api.EmployeeApiServer;
 import com.olim.employeemanagementsystem.db.EmployeeDatabase;
 import com.olim.employeemanagementsystem.display.EmployeeDisplay;
+import com.olim.employeemanagementsystem.display.ReportCache;
 import com.olim.employeemanagementsystem.exception.EmployeeNotFoundException;
+import com.olim.employeemanagementsystem.exception.EmployeeVersionConflictException;
 import com.olim.employeemanagementsystem.exception.InvalidDepartmentException;
 import com.olim.employeemanagementsystem.exception.InvalidSalaryException;
+import com.olim.employeemanagementsystem.metrics.MetricsRegistry;
+import com.olim.employeemanagementsystem.metrics.OperationTimer;
 import com.olim.employeemanagementsystem.model.Employee;
-
-import javafx.collections.FXCollections;
+import com.olim.employeemanagementsystem.sort.SortColumn;
+import com.olim.employeemanagementsystem.sort.SortKey;
+import com.olim.employeemanagementsystem.sort.SortOrder;
+import com.olim.employeemanagementsystem.util.StartupTimer;
+import com.olim.employeemanagementsystem.workload.EmployeeGenerator;
+
+import javafx.animation.PauseTransition;
+import javafx.beans.binding.Bindings;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.util.Duration;
 
 import java.net.URL;
 import java.util.*;
 import java.util.logging.*;
-import java.util.stream.Collectors;
 
 public class EmployeeManagementController implements Initializable {
     private static final Logger logger = Logger.getLogger(EmployeeManagementController.class.getName());
+    private static final Duration FILTER_DEBOUNCE = Duration.millis(250);
+    // From this many employees on, the table pages through query results instead of holding every row
+    private static final int PAGED_TABLE_THRESHOLD = 100_000;
+    // Set -Dems.startup.blocking=true to load all data before the window is shown
+    private static final boolean BLOCKING_STARTUP = Boolean.getBoolean("ems.startup.blocking");
+    // Set -Dems.api.port=8080 to also serve the employees over HTTP
+    private static final Integer API_PORT = Integer.getInteger("ems.api.port");
+    // Set -Dems.sample.size=1000000 to load that many generated employees instead of the ten samples
+    private static final Integer SAMPLE_SIZE = Integer.getInteger("ems.sample.size");
+
+    // Latency of each user action, excluding time the user spends in dialogs it opens
+    private static final MetricsRegistry metrics = MetricsRegistry.getDefault();
+    private static final OperationTimer ADD_ACTION = metrics.timer("EmployeeManagementController.addEmployee");
+    private static final OperationTimer UPDATE_ACTION = metrics.timer("EmployeeManagementController.updateEmployee");
+    private static final OperationTimer REMOVE_ACTION = metrics.timer("EmployeeManagementController.removeEmployee");
+    private static final OperationTimer UNDO_ACTION = metrics.timer("EmployeeManagementController.undoLastChange");
+    private static final OperationTimer REDO_ACTION = metrics.timer("EmployeeManagementController.redoLastChange");
+    private static final OperationTimer APPLY_FILTERS_ACTION = metrics.timer("EmployeeManagementController.applyFilters");
+    private static final OperationTimer RESET_FILTERS_ACTION = metrics.timer("EmployeeManagementController.resetFilters");
+    private static final OperationTimer DASHBOARD_ACTION = metrics.timer("EmployeeManagementController.showDashboard");
+    // Reports are generated in the background; these time the generation, cached or not
+    private static final OperationTimer DEPARTMENT_REPORT = metrics.timer("EmployeeManagementController.departmentReport");
+    private static final OperationTimer SALARY_REPORT = metrics.timer("EmployeeManagementController.salaryReport");
+    private static final OperationTimer PERFORMANCE_REPORT = metrics.timer("EmployeeManagementController.performanceReport");
 
     // Table and data
     @FXML private TableView<Employee<Integer>> employeeTable;
@@ -51,41 +83,84 @@ public class EmployeeManagementController implements Initializable {
     @FXML private TextField maxSalaryField;
     @FXML private TextField minRatingField;
 
+    // Progress and status
+    @FXML private ProgressIndicator busyIndicator;
+    @FXML private Label statusLabel;
+
     // Database and data
     private EmployeeDatabase<Integer> database;
-    private ObservableList<Employee<Integer>> employeeData;
+    private EmployeeTableModel<Integer> tableModel;
+    // Created the first time the table switches to paging
+    private PagedEmployeeList<Integer> pagedEmployees;
+    private boolean pagedMode;
+    private final PauseTransition filterDebounce = new PauseTransition(FILTER_DEBOUNCE);
+
+    // Observable views of the rendered employees, shared by the cells of each row
+    private final EmployeeViewModels<Integer> viewModels = new EmployeeViewModels<>();
+
+    // Database changes reach the table as one batch per pulse
+    private EmployeeChangeBatcher<Integer> changeBatcher;
+
+    // Queries and reports run on virtual threads so the window never waits for them
+    private final BackgroundTasks backgroundTasks = new BackgroundTasks();
+
+    // Created by the first report and reused until the database modification version changes
+    private ReportCache<String> reportCache;
+    // Live tiles window, created when first opened
+    private EmployeeDashboard<Integer> dashboard;
+    // Only started when an API port is configured
+    private EmployeeApiServer<Integer> apiServer;
+    // The employee shown in the form and the version it had, so saving cannot overwrite someone else's edit
+    private Integer formEmployeeId;
+    private long formVersion;
+    // Time spent waiting for the user to close alerts, which action latencies leave out; UI thread only
+    private long dialogNanos;
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        // Initialize database and load sample data
+        // Initialize database; unless startup is blocking, the data is loaded once the window is up
         database = new EmployeeDatabase<>(new HashMap<>());
-        try {
-            loadSampleData();
-        } catch (InvalidDepartmentException | InvalidSalaryException e) {
-            showAlert("Error",e.getMessage());
+        if (BLOCKING_STARTUP) {
+            try {
+                new EmployeeLoader<>(database).load(sampleEmployees());
+            } catch (InvalidDepartmentException | InvalidSalaryException e) {
+                showAlert("Error",e.getMessage());
+            }
         }
 
         // Initialize table columns
-        idColumn.setCellValueFactory(new PropertyValueFactory<>("employeeId"));
-        nameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
-        departmentColumn.setCellValueFactory(new PropertyValueFactory<>("department"));
-        salaryColumn.setCellValueFactory(new PropertyValueFactory<>("salary"));
-        ratingColumn.setCellValueFactory(new PropertyValueFactory<>("performanceRating"));
-        yearsColumn.setCellValueFactory(new PropertyValueFactory<>("yearsOfExperience"));
-        activeColumn.setCellValueFactory(new PropertyValueFactory<>("active"));
-
-        // Initialize data
-        employeeData = FXCollections.observableArrayList();
-        employeeTable.setItems(employeeData);
+        // Cells bind to view model properties directly, without reflective getter lookups
+        idColumn.setCellValueFactory(cell -> viewModels.cellValue(cell.getValue(), EmployeeViewModel::employeeIdProperty));
+        nameColumn.setCellValueFactory(cell -> viewModels.cellValue(cell.getValue(), EmployeeViewModel::nameProperty));
+        departmentColumn.setCellValueFactory(cell -> viewModels.cellValue(cell.getValue(), EmployeeViewModel::departmentProperty));
+        salaryColumn.setCellValueFactory(cell -> viewModels.cellValue(cell.getValue(), EmployeeViewModel::salaryProperty));
+        ratingColumn.setCellValueFactory(cell -> viewModels.cellValue(cell.getValue(), EmployeeViewModel::performanceRatingProperty));
+        yearsColumn.setCellValueFactory(cell -> viewModels.cellValue(cell.getValue(), EmployeeViewModel::yearsOfExperienceProperty));
+        activeColumn.setCellValueFactory(cell -> viewModels.cellValue(cell.getValue(), EmployeeViewModel::activeProperty));
+
+        // Initialize data; rows are filtered and sorted in the background and published to the table
+        tableModel = new EmployeeTableModel<>();
+        showRows(tableModel.getItems());
+        busyIndicator.visibleProperty().bind(backgroundTasks.busyProperty().or(tableModel.busyProperty()));
 
         // Initialize dropdown fields
-        filterDepartmentComboBox.getItems().addAll("All", "IT", "HR", "Finance", "Marketing", "Sales");
+        filterDepartmentComboBox.getItems().addAll("All", "IT", "HR", "Finance", "Marketing", "Sales", "Operations", "Legal", "R&D");
         filterDepartmentComboBox.setValue("All");
 
         sortComboBox.getItems().addAll(
-                "ID", "Name", "Department",
+                "ID", "Name", "Department", "Department, then Salary",
                 "Salary (High to Low)", "Performance (High to Low)", "Experience (High to Low)"
         );
         sortComboBox.setValue("ID");
+        tableModel.applyCriteria(readFilterCriteria(false));
+
+        // Filter as the user types, once typing pauses; selections apply immediately
+        filterDebounce.setOnFinished(event -> updateFilters(false));
+        for (TextField field : List.of(searchNameField, minSalaryField, maxSalaryField, minRatingField)) {
+            field.textProperty().addListener((obs, oldText, newText) -> filterDebounce.playFromStart());
+        }
+        filterDepartmentComboBox.valueProperty().addListener((obs, oldValue, newValue) -> updateFilters(false));
+        sortComboBox.valueProperty().addListener((obs, oldValue, newValue) -> updateFilters(false));
+
         // Add selection listener to table
         employeeTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null) {
@@ -93,12 +168,56 @@ public class EmployeeManagementController implements Initializable {
             }
         });
 
-        // Initial refresh
-        refreshEmployeeTable();
+        // Initial refresh; afterwards the table follows the database through change events
+        if (BLOCKING_STARTUP) {
+            refreshEmployeeTable();
+        }
+        changeBatcher = new EmployeeChangeBatcher<>(this::applyDatabaseChanges);
+        database.addChangeListener(changeBatcher);
+        if (!BLOCKING_STARTUP) {
+            // Rows stream into the table chunk by chunk as they are added
+            new EmployeeLoader<>(database).loadInBackground(sampleEmployees(), backgroundTasks,
+                    count -> StartupTimer.mark("Loaded " + count + " employees"),
+                    error -> showAlert("Error", "Could not load employees: " + error.getMessage()));
+        }
+        if (API_PORT != null) {
+            startApiServer(API_PORT);
+        }
+    }
+
+    private void startApiServer(int port) {
+        try {
+            apiServer = new EmployeeApiServer<>(database, Integer::valueOf);
+            apiServer.start(port);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Could not start the employee API on port " + port, e);
+            showAlert("Error", "Could not start the employee API: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops background work and the HTTP API when the application exits
+     */
+    public void shutdown() {
+        if (apiServer != null) {
+            apiServer.stop();
+        }
+        if (dashboard != null) {
+            dashboard.stop();
+        }
+        if (changeBatcher != null) {
+            database.removeChangeListener(changeBatcher);
+        }
+        tableModel.shutdown();
+        backgroundTasks.shutdown();
     }
 
     @FXML
     private void addEmployee() {
+        timeAction(ADD_ACTION, this::addEmployeeFromForm);
+    }
+
+    private void addEmployeeFromForm() {
         try {
             // Get and validate input
             if (idField.getText().trim().isEmpty()) {
@@ -165,9 +284,7 @@ public class EmployeeManagementController implements Initializable {
             if (result == null) {
                 showAlert("Duplicate ID", "An employee with this ID already exists.");
             } else {
-                refreshEmployeeTable();
                 clearForm();
-                applyFilters();
                 showAlert("Success", "Employee added successfully.");
             }
 
@@ -188,6 +305,10 @@ public class EmployeeManagementController implements Initializable {
 
     @FXML
     private void updateEmployee() {
+        timeAction(UPDATE_ACTION, this::updateEmployeeFromForm);
+    }
+
+    private void updateEmployeeFromForm() {
         try {
             // Validate employee ID
             if (idField.getText().trim().isEmpty()) {
@@ -249,23 +370,30 @@ public class EmployeeManagementController implements Initializable {
 
             boolean active = activeCheck.isSelected();
 
-            // Update employee fields with wrapping each update in try-catch
+            Map<String, Object> changes = new LinkedHashMap<>();
+            changes.put("name", name);
+            changes.put("department", department);
+            changes.put("salary", salary);
+            changes.put("performanceRating", rating);
+            changes.put("yearsOfExperience", years);
+            changes.put("isActive", active);
+
+            // Update all fields at once, only if nobody changed the employee since it was shown
             try {
-                database.updateEmployeeDetails(id, "name", name);
-                database.updateEmployeeDetails(id, "department", department);
-                database.updateEmployeeDetails(id, "salary", salary);
-                database.updateEmployeeDetails(id, "performanceRating", rating);
-                database.updateEmployeeDetails(id, "yearsOfExperience", years);
-                database.updateEmployeeDetails(id, "isActive", active);
-
-                refreshEmployeeTable();
+                long expectedVersion = id.equals(formEmployeeId) ? formVersion : database.getEmployeeById(id).getVersion();
+                database.updateEmployeeDetails(id, changes, expectedVersion);
+
                 clearForm();
-                applyFilters();
                 showAlert("Success", "Employee updated successfully");
 
             } catch (EmployeeNotFoundException e) {
                 logger.log(Level.WARNING, "Employee not found during update", e);
                 showAlert("Not Found", "No employee found with ID: " + id);
+            } catch (EmployeeVersionConflictException e) {
+                logger.log(Level.INFO, "Edit conflict updating employee " + id, e);
+                showAlert("Edit Conflict", "Someone else changed this employee after you opened it. "
+                        + "The form now shows their changes; make your edits again to save them.");
+                populateFormFields(database.getEmployeeById(id));
             }
 
         } catch (InvalidSalaryException e) {
@@ -285,6 +413,10 @@ public class EmployeeManagementController implements Initializable {
 
     @FXML
     private void removeEmployee() {
+        timeAction(REMOVE_ACTION, this::removeFormEmployee);
+    }
+
+    private void removeFormEmployee() {
         try {
             if (idField.getText().trim().isEmpty()) {
                 showAlert("No Selection", "Please select an employee to remove.");
@@ -297,9 +429,7 @@ public class EmployeeManagementController implements Initializable {
             if (removed == null) {
                 showAlert("Not Found", "No employee found with ID: " + id);
             } else {
-                refreshEmployeeTable();
                 clearForm();
-                applyFilters(); // Apply any active filters to the updated list
             }
         } catch (NumberFormatException e) {
             showAlert("Invalid Input", "Please enter a valid ID number.");
@@ -317,216 +447,263 @@ public class EmployeeManagementController implements Initializable {
         ratingField.clear();
         yearsField.clear();
         activeCheck.setSelected(true);
+        formEmployeeId = null;
         employeeTable.getSelectionModel().clearSelection();
     }
 
     @FXML
-    private void applyFilters() {
-        try {
-            // Get all employees first
-            List<Employee<Integer>> filteredList = database.getAllEmployees().stream()
-                    .collect(Collectors.toList());
-
-            // Apply name search filter (if provided)
-            try {
-                String nameSearch = searchNameField.getText().trim().toLowerCase();
-                if (!nameSearch.isEmpty()) {
-                    filteredList = filteredList.stream()
-                            .filter(emp -> emp.getName().toLowerCase().contains(nameSearch))
-                            .collect(Collectors.toList());
-                    logger.fine("Applied name filter: " + nameSearch + ", matching employees: " + filteredList.size());
-                }
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Error applying name filter", e);
-                // Continue with other filters even if this one fails
-            }
+    private void undoLastChange() {
+        timeAction(UNDO_ACTION, this::undo);
+    }
 
-            // Apply department filter (if not "All")
-            try {
-                String deptFilter = filterDepartmentComboBox.getValue();
-                if (!"All".equals(deptFilter)) {
-                    filteredList = filteredList.stream()
-                            .filter(emp -> emp.getDepartment().equals(deptFilter))
-                            .collect(Collectors.toList());
-                    logger.fine("Applied department filter: " + deptFilter + ", matching employees: " + filteredList.size());
-                }
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Error applying department filter", e);
-                // Continue with other filters
+    private void undo() {
+        try {
+            // The table follows through the change event, like any other edit
+            String undone = database.undo();
+            if (undone == null) {
+                showAlert("Undo", "There is nothing to undo");
+            } else {
+                logger.info(() -> "Undo: " + undone);
             }
+        } catch (IllegalStateException e) {
+            showAlert("Error", e.getMessage());
+        }
+    }
 
-            // Apply salary range filter (if provided)
-            try {
-                if (!minSalaryField.getText().trim().isEmpty()) {
-                    try {
-                        double minSalary = Double.parseDouble(minSalaryField.getText().trim());
-                        if (minSalary < 0) {
-                            showAlert("Invalid Input", "Minimum salary cannot be negative");
-                        } else {
-                            filteredList = filteredList.stream()
-                                    .filter(emp -> emp.getSalary() >= minSalary)
-                                    .collect(Collectors.toList());
-                            logger.fine("Applied min salary filter: " + minSalary +
-                                    ", matching employees: " + filteredList.size());
-                        }
-                    } catch (NumberFormatException e) {
-                        logger.warning("Invalid minimum salary format: " + minSalaryField.getText().trim());
-                        showAlert("Invalid Input", "Please enter a valid number for minimum salary");
-                    }
-                }
-
-                if (!maxSalaryField.getText().trim().isEmpty()) {
-                    try {
-                        double maxSalary = Double.parseDouble(maxSalaryField.getText().trim());
-                        if (maxSalary < 0) {
-                            showAlert("Invalid Input", "Maximum salary cannot be negative");
-                        } else {
-                            filteredList = filteredList.stream()
-                                    .filter(emp -> emp.getSalary() <= maxSalary)
-                                    .collect(Collectors.toList());
-                            logger.fine("Applied max salary filter: " + maxSalary +
-                                    ", matching employees: " + filteredList.size());
-                        }
-                    } catch (NumberFormatException e) {
-                        logger.warning("Invalid maximum salary format: " + maxSalaryField.getText().trim());
-                        showAlert("Invalid Input", "Please enter a valid number for maximum salary");
-                    }
-                }
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Error applying salary filter", e);
-                // Continue with other filters
-            }
+    @FXML
+    private void redoLastChange() {
+        timeAction(REDO_ACTION, this::redo);
+    }
 
-            // Apply minimum rating filter (if provided)
-            try {
-                if (!minRatingField.getText().trim().isEmpty()) {
-                    try {
-                        double minRating = Double.parseDouble(minRatingField.getText().trim());
-                        if (minRating < 0 || minRating > 5) {
-                            showAlert("Invalid Input", "Rating must be between 0 and 5");
-                        } else {
-                            filteredList = filteredList.stream()
-                                    .filter(emp -> emp.getPerformanceRating() >= minRating)
-                                    .collect(Collectors.toList());
-                            logger.fine("Applied min rating filter: " + minRating +
-                                    ", matching employees: " + filteredList.size());
-                        }
-                    } catch (NumberFormatException e) {
-                        logger.warning("Invalid rating format: " + minRatingField.getText().trim());
-                        showAlert("Invalid Input", "Please enter a valid number for minimum rating");
-                    }
-                }
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Error applying rating filter", e);
-                // Continue with sorting
+    private void redo() {
+        try {
+            String redone = database.redo();
+            if (redone == null) {
+                showAlert("Redo", "There is nothing to redo");
+            } else {
+                logger.info(() -> "Redo: " + redone);
             }
+        } catch (IllegalStateException e) {
+            showAlert("Error", e.getMessage());
+        }
+    }
 
-            // Apply sorting
-            try {
-                String sortOption = sortComboBox.getValue();
-                switch (sortOption) {
-                    case "ID":
-                        filteredList.sort((e1, e2) -> e1.getEmployeeId().compareTo(e2.getEmployeeId()));
-                        break;
-                    case "Name":
-                        filteredList.sort((e1, e2) -> e1.getName().compareTo(e2.getName()));
-                        break;
-                    case "Department":
-                        filteredList.sort((e1, e2) -> e1.getDepartment().compareTo(e2.getDepartment()));
-                        break;
-                    case "Salary (High to Low)":
-                        filteredList.sort(new EmployeeSalaryComparator<>());
-                        break;
-                    case "Performance (High to Low)":
-                        filteredList.sort(new EmployeePerformanceComparator<>());
-                        break;
-                    case "Experience (High to Low)":
-                        filteredList.sort((e1, e2) -> e2.getYearsOfExperience() - e1.getYearsOfExperience());
-                        break;
-                    default:
-                        // Default sort by ID if sortOption is invalid
-                        logger.warning("Unknown sort option: " + sortOption + ", defaulting to ID");
-                        filteredList.sort((e1, e2) -> e1.getEmployeeId().compareTo(e2.getEmployeeId()));
-                        break;
-                }
-                logger.fine("Applied sorting: " + sortOption);
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Error applying sort", e);
-                // Continue to update table even if sorting fails
-            }
+    @FXML
+    private void applyFilters() {
+        timeAction(APPLY_FILTERS_ACTION, () -> {
+            // Apply pending typed input immediately and report invalid values
+            filterDebounce.stop();
+            updateFilters(true);
+        });
+    }
 
-            // Update table with filtered and sorted data
-            try {
-                employeeData.clear();
-                employeeData.addAll(filteredList);
-                logger.info("Filters applied successfully. Found " + filteredList.size() + " matching employees.");
-            } catch (Exception e) {
-                logger.log(Level.SEVERE, "Error updating table data", e);
-                showAlert("Error", "Failed to update the table with filtered results: " + e.getMessage());
+    /**
+     * Hands the current filter inputs to the table model, which applies them off the UI thread.
+     * Only criteria whose value changed are re-evaluated, and a newer request supersedes this one.
+     *
+     * @param showAlerts Whether invalid input should be reported with an alert rather than only logged
+     */
+    private void updateFilters(boolean showAlerts) {
+        try {
+            EmployeeFilterPipeline.Criteria criteria = readFilterCriteria(showAlerts);
+            if (pagedMode) {
+                pagedEmployees.setQuery(criteria.toQuery());
+            } else {
+                tableModel.applyCriteria(criteria);
             }
         } catch (Exception e) {
             // Catch any unexpected exceptions
             logger.log(Level.SEVERE, "Unexpected error applying filters", e);
             showAlert("Error", "An unexpected error occurred while applying filters: " + e.getMessage());
+        }
+    }
 
-            // Try to recover by refreshing the table
-            try {
-                refreshEmployeeTable();
-            } catch (Exception ex) {
-                // If recovery fails, log it
-                logger.log(Level.SEVERE, "Failed to recover from filter error", ex);
+    private EmployeeFilterPipeline.Criteria readFilterCriteria(boolean showAlerts) {
+        return new EmployeeFilterPipeline.Criteria(
+                filterDepartmentComboBox.getValue(),
+                parseFilterValue(minSalaryField, "minimum salary", 0, Double.MAX_VALUE,
+                        "Minimum salary cannot be negative", showAlerts),
+                parseFilterValue(maxSalaryField, "maximum salary", 0, Double.MAX_VALUE,
+                        "Maximum salary cannot be negative", showAlerts),
+                parseFilterValue(minRatingField, "minimum rating", 0, 5,
+                        "Rating must be between 0 and 5", showAlerts),
+                searchNameField.getText(),
+                sortOrderFor(sortComboBox.getValue()));
+    }
+
+    /**
+     * Parses a numeric filter field
+     *
+     * @return The value, or null if the field is empty or invalid so the criterion is ignored
+     */
+    private Double parseFilterValue(TextField field, String label, double min, double max,
+                                    String rangeMessage, boolean showAlerts) {
+        String text = field.getText().trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            double value = Double.parseDouble(text);
+            if (value < min || value > max) {
+                if (showAlerts) {
+                    showAlert("Invalid Input", rangeMessage);
+                }
+                return null;
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            logger.warning("Invalid " + label + " format: " + text);
+            if (showAlerts) {
+                showAlert("Invalid Input", "Please enter a valid number for " + label);
             }
+            return null;
         }
     }
+
+    private SortOrder sortOrderFor(String sortOption) {
+        switch (sortOption == null ? "ID" : sortOption) {
+            case "ID":
+                return SortOrder.by(SortKey.ascending(SortColumn.ID));
+            case "Name":
+                return SortOrder.by(SortKey.ascending(SortColumn.NAME));
+            case "Department":
+                return SortOrder.by(SortKey.ascending(SortColumn.DEPARTMENT));
+            case "Department, then Salary":
+                return SortOrder.by(SortKey.ascending(SortColumn.DEPARTMENT), SortKey.descending(SortColumn.SALARY));
+            case "Salary (High to Low)":
+                return SortOrder.by(SortKey.descending(SortColumn.SALARY));
+            case "Performance (High to Low)":
+                // Same order as EmployeePerformanceComparator, which compares salaries
+                return SortOrder.by(SortKey.descending(SortColumn.SALARY));
+            case "Experience (High to Low)":
+                return SortOrder.by(SortKey.descending(SortColumn.YEARS_OF_EXPERIENCE));
+            default:
+                // Default sort by ID if sortOption is invalid
+                logger.warning("Unknown sort option: " + sortOption + ", defaulting to ID");
+                return SortOrder.by(SortKey.ascending(SortColumn.ID));
+        }
+    }
+
     @FXML
     private void resetFilters() {
-        searchNameField.clear();
-        filterDepartmentComboBox.setValue("All");
-        minSalaryField.clear();
-        maxSalaryField.clear();
-        minRatingField.clear();
-        sortComboBox.setValue("ID");
-        refreshEmployeeTable();
+        timeAction(RESET_FILTERS_ACTION, () -> {
+            searchNameField.clear();
+            filterDepartmentComboBox.setValue("All");
+            minSalaryField.clear();
+            maxSalaryField.clear();
+            minRatingField.clear();
+            sortComboBox.setValue("ID");
+            filterDebounce.stop();
+            updateFilters(false);
+        });
     }
 
     @FXML
     private void showDepartmentReport() {
-        displayReport("Department Summary Report", () -> {
-            StringBuilder report = new StringBuilder();
-            EmployeeDisplay.generateDepartmentSummaryReport(database.getAllEmployees());
-            return report.toString();
-        });
+        displayReport("Department Summary Report", DEPARTMENT_REPORT, () -> reports().get("department",
+                database.getModificationVersion(),
+                () -> EmployeeDisplay.formatDepartmentSummaryReport(database.getAllEmployees())));
     }
 
     @FXML
     private void showSalaryReport() {
-        displayReport("Salary Distribution Report", () -> {
-            StringBuilder report = new StringBuilder();
-            EmployeeDisplay.generateSalaryDistributionReport(database.getAllEmployees());
-            return report.toString();
-        });
+        displayReport("Salary Distribution Report", SALARY_REPORT, () -> reports().get("salary",
+                database.getModificationVersion(),
+                () -> EmployeeDisplay.formatSalaryDistributionReport(database.getAllEmployees())));
     }
 
     @FXML
     private void showPerformanceReport() {
-        displayReport("Performance Rating Report", () -> {
-            StringBuilder report = new StringBuilder();
-            EmployeeDisplay.generatePerformanceReport(database.getAllEmployees());
-            return report.toString();
+        displayReport("Performance Rating Report", PERFORMANCE_REPORT, () -> reports().get("performance",
+                database.getModificationVersion(),
+                () -> EmployeeDisplay.formatPerformanceReport(database.getAllEmployees())));
+    }
+
+    @FXML
+    private void showDashboard() {
+        timeAction(DASHBOARD_ACTION, () -> {
+            if (dashboard == null || !dashboard.isShowing()) {
+                dashboard = new EmployeeDashboard<>(database);
+            }
+            dashboard.show(employeeTable.getScene().getWindow());
         });
     }
 
-    private void displayReport(String title, ReportGenerator reportGenerator) {
-//        EmployeeDisplay.generatePerformanceReport(database.getAllEmployees());
-        showAlert("Report Generation", title+" Report has been printed to console");
+    private ReportCache<String> reports() {
+        if (reportCache == null) {
+            reportCache = new ReportCache<>();
+        }
+        return reportCache;
+    }
+
+    private void displayReport(String title, OperationTimer timer, ReportGenerator reportGenerator) {
+        // A report requested while another is still being generated replaces it
+        backgroundTasks.submit("report", () -> {
+                    long started = timer.start();
+                    try {
+                        return reportGenerator.generateReport();
+                    } finally {
+                        timer.stop(started);
+                    }
+                },
+                report -> {
+                    System.out.print(report);
+                    logger.fine(() -> "Report cache after " + title + ": " + reports());
+                    showReport(title, report);
+                },
+                error -> showAlert("Error", "Could not generate " + title + ": " + error.getMessage()));
     }
 
     // Helper methods
     private void refreshEmployeeTable() {
-        employeeData.setAll(database.getAllEmployees());
+        if (database.getAllEmployees().size() >= PAGED_TABLE_THRESHOLD) {
+            if (pagedMode) {
+                pagedEmployees.refresh();
+            } else {
+                // Too many rows to copy; only the pages the table shows are loaded
+                pagedMode = true;
+                if (pagedEmployees == null) {
+                    pagedEmployees = new PagedEmployeeList<>(database, backgroundTasks);
+                }
+                tableModel.setSource(List.of());
+                showRows(pagedEmployees);
+                pagedEmployees.setQuery(readFilterCriteria(false).toQuery());
+            }
+            return;
+        }
+
+        if (pagedMode) {
+            pagedMode = false;
+            showRows(tableModel.getItems());
+        }
+        // The copy is taken off the UI thread; the table model then filters it on its own thread
+        backgroundTasks.submit("refresh", database::snapshot, tableModel::setSource,
+                error -> showAlert("Error", "Could not load employees: " + error.getMessage()));
+    }
+
+    private void applyDatabaseChanges(EmployeeChangeBatcher.Batch<Integer> batch) {
+        logger.fine(() -> "Applying " + batch.size() + " changed rows from " + batch.eventCount() + " database changes");
+        // Visible cells of changed employees update in place
+        viewModels.refresh(batch.upserts());
+        viewModels.remove(batch.removedIds());
+        boolean large = database.getAllEmployees().size() >= PAGED_TABLE_THRESHOLD;
+        if (large != pagedMode) {
+            refreshEmployeeTable();
+        } else if (pagedMode) {
+            pagedEmployees.refresh();
+        } else {
+            tableModel.applyChanges(batch.upserts(), batch.removedIds());
+        }
     }
 
-    private void populateFormFields(Employee<Integer> employee) {
+    private void showRows(ObservableList<Employee<Integer>> rows) {
+        employeeTable.setItems(rows);
+        statusLabel.textProperty().bind(Bindings.size(rows).asString("%d employees"));
+    }
+
+    private void populateFormFields(Employee<Integer> live) {
+        // Values and version of one moment: if they change later, saving conflicts rather than overwriting
+        Employee<Integer> employee = live.copy();
         idField.setText(employee.getEmployeeId().toString());
         nameField.setText(employee.getName());
         departmentField.setText(employee.getDepartment());
@@ -534,19 +711,27 @@ public class EmployeeManagementController implements Initializable {
         ratingField.setText(String.valueOf(employee.getPerformanceRating()));
         yearsField.setText(String.valueOf(employee.getYearsOfExperience()));
         activeCheck.setSelected(employee.isActive());
+        formEmployeeId = employee.getEmployeeId();
+        formVersion = employee.getVersion();
     }
 
-    private void loadSampleData() throws InvalidDepartmentException, InvalidSalaryException {
-        database.addEmployee(new Employee<>(1001, "John Smith", "IT", 78500.0, 4.2, 5, true));
-        database.addEmployee(new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true));
-        database.addEmployee(new Employee<>(1003, "Michael Chen", "Finance", 85000.0, 3.8, 7, true));
-        database.addEmployee(new Employee<>(1004, "Emily Davis", "IT", 92000.0, 4.8, 6, true));
-        database.addEmployee(new Employee<>(1005, "Robert Wilson", "Marketing", 72000.0, 3.5, 4, true));
-        database.addEmployee(new Employee<>(1006, "Jessica Brown", "HR", 67500.0, 4.0, 2, true));
-        database.addEmployee(new Employee<>(1007, "David Lee", "IT", 115000.0, 4.7, 9, true));
-        database.addEmployee(new Employee<>(1008, "Amanda Miller", "Finance", 79000.0, 3.9, 5, true));
-        database.addEmployee(new Employee<>(1009, "Thomas Garcia", "Marketing", 68000.0, 2.8, 3, false));
-        database.addEmployee(new Employee<>(1010, "Jennifer Taylor", "Sales", 108000.0, 4.6, 8, true));
+    private Iterator<Employee<Integer>> sampleEmployees() {
+        if (SAMPLE_SIZE != null) {
+            // Created while they are loaded, so millions of employees are never all waiting in a list
+            return EmployeeGenerator.withSeed(42).iterator(1001, SAMPLE_SIZE);
+        }
+        return List.of(
+                new Employee<>(1001, "John Smith", "IT", 78500.0, 4.2, 5, true),
+                new Employee<>(1002, "Sarah Johnson", "HR", 65000.0, 4.5, 3, true),
+                new Employee<>(1003, "Michael Chen", "Finance", 85000.0, 3.8, 7, true),
+                new Employee<>(1004, "Emily Davis", "IT", 92000.0, 4.8, 6, true),
+                new Employee<>(1005, "Robert Wilson", "Marketing", 72000.0, 3.5, 4, true),
+                new Employee<>(1006, "Jessica Brown", "HR", 67500.0, 4.0, 2, true),
+                new Employee<>(1007, "David Lee", "IT", 115000.0, 4.7, 9, true),
+                new Employee<>(1008, "Amanda Miller", "Finance", 79000.0, 3.9, 5, true),
+                new Employee<>(1009, "Thomas Garcia", "Marketing", 68000.0, 2.8, 3, false),
+                new Employee<>(1010, "Jennifer Taylor", "Sales", 108000.0, 4.6, 8, true)
+        ).iterator();
     }
 
     private void showAlert(String title, String message) {
@@ -554,10 +739,35 @@ public class EmployeeManagementController implements Initializable {
         alert.setTitle(title);
         alert.setHeaderText(null);
         alert.setContentText(message);
+        long shown = System.nanoTime();
         alert.showAndWait();
+        dialogNanos += System.nanoTime() - shown;
+    }
+
+    private void timeAction(OperationTimer timer, Runnable action) {
+        long dialogsBefore = dialogNanos;
+        long started = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            // Leaves out the time an alert was open, which measures the user rather than the application
+            timer.record(System.nanoTime() - started - (dialogNanos - dialogsBefore));
+        }
+    }
+
+    private void showReport(String title, String report) {
+        TextArea reportText = new TextArea(report.strip());
+        reportText.setEditable(false);
+        reportText.setStyle("-fx-font-family: monospace;");
+        reportText.setPrefColumnCount(90);
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Report Generation");
+        alert.setHeaderText(title);
+        alert.getDialogPane().setContent(reportText);
+        alert.show();
     }
 
-    // Functional interface for report generation
+    // Functional interface for report generation; runs on a background thread
     private interface ReportGenerator {
         String generateReport();
     }
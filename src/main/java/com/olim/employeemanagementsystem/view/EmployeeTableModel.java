@@ -0,0 +1,237 @@
+package com.olim.employeemanagementsystem.view;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Rows of the employee table, filtered and sorted off the JavaFX application thread.
+ * The {@link EmployeeFilterPipeline} is confined to a single virtual thread. Every change it
+ * makes to its output is recorded and replayed onto {@link #getItems()} in one UI-thread
+ * callback per request, so the table only sees the rows that were actually added, removed or moved.
+ * Filter requests are coalesced: a request that has not finished when a newer one arrives stops
+ * at the next pipeline stage and only the newest criteria are applied. Database changes arrive as
+ * batches of added, updated and removed rows and only those rows are re-filtered and re-sorted.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class EmployeeTableModel<T> {
+    private static final Logger logger = Logger.getLogger(EmployeeTableModel.class.getName());
+    // A change batch touching more than this fraction of the rows is applied as one reset
+    private static final int BULK_CHANGE_DIVISOR = 8;
+
+    private final EmployeeFilterPipeline<T> pipeline = new EmployeeFilterPipeline<>();
+    private final ObservableList<Employee<T>> items = FXCollections.observableArrayList();
+    private final ExecutorService worker;
+    private final Executor uiExecutor;
+    private final AtomicReference<EmployeeFilterPipeline.Criteria> pendingCriteria = new AtomicReference<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(false);
+
+    // Replay operations recorded on the worker thread and not yet handed to the UI thread
+    private List<Consumer<ObservableList<Employee<T>>>> pendingChanges = new ArrayList<>();
+    // Position of every employee in the pipeline source, by ID; worker thread only
+    private final Map<T, Integer> sourcePositions = new HashMap<>();
+
+    public EmployeeTableModel() {
+        this(Executors.newSingleThreadExecutor(Thread.ofVirtual().name("ems-filter").factory()), Platform::runLater);
+    }
+
+    /**
+     * @param worker Runs the pipeline; must execute tasks one at a time, in submission order
+     * @param uiExecutor Receives the changes to the table rows; the JavaFX application thread in the UI
+     */
+    public EmployeeTableModel(ExecutorService worker, Executor uiExecutor) {
+        this.worker = worker;
+        this.uiExecutor = uiExecutor;
+        pipeline.getItems().addListener(this::recordChange);
+    }
+
+    /**
+     * Gets the filtered and sorted rows; only changes on the UI thread
+     */
+    public ObservableList<Employee<T>> getItems() {
+        return items;
+    }
+
+    /**
+     * Replaces the unfiltered employees. May be called from any thread.
+     *
+     * @param employees A copy of the employees that is not modified afterwards
+     * @return Completes once the rows have been filtered and handed to the UI thread
+     */
+    public Future<?> setSource(Collection<Employee<T>> employees) {
+        return enqueue(() -> {
+            pipeline.getSource().setAll(employees);
+            indexSource();
+        });
+    }
+
+    /**
+     * Applies added, updated and removed employees without touching the other rows. May be called from any thread.
+     * Small batches become single-row changes, so the table keeps its scroll position and selection;
+     * a batch touching a large part of the rows is applied as one reset instead of thousands of row events.
+     *
+     * @param upserts Employees to add, or to re-filter and re-sort if already present
+     * @param removedIds IDs of employees to remove
+     * @return Completes once the changes have been handed to the UI thread
+     */
+    public Future<?> applyChanges(Collection<Employee<T>> upserts, Collection<T> removedIds) {
+        return enqueue(() -> {
+            ObservableList<Employee<T>> source = pipeline.getSource();
+            if(upserts.size() + removedIds.size() > source.size() / BULK_CHANGE_DIVISOR) {
+                List<Employee<T>> rows = new ArrayList<>(source);
+                for(T id : removedIds) {
+                    removeRow(rows, id);
+                }
+                for(Employee<T> employee : upserts) {
+                    upsertRow(rows, employee);
+                }
+                source.setAll(rows);
+                indexSource();
+            } else {
+                for(T id : removedIds) {
+                    removeRow(source, id);
+                }
+                for(Employee<T> employee : upserts) {
+                    upsertRow(source, employee);
+                }
+            }
+        });
+    }
+
+    // Replacing a row, even with itself, makes the pipeline re-filter and re-sort it
+    private void upsertRow(List<Employee<T>> rows, Employee<T> employee) {
+        Integer position = sourcePositions.get(employee.getEmployeeId());
+        if(position != null) {
+            rows.set(position, employee);
+        } else {
+            sourcePositions.put(employee.getEmployeeId(), rows.size());
+            rows.add(employee);
+        }
+    }
+
+    // Moves the last row into the gap so no other positions shift
+    private void removeRow(List<Employee<T>> rows, T id) {
+        Integer position = sourcePositions.remove(id);
+        if(position == null) {
+            return;
+        }
+        int last = rows.size() - 1;
+        if(position != last) {
+            Employee<T> moved = rows.get(last);
+            rows.set(position, moved);
+            sourcePositions.put(moved.getEmployeeId(), position);
+        }
+        rows.remove(last);
+    }
+
+    private void indexSource() {
+        sourcePositions.clear();
+        ObservableList<Employee<T>> source = pipeline.getSource();
+        for(int i = 0; i < source.size(); i++) {
+            sourcePositions.put(source.get(i).getEmployeeId(), i);
+        }
+    }
+
+    /**
+     * Applies new filter criteria, superseding any request that is still running. May be called from any thread.
+     *
+     * @param criteria The criteria to apply
+     * @return Completes once this request has been applied or superseded
+     */
+    public Future<?> applyCriteria(EmployeeFilterPipeline.Criteria criteria) {
+        pendingCriteria.set(criteria);
+        return enqueue(() -> {
+            EmployeeFilterPipeline.Criteria latest = pendingCriteria.getAndSet(null);
+            if(latest != null) {
+                pipeline.apply(latest, () -> pendingCriteria.get() != null);
+            }
+        });
+    }
+
+    private Future<?> enqueue(Runnable update) {
+        queued.incrementAndGet();
+        updateBusy();
+        return worker.submit(() -> {
+            try {
+                update.run();
+                flush();
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Error updating employee table rows", e);
+                throw e;
+            } finally {
+                queued.decrementAndGet();
+                updateBusy();
+            }
+        });
+    }
+
+    private void recordChange(ListChangeListener.Change<? extends Employee<T>> change) {
+        while(change.next()) {
+            if(change.wasPermutated()) {
+                // A permutation reorders the whole range, so copying the final order is simplest
+                List<Employee<T>> reordered = new ArrayList<>(change.getList());
+                pendingChanges.add(rows -> rows.setAll(reordered));
+                return;
+            }
+            int from = change.getFrom();
+            if(change.wasReplaced() || change.wasRemoved() || change.wasAdded()) {
+                int removed = change.getRemovedSize();
+                List<Employee<T>> added = new ArrayList<>(change.getAddedSubList());
+                pendingChanges.add(rows -> {
+                    if(removed > 0) {
+                        rows.remove(from, from + removed);
+                    }
+                    if(!added.isEmpty()) {
+                        rows.addAll(from, added);
+                    }
+                });
+            } else if(change.wasUpdated()) {
+                int to = change.getTo();
+                pendingChanges.add(rows -> {
+                    for(int i = from; i < to; i++) {
+                        rows.set(i, rows.get(i));
+                    }
+                });
+            }
+        }
+    }
+
+    private void flush() {
+        if(pendingChanges.isEmpty()) {
+            return;
+        }
+        List<Consumer<ObservableList<Employee<T>>>> changes = pendingChanges;
+        pendingChanges = new ArrayList<>();
+        uiExecutor.execute(() -> changes.forEach(change -> change.accept(items)));
+    }
+
+    private void updateBusy() {
+        uiExecutor.execute(() -> busy.set(queued.get() > 0));
+    }
+
+    /**
+     * Gets whether filtering work is queued or running; only changes on the UI thread
+     */
+    public ReadOnlyBooleanProperty busyProperty() {
+        return busy.getReadOnlyProperty();
+    }
+
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+}
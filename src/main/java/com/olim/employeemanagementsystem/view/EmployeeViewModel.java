@@ -0,0 +1,127 @@
+package com.olim.employeemanagementsystem.view;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+
+/**
+ * Observable view of one {@link Employee} for table cells.
+ * Properties are only created when a cell asks for them, so rows that are never rendered cost
+ * one small object, and {@link #refresh()} only updates the properties that exist. Cells bound to
+ * a property redraw in place when it changes, without the table replacing the row.
+ * Must only be used on the JavaFX application thread.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class EmployeeViewModel<T> {
+    private Employee<T> employee;
+
+    private ReadOnlyObjectWrapper<T> employeeId;
+    private ReadOnlyObjectWrapper<String> name;
+    private ReadOnlyObjectWrapper<String> department;
+    private ReadOnlyObjectWrapper<Double> salary;
+    private ReadOnlyObjectWrapper<Double> performanceRating;
+    private ReadOnlyObjectWrapper<Integer> yearsOfExperience;
+    private ReadOnlyObjectWrapper<Boolean> active;
+
+    public EmployeeViewModel(Employee<T> employee) {
+        if(employee == null) {
+            throw new IllegalArgumentException("Employee cannot be null");
+        }
+        this.employee = employee;
+    }
+
+    public Employee<T> getEmployee() {
+        return employee;
+    }
+
+    /**
+     * Re-reads every created property from the employee, notifying only the ones whose value changed
+     */
+    public void refresh() {
+        if(employeeId != null) {
+            employeeId.set(employee.getEmployeeId());
+        }
+        if(name != null) {
+            name.set(employee.getName());
+        }
+        if(department != null) {
+            department.set(employee.getDepartment());
+        }
+        if(salary != null) {
+            salary.set(employee.getSalary());
+        }
+        if(performanceRating != null) {
+            performanceRating.set(employee.getPerformanceRating());
+        }
+        if(yearsOfExperience != null) {
+            yearsOfExperience.set(employee.getYearsOfExperience());
+        }
+        if(active != null) {
+            active.set(employee.isActive());
+        }
+    }
+
+    /**
+     * Points the view model at a new instance of the same employee and refreshes it
+     *
+     * @param employee The current instance of the employee
+     */
+    public void setEmployee(Employee<T> employee) {
+        if(employee == null) {
+            throw new IllegalArgumentException("Employee cannot be null");
+        }
+        this.employee = employee;
+        refresh();
+    }
+
+    public ReadOnlyObjectProperty<T> employeeIdProperty() {
+        if(employeeId == null) {
+            employeeId = new ReadOnlyObjectWrapper<>(this, "employeeId", employee.getEmployeeId());
+        }
+        return employeeId.getReadOnlyProperty();
+    }
+
+    public ReadOnlyObjectProperty<String> nameProperty() {
+        if(name == null) {
+            name = new ReadOnlyObjectWrapper<>(this, "name", employee.getName());
+        }
+        return name.getReadOnlyProperty();
+    }
+
+    public ReadOnlyObjectProperty<String> departmentProperty() {
+        if(department == null) {
+            department = new ReadOnlyObjectWrapper<>(this, "department", employee.getDepartment());
+        }
+        return department.getReadOnlyProperty();
+    }
+
+    public ReadOnlyObjectProperty<Double> salaryProperty() {
+        if(salary == null) {
+            salary = new ReadOnlyObjectWrapper<>(this, "salary", employee.getSalary());
+        }
+        return salary.getReadOnlyProperty();
+    }
+
+    public ReadOnlyObjectProperty<Double> performanceRatingProperty() {
+        if(performanceRating == null) {
+            performanceRating = new ReadOnlyObjectWrapper<>(this, "performanceRating", employee.getPerformanceRating());
+        }
+        return performanceRating.getReadOnlyProperty();
+    }
+
+    public ReadOnlyObjectProperty<Integer> yearsOfExperienceProperty() {
+        if(yearsOfExperience == null) {
+            yearsOfExperience = new ReadOnlyObjectWrapper<>(this, "yearsOfExperience", employee.getYearsOfExperience());
+        }
+        return yearsOfExperience.getReadOnlyProperty();
+    }
+
+    public ReadOnlyObjectProperty<Boolean> activeProperty() {
+        if(active == null) {
+            active = new ReadOnlyObjectWrapper<>(this, "active", employee.isActive());
+        }
+        return active.getReadOnlyProperty();
+    }
+}
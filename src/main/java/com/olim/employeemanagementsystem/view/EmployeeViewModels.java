@@ -0,0 +1,93 @@
+package com.olim.employeemanagementsystem.view;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import javafx.beans.value.ObservableValue;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The view models of the employees the table has rendered, by employee ID.
+ * Cell value factories get their properties from here, so every cell of a row shares one view
+ * model and a change batch can refresh exactly the rows on screen. The least recently rendered
+ * view models are dropped beyond the capacity, which is far more than a table can show at once.
+ * Must only be used on the JavaFX application thread.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class EmployeeViewModels<T> {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final Map<T, EmployeeViewModel<T>> viewModels;
+
+    public EmployeeViewModels() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EmployeeViewModels(int capacity) {
+        if(capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.viewModels = new LinkedHashMap<>(Math.min(capacity, DEFAULT_CAPACITY), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<T, EmployeeViewModel<T>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the view model of an employee, creating it on first use
+     */
+    public EmployeeViewModel<T> of(Employee<T> employee) {
+        EmployeeViewModel<T> viewModel = viewModels.get(employee.getEmployeeId());
+        if(viewModel == null) {
+            viewModel = new EmployeeViewModel<>(employee);
+            viewModels.put(employee.getEmployeeId(), viewModel);
+        } else if(viewModel.getEmployee() != employee) {
+            viewModel.setEmployee(employee);
+        }
+        return viewModel;
+    }
+
+    /**
+     * Cell value factory helper: one property of the row's view model, or null for an empty row
+     *
+     * @param employee The row item, null while a paged row is still loading
+     * @param property The property to show, e.g. {@code EmployeeViewModel::salaryProperty}
+     */
+    public <V> ObservableValue<V> cellValue(Employee<T> employee,
+                                            Function<EmployeeViewModel<T>, ? extends ObservableValue<V>> property) {
+        return employee == null ? null : property.apply(of(employee));
+    }
+
+    /**
+     * Refreshes the view models of changed employees; cells showing them update in place
+     *
+     * @param employees The employees in their current state
+     */
+    public void refresh(Collection<Employee<T>> employees) {
+        for(Employee<T> employee : employees) {
+            EmployeeViewModel<T> viewModel = viewModels.get(employee.getEmployeeId());
+            if(viewModel == null) {
+                continue;
+            }
+            if(viewModel.getEmployee() != employee) {
+                viewModel.setEmployee(employee);
+            } else {
+                viewModel.refresh();
+            }
+        }
+    }
+
+    public void remove(Collection<T> employeeIds) {
+        employeeIds.forEach(viewModels::remove);
+    }
+
+    public int size() {
+        return viewModels.size();
+    }
+}
@@ -0,0 +1,168 @@
+package com.olim.employeemanagementsystem.view;
+
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+import com.olim.employeemanagementsystem.query.Page;
+import com.olim.employeemanagementsystem.service.SearchService;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Read-only table rows backed by a paged query instead of a copy of every employee.
+ * The list reports the full result size, but only holds the pages the table has asked for,
+ * plus one page of prefetch on either side, in a small LRU cache. A row whose page is not loaded
+ * yet reads as null (an empty table row) while the page is fetched in the background; once it
+ * arrives the affected rows are reported as replaced so the table redraws them.
+ * Pages after a loaded page are fetched with its keyset cursor; jumps (e.g. dragging the
+ * scroll bar) fall back to the page offset.
+ * <p>
+ * All methods must be called on the JavaFX application thread.
+ *
+ * @param <T> The type of the employee ID
+ */
+public class PagedEmployeeList<T> extends ObservableListBase<Employee<T>> {
+    private static final Logger logger = Logger.getLogger(PagedEmployeeList.class.getName());
+
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    // Bounds the heap used by the table to this many pages, however large the result is
+    private static final int MAX_CACHED_PAGES = 16;
+
+    private final SearchService<T> source;
+    private final BackgroundTasks tasks;
+    private final int pageSize;
+    private final Map<Integer, Page<T>> pages = new LinkedHashMap<>(MAX_CACHED_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Page<T>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Set<Integer> loading = new HashSet<>();
+
+    private EmployeeQuery<T> query;
+    private int size;
+    // Pages requested for an earlier query or an earlier state of the data are dropped on arrival
+    private long generation;
+
+    public PagedEmployeeList(SearchService<T> source, BackgroundTasks tasks) {
+        this(source, tasks, DEFAULT_PAGE_SIZE);
+    }
+
+    public PagedEmployeeList(SearchService<T> source, BackgroundTasks tasks, int pageSize) {
+        if(pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.source = source;
+        this.tasks = tasks;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Shows the result of a new query; the size is updated once its first page arrives
+     *
+     * @param query The query to page through
+     */
+    public void setQuery(EmployeeQuery<T> query) {
+        if(query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        this.query = query;
+        generation++;
+        pages.clear();
+        loading.clear();
+        request(0);
+    }
+
+    /**
+     * Re-reads the current query after the data changed
+     */
+    public void refresh() {
+        if(query != null) {
+            setQuery(query);
+        }
+    }
+
+    public EmployeeQuery<T> getQuery() {
+        return query;
+    }
+
+    @Override
+    public Employee<T> get(int index) {
+        Objects.checkIndex(index, size);
+        int pageNumber = index / pageSize;
+        Page<T> page = pages.get(pageNumber);
+        prefetch(pageNumber);
+        if(page == null) {
+            request(pageNumber);
+            return null;
+        }
+        int row = index - page.offset();
+        return row < page.rows().size() ? page.rows().get(row) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void prefetch(int pageNumber) {
+        if(pageNumber > 0 && !pages.containsKey(pageNumber - 1)) {
+            request(pageNumber - 1);
+        }
+        if((long) (pageNumber + 1) * pageSize < size && !pages.containsKey(pageNumber + 1)) {
+            request(pageNumber + 1);
+        }
+    }
+
+    private void request(int pageNumber) {
+        if(!loading.add(pageNumber)) {
+            return;
+        }
+        long requestGeneration = generation;
+        EmployeeQuery<T> requestQuery = query;
+        Page<T> previous = pages.get(pageNumber - 1);
+        tasks.submit("page-" + pageNumber,
+                () -> previous != null && previous.next() != null
+                        ? source.findPage(requestQuery, previous.next(), pageSize)
+                        : source.findPageAt(requestQuery, pageNumber * pageSize, pageSize),
+                page -> pageLoaded(requestGeneration, pageNumber, page),
+                error -> {
+                    if(requestGeneration == generation) {
+                        loading.remove(pageNumber);
+                    }
+                });
+    }
+
+    private void pageLoaded(long requestGeneration, int pageNumber, Page<T> page) {
+        if(requestGeneration != generation) {
+            return;
+        }
+        loading.remove(pageNumber);
+
+        int oldSize = size;
+        if(page.totalCount() != oldSize || page.offset() != pageNumber * pageSize) {
+            // The data changed since the other pages were read; start over from this page
+            logger.fine(() -> "Result changed from " + oldSize + " to " + page.totalCount() + " rows, reloading pages");
+            generation++;
+            pages.clear();
+            loading.clear();
+            size = page.totalCount();
+            if(page.offset() == pageNumber * pageSize) {
+                pages.put(pageNumber, page);
+            }
+            beginChange();
+            nextReplace(0, size, Collections.nCopies(oldSize, null));
+            endChange();
+            return;
+        }
+
+        pages.put(pageNumber, page);
+        beginChange();
+        for(int i = 0; i < page.rows().size(); i++) {
+            nextSet(page.offset() + i, null);
+        }
+        endChange();
+    }
+}
@@ -0,0 +1,224 @@
+package com.olim.employeemanagementsystem.workload;
+
+import com.olim.employeemanagementsystem.model.Employee;
+
+import java.util.*;
+
+/**
+ * Produces any number of realistic employees from a seed. The same seed always gives the same
+ * employees, and each employee depends only on the seed and its ID, so employee 5,000,000 can be
+ * created without creating the ones before it and large data sets can be streamed.
+ * <ul>
+ *     <li>Department sizes follow a Zipf distribution, so a few departments hold most employees</li>
+ *     <li>Salaries are log-normal around a per-department median and grow with experience</li>
+ *     <li>Ratings cluster around a few typical scores</li>
+ *     <li>Names are drawn with Zipf weights from lists full of shared prefixes (Jo..., Mar...)</li>
+ * </ul>
+ */
+public class EmployeeGenerator {
+    // Ordered from the largest department to the smallest
+    static final List<String> DEPARTMENTS = List.of("IT", "Sales", "Operations", "Finance", "Marketing", "HR", "R&D", "Legal");
+    private static final double[] SALARY_FACTORS = {1.20, 0.95, 0.90, 1.15, 1.00, 0.90, 1.25, 1.30};
+    private static final String[] FIRST_NAMES = {
+            "John", "Maria", "James", "Mary", "Joseph", "Mark", "Johnny", "Marian", "Jonathan", "Joanna",
+            "Michael", "Michelle", "Marcus", "Martin", "Martina", "Anna", "Andrew", "Andrea", "Daniel", "Danielle",
+            "David", "Sarah", "Sara", "Christopher", "Christina", "Chris", "Emily", "Emma", "Robert", "Roberta",
+            "Thomas", "Jessica", "Jennifer", "Jenny", "Alexander", "Alexandra", "Alex", "Samuel", "Samantha", "Grace"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Johnston", "Jones", "Brown", "Browning", "Miller", "Millerson", "Davis", "Davidson",
+            "Garcia", "Martin", "Martinez", "Anderson", "Andrews", "Taylor", "Thomas", "Thompson", "Wilson", "Williams",
+            "Williamson", "Lee", "Leeds", "Chen", "Cheng", "Harris", "Harrison", "Clark", "Clarkson", "Lewis"
+    };
+    // Ratings gather around these scores, with these shares
+    private static final double[] RATING_CENTRES = {2.4, 3.4, 4.1, 4.7};
+    private static final double[] RATING_SHARES = {0.10, 0.40, 0.35, 0.15};
+    private static final double RATING_SPREAD = 0.2;
+
+    private final long seed;
+    private final ZipfDistribution departments;
+    private final ZipfDistribution firstNames;
+    private final ZipfDistribution lastNames;
+    private final double salaryMedian;
+    private final double salarySigma;
+    private final double activeShare;
+
+    private EmployeeGenerator(Builder builder) {
+        this.seed = builder.seed;
+        this.departments = new ZipfDistribution(DEPARTMENTS.size(), builder.departmentSkew);
+        this.firstNames = new ZipfDistribution(FIRST_NAMES.length, builder.nameSkew);
+        this.lastNames = new ZipfDistribution(LAST_NAMES.length, builder.nameSkew);
+        this.salaryMedian = builder.salaryMedian;
+        this.salarySigma = builder.salarySigma;
+        this.activeShare = builder.activeShare;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * A generator with the default distributions
+     */
+    public static EmployeeGenerator withSeed(long seed) {
+        return builder().seed(seed).build();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Creates the employee with the given ID; the same ID always gives an equal employee
+     */
+    public Employee<Integer> employee(int id) {
+        SplittableRandom random = randomFor(id);
+        int department = departments.sample(random);
+        String name = FIRST_NAMES[firstNames.sample(random)] + " " + LAST_NAMES[lastNames.sample(random)];
+        // Most people have a few years; a long tail has decades
+        int years = Math.min(40, (int) (-Math.log(1 - random.nextDouble()) * 7));
+        double salary = salaryMedian * SALARY_FACTORS[department]
+                * Math.exp(salarySigma * random.nextGaussian())
+                * (1 + 0.02 * years);
+        double rating = rating(random);
+        boolean active = random.nextDouble() < activeShare;
+        return new Employee<>(id, name, DEPARTMENTS.get(department), Math.round(salary * 100) / 100.0, rating, years, active);
+    }
+
+    /**
+     * Creates employees with IDs firstId to firstId + count - 1
+     */
+    public List<Employee<Integer>> generate(int firstId, int count) {
+        List<Employee<Integer>> employees = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            employees.add(employee(firstId + i));
+        }
+        return employees;
+    }
+
+    /**
+     * Streams employees with IDs firstId to firstId + count - 1, creating each one only when it is read
+     */
+    public Iterator<Employee<Integer>> iterator(int firstId, int count) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public Employee<Integer> next() {
+                if(next >= count) {
+                    throw new NoSuchElementException();
+                }
+                return employee(firstId + next++);
+            }
+        };
+    }
+
+    /**
+     * A department drawn from the same skewed distribution as the employees', e.g. for query traces
+     */
+    String sampleDepartment(SplittableRandom random) {
+        return DEPARTMENTS.get(departments.sample(random));
+    }
+
+    String sampleFirstName(SplittableRandom random) {
+        return FIRST_NAMES[firstNames.sample(random)];
+    }
+
+    double sampleRating(SplittableRandom random) {
+        return rating(random);
+    }
+
+    double sampleSalary(SplittableRandom random) {
+        return Math.round(salaryMedian * Math.exp(salarySigma * random.nextGaussian()) * 100) / 100.0;
+    }
+
+    private double rating(SplittableRandom random) {
+        double pick = random.nextDouble();
+        int cluster = 0;
+        while(cluster < RATING_SHARES.length - 1 && pick >= RATING_SHARES[cluster]) {
+            pick -= RATING_SHARES[cluster];
+            cluster++;
+        }
+        double rating = RATING_CENTRES[cluster] + RATING_SPREAD * random.nextGaussian();
+        return Math.round(Math.max(0, Math.min(5, rating)) * 10) / 10.0;
+    }
+
+    private SplittableRandom randomFor(int id) {
+        // Decorrelate neighbouring IDs before seeding
+        long mixed = seed ^ (id * 0x9E3779B97F4A7C15L);
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(mixed ^ (mixed >>> 31));
+    }
+
+    public static class Builder {
+        private long seed = 42;
+        private double departmentSkew = 1.1;
+        private double nameSkew = 0.9;
+        private double salaryMedian = 62000;
+        private double salarySigma = 0.35;
+        private double activeShare = 0.92;
+
+        private Builder() {
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the Zipf exponent of department sizes; 0 gives equal departments
+         */
+        public Builder departmentSkew(double exponent) {
+            if(exponent < 0) {
+                throw new IllegalArgumentException("Skew cannot be negative");
+            }
+            this.departmentSkew = exponent;
+            return this;
+        }
+
+        /**
+         * Sets the Zipf exponent of first and last name popularity
+         */
+        public Builder nameSkew(double exponent) {
+            if(exponent < 0) {
+                throw new IllegalArgumentException("Skew cannot be negative");
+            }
+            this.nameSkew = exponent;
+            return this;
+        }
+
+        /**
+         * Sets the log-normal salary distribution before department and experience adjustments
+         *
+         * @param median The median salary
+         * @param sigma The standard deviation of the salary's logarithm
+         */
+        public Builder salaries(double median, double sigma) {
+            if(median <= 0 || sigma < 0) {
+                throw new IllegalArgumentException("Salary median must be positive and sigma cannot be negative");
+            }
+            this.salaryMedian = median;
+            this.salarySigma = sigma;
+            return this;
+        }
+
+        public Builder activeShare(double share) {
+            if(share < 0 || share > 1) {
+                throw new IllegalArgumentException("Active share must be between 0 and 1");
+            }
+            this.activeShare = share;
+            return this;
+        }
+
+        public EmployeeGenerator build() {
+            return new EmployeeGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.olim.employeemanagementsystem.workload;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+import com.olim.employeemanagementsystem.model.Employee;
+import com.olim.employeemanagementsystem.query.EmployeeQuery;
+
+/**
+ * One request of a workload trace. Only the fields its type needs are set.
+ *
+ * @param type What the request does
+ * @param employeeId The employee read, updated or removed
+ * @param text The department or name searched for
+ * @param low The new salary or rating, the lower salary bound, or the raise's minimum rating
+ * @param high The upper salary bound or the raise percentage
+ * @param employee The employee to add
+ */
+public record Operation(OperationType type, int employeeId, String text, double low, double high, Employee<Integer> employee) {
+
+    /**
+     * Runs this request against a database
+     *
+     * @return What the database returned, so callers can consume it
+     */
+    public Object applyTo(EmployeeDatabase<Integer> database) throws Exception {
+        return switch(type) {
+            case GET_BY_ID -> database.getEmployeeById(employeeId);
+            case FIND_BY_DEPARTMENT -> database.findByDepartment(text);
+            case FIND_BY_NAME -> database.findByName(text);
+            case FIND_BY_SALARY_RANGE -> database.findBySalaryBetween(low, high);
+            case FIND_BY_QUERY -> database.findByQuery(EmployeeQuery.<Integer>builder()
+                    .department(text)
+                    .salaryBetween(low, high)
+                    .minRating(3.5)
+                    .build());
+            case FIND_SORTED_BY_SALARY -> database.findSortedBySalary();
+            case FIND_TOP_PAID -> database.findTopHighestPaid();
+            case AVERAGE_SALARY_PER_DEPARTMENT -> database.calculateAverageSalaryPerDepartment();
+            case UPDATE_SALARY -> database.updateEmployeeDetails(employeeId, "salary", low);
+            case UPDATE_RATING -> database.updateEmployeeDetails(employeeId, "performanceRating", low);
+            case ADD -> database.addEmployee(employee);
+            case REMOVE -> database.removeEmployee(employeeId);
+            case SALARY_RAISE -> database.giveSalaryRaiseByPerformanceRating(low, high);
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.olim.employeemanagementsystem.workload;
+
+/**
+ * The kinds of request a {@link WorkloadTrace} mixes
+ */
+public enum OperationType {
+    GET_BY_ID(false),
+    FIND_BY_DEPARTMENT(false),
+    FIND_BY_NAME(false),
+    FIND_BY_SALARY_RANGE(false),
+    FIND_BY_QUERY(false),
+    FIND_SORTED_BY_SALARY(false),
+    FIND_TOP_PAID(false),
+    AVERAGE_SALARY_PER_DEPARTMENT(false),
+    UPDATE_SALARY(true),
+    UPDATE_RATING(true),
+    ADD(true),
+    REMOVE(true),
+    SALARY_RAISE(true);
+
+    private final boolean write;
+
+    OperationType(boolean write) {
+        this.write = write;
+    }
+
+    public boolean isWrite() {
+        return write;
+    }
+}
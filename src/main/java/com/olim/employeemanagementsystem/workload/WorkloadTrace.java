@@ -0,0 +1,242 @@
+package com.olim.employeemanagementsystem.workload;
+
+import com.olim.employeemanagementsystem.db.EmployeeDatabase;
+
+import java.util.*;
+
+/**
+ * Generates a reproducible mix of reads and writes against the employees of an
+ * {@link EmployeeGenerator}. The trace assumes the database starts with the generator's employees
+ * 0 to population - 1 and follows its own writes: removed employees are not touched again and added
+ * ones become eligible, so a replay never asks for an employee that is gone. Employee IDs are
+ * picked with Zipf skew, so a small set of hot employees gets most of the traffic.
+ */
+public class WorkloadTrace {
+    // Large prime used to scatter hot ranks over the ID range instead of keeping them at the start
+    private static final long SCATTER = 2_147_483_629L;
+
+    private final EmployeeGenerator generator;
+    private final int population;
+    private final long seed;
+    private final double keySkew;
+    private final OperationType[] types;
+    private final int[] cumulativeWeights;
+
+    private WorkloadTrace(Builder builder) {
+        this.generator = builder.generator;
+        this.population = builder.population;
+        this.seed = builder.seed;
+        this.keySkew = builder.keySkew;
+        List<OperationType> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for(Map.Entry<OperationType, Integer> entry : builder.weights.entrySet()) {
+            if(entry.getValue() > 0) {
+                total += entry.getValue();
+                weighted.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        if(total == 0) {
+            throw new IllegalArgumentException("At least one operation needs a positive weight");
+        }
+        this.types = weighted.toArray(new OperationType[0]);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @param generator Creates the initial employees and the ones the trace adds
+     * @param population How many employees the database starts with, IDs 0 to population - 1
+     */
+    public static Builder builder(EmployeeGenerator generator, int population) {
+        return new Builder(generator, population);
+    }
+
+    /**
+     * Generates the next count operations; the same settings always give the same list
+     */
+    public List<Operation> generate(int count) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Keys keys = new Keys();
+        BitSet removed = new BitSet();
+        int nextId = population;
+        int live = population;
+        List<Operation> operations = new ArrayList<>(count);
+        while(operations.size() < count) {
+            OperationType type = pickType(random);
+            // Writes that need an existing employee are skipped once nobody is left
+            if(live == 0 && needsEmployee(type)) {
+                continue;
+            }
+            Operation operation = switch(type) {
+                case GET_BY_ID, UPDATE_SALARY, UPDATE_RATING, REMOVE -> {
+                    // Leavers are anyone, not mostly the employees everybody looks up
+                    int id = type == OperationType.REMOVE ? Keys.pickAnyLive(random, nextId, removed)
+                            : keys.pickLive(random, nextId, removed);
+                    double value = switch(type) {
+                        case UPDATE_SALARY -> generator.sampleSalary(random);
+                        case UPDATE_RATING -> generator.sampleRating(random);
+                        default -> 0;
+                    };
+                    yield new Operation(type, id, null, value, 0, null);
+                }
+                case FIND_BY_DEPARTMENT -> new Operation(type, 0, generator.sampleDepartment(random), 0, 0, null);
+                // Searches use the start of a popular first name, matching many employees
+                case FIND_BY_NAME -> new Operation(type, 0, generator.sampleFirstName(random).substring(0, 3), 0, 0, null);
+                case FIND_BY_SALARY_RANGE, FIND_BY_QUERY -> {
+                    double low = generator.sampleSalary(random);
+                    double high = low + 5000 + random.nextInt(20_000);
+                    String department = type == OperationType.FIND_BY_QUERY ? generator.sampleDepartment(random) : null;
+                    yield new Operation(type, 0, department, low, high, null);
+                }
+                case ADD -> {
+                    int id = nextId++;
+                    yield new Operation(type, id, null, 0, 0, generator.employee(id));
+                }
+                case SALARY_RAISE -> new Operation(type, 0, null, 4.5, 0.01 + random.nextInt(5) / 100.0, null);
+                case FIND_SORTED_BY_SALARY, FIND_TOP_PAID, AVERAGE_SALARY_PER_DEPARTMENT -> new Operation(type, 0, null, 0, 0, null);
+            };
+            if(type == OperationType.ADD) {
+                live++;
+            } else if(type == OperationType.REMOVE) {
+                removed.set(operation.employeeId());
+                live--;
+            }
+            operations.add(operation);
+        }
+        return operations;
+    }
+
+    /**
+     * Runs operations against a database in order
+     *
+     * @return How many operations failed, e.g. because a concurrent writer removed their employee
+     */
+    public static int replay(List<Operation> operations, EmployeeDatabase<Integer> database) {
+        int failures = 0;
+        for(Operation operation : operations) {
+            try {
+                operation.applyTo(database);
+            } catch (Exception e) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    private OperationType pickType(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int found = Arrays.binarySearch(cumulativeWeights, pick + 1);
+        return types[found >= 0 ? found : -found - 1];
+    }
+
+    private static boolean needsEmployee(OperationType type) {
+        return type == OperationType.GET_BY_ID || type == OperationType.UPDATE_SALARY
+                || type == OperationType.UPDATE_RATING || type == OperationType.REMOVE;
+    }
+
+    /**
+     * Picks hot employee IDs; the ID range only grows by one per add, so the distribution is rarely rebuilt
+     */
+    private final class Keys {
+        private ZipfDistribution distribution;
+
+        int pickLive(SplittableRandom random, int idCount, BitSet removed) {
+            if(distribution == null || distribution.size() != idCount) {
+                distribution = new ZipfDistribution(idCount, keySkew);
+            }
+            for(int attempt = 0; attempt < 16; attempt++) {
+                int rank = distribution.sample(random);
+                // Scatter over the initial population only, so the hot employees stay hot as employees are added
+                int id = rank < population ? (int) (rank * SCATTER % population) : rank;
+                if(!removed.get(id)) {
+                    return id;
+                }
+            }
+            // The hot keys are mostly removed
+            return pickAnyLive(random, idCount, removed);
+        }
+
+        static int pickAnyLive(SplittableRandom random, int idCount, BitSet removed) {
+            // The next live ID after a random one
+            int id = removed.nextClearBit(random.nextInt(idCount));
+            return id < idCount ? id : removed.nextClearBit(0);
+        }
+    }
+
+    public static class Builder {
+        private final EmployeeGenerator generator;
+        private final int population;
+        private long seed = 7;
+        private double keySkew = 0.99;
+        private final Map<OperationType, Integer> weights = new EnumMap<>(OperationType.class);
+
+        private Builder(EmployeeGenerator generator, int population) {
+            if(generator == null) {
+                throw new IllegalArgumentException("Generator cannot be null");
+            }
+            if(population < 0) {
+                throw new IllegalArgumentException("Population cannot be negative");
+            }
+            this.generator = generator;
+            this.population = population;
+            // Read-heavy by default: 90% reads, most of them point lookups
+            weights.put(OperationType.GET_BY_ID, 50);
+            weights.put(OperationType.FIND_BY_DEPARTMENT, 8);
+            weights.put(OperationType.FIND_BY_NAME, 4);
+            weights.put(OperationType.FIND_BY_SALARY_RANGE, 8);
+            weights.put(OperationType.FIND_BY_QUERY, 12);
+            weights.put(OperationType.FIND_SORTED_BY_SALARY, 1);
+            weights.put(OperationType.FIND_TOP_PAID, 4);
+            weights.put(OperationType.AVERAGE_SALARY_PER_DEPARTMENT, 3);
+            weights.put(OperationType.UPDATE_SALARY, 5);
+            weights.put(OperationType.UPDATE_RATING, 2);
+            weights.put(OperationType.ADD, 2);
+            weights.put(OperationType.REMOVE, 1);
+            weights.put(OperationType.SALARY_RAISE, 0);
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the Zipf exponent of employee ID popularity; 0 spreads requests evenly
+         */
+        public Builder keySkew(double exponent) {
+            if(exponent < 0) {
+                throw new IllegalArgumentException("Skew cannot be negative");
+            }
+            this.keySkew = exponent;
+            return this;
+        }
+
+        /**
+         * Sets the relative frequency of one kind of operation; 0 leaves it out
+         */
+        public Builder weight(OperationType type, int weight) {
+            if(weight < 0) {
+                throw new IllegalArgumentException("Weight cannot be negative");
+            }
+            weights.put(type, weight);
+            return this;
+        }
+
+        /**
+         * Keeps only the read operations, with their current weights
+         */
+        public Builder readOnly() {
+            for(OperationType type : OperationType.values()) {
+                if(type.isWrite()) {
+                    weights.put(type, 0);
+                }
+            }
+            return this;
+        }
+
+        public WorkloadTrace build() {
+            return new WorkloadTrace(this);
+        }
+    }
+}
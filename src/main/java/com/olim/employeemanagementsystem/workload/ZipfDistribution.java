@@ -0,0 +1,64 @@
+package com.olim.employeemanagementsystem.workload;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samples ranks 0 to n - 1 with probability proportional to 1 / (rank + 1)^exponent.
+ * Small ranges use an exact cumulative table; large ones invert the continuous power law,
+ * which keeps sampling O(1) without a table of millions of entries.
+ */
+final class ZipfDistribution {
+    private static final int TABLE_LIMIT = 4096;
+
+    private final int size;
+    private final double exponent;
+    private final double[] cumulative;
+
+    ZipfDistribution(int size, double exponent) {
+        if(size <= 0) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        if(exponent < 0) {
+            throw new IllegalArgumentException("Exponent cannot be negative");
+        }
+        this.size = size;
+        this.exponent = exponent;
+        if(size <= TABLE_LIMIT) {
+            cumulative = new double[size];
+            double total = 0;
+            for(int rank = 0; rank < size; rank++) {
+                total += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = total;
+            }
+            for(int rank = 0; rank < size; rank++) {
+                cumulative[rank] /= total;
+            }
+        } else {
+            cumulative = null;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int sample(SplittableRandom random) {
+        double u = random.nextDouble();
+        if(cumulative != null) {
+            int found = Arrays.binarySearch(cumulative, u);
+            int rank = found >= 0 ? found : -found - 1;
+            return Math.min(rank, size - 1);
+        }
+        // Inverse of the continuous density x^-exponent on [1, size + 1)
+        double upper = size + 1.0;
+        double x;
+        if(Math.abs(exponent - 1) < 1e-9) {
+            x = Math.pow(upper, u);
+        } else {
+            double oneMinus = 1 - exponent;
+            x = Math.pow((Math.pow(upper, oneMinus) - 1) * u + 1, 1 / oneMinus);
+        }
+        return Math.min((int) x - 1, size - 1);
+    }
+}
@@ -9,13 +9,19 @@ module com.olim.employeemanagementsystem {
             requires org.kordamp.bootstrapfx.core;
             requires eu.hansolo.tilesfx;
     requires java.logging;
+    requires java.management;
+    requires jdk.httpserver;
+    // Optional: column scans use SIMD when the JVM is started with --add-modules jdk.incubator.vector
+    // and -Dems.vector.enabled=true. Because of this line javac warns "using incubating module(s)"; that is expected.
+    requires static jdk.incubator.vector;
 
     opens com.olim.employeemanagementsystem to javafx.fxml;
     opens com.olim.employeemanagementsystem.view to javafx.fxml;
-    opens com.olim.employeemanagementsystem.model to javafx.base;
 
     exports com.olim.employeemanagementsystem;
     exports com.olim.employeemanagementsystem.view;
     exports com.olim.employeemanagementsystem.exception;
+    // JMX reads the operation metrics through their MXBean interface
+    exports com.olim.employeemanagementsystem.metrics;
     opens com.olim.employeemanagementsystem.exception to javafx.fxml;
 }
\ No newline at end of file